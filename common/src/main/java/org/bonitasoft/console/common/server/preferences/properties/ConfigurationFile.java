@@ -65,11 +65,27 @@ public class ConfigurationFile {
         }
     }
 
+    /**
+     * @return the values of the property. The returned set cannot be modified.
+     */
     public Set<String> getPropertyAsSet(final String propertyName) {
+        if (tenantId > 0) {
+            return getPermissionsMappingIndex().getPermissions(propertyName);
+        }
         final String propertyAsString = getProperty(propertyName);
         return stringToSet(propertyAsString);
     }
 
+    /**
+     * @return the index of the current content of the file. A new index is returned when the content changes.
+     */
+    public PermissionsMappingIndex getPermissionsMappingIndex() {
+        if (tenantId > 0) {
+            return ConfigurationFilesManager.getInstance().getTenantPermissionsMappingIndex(propertiesFilename, tenantId);
+        }
+        return new PermissionsMappingIndex(getPropertiesOfScope());
+    }
+
     public void setPropertyAsSet(final String property, final Set<String> permissions) throws IOException {
         setProperty(property, permissions.toString());
     }
@@ -18,9 +18,13 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
-import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.LongConsumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -30,6 +34,11 @@ import org.bonitasoft.console.common.server.utils.PlatformManagementUtils;
 import org.bonitasoft.engine.exception.BonitaException;
 
 /**
+ * Registry of the platform and tenant configuration files.
+ * It can be read concurrently without locking: the Properties it returns are snapshots that are never modified once published.
+ * Pushing a tenant configuration or updating a property publishes new Properties instead, so that readers (and the values they
+ * parsed from a snapshot) keep a consistent view.
+ *
  * @author Baptiste Mesta, Emmanuel Duchastenier, Anthony Birembaut
  */
 public class ConfigurationFilesManager {
@@ -45,7 +54,7 @@ public class ConfigurationFilesManager {
     /*
      * Map<tenantId, Map<realPropertiesFileName, Properties>>
      */
-    private Map<Long, Map<String, Properties>> tenantsConfigurations = new HashMap<>();
+    private final Map<Long, Map<String, Properties>> tenantsConfigurations = new ConcurrentHashMap<>();
     
     /*
      * Map<tenantId, Map<agregatedPropertiesFileName, Properties>>
@@ -55,27 +64,48 @@ public class ConfigurationFilesManager {
      * The default Properties file remains unmodified.
      * This map merges the default Properties and the extensions in one Properties collection
      */
-    private Map<Long, Map<String, Properties>> tenantsAggregatedConfigurations = new HashMap<>();
+    private final ConcurrentMap<Long, ConcurrentMap<String, Properties>> tenantsAggregatedConfigurations = new ConcurrentHashMap<>();
+
+    /*
+     * Map<tenantId, Map<agregatedPropertiesFileName, PermissionsMappingIndex>>
+     * Indexes are built from the aggregated Properties on first access and dropped each time these Properties change
+     */
+    private final ConcurrentMap<Long, ConcurrentMap<String, PermissionsMappingIndex>> tenantsPermissionsMappingIndexes = new ConcurrentHashMap<>();
     
     /*
      * Map<tenantId, Map<realConfigurationFileName, File>>
      */
-    private Map<Long, Map<String, File>> tenantsConfigurationFiles = new HashMap<>();
+    private final Map<Long, Map<String, File>> tenantsConfigurationFiles = new ConcurrentHashMap<>();
     
     /*
      * Map<propertiesFileName, Properties>
      */
-    private Map<String, Properties> platformConfigurations = new HashMap<>();
+    private volatile Map<String, Properties> platformConfigurations = new ConcurrentHashMap<>();
     
     /*
      * Map<configurationFileName, File>
      */
-    private Map<String, File> platformConfigurationFiles = new HashMap<>();
+    private final Map<String, File> platformConfigurationFiles = new ConcurrentHashMap<>();
+
+    /*
+     * Map<tenantId/internalPropertiesFileName, lock> serializing the property updates of each -internal file
+     */
+    private final ConcurrentMap<String, Object> internalFilesLocks = new ConcurrentHashMap<>();
+
+    /*
+     * Notified with the tenant id each time the configuration of a tenant changes
+     */
+    private final List<LongConsumer> tenantConfigurationListeners = new CopyOnWriteArrayList<>();
+
+    /*
+     * Returned for the files that do not exist. It is never modified.
+     */
+    private static final Properties EMPTY_PROPERTIES = new Properties();
 
     public Properties getPlatformProperties(String propertiesFile) {
         Properties properties = platformConfigurations.get(propertiesFile);
         if (properties == null) {
-            return new Properties();
+            return EMPTY_PROPERTIES;
         }
         return properties;
     }
@@ -101,18 +131,39 @@ public class ConfigurationFilesManager {
     }
 
     public Properties getTenantProperties(String propertiesFileName, long tenantId) {
-        Properties aggregatedProperties = null;
-        Map<String, Properties> currentTenantAggregatedConfigurations = tenantsAggregatedConfigurations.get(tenantId);
-        if(currentTenantAggregatedConfigurations == null) {
-            currentTenantAggregatedConfigurations = new HashMap<>();
-            tenantsAggregatedConfigurations.put(tenantId, currentTenantAggregatedConfigurations);
+        final ConcurrentMap<String, Properties> currentTenantAggregatedConfigurations = tenantsAggregatedConfigurations.computeIfAbsent(tenantId,
+                id -> new ConcurrentHashMap<>());
+        final Properties aggregatedProperties = currentTenantAggregatedConfigurations.get(propertiesFileName);
+        if (aggregatedProperties != null) {
+            return aggregatedProperties;
         }
-        aggregatedProperties = currentTenantAggregatedConfigurations.get(propertiesFileName);
-        if (aggregatedProperties == null) {
-            aggregatedProperties = getAlsoCustomAndInternalPropertiesFromFilename(tenantsConfigurations.get(tenantId), propertiesFileName);
-            currentTenantAggregatedConfigurations.put(propertiesFileName, aggregatedProperties);
+        return currentTenantAggregatedConfigurations.computeIfAbsent(propertiesFileName,
+                name -> getAlsoCustomAndInternalPropertiesFromFilename(tenantsConfigurations.get(tenantId), name));
+    }
+
+    /**
+     * @return the index of the aggregated properties of the tenant. It is immutable and is replaced by a new one when a property
+     *         of the file is modified.
+     */
+    public PermissionsMappingIndex getTenantPermissionsMappingIndex(String propertiesFileName, long tenantId) {
+        final ConcurrentMap<String, PermissionsMappingIndex> tenantIndexes = tenantsPermissionsMappingIndexes.computeIfAbsent(tenantId,
+                id -> new ConcurrentHashMap<>());
+        //the index is built while holding the bin lock, so an invalidation of the same file waits for it and cannot be lost
+        return tenantIndexes.computeIfAbsent(propertiesFileName, name -> new PermissionsMappingIndex(getTenantProperties(name, tenantId)));
+    }
+
+    private void clearPermissionsMappingIndexes(long tenantId) {
+        final ConcurrentMap<String, PermissionsMappingIndex> tenantIndexes = tenantsPermissionsMappingIndexes.get(tenantId);
+        if (tenantIndexes != null) {
+            tenantIndexes.clear();
+        }
+    }
+
+    private void clearPermissionsMappingIndex(String propertiesFileName, long tenantId) {
+        final ConcurrentMap<String, PermissionsMappingIndex> tenantIndexes = tenantsPermissionsMappingIndexes.get(tenantId);
+        if (tenantIndexes != null) {
+            tenantIndexes.remove(propertiesFileName);
         }
-        return aggregatedProperties;
     }
 
     private Properties getProperties(byte[] content) throws IOException {
@@ -124,21 +175,22 @@ public class ConfigurationFilesManager {
     }
 
     public void setPlatformConfigurations(Map<String, byte[]> configurationFiles) throws IOException {
-        platformConfigurations = new HashMap<>(configurationFiles.size());
+        final Map<String, Properties> newPlatformConfigurations = new ConcurrentHashMap<>(configurationFiles.size());
         for (Map.Entry<String, byte[]> entry : configurationFiles.entrySet()) {
             if (entry.getKey().endsWith(".properties")) {
-                platformConfigurations.put(entry.getKey(), getProperties(entry.getValue()));
+                newPlatformConfigurations.put(entry.getKey(), getProperties(entry.getValue()));
             } else {
                 File file = new File(WebBonitaConstantsUtils.getInstance().getTempFolder(), entry.getKey());
                 FileUtils.writeByteArrayToFile(file, entry.getValue());
                 platformConfigurationFiles.put(entry.getKey(), file);
             }
         }
+        platformConfigurations = newPlatformConfigurations;
     }
 
-    public void setTenantConfigurations(Map<String, byte[]> configurationFiles, long tenantId) throws IOException {
-        Map<String, Properties> tenantProperties = new HashMap<>();
-        Map<String, File> tenantFiles = new HashMap<>();
+    public synchronized void setTenantConfigurations(Map<String, byte[]> configurationFiles, long tenantId) throws IOException {
+        Map<String, Properties> tenantProperties = new ConcurrentHashMap<>();
+        Map<String, File> tenantFiles = new ConcurrentHashMap<>();
         for (Map.Entry<String, byte[]> entry : configurationFiles.entrySet()) {
             if (entry.getKey().endsWith(".properties")) {
                 tenantProperties.put(entry.getKey(), getProperties(entry.getValue()));
@@ -150,14 +202,33 @@ public class ConfigurationFilesManager {
         }
         tenantsConfigurations.put(tenantId, tenantProperties);
         tenantsConfigurationFiles.put(tenantId, tenantFiles);
-        tenantsAggregatedConfigurations.put(tenantId, new HashMap<>());
+        //published after the new configuration, so that the aggregated properties are never rebuilt from the previous one
+        tenantsAggregatedConfigurations.put(tenantId, new ConcurrentHashMap<>());
+        clearPermissionsMappingIndexes(tenantId);
+        notifyTenantConfigurationListeners(tenantId);
     }
 
-    public void setTenantConfiguration(String fileName, byte[] content, long tenantId) throws IOException {
+    /**
+     * Register a listener called with the tenant id each time a configuration file or a property of a tenant is modified
+     */
+    public void addTenantConfigurationListener(final LongConsumer listener) {
+        tenantConfigurationListeners.add(listener);
+    }
+
+    private void notifyTenantConfigurationListeners(final long tenantId) {
+        for (final LongConsumer listener : tenantConfigurationListeners) {
+            listener.accept(tenantId);
+        }
+    }
+
+    public synchronized void setTenantConfiguration(String fileName, byte[] content, long tenantId) throws IOException {
         if (fileName.endsWith(".properties")) {
             Map<String, Properties> tenantConfiguration = tenantsConfigurations.get(tenantId);
             if (tenantConfiguration != null) {
                 tenantConfiguration.put(fileName, getProperties(content));
+                tenantsAggregatedConfigurations.put(tenantId, new ConcurrentHashMap<>());
+                clearPermissionsMappingIndexes(tenantId);
+                notifyTenantConfigurationListeners(tenantId);
             }
         } else {
             Map<String, File> tenantConfigurationFiles = tenantsConfigurationFiles.get(tenantId);
@@ -170,21 +241,54 @@ public class ConfigurationFilesManager {
     }
 
     public void removeProperty(String propertiesFilename, long tenantId, String propertyName) throws IOException {
-        Map<String, Properties> resources = getResources(tenantId);
+        updateInternalProperty(propertiesFilename, tenantId, propertyName, null);
+    }
+
+    /**
+     * Set (or remove when the value is null) a property in the -internal file.
+     * The updates of a file are serialized so that the engine receives them in order, but the engine is called without holding the
+     * registry lock: the new properties are only published once the engine has stored them.
+     */
+    private void updateInternalProperty(String propertiesFilename, long tenantId, String propertyName, String propertyValue) throws IOException {
         // Now internal behavior stores and removes from -internal file:
         final String internalFilename = getSuffixedPropertyFilename(propertiesFilename, "-internal");
-        Properties properties = resources.get(internalFilename);
-        if (properties != null) {
-            properties.remove(propertyName);
-            update(tenantId, internalFilename, properties);
-            updateAggregatedProperties(propertiesFilename, tenantId, propertyName, null, resources);
-        } else {
-            if (LOGGER.isLoggable(Level.FINER)) {
-                LOGGER.log(Level.FINER, "File " + internalFilename + " not found. Cannot remove property '" + propertyName + "'.");
+        synchronized (getInternalFileLock(tenantId, internalFilename)) {
+            final Properties updatedProperties;
+            synchronized (this) {
+                Properties properties = getResources(tenantId).get(internalFilename);
+                if (properties == null) {
+                    if (LOGGER.isLoggable(Level.FINER)) {
+                        LOGGER.log(Level.FINER, "File " + internalFilename + " not found. Cannot update property '" + propertyName + "'.");
+                    }
+                    return;
+                }
+                updatedProperties = copy(properties);
+            }
+            if (propertyValue != null) {
+                updatedProperties.setProperty(propertyName, propertyValue);
+            } else {
+                updatedProperties.remove(propertyName);
+            }
+            update(tenantId, internalFilename, updatedProperties);
+            synchronized (this) {
+                Map<String, Properties> resources = getResources(tenantId);
+                resources.put(internalFilename, updatedProperties);
+                updateAggregatedProperties(propertiesFilename, tenantId, propertyName, propertyValue, resources);
+                notifyTenantConfigurationListeners(tenantId);
             }
         }
     }
 
+    private Object getInternalFileLock(long tenantId, String internalFilename) {
+        return internalFilesLocks.computeIfAbsent(tenantId + "/" + internalFilename, key -> new Object());
+    }
+
+    private Properties copy(Properties properties) {
+        final Properties copy = new Properties();
+        copy.putAll(properties);
+        return copy;
+    }
+
     private String getSuffixedPropertyFilename(String propertiesFilename, String suffix) {
         return propertiesFilename.replaceAll("\\.properties$", suffix + ".properties");
     }
@@ -213,19 +317,7 @@ public class ConfigurationFilesManager {
     }
 
     public void setProperty(String propertiesFilename, long tenantId, String propertyName, String propertyValue) throws IOException {
-        Map<String, Properties> resources = getResources(tenantId);
-        // Now internal behavior stores and removes from -internal file:
-        final String internalFilename = getSuffixedPropertyFilename(propertiesFilename, "-internal");
-        Properties properties = resources.get(internalFilename);
-        if (properties != null) {
-            properties.setProperty(propertyName, propertyValue);
-            update(tenantId, internalFilename, properties);
-            updateAggregatedProperties(propertiesFilename, tenantId, propertyName, propertyValue, resources);
-        } else {
-            if (LOGGER.isLoggable(Level.FINER)) {
-                LOGGER.log(Level.FINER, "File " + internalFilename + " not found. Cannot remove property '" + propertyName + "'.");
-            }
-        }
+        updateInternalProperty(propertiesFilename, tenantId, propertyName, propertyValue);
     }
 
     public void updateAggregatedProperties(String propertiesFilename, long tenantId, String propertyName, String propertyValue,
@@ -234,17 +326,22 @@ public class ConfigurationFilesManager {
         if (aggregatedTenantConfigurations == null) {
             return;
         }
+        //the internal properties snapshot was replaced
+        aggregatedTenantConfigurations.remove(getSuffixedPropertyFilename(propertiesFilename, "-internal"));
         final String customFilename = getSuffixedPropertyFilename(propertiesFilename, "-custom");
         Properties customResources = resources.get(customFilename);
         if (customResources == null || !customResources.containsKey(propertyName)) {
             //only update the aggregated properties if there is not a custom property overriding the internal one
             Properties aggregatedTenantConfiguration = aggregatedTenantConfigurations.get(propertiesFilename);
             if (aggregatedTenantConfiguration != null) {
+                final Properties updatedAggregatedTenantConfiguration = copy(aggregatedTenantConfiguration);
                 if (propertyValue != null) {
-                    aggregatedTenantConfiguration.put(propertyName, propertyValue);
+                    updatedAggregatedTenantConfiguration.put(propertyName, propertyValue);
                 } else {
-                    aggregatedTenantConfiguration.remove(propertyName);
+                    updatedAggregatedTenantConfiguration.remove(propertyName);
                 }
+                aggregatedTenantConfigurations.put(propertiesFilename, updatedAggregatedTenantConfiguration);
+                clearPermissionsMappingIndex(propertiesFilename, tenantId);
             }
         }
     }
@@ -14,6 +14,8 @@
  */
 package org.bonitasoft.console.common.server.preferences.properties;
 
+import static org.bonitasoft.console.common.server.preferences.properties.PropertyValueParser.parseLong;
+
 import java.util.Properties;
 
 /**
@@ -26,15 +28,70 @@ public class ConsoleProperties {
      */
     private static final String ATTACHMENT_MAX_SIZE = "form.attachment.max.size";
 
+    /**
+     * Max size (in MB) of the uploaded file contents held in memory at the same time by the submissions of a tenant
+     */
+    private static final String ATTACHMENT_MEMORY_BUDGET = "form.attachment.memory.budget";
+
+    /**
+     * Max time (in seconds) a submission waits for memory when the budget is exhausted before being rejected
+     */
+    private static final String ATTACHMENT_MEMORY_BUDGET_TIMEOUT = "form.attachment.memory.budget.timeout";
+
     /**
      * Custom page debug mode
      */
     private static final String CUSTOM_PAGE_DEBUG = "custom.page.debug";
 
+    /**
+     * Time to live (in seconds) of the cached pages and page mappings
+     */
+    private static final String PAGE_CACHE_TIME_TO_LIVE = "page.cache.ttl";
+
+    /**
+     * Max number of cached pages and page mappings
+     */
+    private static final String PAGE_CACHE_MAX_SIZE = "page.cache.max.size";
+
+    /**
+     * Max number of cached process definition designs
+     */
+    private static final String PROCESS_DESIGN_CACHE_MAX_SIZE = "process.design.cache.max.size";
+
+    /**
+     * Max number of cached process and task contracts
+     */
+    private static final String CONTRACT_CACHE_MAX_SIZE = "contract.cache.max.size";
+
+    /**
+     * Time to live (in seconds) of the cached living application routing tables and user profiles
+     */
+    private static final String APPLICATION_ROUTING_CACHE_TIME_TO_LIVE = "application.routing.cache.ttl";
+
+    /**
+     * Max number of cached living application routing tables
+     */
+    private static final String APPLICATION_ROUTING_CACHE_MAX_SIZE = "application.routing.cache.max.size";
+
+    /**
+     * Max number of cached profiles of users (one entry per engine session)
+     */
+    private static final String USER_PROFILES_CACHE_MAX_SIZE = "application.user.profiles.cache.max.size";
+
+    /**
+     * Time to live (in seconds) of the cached permissions of the profiles
+     */
+    private static final String PROFILE_PERMISSIONS_CACHE_TIME_TO_LIVE = "profile.permissions.cache.ttl";
+
     private static final String PROPERTIES_FILE = "console-config.properties";
 
     private long tenantId;
 
+    /**
+     * Values parsed from the last Properties snapshot read
+     */
+    private volatile ParsedProperties parsedProperties;
+
     ConsoleProperties(long tenantId) {
         this.tenantId = tenantId;
     }
@@ -52,15 +109,108 @@ public class ConsoleProperties {
     }
 
     public long getMaxSize() {
-        final String maxSize = this.getProperty(ATTACHMENT_MAX_SIZE);
-        if (maxSize != null) {
-            return Long.valueOf(maxSize);
-        }
-        return 15;
+        return getParsedProperties().attachmentMaxSize;
+    }
+
+    public long getAttachmentMemoryBudget() {
+        return getParsedProperties().attachmentMemoryBudget;
+    }
+
+    public long getAttachmentMemoryBudgetTimeout() {
+        return getParsedProperties().attachmentMemoryBudgetTimeout;
     }
 
     public boolean isPageInDebugMode() {
-        final String debugMode = this.getProperty(CUSTOM_PAGE_DEBUG);
-        return Boolean.parseBoolean(debugMode);
+        return getParsedProperties().pageInDebugMode;
+    }
+
+    public long getPageCacheTimeToLive() {
+        return getParsedProperties().pageCacheTimeToLive;
+    }
+
+    public int getPageCacheMaxSize() {
+        return getParsedProperties().pageCacheMaxSize;
+    }
+
+    public int getProcessDesignCacheMaxSize() {
+        return getParsedProperties().processDesignCacheMaxSize;
+    }
+
+    public int getContractCacheMaxSize() {
+        return getParsedProperties().contractCacheMaxSize;
+    }
+
+    public long getApplicationRoutingCacheTimeToLive() {
+        return getParsedProperties().applicationRoutingCacheTimeToLive;
+    }
+
+    public int getApplicationRoutingCacheMaxSize() {
+        return getParsedProperties().applicationRoutingCacheMaxSize;
+    }
+
+    public int getUserProfilesCacheMaxSize() {
+        return getParsedProperties().userProfilesCacheMaxSize;
+    }
+
+    public long getProfilePermissionsCacheTimeToLive() {
+        return getParsedProperties().profilePermissionsCacheTimeToLive;
+    }
+
+    /**
+     * The properties are parsed again only when {@link ConfigurationFilesManager} published a new snapshot of the file
+     */
+    private ParsedProperties getParsedProperties() {
+        final Properties properties = getProperties();
+        ParsedProperties parsed = parsedProperties;
+        if (parsed == null || parsed.source != properties) {
+            parsed = new ParsedProperties(properties);
+            parsedProperties = parsed;
+        }
+        return parsed;
+    }
+
+    private static class ParsedProperties {
+
+        private final Properties source;
+
+        private final long attachmentMaxSize;
+
+        private final long attachmentMemoryBudget;
+
+        private final long attachmentMemoryBudgetTimeout;
+
+        private final boolean pageInDebugMode;
+
+        private final long pageCacheTimeToLive;
+
+        private final int pageCacheMaxSize;
+
+        private final int processDesignCacheMaxSize;
+
+        private final int contractCacheMaxSize;
+
+        private final long applicationRoutingCacheTimeToLive;
+
+        private final int applicationRoutingCacheMaxSize;
+
+        private final int userProfilesCacheMaxSize;
+
+        private final long profilePermissionsCacheTimeToLive;
+
+        ParsedProperties(final Properties properties) {
+            source = properties;
+            attachmentMaxSize = parseLong(properties, ATTACHMENT_MAX_SIZE, PROPERTIES_FILE, 15);
+            attachmentMemoryBudget = parseLong(properties, ATTACHMENT_MEMORY_BUDGET, PROPERTIES_FILE, 256);
+            attachmentMemoryBudgetTimeout = parseLong(properties, ATTACHMENT_MEMORY_BUDGET_TIMEOUT, PROPERTIES_FILE, 30);
+            pageInDebugMode = Boolean.parseBoolean(properties.getProperty(CUSTOM_PAGE_DEBUG));
+            pageCacheTimeToLive = parseLong(properties, PAGE_CACHE_TIME_TO_LIVE, PROPERTIES_FILE, 60);
+            pageCacheMaxSize = (int) parseLong(properties, PAGE_CACHE_MAX_SIZE, PROPERTIES_FILE, 1000);
+            processDesignCacheMaxSize = (int) parseLong(properties, PROCESS_DESIGN_CACHE_MAX_SIZE, PROPERTIES_FILE, 100);
+            contractCacheMaxSize = (int) parseLong(properties, CONTRACT_CACHE_MAX_SIZE, PROPERTIES_FILE, 1000);
+            applicationRoutingCacheTimeToLive = parseLong(properties, APPLICATION_ROUTING_CACHE_TIME_TO_LIVE, PROPERTIES_FILE, 60);
+            applicationRoutingCacheMaxSize = (int) parseLong(properties, APPLICATION_ROUTING_CACHE_MAX_SIZE, PROPERTIES_FILE, 100);
+            userProfilesCacheMaxSize = (int) parseLong(properties, USER_PROFILES_CACHE_MAX_SIZE, PROPERTIES_FILE, 1000);
+            profilePermissionsCacheTimeToLive = parseLong(properties, PROFILE_PERMISSIONS_CACHE_TIME_TO_LIVE, PROPERTIES_FILE, 60);
+        }
     }
 }
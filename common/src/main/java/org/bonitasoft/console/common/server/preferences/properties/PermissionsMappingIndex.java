@@ -0,0 +1,158 @@
+/**
+ * Copyright (C) 2020 Bonitasoft S.A.
+ * Bonitasoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.console.common.server.preferences.properties;
+
+import static org.bonitasoft.console.common.server.preferences.properties.PropertiesWithSet.stringToSet;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * Immutable index of a permissions mapping properties file.
+ * Property values are parsed once into unmodifiable sets shared between the keys declaring the same permissions, and the keys
+ * of the form method|api/resource/qualifiers are also stored in a tree so that the resource permissions (including the wildcard
+ * ones) are looked up without building any key.
+ * The index is never updated: {@link ConfigurationFilesManager} builds a new one when the properties change.
+ */
+public class PermissionsMappingIndex {
+
+    private final Map<String, Set<String>> permissionsByKey = new HashMap<>();
+
+    private final Node resourcesTree = new Node();
+
+    PermissionsMappingIndex(final Properties properties) {
+        final Map<Set<String>, Set<String>> internedSets = new HashMap<>();
+        final Map<String, String> internedPermissions = new HashMap<>();
+        for (final String key : properties.stringPropertyNames()) {
+            final Set<String> permissions = intern(stringToSet(properties.getProperty(key)), internedSets, internedPermissions);
+            permissionsByKey.put(key, permissions);
+            addToResourcesTree(key, permissions);
+        }
+    }
+
+    private Set<String> intern(final Set<String> permissions, final Map<Set<String>, Set<String>> internedSets,
+            final Map<String, String> internedPermissions) {
+        if (permissions.isEmpty()) {
+            return Collections.emptySet();
+        }
+        Set<String> internedSet = internedSets.get(permissions);
+        if (internedSet == null) {
+            final Set<String> permissionsCopy = new HashSet<>(permissions.size());
+            for (final String permission : permissions) {
+                String internedPermission = internedPermissions.get(permission);
+                if (internedPermission == null) {
+                    internedPermission = permission;
+                    internedPermissions.put(permission, permission);
+                }
+                permissionsCopy.add(internedPermission);
+            }
+            internedSet = Collections.unmodifiableSet(permissionsCopy);
+            internedSets.put(internedSet, internedSet);
+        }
+        return internedSet;
+    }
+
+    private void addToResourcesTree(final String key, final Set<String> permissions) {
+        final int methodSeparatorIndex = key.indexOf(ResourcesPermissionsMapping.API_METHOD_SEPARATOR);
+        if (methodSeparatorIndex < 0) {
+            return;
+        }
+        Node node = resourcesTree.getOrCreateChild(key.substring(0, methodSeparatorIndex));
+        for (final String segment : key.substring(methodSeparatorIndex + 1).split("/")) {
+            node = node.getOrCreateChild(segment);
+        }
+        node.permissions = permissions;
+    }
+
+    /**
+     * @return the permissions declared for the key or an empty set. The returned set cannot be modified.
+     */
+    public Set<String> getPermissions(final String key) {
+        final Set<String> permissions = permissionsByKey.get(key);
+        return permissions != null ? permissions : Collections.<String> emptySet();
+    }
+
+    /**
+     * @return the permissions declared for the resource and the exact given qualifiers or an empty set. The returned set cannot be
+     *         modified.
+     */
+    public Set<String> getResourcePermissions(final String method, final String apiName, final String resourceName, final List<String> resourceQualifiers) {
+        Node node = getResourceNode(method, apiName, resourceName);
+        if (node != null && resourceQualifiers != null) {
+            for (int i = 0; i < resourceQualifiers.size() && node != null; i++) {
+                node = node.getChild(resourceQualifiers.get(i));
+            }
+        }
+        return node != null ? node.permissions : Collections.<String> emptySet();
+    }
+
+    /**
+     * Same lookup order as {@link ResourcesPermissionsMapping#getResourcePermissionsWithWildCard(String, String, String, List)}: each
+     * qualifier, starting from the last one, is replaced by a wildcard and if nothing matches the last qualifier is dropped.
+     *
+     * @return the permissions declared for the first matching wildcard key or an empty set. The returned set cannot be modified.
+     */
+    public Set<String> getResourcePermissionsWithWildCard(final String method, final String apiName, final String resourceName,
+            final List<String> resourceQualifiers) {
+        final Node resourceNode = getResourceNode(method, apiName, resourceName);
+        if (resourceNode == null || resourceQualifiers == null) {
+            return Collections.emptySet();
+        }
+        for (int nbQualifiers = resourceQualifiers.size(); nbQualifiers > 0; nbQualifiers--) {
+            for (int wildCardPosition = nbQualifiers - 1; wildCardPosition >= 0; wildCardPosition--) {
+                Node node = resourceNode;
+                for (int i = 0; i < nbQualifiers && node != null; i++) {
+                    node = node.getChild(i == wildCardPosition ? ResourcesPermissionsMapping.WILDCARD : resourceQualifiers.get(i));
+                }
+                if (node != null && !node.permissions.isEmpty()) {
+                    return node.permissions;
+                }
+            }
+        }
+        return Collections.emptySet();
+    }
+
+    private Node getResourceNode(final String method, final String apiName, final String resourceName) {
+        final Node methodNode = resourcesTree.getChild(method);
+        final Node apiNode = methodNode != null ? methodNode.getChild(apiName) : null;
+        return apiNode != null ? apiNode.getChild(resourceName) : null;
+    }
+
+    private static class Node {
+
+        private final Map<String, Node> children = new HashMap<>();
+
+        private Set<String> permissions = Collections.emptySet();
+
+        Node getChild(final String segment) {
+            return children.get(segment);
+        }
+
+        Node getOrCreateChild(final String segment) {
+            Node child = children.get(segment);
+            if (child == null) {
+                child = new Node();
+                children.put(segment, child);
+            }
+            return child;
+        }
+    }
+
+}
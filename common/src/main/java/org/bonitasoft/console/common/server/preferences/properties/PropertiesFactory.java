@@ -14,44 +14,68 @@
  */
 package org.bonitasoft.console.common.server.preferences.properties;
 
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
 /**
+ * Access to the configuration files. The returned objects do not hold any configuration value but read them from the
+ * {@link ConfigurationFilesManager} snapshots, so they are created once per tenant and shared between threads.
+ *
  * @author Anthony Birembaut
  */
 public class PropertiesFactory {
 
+    private static final ConcurrentMap<Long, ResourcesPermissionsMapping> RESOURCES_PERMISSIONS_MAPPINGS = new ConcurrentHashMap<>();
+
+    private static final ConcurrentMap<Long, CompoundPermissionsMapping> COMPOUND_PERMISSIONS_MAPPINGS = new ConcurrentHashMap<>();
+
+    private static final ConcurrentMap<Long, CustomPermissionsMapping> CUSTOM_PERMISSIONS_MAPPINGS = new ConcurrentHashMap<>();
+
+    private static final ConcurrentMap<Long, DynamicPermissionsChecks> DYNAMIC_PERMISSIONS_CHECKS = new ConcurrentHashMap<>();
+
+    private static final ConcurrentMap<Long, SecurityProperties> SECURITY_PROPERTIES = new ConcurrentHashMap<>();
+
+    private static final ConcurrentMap<Long, ConsoleProperties> CONSOLE_PROPERTIES = new ConcurrentHashMap<>();
+
+    private static final SecurityProperties PLATFORM_SECURITY_PROPERTIES = new SecurityProperties();
+
+    private static final PlatformTenantConfigProperties PLATFORM_TENANT_CONFIG_PROPERTIES = new PlatformTenantConfigProperties();
+
+    private static final PlatformPreferencesProperties PLATFORM_PREFERENCES_PROPERTIES = new PlatformPreferencesProperties();
+
     public static ResourcesPermissionsMapping getResourcesPermissionsMapping(final long tenantId) {
-        return new ResourcesPermissionsMapping(tenantId);
+        return RESOURCES_PERMISSIONS_MAPPINGS.computeIfAbsent(tenantId, ResourcesPermissionsMapping::new);
     }
 
     public static CompoundPermissionsMapping getCompoundPermissionsMapping(final long tenantId) {
-        return new CompoundPermissionsMapping(tenantId);
+        return COMPOUND_PERMISSIONS_MAPPINGS.computeIfAbsent(tenantId, CompoundPermissionsMapping::new);
     }
 
     public static CustomPermissionsMapping getCustomPermissionsMapping(final long tenantId) {
-        return new CustomPermissionsMapping(tenantId);
+        return CUSTOM_PERMISSIONS_MAPPINGS.computeIfAbsent(tenantId, CustomPermissionsMapping::new);
     }
 
     public static DynamicPermissionsChecks getDynamicPermissionsChecks(final long tenantId) {
-        return new DynamicPermissionsChecks(tenantId);
+        return DYNAMIC_PERMISSIONS_CHECKS.computeIfAbsent(tenantId, DynamicPermissionsChecks::new);
     }
 
     public static SecurityProperties getSecurityProperties(final long tenantId) {
-        return new SecurityProperties(tenantId);
+        return SECURITY_PROPERTIES.computeIfAbsent(tenantId, SecurityProperties::new);
     }
 
     public static SecurityProperties getSecurityProperties() {
-        return new SecurityProperties();
+        return PLATFORM_SECURITY_PROPERTIES;
     }
 
     public static ConsoleProperties getConsoleProperties(final long tenantId) {
-        return new ConsoleProperties(tenantId);
+        return CONSOLE_PROPERTIES.computeIfAbsent(tenantId, ConsoleProperties::new);
     }
 
     public static PlatformTenantConfigProperties getPlatformTenantConfigProperties() {
-        return new PlatformTenantConfigProperties();
+        return PLATFORM_TENANT_CONFIG_PROPERTIES;
     }
 
     public static PlatformPreferencesProperties getPlatformPreferencesProperties() {
-        return new PlatformPreferencesProperties();
+        return PLATFORM_PREFERENCES_PROPERTIES;
     }
 }
@@ -0,0 +1,44 @@
+/**
+ * Copyright (C) 2020 Bonitasoft S.A.
+ * Bonitasoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This library is free software; you can redistribute it and/or modify it under the terms
+ * of the GNU Lesser General Public License as published by the Free Software Foundation
+ * version 2.1 of the License.
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License along with this
+ * program; if not, write to the Free Software Foundation, Inc., 51 Franklin Street, Fifth
+ * Floor, Boston, MA 02110-1301, USA.
+ **/
+package org.bonitasoft.console.common.server.preferences.properties;
+
+import java.util.Properties;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Parse the values of the configuration properties, falling back to a default value when they are missing or invalid
+ */
+final class PropertyValueParser {
+
+    private static final Logger LOGGER = Logger.getLogger(PropertyValueParser.class.getName());
+
+    private PropertyValueParser() {
+    }
+
+    static long parseLong(final Properties properties, final String propertyName, final String propertiesFile, final long defaultValue) {
+        final String value = properties.getProperty(propertyName);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (final NumberFormatException e) {
+            LOGGER.log(Level.WARNING, "Invalid value for " + propertyName + " in " + propertiesFile + ": " + value
+                    + ". Using the default value " + defaultValue);
+            return defaultValue;
+        }
+    }
+
+}
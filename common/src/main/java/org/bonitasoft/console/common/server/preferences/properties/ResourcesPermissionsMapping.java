@@ -14,9 +14,10 @@
  */
 package org.bonitasoft.console.common.server.preferences.properties;
 
-import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -35,6 +36,17 @@ public class ResourcesPermissionsMapping extends ConfigurationFile {
      */
     public static final String PROPERTIES_FILENAME = "resources-permissions-mapping.properties";
 
+    /**
+     * Permissions of the monitoring resources of the web application, used when the mapping file of the tenant does not declare them
+     */
+    private static final Map<String, Set<String>> DEFAULT_RESOURCE_PERMISSIONS = new HashMap<>();
+
+    static {
+        DEFAULT_RESOURCE_PERMISSIONS.put("GET|system/pageCache", Collections.singleton("tenant_platform_visualization"));
+        DEFAULT_RESOURCE_PERMISSIONS.put("GET|system/fileContentMemory", Collections.singleton("tenant_platform_visualization"));
+        DEFAULT_RESOURCE_PERMISSIONS.put("GET|system/counters", Collections.singleton("tenant_platform_visualization"));
+    }
+
     ResourcesPermissionsMapping(long tenantId) {
         super(PROPERTIES_FILENAME, tenantId);
     }
@@ -44,46 +56,28 @@ public class ResourcesPermissionsMapping extends ConfigurationFile {
     }
 
     public Set<String> getResourcePermissions(final String method, final String apiName, final String resourceName, final List<String> resourceQualifiers) {
-        final String key = buildResourceKey(method, apiName, resourceName, resourceQualifiers);
-        return getPropertyAsSet(key);
+        return getPermissionsMappingIndex().getResourcePermissions(method, apiName, resourceName, resourceQualifiers);
     }
 
+    /**
+     * Look for the permissions of a resource key where one of the qualifiers is replaced by a wildcard, starting from the last
+     * qualifier. If none matches, the same lookup is done without the last qualifier.
+     */
     public Set<String> getResourcePermissionsWithWildCard(final String method, final String apiName, final String resourceName,
             final List<String> resourceQualifiers) {
-        if (resourceQualifiers != null && resourceQualifiers.size() > 0) {
-            for (int i = resourceQualifiers.size() - 1; i >= 0; i--) {
-                final List<String> resourceQualifiersWithWildCard = getResourceQualifiersWithWildCard(resourceQualifiers, i);
-                final String key = buildResourceKey(method, apiName, resourceName, resourceQualifiersWithWildCard);
-                final Set<String> permissions = getPropertyAsSet(key);
-                if (!permissions.isEmpty()) {
-                    return permissions;
-                }
-            }
-            final List<String> reducedResourceQualifiers = new ArrayList<String>(resourceQualifiers);
-            reducedResourceQualifiers.remove(resourceQualifiers.size() - 1);
-            return getResourcePermissionsWithWildCard(method, apiName, resourceName, reducedResourceQualifiers);
-        }
-        return Collections.emptySet();
-    }
-
-    protected List<String> getResourceQualifiersWithWildCard(final List<String> resourceQualifiers, final int wildCardPosition) {
-        final List<String> resourceQualifiersWithWildCard = new ArrayList<>(resourceQualifiers);
-        resourceQualifiersWithWildCard.set(wildCardPosition, WILDCARD);
-        return resourceQualifiersWithWildCard;
-    }
-
-    protected String buildResourceKey(final String method, final String apiName, final String resourceName, final List<String> resourceQualifiers) {
-        String key = method + API_METHOD_SEPARATOR + apiName + "/" + resourceName;
-        if (resourceQualifiers != null) {
-            for (final String resourceQualifier : resourceQualifiers) {
-                key += "/" + resourceQualifier;
-            }
-        }
-        return key;
+        return getPermissionsMappingIndex().getResourcePermissionsWithWildCard(method, apiName, resourceName, resourceQualifiers);
     }
 
     public Set<String> getResourcePermissions(final String method, final String apiName, final String resourceName) {
         return getResourcePermissions(method, apiName, resourceName, null);
     }
 
+    /**
+     * @return the permissions of the resource to use if none is declared in the mapping file of the tenant
+     */
+    public Set<String> getDefaultResourcePermissions(final String method, final String apiName, final String resourceName) {
+        final Set<String> permissions = DEFAULT_RESOURCE_PERMISSIONS.get(method + API_METHOD_SEPARATOR + apiName + "/" + resourceName);
+        return permissions != null ? permissions : Collections.<String> emptySet();
+    }
+
 }
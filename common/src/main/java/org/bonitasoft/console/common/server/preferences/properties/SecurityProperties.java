@@ -14,7 +14,11 @@
  */
 package org.bonitasoft.console.common.server.preferences.properties;
 
+import static org.bonitasoft.console.common.server.preferences.properties.PropertyValueParser.parseLong;
+
+import java.util.Collections;
 import java.util.Properties;
+import java.util.Set;
 import java.util.logging.Logger;
 
 /**
@@ -54,6 +58,22 @@ public class SecurityProperties {
      */
     public static final String API_AUTHORIZATIONS_CHECK_DEBUG = "security.rest.api.authorizations.check.debug";
 
+    /**
+     * Time to live (in seconds) of the decisions of the dynamic permissions scripts. 0 (default) disables the cache
+     */
+    public static final String DYNAMIC_PERMISSIONS_CACHE_TIME_TO_LIVE = "security.rest.api.authorizations.dynamic.cache.ttl";
+
+    /**
+     * Max number of cached decisions of the dynamic permissions scripts
+     */
+    public static final String DYNAMIC_PERMISSIONS_CACHE_MAX_SIZE = "security.rest.api.authorizations.dynamic.cache.max.size";
+
+    /**
+     * Dynamic permissions scripts whose decisions can also be cached for write methods (the decisions are only cached for GET
+     * requests otherwise)
+     */
+    public static final String DYNAMIC_PERMISSIONS_CACHE_WRITE_SCRIPTS = "security.rest.api.authorizations.dynamic.cache.write.scripts";
+
     /**
      * Logger
      */
@@ -61,6 +81,11 @@ public class SecurityProperties {
     private final long tenantId;
 
 
+    /**
+     * Values parsed from the last Properties snapshot read
+     */
+    private volatile ParsedProperties parsedProperties;
+
     public SecurityProperties() {
         tenantId = -1;
     }
@@ -73,41 +98,70 @@ public class SecurityProperties {
      * @return the password validator property
      */
     public String getPasswordValidator() {
-        return getProperties().getProperty(PASSWORD_VALIDATOR_CLASSNAME);
+        return getParsedProperties().passwordValidator;
     }
 
     /**
      * @return the value to allow or not API authorization checks
      */
     public boolean isAPIAuthorizationsCheckEnabled() {
-        final String res = getProperties().getProperty(API_AUTHORIZATIONS_CHECK);
-        return res != null && res.equals("true");
+        return getParsedProperties().apiAuthorizationsCheckEnabled;
     }
 
     /**
      * @return the value allow permission properties file debug
      */
     public boolean isAPIAuthorizationsCheckInDebugMode() {
-        final String debugMode = getProperties().getProperty(API_AUTHORIZATIONS_CHECK_DEBUG);
-        return Boolean.parseBoolean(debugMode);
+        return getParsedProperties().apiAuthorizationsCheckInDebugMode;
     }
 
     /**
      * @return the value to allow or not CSRF protection
      */
     public boolean isCSRFProtectionEnabled() {
-        final String res = getProperties().getProperty(CSRF_PROTECTION);
-        return res != null && res.equals("true");
+        return getParsedProperties().csrfProtectionEnabled;
     }
     
     /**
      * @return the value to add or not secure flag to the cookies for CSRF token
      */
     public boolean isCSRFTokenCookieSecure() {
-        final String res = getProperties().getProperty(SECURE_TOKEN_COOKIE);
-        return res != null && res.equals("true");
+        return getParsedProperties().csrfTokenCookieSecure;
+    }
+
+    /**
+     * @return the time to live (in seconds) of the cached decisions of the dynamic permissions scripts, 0 if the cache is disabled
+     */
+    public long getDynamicPermissionsCacheTimeToLive() {
+        return getParsedProperties().dynamicPermissionsCacheTimeToLive;
+    }
+
+    /**
+     * @return the max number of cached decisions of the dynamic permissions scripts
+     */
+    public int getDynamicPermissionsCacheMaxSize() {
+        return getParsedProperties().dynamicPermissionsCacheMaxSize;
     }
 
+    /**
+     * @return the class names of the dynamic permissions scripts whose decisions can be cached for write methods
+     */
+    public Set<String> getDynamicPermissionsCacheWriteScripts() {
+        return getParsedProperties().dynamicPermissionsCacheWriteScripts;
+    }
+
+    /**
+     * The properties are parsed again only when {@link ConfigurationFilesManager} published a new snapshot of the file
+     */
+    private ParsedProperties getParsedProperties() {
+        final Properties properties = getProperties();
+        ParsedProperties parsed = parsedProperties;
+        if (parsed == null || parsed.source != properties) {
+            parsed = new ParsedProperties(properties);
+            parsedProperties = parsed;
+        }
+        return parsed;
+    }
 
     Properties getProperties() {
         if (tenantId > 0) {
@@ -120,4 +174,38 @@ public class SecurityProperties {
         return ConfigurationFilesManager.getInstance();
     }
 
+    private static class ParsedProperties {
+
+        private final Properties source;
+
+        private final String passwordValidator;
+
+        private final boolean apiAuthorizationsCheckEnabled;
+
+        private final boolean apiAuthorizationsCheckInDebugMode;
+
+        private final boolean csrfProtectionEnabled;
+
+        private final boolean csrfTokenCookieSecure;
+
+        private final long dynamicPermissionsCacheTimeToLive;
+
+        private final int dynamicPermissionsCacheMaxSize;
+
+        private final Set<String> dynamicPermissionsCacheWriteScripts;
+
+        ParsedProperties(final Properties properties) {
+            source = properties;
+            passwordValidator = properties.getProperty(PASSWORD_VALIDATOR_CLASSNAME);
+            apiAuthorizationsCheckEnabled = "true".equals(properties.getProperty(API_AUTHORIZATIONS_CHECK));
+            apiAuthorizationsCheckInDebugMode = Boolean.parseBoolean(properties.getProperty(API_AUTHORIZATIONS_CHECK_DEBUG));
+            csrfProtectionEnabled = "true".equals(properties.getProperty(CSRF_PROTECTION));
+            csrfTokenCookieSecure = "true".equals(properties.getProperty(SECURE_TOKEN_COOKIE));
+            dynamicPermissionsCacheTimeToLive = parseLong(properties, DYNAMIC_PERMISSIONS_CACHE_TIME_TO_LIVE, SECURITY_DEFAULT_CONFIG_FILE_NAME, 0);
+            dynamicPermissionsCacheMaxSize = (int) parseLong(properties, DYNAMIC_PERMISSIONS_CACHE_MAX_SIZE, SECURITY_DEFAULT_CONFIG_FILE_NAME, 10000);
+            dynamicPermissionsCacheWriteScripts = Collections.unmodifiableSet(
+                    PropertiesWithSet.stringToSet(properties.getProperty(DYNAMIC_PERMISSIONS_CACHE_WRITE_SCRIPTS)));
+        }
+    }
+
 }
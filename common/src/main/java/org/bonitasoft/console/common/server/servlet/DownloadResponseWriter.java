@@ -0,0 +1,258 @@
+/**
+ * Copyright (C) 2020 Bonitasoft S.A.
+ * Bonitasoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.console.common.server.servlet;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.StandardOpenOption;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Writes a file or a document content in a download response without loading it in memory, handling the conditional
+ * (If-None-Match, If-Modified-Since, If-Range) and single byte range (Range) request headers.
+ * Since each instance of the servlets carry an instance of this class, it should have no instance attribute
+ */
+public class DownloadResponseWriter {
+
+    /**
+     * size of the chunks written when the content is already in memory
+     */
+    static final int CHUNK_SIZE = 8192;
+
+    static final String ETAG_HEADER = "ETag";
+
+    static final String LAST_MODIFIED_HEADER = "Last-Modified";
+
+    static final String ACCEPT_RANGES_HEADER = "Accept-Ranges";
+
+    static final String CONTENT_RANGE_HEADER = "Content-Range";
+
+    static final String IF_NONE_MATCH_HEADER = "If-None-Match";
+
+    static final String IF_MODIFIED_SINCE_HEADER = "If-Modified-Since";
+
+    static final String IF_RANGE_HEADER = "If-Range";
+
+    static final String RANGE_HEADER = "Range";
+
+    private static final String BYTES_UNIT = "bytes";
+
+    /**
+     * Strong ETag of a file, built from its last modification date and its size
+     */
+    public String getETag(final File file) {
+        return "\"" + Long.toHexString(file.lastModified()) + "-" + Long.toHexString(file.length()) + "\"";
+    }
+
+    /**
+     * Strong ETag of a document content stored in the engine. A new content always gets a new storage id.
+     */
+    public String getETag(final String contentStorageId) {
+        return "\"" + contentStorageId + "\"";
+    }
+
+    /**
+     * Set the validators of the content in the response and check the conditional headers of the request.
+     *
+     * @param lastModified
+     *            last modification date of the content, or -1 if unknown
+     * @return true if a 304 Not Modified response was sent, in which case the content must not be written
+     */
+    public boolean checkNotModified(final HttpServletRequest request, final HttpServletResponse response, final String eTag, final long lastModified) {
+        response.setHeader(ETAG_HEADER, eTag);
+        if (lastModified > 0) {
+            response.setDateHeader(LAST_MODIFIED_HEADER, lastModified);
+        }
+        final String ifNoneMatch = request.getHeader(IF_NONE_MATCH_HEADER);
+        final boolean notModified;
+        if (ifNoneMatch != null) {
+            notModified = matches(ifNoneMatch, eTag);
+        } else {
+            final long ifModifiedSince = getDateHeader(request, IF_MODIFIED_SINCE_HEADER);
+            notModified = lastModified > 0 && ifModifiedSince > 0 && lastModified / 1000 <= ifModifiedSince / 1000;
+        }
+        if (notModified) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+        }
+        return notModified;
+    }
+
+    /**
+     * Write the whole file, or the requested range of it, in the response. The content is transferred from the file channel and never
+     * entirely loaded in memory.
+     *
+     * @throws FileNotFoundException
+     *             if the file does not exist
+     */
+    public void writeFile(final HttpServletRequest request, final HttpServletResponse response, final File file, final String contentType)
+            throws IOException {
+        if (!file.isFile()) {
+            throw new FileNotFoundException(file.getPath());
+        }
+        final String eTag = getETag(file);
+        final long lastModified = file.lastModified();
+        if (checkNotModified(request, response, eTag, lastModified)) {
+            return;
+        }
+        try (FileChannel fileChannel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            final long length = fileChannel.size();
+            final long[] range = getRange(request, response, eTag, lastModified, length);
+            if (range == null) {
+                return;
+            }
+            writeHeaders(response, contentType, range);
+            try (OutputStream out = response.getOutputStream()) {
+                final WritableByteChannel outChannel = Channels.newChannel(out);
+                long position = range[0];
+                final long end = range[1] + 1;
+                while (position < end) {
+                    final long transferred = fileChannel.transferTo(position, end - position, outChannel);
+                    if (transferred <= 0) {
+                        break;
+                    }
+                    position += transferred;
+                }
+            }
+            response.flushBuffer();
+        } catch (final NoSuchFileException e) {
+            throw new FileNotFoundException(file.getPath());
+        }
+    }
+
+    /**
+     * Write the whole content, or the requested range of it, in the response in chunks of fixed size.
+     * To be used for contents the engine only provides as byte arrays, after {@link #checkNotModified} so that the content is only
+     * retrieved when it has to be sent.
+     */
+    public void writeContent(final HttpServletRequest request, final HttpServletResponse response, final byte[] content, final String eTag,
+            final String contentType) throws IOException {
+        final long[] range = getRange(request, response, eTag, -1, content.length);
+        if (range == null) {
+            return;
+        }
+        writeHeaders(response, contentType, range);
+        try (OutputStream out = response.getOutputStream()) {
+            int offset = (int) range[0];
+            final int end = (int) range[1] + 1;
+            while (offset < end) {
+                final int chunkLength = Math.min(CHUNK_SIZE, end - offset);
+                out.write(content, offset, chunkLength);
+                offset += chunkLength;
+            }
+        }
+        response.flushBuffer();
+    }
+
+    /**
+     * @return the first and last positions of the bytes to send (the whole content if the request has no usable Range header), or null if
+     *         the range cannot be satisfied, in which case a 416 response was sent
+     */
+    long[] getRange(final HttpServletRequest request, final HttpServletResponse response, final String eTag, final long lastModified,
+            final long length) throws IOException {
+        response.setHeader(ACCEPT_RANGES_HEADER, BYTES_UNIT);
+        final long[] fullRange = new long[] { 0, length - 1 };
+        final String rangeHeader = request.getHeader(RANGE_HEADER);
+        if (rangeHeader == null || !rangeHeader.startsWith(BYTES_UNIT + "=") || !isRangeApplicable(request, eTag, lastModified)) {
+            return fullRange;
+        }
+        final String rangeSpec = rangeHeader.substring(BYTES_UNIT.length() + 1).trim();
+        final int dashIndex = rangeSpec.indexOf('-');
+        if (rangeSpec.indexOf(',') >= 0 || dashIndex < 0) {
+            // multiple ranges are not supported, the whole content is sent instead as allowed by the RFC 7233
+            return fullRange;
+        }
+        long first;
+        long last;
+        try {
+            final String firstSpec = rangeSpec.substring(0, dashIndex).trim();
+            final String lastSpec = rangeSpec.substring(dashIndex + 1).trim();
+            if (firstSpec.isEmpty()) {
+                // suffix range: the last N bytes
+                final long suffixLength = Long.parseLong(lastSpec);
+                first = Math.max(0, length - suffixLength);
+                last = suffixLength > 0 ? length - 1 : -1;
+            } else {
+                first = Long.parseLong(firstSpec);
+                last = lastSpec.isEmpty() ? length - 1 : Math.min(Long.parseLong(lastSpec), length - 1);
+                if (last < first) {
+                    return fullRange;
+                }
+            }
+        } catch (final NumberFormatException e) {
+            return fullRange;
+        }
+        if (first >= length || last < first) {
+            response.setHeader(CONTENT_RANGE_HEADER, BYTES_UNIT + " */" + length);
+            response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+            return null;
+        }
+        response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+        response.setHeader(CONTENT_RANGE_HEADER, BYTES_UNIT + " " + first + "-" + last + "/" + length);
+        return new long[] { first, last };
+    }
+
+    private boolean isRangeApplicable(final HttpServletRequest request, final String eTag, final long lastModified) {
+        final String ifRange = request.getHeader(IF_RANGE_HEADER);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"")) {
+            return ifRange.equals(eTag);
+        }
+        final long ifRangeDate = getDateHeader(request, IF_RANGE_HEADER);
+        return lastModified > 0 && ifRangeDate > 0 && lastModified / 1000 == ifRangeDate / 1000;
+    }
+
+    private void writeHeaders(final HttpServletResponse response, final String contentType, final long[] range) {
+        if (contentType != null) {
+            response.setContentType(contentType);
+        }
+        final long contentLength = range[1] - range[0] + 1;
+        if (contentLength <= Integer.MAX_VALUE) {
+            response.setContentLength((int) contentLength);
+        } else {
+            response.setHeader("Content-Length", Long.toString(contentLength));
+        }
+    }
+
+    private boolean matches(final String ifNoneMatch, final String eTag) {
+        for (final String candidate : ifNoneMatch.split(",")) {
+            final String trimmedCandidate = candidate.trim();
+            // weak comparison is used for If-None-Match
+            if ("*".equals(trimmedCandidate) || eTag.equals(trimmedCandidate.startsWith("W/") ? trimmedCandidate.substring(2) : trimmedCandidate)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private long getDateHeader(final HttpServletRequest request, final String headerName) {
+        try {
+            return request.getDateHeader(headerName);
+        } catch (final IllegalArgumentException e) {
+            // unparsable dates are ignored
+            return -1;
+        }
+    }
+
+}
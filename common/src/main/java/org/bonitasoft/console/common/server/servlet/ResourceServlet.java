@@ -17,7 +17,6 @@ package org.bonitasoft.console.common.server.servlet;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.io.OutputStream;
 import java.io.UnsupportedEncodingException;
 import java.net.URLDecoder;
 import java.util.logging.Level;
@@ -31,7 +30,6 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import javax.servlet.http.HttpSession;
 
-import org.apache.commons.io.FileUtils;
 import org.bonitasoft.console.common.server.utils.BonitaHomeFolderAccessor;
 import org.bonitasoft.console.common.server.utils.SessionUtil;
 import org.bonitasoft.engine.session.APISession;
@@ -74,6 +72,8 @@ public abstract class ResourceServlet extends HttpServlet {
 
     protected ResourceLocationReader resourceLocationReader = new ResourceLocationReader();
 
+    protected DownloadResponseWriter downloadResponseWriter = new DownloadResponseWriter();
+
     /**
      * {@inheritDoc}
      */
@@ -140,7 +140,6 @@ public abstract class ResourceServlet extends HttpServlet {
                 throw new ServletException("For security reasons, access to this file paths" + file.getAbsolutePath() + " is restricted.");
             }
 
-            byte[] content;
             String contentType;
 
             final String lowerCaseFileName = fileName.toLowerCase();
@@ -177,14 +176,7 @@ public abstract class ResourceServlet extends HttpServlet {
             if (contentType == null) {
                 contentType = "application/octet-stream";
             }
-            content = FileUtils.readFileToByteArray(file);
-            response.setContentType(contentType);
-            response.setContentLength(content.length);
-            response.setBufferSize(content.length);
-            final OutputStream out = response.getOutputStream();
-            out.write(content, 0, content.length);
-            response.flushBuffer();
-            out.close();
+            downloadResponseWriter.writeFile(request, response, file, contentType);
         } catch (FileNotFoundException e) {
             if (LOGGER.isLoggable(Level.WARNING)) {
                 LOGGER.log(Level.WARNING, e.getMessage());
@@ -23,6 +23,8 @@ import net.sf.ehcache.config.DiskStoreConfiguration;
 import org.bonitasoft.console.common.server.preferences.properties.ConfigurationFilesManager;
 
 import java.io.File;
+import java.util.Collections;
+import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -64,6 +66,17 @@ public class CacheUtil {
         return cache;
     }
 
+    /**
+     * Create an in-memory cache with its own size and time to live instead of the default configuration, if it does not exist yet
+     */
+    public static synchronized void createCache(final String diskStorePath, final String cacheName, final int maxElementsInMemory,
+            final long timeToLiveSeconds) {
+        final CacheManager cacheManager = getCacheManager(diskStorePath);
+        if (cacheManager.getCache(cacheName) == null) {
+            cacheManager.addCache(new Cache(cacheName, maxElementsInMemory, false, false, timeToLiveSeconds, 0));
+        }
+    }
+
     public static void store(final String diskStorePath, final String cacheName, final Object key, final Object value) {
         final CacheManager cacheManager = getCacheManager(diskStorePath);
         Cache cache = cacheManager.getCache(cacheName);
@@ -77,6 +90,23 @@ public class CacheUtil {
         }
     }
 
+    /**
+     * Same as {@link #store(String, String, Object, Object)} with a time to live for this element instead of the one of the cache
+     */
+    public static void store(final String diskStorePath, final String cacheName, final Object key, final Object value, final int timeToLiveSeconds) {
+        final CacheManager cacheManager = getCacheManager(diskStorePath);
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null) {
+            cache = createCache(cacheManager, cacheName);
+        }
+        final Element element = new Element(key, value);
+        element.setTimeToLive(timeToLiveSeconds);
+        cache.put(element);
+        if (LOGGER.isLoggable(Level.FINEST)) {
+            LOGGER.log(Level.FINEST, "####Element " + key + " created in cache with name " + cacheName + " for " + timeToLiveSeconds + "s");
+        }
+    }
+
     public static Object get(final String diskStorePath, final String cacheName, final Object key) {
         Object value = null;
         final CacheManager cacheManager = getCacheManager(diskStorePath);
@@ -101,6 +131,35 @@ public class CacheUtil {
         return value;
     }
 
+    public static void remove(final String diskStorePath, final String cacheName, final Object key) {
+        final CacheManager cacheManager = getCacheManager(diskStorePath);
+        final Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.remove(key);
+        }
+    }
+
+    /**
+     * @return the keys of the cache (some of them may be expired), an empty list if the cache does not exist
+     */
+    public static List<?> getKeys(final String diskStorePath, final String cacheName) {
+        final CacheManager cacheManager = getCacheManager(diskStorePath);
+        final Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            return cache.getKeys();
+        }
+        return Collections.emptyList();
+    }
+
+    public static int getSize(final String diskStorePath, final String cacheName) {
+        final CacheManager cacheManager = getCacheManager(diskStorePath);
+        final Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            return cache.getSize();
+        }
+        return 0;
+    }
+
     public static void clear(final String diskStorePath, final String cacheName) {
         final CacheManager cacheManager = getCacheManager(diskStorePath);
         final Cache cache = cacheManager.getCache(cacheName);
@@ -23,6 +23,7 @@ import java.io.IOException;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
@@ -78,7 +79,18 @@ public class FormsResourcesUtils {
     /**
      * A map used to store the classloaders that are used to load some libraries extracted from the business archive
      */
-    private final static Map<Long, ClassLoader> PROCESS_CLASSLOADERS = new HashMap<Long, ClassLoader>();
+    private final static Map<Long, ClassLoader> PROCESS_CLASSLOADERS = Collections.synchronizedMap(new HashMap<Long, ClassLoader>());
+
+    /**
+     * Locks the processes are spread on, so that the resources of a process are not extracted or deleted by several threads at the same
+     * time without blocking the other processes nor keeping a lock for each process ever deployed
+     */
+    private final static StripedLocks PROCESS_LOCKS = new StripedLocks(64);
+
+    /**
+     * Lock of the extraction of the BDM client libraries, shared by all the processes
+     */
+    private final static Object BDM_FOLDER_LOCK = new Object();
 
     /**
      * Util class allowing to work with the BPM engine API
@@ -104,7 +116,14 @@ public class FormsResourcesUtils {
      * @throws org.bonitasoft.engine.session.InvalidSessionException
      * @throws org.bonitasoft.engine.exception.RetrieveException
      */
-    public static synchronized void retrieveApplicationFiles(final APISession session, final long processDefinitionID, final Date processDeployementDate)
+    public static void retrieveApplicationFiles(final APISession session, final long processDefinitionID, final Date processDeployementDate)
+            throws IOException, ProcessDefinitionNotFoundException, InvalidSessionException, RetrieveException, BPMEngineException {
+        synchronized (getProcessLock(processDefinitionID)) {
+            doRetrieveApplicationFiles(session, processDefinitionID, processDeployementDate);
+        }
+    }
+
+    private static void doRetrieveApplicationFiles(final APISession session, final long processDefinitionID, final Date processDeployementDate)
             throws IOException, ProcessDefinitionNotFoundException, InvalidSessionException, RetrieveException, BPMEngineException {
 
         final ProcessAccessor process = new ProcessAccessor(bpmEngineAPIUtil.getProcessAPI(session));
@@ -146,6 +165,10 @@ public class FormsResourcesUtils {
         PROCESS_CLASSLOADERS.put(processDefinitionID, processClassLoader);
     }
 
+    private static Object getProcessLock(final long processDefinitionID) {
+        return PROCESS_LOCKS.get(processDefinitionID);
+    }
+
     /**
      * Create a classloader for the process
      *
@@ -227,21 +250,21 @@ public class FormsResourcesUtils {
      */
     public ClassLoader getProcessClassLoader(final APISession session, final long processDefinitionID) {
         final File currentBDMFolder = FormsResourcesUtils.getCurrentBDMFolder(session);
-        if (PROCESS_CLASSLOADERS.containsKey(processDefinitionID)) {
-            // CHECK BDM VERSION AND SEE IF CLASSLOADER IS UP TO DATE
-            // IF NO RECREATE THE CLASSLOADER
-            if (isClassloaderUpToDateWithCurrentBdm(currentBDMFolder)) {
-                return PROCESS_CLASSLOADERS.get(processDefinitionID);
-            } else {
-                PROCESS_CLASSLOADERS.remove(processDefinitionID);
-                cleanBDMFolder(currentBDMFolder);
-                FormsResourcesUtils.createAndSaveProcessClassloader(session, processDefinitionID, currentBDMFolder);
-                return PROCESS_CLASSLOADERS.get(processDefinitionID);
+        synchronized (getProcessLock(processDefinitionID)) {
+            if (PROCESS_CLASSLOADERS.containsKey(processDefinitionID)) {
+                // CHECK BDM VERSION AND SEE IF CLASSLOADER IS UP TO DATE
+                // IF NO RECREATE THE CLASSLOADER
+                if (isClassloaderUpToDateWithCurrentBdm(currentBDMFolder)) {
+                    return PROCESS_CLASSLOADERS.get(processDefinitionID);
+                } else {
+                    PROCESS_CLASSLOADERS.remove(processDefinitionID);
+                    synchronized (BDM_FOLDER_LOCK) {
+                        cleanBDMFolder(currentBDMFolder);
+                    }
+                }
             }
+            return FormsResourcesUtils.createAndSaveProcessClassloader(session, processDefinitionID, currentBDMFolder);
         }
-        FormsResourcesUtils.createAndSaveProcessClassloader(session, processDefinitionID, currentBDMFolder);
-        return PROCESS_CLASSLOADERS.get(processDefinitionID);
-
     }
 
     protected boolean isClassloaderUpToDateWithCurrentBdm(final File currentBDMFolder) {
@@ -309,7 +332,13 @@ public class FormsResourcesUtils {
      * @param processDefinitionID
      *            the process definition ID
      */
-    public static synchronized void removeApplicationFiles(final APISession session, final long processDefinitionID) {
+    public static void removeApplicationFiles(final APISession session, final long processDefinitionID) {
+        synchronized (getProcessLock(processDefinitionID)) {
+            doRemoveApplicationFiles(session, processDefinitionID);
+        }
+    }
+
+    private static void doRemoveApplicationFiles(final APISession session, final long processDefinitionID) {
 
         PROCESS_CLASSLOADERS.remove(processDefinitionID);
         try {
@@ -557,15 +586,25 @@ public class FormsResourcesUtils {
         return urlArray;
     }
 
-    protected static synchronized ClassLoader createAndSaveProcessClassloader(final APISession session, final long processDefinitionID,
+    protected static ClassLoader createAndSaveProcessClassloader(final APISession session, final long processDefinitionID,
+            final File currentBDMFolder) {
+        synchronized (getProcessLock(processDefinitionID)) {
+            return doCreateAndSaveProcessClassloader(session, processDefinitionID, currentBDMFolder);
+        }
+    }
+
+    private static ClassLoader doCreateAndSaveProcessClassloader(final APISession session, final long processDefinitionID,
             final File currentBDMFolder) {
 
         final ClassLoader parentClassLoader = createProcessClassloader(session, processDefinitionID);
         ClassLoader processClassLoader = null;
         try {
             if (currentBDMFolder != null) {
-                if (!currentBDMFolder.exists() || currentBDMFolder.listFiles().length == 0) {
-                    updateBDMClientFolder(session, currentBDMFolder);
+                // the BDM folder is shared by all the processes
+                synchronized (BDM_FOLDER_LOCK) {
+                    if (!currentBDMFolder.exists() || currentBDMFolder.listFiles().length == 0) {
+                        updateBDMClientFolder(session, currentBDMFolder);
+                    }
                 }
                 processClassLoader = createProcessClassloaderWithBDM(processDefinitionID, currentBDMFolder, parentClassLoader);
             }
@@ -8,6 +8,7 @@ import java.util.Set;
 import org.bonitasoft.console.common.server.login.LoginFailedException;
 import org.bonitasoft.console.common.server.preferences.properties.CompoundPermissionsMapping;
 import org.bonitasoft.console.common.server.preferences.properties.CustomPermissionsMapping;
+import org.bonitasoft.console.common.server.preferences.properties.PermissionsMappingIndex;
 import org.bonitasoft.engine.api.ApplicationAPI;
 import org.bonitasoft.engine.api.ProfileAPI;
 import org.bonitasoft.engine.profile.Profile;
@@ -27,15 +28,23 @@ public class PermissionsBuilder {
     private final ApplicationAPI applicationAPI;
     private final CustomPermissionsMapping customPermissionsMapping;
     private final CompoundPermissionsMapping compoundPermissionsMapping;
+    private final ProfilePermissionsCache profilePermissionsCache;
 
     PermissionsBuilder(final APISession session, final ProfileAPI profileAPI,
             final ApplicationAPI applicationAPI, final CustomPermissionsMapping customPermissionsMapping,
             final CompoundPermissionsMapping compoundPermissionsMapping) {
+        this(session, profileAPI, applicationAPI, customPermissionsMapping, compoundPermissionsMapping, null);
+    }
+
+    PermissionsBuilder(final APISession session, final ProfileAPI profileAPI,
+            final ApplicationAPI applicationAPI, final CustomPermissionsMapping customPermissionsMapping,
+            final CompoundPermissionsMapping compoundPermissionsMapping, final ProfilePermissionsCache profilePermissionsCache) {
         this.session = session;
         this.profileAPI = profileAPI;
         this.applicationAPI = applicationAPI;
         this.customPermissionsMapping = customPermissionsMapping;
         this.compoundPermissionsMapping = compoundPermissionsMapping;
+        this.profilePermissionsCache = profilePermissionsCache;
     }
 
     public Set<String> getPermissions() throws LoginFailedException {
@@ -51,6 +60,10 @@ public class PermissionsBuilder {
     }
 
     void addProfilesPermissions(final Set<String> permissions) throws LoginFailedException {
+        if (profilePermissionsCache != null) {
+            addCachedProfilesPermissions(permissions);
+            return;
+        }
         final Set<String> pageTokens;
         try {
             pageTokens = getAllPagesForUser(permissions);
@@ -62,6 +75,42 @@ public class PermissionsBuilder {
         }
     }
 
+    /**
+     * add the permissions of each profile of the user, retrieved from the tenant cache or computed and stored in it if they are not
+     * cached yet
+     */
+    void addCachedProfilesPermissions(final Set<String> permissions) throws LoginFailedException {
+        final PermissionsMappingIndex customPermissionsIndex = customPermissionsMapping.getPermissionsMappingIndex();
+        final PermissionsMappingIndex compoundPermissionsIndex = compoundPermissionsMapping.getPermissionsMappingIndex();
+        for (final String profile : session.getProfiles()) {
+            Set<String> profilePermissions = profilePermissionsCache.getPermissions(profile, customPermissionsIndex, compoundPermissionsIndex);
+            if (profilePermissions == null) {
+                final long version = profilePermissionsCache.getVersion();
+                profilePermissions = Collections.unmodifiableSet(getProfilePermissions(profile));
+                profilePermissionsCache.storePermissions(profile, version, customPermissionsIndex, compoundPermissionsIndex, profilePermissions);
+            }
+            permissions.addAll(profilePermissions);
+        }
+    }
+
+    /**
+     * @return the permissions granted by the profile: the ones of its pages and of the pages of its applications and its custom
+     *         permissions
+     */
+    Set<String> getProfilePermissions(final String profile) throws LoginFailedException {
+        final Set<String> profilePermissions = new HashSet<>();
+        final Set<String> pageTokens = new HashSet<>();
+        try {
+            addPageAndCustomPermissionsOfProfile(profilePermissions, pageTokens, profile);
+        } catch (final ProfileNotFoundException e) {
+            throw new LoginFailedException(e);
+        }
+        for (final String pageToken : pageTokens) {
+            profilePermissions.addAll(getCompoundPermissions(pageToken));
+        }
+        return profilePermissions;
+    }
+
     /**
      * return the page names the user can access and add custom permissions of the profile in the permissions set
      *
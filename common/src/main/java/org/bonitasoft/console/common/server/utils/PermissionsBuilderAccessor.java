@@ -28,7 +28,8 @@ public class PermissionsBuilderAccessor {
         reloadPropertiesIfInDebug(securityProperties, new PlatformManagementUtils());
         final CustomPermissionsMapping customPermissionsMapping = PropertiesFactory.getCustomPermissionsMapping(session.getTenantId());
         final CompoundPermissionsMapping compoundPermissionsMapping = PropertiesFactory.getCompoundPermissionsMapping(session.getTenantId());
-        return new PermissionsBuilder(session, profileAPI, applicationAPI, customPermissionsMapping, compoundPermissionsMapping);
+        return new PermissionsBuilder(session, profileAPI, applicationAPI, customPermissionsMapping, compoundPermissionsMapping,
+                ProfilePermissionsCache.getInstance(session.getTenantId()));
     }
 
     static void reloadPropertiesIfInDebug(SecurityProperties securityProperties, PlatformManagementUtils platformManagementUtils) throws LoginFailedException {
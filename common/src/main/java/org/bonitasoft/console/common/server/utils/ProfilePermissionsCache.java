@@ -0,0 +1,114 @@
+/**
+ * Copyright (C) 2020 Bonitasoft S.A.
+ * Bonitasoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.console.common.server.utils;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.bonitasoft.console.common.server.preferences.properties.ConsoleProperties;
+import org.bonitasoft.console.common.server.preferences.properties.PermissionsMappingIndex;
+import org.bonitasoft.console.common.server.preferences.properties.PropertiesFactory;
+
+/**
+ * Tenant cache of the permissions granted by each profile (pages of the profile and of its applications, compound and custom
+ * permissions), so that a login only has to merge the permissions of the profiles of the user.
+ * The permissions are stored with the version they were computed from, which is incremented when an application, an application
+ * page or a custom page is modified through the REST API or when applications are imported, and with the permissions mappings they
+ * were computed with. Entries also expire after the time to live configured in console-config.properties: the modifications of the
+ * profiles and of the profile entries, as well as the ones made directly through the engine, are only taken into account then.
+ */
+public class ProfilePermissionsCache {
+
+    private static final ConcurrentMap<Long, ProfilePermissionsCache> INSTANCES = new ConcurrentHashMap<>();
+
+    private final ConsoleProperties consoleProperties;
+
+    private final ConcurrentMap<String, CachedPermissions> permissionsByProfile = new ConcurrentHashMap<>();
+
+    private final AtomicLong version = new AtomicLong();
+
+    public static ProfilePermissionsCache getInstance(final long tenantId) {
+        return INSTANCES.computeIfAbsent(tenantId, id -> new ProfilePermissionsCache(PropertiesFactory.getConsoleProperties(id)));
+    }
+
+    ProfilePermissionsCache(final ConsoleProperties consoleProperties) {
+        this.consoleProperties = consoleProperties;
+    }
+
+    /**
+     * @return the current version of the permissions, to be read before retrieving the profile entries and pages from the engine and given
+     *         back when storing the permissions computed from them
+     */
+    public long getVersion() {
+        return version.get();
+    }
+
+    /**
+     * @return the permissions of the profile or null if they are not cached, expired, or were computed from an older version of the
+     *         profiles or with other permissions mappings. The returned set cannot be modified.
+     */
+    public Set<String> getPermissions(final String profile, final PermissionsMappingIndex customPermissionsIndex,
+            final PermissionsMappingIndex compoundPermissionsIndex) {
+        final CachedPermissions cachedPermissions = permissionsByProfile.get(profile);
+        if (cachedPermissions == null
+                || cachedPermissions.version != version.get()
+                || cachedPermissions.customPermissionsIndex != customPermissionsIndex
+                || cachedPermissions.compoundPermissionsIndex != compoundPermissionsIndex
+                || cachedPermissions.expirationTime < System.currentTimeMillis()) {
+            return null;
+        }
+        return cachedPermissions.permissions;
+    }
+
+    public void storePermissions(final String profile, final long version, final PermissionsMappingIndex customPermissionsIndex,
+            final PermissionsMappingIndex compoundPermissionsIndex, final Set<String> permissions) {
+        final long expirationTime = System.currentTimeMillis() + consoleProperties.getProfilePermissionsCacheTimeToLive() * 1000;
+        permissionsByProfile.put(profile, new CachedPermissions(version, customPermissionsIndex, compoundPermissionsIndex, expirationTime,
+                permissions));
+    }
+
+    /**
+     * Make the permissions of all the profiles stale, including the ones being computed
+     */
+    public void invalidate() {
+        version.incrementAndGet();
+        permissionsByProfile.clear();
+    }
+
+    private static class CachedPermissions {
+
+        private final long version;
+
+        private final PermissionsMappingIndex customPermissionsIndex;
+
+        private final PermissionsMappingIndex compoundPermissionsIndex;
+
+        private final long expirationTime;
+
+        private final Set<String> permissions;
+
+        CachedPermissions(final long version, final PermissionsMappingIndex customPermissionsIndex,
+                final PermissionsMappingIndex compoundPermissionsIndex, final long expirationTime, final Set<String> permissions) {
+            this.version = version;
+            this.customPermissionsIndex = customPermissionsIndex;
+            this.compoundPermissionsIndex = compoundPermissionsIndex;
+            this.expirationTime = expirationTime;
+            this.permissions = permissions;
+        }
+    }
+
+}
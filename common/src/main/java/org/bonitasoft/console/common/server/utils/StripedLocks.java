@@ -0,0 +1,46 @@
+/**
+ * Copyright (C) 2020 Bonitasoft S.A.
+ * Bonitasoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.console.common.server.utils;
+
+/**
+ * Fixed set of locks the keys are spread on, so that the operations on the same key are serialized without blocking the other keys
+ * nor keeping a lock for each key ever used. Two keys may share the same lock.
+ */
+public class StripedLocks {
+
+    private final Object[] locks;
+
+    public StripedLocks(final int stripes) {
+        locks = new Object[stripes];
+        for (int i = 0; i < stripes; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    /**
+     * @return the lock of the key, to synchronize on
+     */
+    public Object get(final Object key) {
+        return locks[Math.floorMod(key.hashCode(), locks.length)];
+    }
+
+    /**
+     * @return the lock of the id, to synchronize on
+     */
+    public Object get(final long id) {
+        return locks[(int) Math.floorMod(id, (long) locks.length)];
+    }
+
+}
@@ -0,0 +1,89 @@
+/**
+ * Copyright (C) 2020 Bonitasoft S.A.
+ * Bonitasoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.console.common.server.utils;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.LongFunction;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.bonitasoft.console.common.server.preferences.constants.WebBonitaConstantsUtils;
+
+/**
+ * Base of the tenant caches stored with {@link CacheUtil}.
+ * There is one instance of each cache per tenant, whose caches are suffixed with the tenant id and use the forms work folder of the
+ * tenant as disk store.
+ */
+public abstract class TenantCache {
+
+    private static final Logger LOGGER = Logger.getLogger(TenantCache.class.getName());
+
+    private static final ConcurrentMap<Class<?>, ConcurrentMap<Long, TenantCache>> INSTANCES = new ConcurrentHashMap<>();
+
+    protected final String diskStorePath;
+
+    private final long tenantId;
+
+    protected TenantCache(final long tenantId) {
+        this.tenantId = tenantId;
+        diskStorePath = getDiskStorePath(tenantId);
+    }
+
+    /**
+     * @return the instance of the cache for the tenant, created with the factory the first time it is requested
+     */
+    @SuppressWarnings("unchecked")
+    protected static <C extends TenantCache> C getInstance(final Class<C> cacheClass, final long tenantId, final LongFunction<C> factory) {
+        return (C) INSTANCES.computeIfAbsent(cacheClass, c -> new ConcurrentHashMap<>()).computeIfAbsent(tenantId, factory::apply);
+    }
+
+    /**
+     * @return the instance of the cache for the tenant or null if it was not requested yet
+     */
+    @SuppressWarnings("unchecked")
+    protected static <C extends TenantCache> C getExistingInstance(final Class<C> cacheClass, final long tenantId) {
+        final ConcurrentMap<Long, TenantCache> instances = INSTANCES.get(cacheClass);
+        return instances != null ? (C) instances.get(tenantId) : null;
+    }
+
+    private static String getDiskStorePath(final long tenantId) {
+        try {
+            return WebBonitaConstantsUtils.getInstance(tenantId).getFormsWorkFolder().getAbsolutePath();
+        } catch (final Exception e) {
+            LOGGER.log(Level.WARNING, "Unable to retrieve the path of the cache disk store directory path.", e);
+            return System.getProperty("java.io.tmpdir");
+        }
+    }
+
+    /**
+     * @return the name of the cache for the tenant
+     */
+    protected String getCacheName(final String cacheName) {
+        return cacheName + "_" + tenantId;
+    }
+
+    /**
+     * Create the cache for the tenant if it does not exist yet
+     *
+     * @return the name of the cache for the tenant
+     */
+    protected String createCache(final String cacheName, final int maxSize, final long timeToLiveSeconds) {
+        final String tenantCacheName = getCacheName(cacheName);
+        CacheUtil.createCache(diskStorePath, tenantCacheName, maxSize, timeToLiveSeconds);
+        return tenantCacheName;
+    }
+
+}
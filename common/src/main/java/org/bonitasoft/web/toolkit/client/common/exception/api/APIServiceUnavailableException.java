@@ -0,0 +1,32 @@
+/**
+ * Copyright (C) 2020 Bonitasoft S.A.
+ * Bonitasoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.web.toolkit.client.common.exception.api;
+
+/**
+ * The request cannot be served right now because the server is overloaded. The client may retry later.
+ */
+public class APIServiceUnavailableException extends APIException {
+
+    private static final long serialVersionUID = -2571633307224738146L;
+
+    public APIServiceUnavailableException(final String message) {
+        super(message);
+    }
+
+    public APIServiceUnavailableException(final String message, final Throwable cause) {
+        super(message, cause);
+    }
+
+}
@@ -484,7 +484,10 @@ public abstract class AbstractI18n {
 
     public LOCALE defaultLocale = LOCALE.en;
 
-    private final Map<LOCALE, Map<String, String>> locales = new HashMap<LOCALE, Map<String, String>>();
+    /**
+     * Loaded locales, replaced by a modified copy when a locale is loaded so that it can be read without locking
+     */
+    private volatile Map<LOCALE, Map<String, String>> locales = new HashMap<LOCALE, Map<String, String>>();
 
     // //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
     // SINGLETON
@@ -959,17 +962,21 @@ public abstract class AbstractI18n {
 
     public Map<String, String> getLocale(final LOCALE locale) {
         if (locale != null) {
-            if (!this.locales.containsKey(locale)) {
-                loadLocale(locale);
+            final Map<String, String> localeMap = this.locales.get(locale);
+            if (localeMap != null) {
+                return localeMap;
             }
+            loadLocale(locale);
             return this.locales.get(locale);
         } else {
             return getLocale(getDefaultLocale());
         }
     }
 
-    protected final void setLocale(final LOCALE locale, final Map<String, String> map) {
-        this.locales.put(locale, map);
+    protected final synchronized void setLocale(final LOCALE locale, final Map<String, String> map) {
+        final Map<LOCALE, Map<String, String>> newLocales = new HashMap<LOCALE, Map<String, String>>(this.locales);
+        newLocales.put(locale, map);
+        this.locales = newLocales;
     }
 
     public static void load(final LOCALE locale) {
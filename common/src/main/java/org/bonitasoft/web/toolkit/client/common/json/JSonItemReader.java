@@ -175,7 +175,17 @@ public class JSonItemReader {
      * @param itemDefinition
      */
     public static <E extends IItem> E parseItem(final String json, final ItemDefinition<E> itemDefinition, final boolean applyValidators) {
-        AbstractTreeNode<String> tree = UNSERIALIZER._unserializeTree(json);
+        return parseItem(UNSERIALIZER._unserializeTree(json), itemDefinition);
+    }
+
+    /**
+     * Parse an item based on an already unserialized JSon
+     * 
+     * @param json
+     * @param itemDefinition
+     */
+    public static <E extends IItem> E parseItem(final AbstractTreeNode<String> json, final ItemDefinition<E> itemDefinition) {
+        AbstractTreeNode<String> tree = json;
 
         if (tree instanceof Tree<?>) {
             tree = ((Tree<String>) tree).get(0);
@@ -20,9 +20,17 @@ import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.*;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.io.FileUtils;
 import org.bonitasoft.console.common.server.utils.PlatformManagementUtils;
@@ -86,6 +94,17 @@ public class ConfigurationFilesManagerTest {
         assertThat(new String(contentCaptor.getValue())).doesNotContain("testValue").contains("testProperty", "new Value");
     }
 
+    @Test
+    public void should_notify_the_listeners_when_the_configuration_of_a_tenant_changes() throws Exception {
+        final List<Long> modifiedTenants = new ArrayList<>();
+        configurationFilesManager.addTenantConfigurationListener(modifiedTenants::add);
+
+        configurationFilesManager.setProperty(MY_PROP_PROPERTIES, TENANT_ID, "testProperty", "new Value");
+        configurationFilesManager.setTenantConfigurations(Collections.<String, byte[]> emptyMap(), TENANT_ID);
+
+        assertThat(modifiedTenants).containsExactly(TENANT_ID, TENANT_ID);
+    }
+
     @Test
     public void should_update_configuration_when_calling_setTenantConfiguration() throws Exception {
         //given
@@ -172,6 +191,74 @@ public class ConfigurationFilesManagerTest {
         assertThat(properties).containsEntry("defaultKey", "defaultValue").containsEntry("otherKey", expectedOverwrittenValue);
     }
 
+    @Test
+    public void should_rebuild_permissions_mapping_index_when_a_property_is_set_or_removed() throws Exception {
+        final PermissionsMappingIndex index = configurationFilesManager.getTenantPermissionsMappingIndex(MY_PROP_PROPERTIES, TENANT_ID);
+        assertThat(index.getPermissions("testProperty")).containsOnly("testValue");
+        assertThat(configurationFilesManager.getTenantPermissionsMappingIndex(MY_PROP_PROPERTIES, TENANT_ID)).isSameAs(index);
+
+        configurationFilesManager.setProperty(MY_PROP_PROPERTIES, TENANT_ID, "testProperty", "[value1, value2]");
+
+        final PermissionsMappingIndex updatedIndex = configurationFilesManager.getTenantPermissionsMappingIndex(MY_PROP_PROPERTIES, TENANT_ID);
+        assertThat(updatedIndex).isNotSameAs(index);
+        assertThat(updatedIndex.getPermissions("testProperty")).containsOnly("value1", "value2");
+        assertThat(index.getPermissions("testProperty")).containsOnly("testValue");
+
+        configurationFilesManager.removeProperty(MY_PROP_PROPERTIES, TENANT_ID, "propToRemove");
+
+        assertThat(configurationFilesManager.getTenantPermissionsMappingIndex(MY_PROP_PROPERTIES, TENANT_ID).getPermissions("propToRemove")).isEmpty();
+    }
+
+    @Test
+    public void should_not_modify_the_properties_already_returned_when_a_property_is_set() throws Exception {
+        final Properties properties = configurationFilesManager.getTenantProperties(MY_PROP_PROPERTIES, TENANT_ID);
+
+        configurationFilesManager.setProperty(MY_PROP_PROPERTIES, TENANT_ID, "testProperty", "new Value");
+
+        assertThat(properties).contains(entry("testProperty", "testValue"));
+        assertThat(configurationFilesManager.getTenantProperties(MY_PROP_PROPERTIES, TENANT_ID)).contains(entry("testProperty", "new Value"));
+    }
+
+    @Test
+    public void should_rebuild_aggregated_properties_when_calling_setTenantConfiguration() throws Exception {
+        assertThat(configurationFilesManager.getTenantProperties("configFile1.properties", TENANT_ID)).contains(entry("myProp1", "authKey"));
+
+        configurationFilesManager.setTenantConfiguration("configFile1.properties", "myProp1=newKey".getBytes(), TENANT_ID);
+
+        assertThat(configurationFilesManager.getTenantProperties("configFile1.properties", TENANT_ID)).contains(entry("myProp1", "newKey"));
+    }
+
+    @Test
+    public void should_always_read_a_complete_configuration_while_tenant_configurations_are_pushed() throws Exception {
+        final ConfigurationFilesManager configurationFilesManager = new ConfigurationFilesManager();
+        configurationFilesManager.setTenantConfigurations(Collections.singletonMap("configFile1.properties", "myProp1=0\nmyProp2=0".getBytes()),
+                TENANT_ID);
+        final ExecutorService executorService = Executors.newFixedThreadPool(8);
+        final List<Future<Void>> results = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            results.add(executorService.submit((Callable<Void>) () -> {
+                for (int i = 0; i < 500; i++) {
+                    final Properties properties = configurationFilesManager.getTenantProperties("configFile1.properties", TENANT_ID);
+                    assertThat(properties.getProperty("myProp1")).isEqualTo(properties.getProperty("myProp2"));
+                }
+                return null;
+            }));
+            final int writerIndex = t;
+            results.add(executorService.submit((Callable<Void>) () -> {
+                for (int i = 0; i < 100; i++) {
+                    final String value = writerIndex + "-" + i;
+                    configurationFilesManager.setTenantConfigurations(
+                            Collections.singletonMap("configFile1.properties", ("myProp1=" + value + "\nmyProp2=" + value).getBytes()), TENANT_ID);
+                }
+                return null;
+            }));
+        }
+        for (final Future<Void> result : results) {
+            result.get(30, TimeUnit.SECONDS);
+        }
+        executorService.shutdown();
+    }
+
     @Test
     public void removeProperty_should_remove_value_from_internal_file() throws Exception {
         // given:
@@ -54,6 +54,19 @@ public class ResourcesPermissionsMappingTest {
         Assertions.assertThat(unknown).isEmpty();
     }
 
+    @Test
+    public void testGetDefaultResourcePermission() throws Exception {
+        final ResourcesPermissionsMapping resourcesPermissionsMapping = getResourcesPermissionsMapping("GET|bpm/process [Process visualization]");
+
+        Assertions.assertThat(resourcesPermissionsMapping.getDefaultResourcePermissions("GET", "system", "pageCache"))
+                .containsOnly("tenant_platform_visualization");
+        Assertions.assertThat(resourcesPermissionsMapping.getDefaultResourcePermissions("GET", "system", "fileContentMemory"))
+                .containsOnly("tenant_platform_visualization");
+        Assertions.assertThat(resourcesPermissionsMapping.getDefaultResourcePermissions("GET", "system", "counters"))
+                .containsOnly("tenant_platform_visualization");
+        Assertions.assertThat(resourcesPermissionsMapping.getDefaultResourcePermissions("GET", "bpm", "process")).isEmpty();
+    }
+
     @Test
     public void testGetResourcePermissionWithWildCard() throws Exception {
         //given
@@ -80,6 +93,65 @@ public class ResourcesPermissionsMappingTest {
         Assertions.assertThat(putWithResourcesQualifiers).containsOnly("Expression update");
     }
 
+    @Test
+    public void testGetResourcePermissionWithWildCardOnSeveralQualifiers() throws Exception {
+        //given
+        final String fileContent = "GET|bpm/case/*/context [Case visualization]\n" +
+                "GET|bpm/case/1/* [Case 1 visualization]\n" +
+                "GET|bpm/case/* [Case listing]";
+        final ResourcesPermissionsMapping resourcesPermissionsMapping = getResourcesPermissionsMapping(fileContent);
+
+        //when
+        final Set<String> lastQualifierWildCard = resourcesPermissionsMapping.getResourcePermissionsWithWildCard("GET", "bpm", "case",
+                Arrays.asList("1", "context"));
+        final Set<String> firstQualifierWildCard = resourcesPermissionsMapping.getResourcePermissionsWithWildCard("GET", "bpm", "case",
+                Arrays.asList("2", "context"));
+        final Set<String> reducedQualifiers = resourcesPermissionsMapping.getResourcePermissionsWithWildCard("GET", "bpm", "case",
+                Arrays.asList("2", "comment"));
+        final Set<String> noQualifiers = resourcesPermissionsMapping.getResourcePermissionsWithWildCard("GET", "bpm", "case", null);
+
+        //then
+        Assertions.assertThat(lastQualifierWildCard).containsOnly("Case 1 visualization");
+        Assertions.assertThat(firstQualifierWildCard).containsOnly("Case visualization");
+        Assertions.assertThat(reducedQualifiers).containsOnly("Case listing");
+        Assertions.assertThat(noQualifiers).isEmpty();
+    }
+
+    @Test
+    public void testGetResourcePermissionReturnsTheSameSetForIdenticalPermissions() throws Exception {
+        //given
+        final String fileContent = "GET|bpm/process [Process visualization, Process categories]\n" +
+                "GET|bpm/category [Process categories, Process visualization]";
+        final ResourcesPermissionsMapping resourcesPermissionsMapping = getResourcesPermissionsMapping(fileContent);
+
+        //when
+        final Set<String> processPermissions = resourcesPermissionsMapping.getResourcePermissions("GET", "bpm", "process");
+        final Set<String> categoryPermissions = resourcesPermissionsMapping.getPropertyAsSet("GET|bpm/category");
+
+        //then
+        Assertions.assertThat(processPermissions).isSameAs(categoryPermissions);
+    }
+
+    @Test
+    public void testGetResourcePermissionIsUpdatedWhenConfigurationChanges() throws Exception {
+        //given
+        final ResourcesPermissionsMapping resourcesPermissionsMapping = getResourcesPermissionsMapping("GET|bpm/process [Process visualization]");
+        Assertions.assertThat(resourcesPermissionsMapping.getResourcePermissions("GET", "bpm", "process")).containsOnly("Process visualization");
+
+        //when
+        getResourcesPermissionsMapping("GET|bpm/process [Process deploy]");
+
+        //then
+        Assertions.assertThat(resourcesPermissionsMapping.getResourcePermissions("GET", "bpm", "process")).containsOnly("Process deploy");
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testGetResourcePermissionReturnsAnUnmodifiableSet() throws Exception {
+        final ResourcesPermissionsMapping resourcesPermissionsMapping = getResourcesPermissionsMapping("GET|bpm/process [Process visualization]");
+
+        resourcesPermissionsMapping.getResourcePermissions("GET", "bpm", "process").add("Process deploy");
+    }
+
     public static ResourcesPermissionsMapping getResourcesPermissionsMapping(final String fileContent) throws IOException {
         ConfigurationFilesManager.getInstance().setTenantConfigurations(Collections.singletonMap("TEST_FILE.properties", fileContent.getBytes()), 423L);
         final File resourceMappingFile = File.createTempFile("resourceMapping", ".tmp");
@@ -0,0 +1,201 @@
+/**
+ * Copyright (C) 2020 Bonitasoft S.A.
+ * Bonitasoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.console.common.server.servlet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class DownloadResponseWriterTest {
+
+    private static final String CONTENT = "0123456789";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Mock
+    private HttpServletRequest request;
+
+    @Mock
+    private HttpServletResponse response;
+
+    private final ByteArrayOutputStream responseContent = new ByteArrayOutputStream();
+
+    private final DownloadResponseWriter downloadResponseWriter = new DownloadResponseWriter();
+
+    private File file;
+
+    @Before
+    public void setUp() throws Exception {
+        file = temporaryFolder.newFile("file.txt");
+        Files.write(file.toPath(), CONTENT.getBytes(StandardCharsets.UTF_8));
+        when(request.getDateHeader("If-Modified-Since")).thenReturn(-1L);
+        when(request.getDateHeader("If-Range")).thenReturn(-1L);
+        when(response.getOutputStream()).thenReturn(new ServletOutputStream() {
+
+            @Override
+            public void write(final int b) throws IOException {
+                responseContent.write(b);
+            }
+        });
+    }
+
+    @Test
+    public void should_write_the_whole_file_with_its_validators() throws Exception {
+        downloadResponseWriter.writeFile(request, response, file, "text/plain");
+
+        assertThat(responseContent.toString("UTF-8")).isEqualTo(CONTENT);
+        verify(response).setContentType("text/plain");
+        verify(response).setContentLength(CONTENT.length());
+        verify(response).setHeader("ETag", downloadResponseWriter.getETag(file));
+        verify(response).setDateHeader("Last-Modified", file.lastModified());
+        verify(response).setHeader("Accept-Ranges", "bytes");
+        verify(response, never()).setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+    }
+
+    @Test
+    public void should_answer_not_modified_when_the_etag_matches() throws Exception {
+        when(request.getHeader("If-None-Match")).thenReturn("\"other\", " + downloadResponseWriter.getETag(file));
+
+        downloadResponseWriter.writeFile(request, response, file, "text/plain");
+
+        verify(response).setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+        verify(response, never()).getOutputStream();
+    }
+
+    @Test
+    public void should_write_the_content_when_the_etag_does_not_match() throws Exception {
+        when(request.getHeader("If-None-Match")).thenReturn("\"other\"");
+
+        downloadResponseWriter.writeFile(request, response, file, "text/plain");
+
+        assertThat(responseContent.toString("UTF-8")).isEqualTo(CONTENT);
+        verify(response, never()).setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+    }
+
+    @Test
+    public void should_answer_not_modified_when_the_file_was_not_modified_since_the_given_date() throws Exception {
+        when(request.getDateHeader("If-Modified-Since")).thenReturn(file.lastModified() + 1000);
+
+        downloadResponseWriter.writeFile(request, response, file, "text/plain");
+
+        verify(response).setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+        verify(response, never()).getOutputStream();
+    }
+
+    @Test
+    public void should_write_the_requested_range_of_the_file() throws Exception {
+        when(request.getHeader("Range")).thenReturn("bytes=2-5");
+
+        downloadResponseWriter.writeFile(request, response, file, "text/plain");
+
+        assertThat(responseContent.toString("UTF-8")).isEqualTo("2345");
+        verify(response).setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+        verify(response).setHeader("Content-Range", "bytes 2-5/10");
+        verify(response).setContentLength(4);
+    }
+
+    @Test
+    public void should_write_the_end_of_the_file_for_open_and_suffix_ranges() throws Exception {
+        when(request.getHeader("Range")).thenReturn("bytes=7-", "bytes=-3");
+
+        downloadResponseWriter.writeFile(request, response, file, "text/plain");
+        downloadResponseWriter.writeFile(request, response, file, "text/plain");
+
+        assertThat(responseContent.toString("UTF-8")).isEqualTo("789789");
+    }
+
+    @Test
+    public void should_write_the_whole_file_when_the_range_does_not_match_the_if_range_etag() throws Exception {
+        when(request.getHeader("Range")).thenReturn("bytes=2-5");
+        when(request.getHeader("If-Range")).thenReturn("\"outdated\"");
+
+        downloadResponseWriter.writeFile(request, response, file, "text/plain");
+
+        assertThat(responseContent.toString("UTF-8")).isEqualTo(CONTENT);
+        verify(response, never()).setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+    }
+
+    @Test
+    public void should_write_the_whole_file_when_multiple_ranges_are_requested() throws Exception {
+        when(request.getHeader("Range")).thenReturn("bytes=0-1,4-5");
+
+        downloadResponseWriter.writeFile(request, response, file, "text/plain");
+
+        assertThat(responseContent.toString("UTF-8")).isEqualTo(CONTENT);
+    }
+
+    @Test
+    public void should_answer_range_not_satisfiable_when_the_range_starts_after_the_end_of_the_file() throws Exception {
+        when(request.getHeader("Range")).thenReturn("bytes=20-");
+
+        downloadResponseWriter.writeFile(request, response, file, "text/plain");
+
+        verify(response).setHeader("Content-Range", "bytes */10");
+        verify(response).sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+        verify(response, never()).getOutputStream();
+    }
+
+    @Test(expected = FileNotFoundException.class)
+    public void should_throw_FileNotFoundException_when_the_file_does_not_exist() throws Exception {
+        downloadResponseWriter.writeFile(request, response, new File(temporaryFolder.getRoot(), "missing.txt"), "text/plain");
+    }
+
+    @Test
+    public void should_write_the_requested_range_of_a_content_in_chunks() throws Exception {
+        final byte[] content = new byte[DownloadResponseWriter.CHUNK_SIZE * 2 + 10];
+        content[content.length - 1] = 1;
+        when(request.getHeader("Range")).thenReturn("bytes=10-");
+
+        downloadResponseWriter.writeContent(request, response, content, "\"storageId\"", null);
+
+        assertThat(responseContent.size()).isEqualTo(DownloadResponseWriter.CHUNK_SIZE * 2);
+        assertThat(responseContent.toByteArray()[DownloadResponseWriter.CHUNK_SIZE * 2 - 1]).isEqualTo((byte) 1);
+        verify(response).setHeader("Content-Range", "bytes 10-" + (content.length - 1) + "/" + content.length);
+    }
+
+    @Test
+    public void should_use_the_content_storage_id_as_etag() throws Exception {
+        when(request.getHeader("If-None-Match")).thenReturn("W/\"storageId\"");
+
+        final boolean notModified = downloadResponseWriter.checkNotModified(request, response, downloadResponseWriter.getETag("storageId"), -1);
+
+        assertThat(notModified).isTrue();
+        verify(response).setHeader("ETag", "\"storageId\"");
+        verify(response, never()).setDateHeader("Last-Modified", -1);
+    }
+
+}
@@ -19,6 +19,7 @@ import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 
@@ -73,4 +74,22 @@ public class CacheUtilTest {
                 "testStoreKey"));
     }
 
+    @Test
+    public void testRemove() {
+        final String diskStorePath = cacheManager.getConfiguration().getDiskStoreConfiguration().getPath();
+        CacheUtil.store(diskStorePath, cacheManager.getName(), "testRemoveKey", "testRemoveValue");
+        CacheUtil.remove(diskStorePath, cacheManager.getName(), "testRemoveKey");
+        assertNull("Cannot remove the element from the cache", CacheUtil.get(diskStorePath, cacheManager.getName(), "testRemoveKey"));
+    }
+
+    @Test
+    public void testCreateBoundedCache() {
+        final String diskStorePath = cacheManager.getConfiguration().getDiskStoreConfiguration().getPath();
+        CacheUtil.createCache(diskStorePath, "testBoundedCache", 2, 60);
+        CacheUtil.store(diskStorePath, "testBoundedCache", "key1", "value1");
+        CacheUtil.store(diskStorePath, "testBoundedCache", "key2", "value2");
+        CacheUtil.store(diskStorePath, "testBoundedCache", "key3", "value3");
+        assertEquals("The cache should be bounded", 2, CacheUtil.getSize(diskStorePath, "testBoundedCache"));
+    }
+
 }
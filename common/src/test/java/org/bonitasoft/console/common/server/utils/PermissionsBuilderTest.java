@@ -12,7 +12,9 @@ import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
 import java.util.Date;
@@ -22,6 +24,7 @@ import java.util.Set;
 
 import org.bonitasoft.console.common.server.login.LoginFailedException;
 import org.bonitasoft.console.common.server.preferences.properties.CompoundPermissionsMapping;
+import org.bonitasoft.console.common.server.preferences.properties.ConsoleProperties;
 import org.bonitasoft.console.common.server.preferences.properties.CustomPermissionsMapping;
 import org.bonitasoft.console.common.server.preferences.properties.SecurityProperties;
 import org.bonitasoft.engine.api.ApplicationAPI;
@@ -56,6 +59,8 @@ public class PermissionsBuilderTest {
     private SecurityProperties securityProperties;
     @Mock
     private ApplicationAPI applicationAPI;
+    @Mock
+    private ConsoleProperties consoleProperties;
     @Rule
     public ExpectedException expectedException = ExpectedException.none();
     private PermissionsBuilder permissionsBuilder;
@@ -194,6 +199,54 @@ public class PermissionsBuilderTest {
         assertThat(permissions).containsOnly("Perm1", "Perm2", "Perm3", "Perm4", "Perm5");
     }
 
+    @Test
+    public void should_getPermissions_retrieve_the_pages_of_each_profile_once_for_all_the_users() throws Exception {
+        final ProfilePermissionsCache profilePermissionsCache = givenProfilePermissionsCacheAndThreeProfiles();
+
+        for (int i = 0; i < 50; i++) {
+            final APISessionImpl session = new APISessionImpl(i, new Date(), 100000, "user" + i, i, "default", 1L);
+            session.setProfiles(asList("profile" + i % 3, "profile" + (i + 1) % 3));
+            final Set<String> permissions = new PermissionsBuilder(session, profileAPI, applicationAPI, customPermissionsMapping,
+                    compoundPermissionsMapping, profilePermissionsCache).getPermissions();
+
+            assertThat(permissions).containsOnly("profile|profile" + i % 3, "profile|profile" + (i + 1) % 3,
+                    "pagePerm" + i % 3, "pagePerm" + (i + 1) % 3, "appPagePerm" + i % 3, "appPagePerm" + (i + 1) % 3);
+        }
+
+        for (int i = 0; i < 3; i++) {
+            verify(profileAPI, times(1)).getProfileEntries("profile" + i);
+            verify(applicationAPI, times(1)).getAllPagesForProfile("profile" + i);
+        }
+    }
+
+    @Test
+    public void should_getPermissions_retrieve_the_pages_of_the_profiles_again_once_the_cache_is_invalidated() throws Exception {
+        final ProfilePermissionsCache profilePermissionsCache = givenProfilePermissionsCacheAndThreeProfiles();
+        apiSession.setProfiles(asList("profile0"));
+        final PermissionsBuilder cachedPermissionsBuilder = new PermissionsBuilder(apiSession, profileAPI, applicationAPI,
+                customPermissionsMapping, compoundPermissionsMapping, profilePermissionsCache);
+
+        cachedPermissionsBuilder.getPermissions();
+        profilePermissionsCache.invalidate();
+        doReturn(new ArrayList<ProfileEntry>()).when(profileAPI).getProfileEntries("profile0");
+        final Set<String> permissions = cachedPermissionsBuilder.getPermissions();
+
+        assertThat(permissions).containsOnly("profile|profile0", "appPagePerm0");
+        verify(profileAPI, times(2)).getProfileEntries("profile0");
+        verify(applicationAPI, times(2)).getAllPagesForProfile("profile0");
+    }
+
+    private ProfilePermissionsCache givenProfilePermissionsCacheAndThreeProfiles() throws Exception {
+        when(consoleProperties.getProfilePermissionsCacheTimeToLive()).thenReturn(60L);
+        for (int i = 0; i < 3; i++) {
+            doReturn(asList(profileEntryWithPage("page" + i))).when(profileAPI).getProfileEntries("profile" + i);
+            doReturn(asList("appPage" + i)).when(applicationAPI).getAllPagesForProfile("profile" + i);
+            doReturn(aSet("pagePerm" + i)).when(compoundPermissionsMapping).getPropertyAsSet("page" + i);
+            doReturn(aSet("appPagePerm" + i)).when(compoundPermissionsMapping).getPropertyAsSet("appPage" + i);
+        }
+        return new ProfilePermissionsCache(consoleProperties);
+    }
+
     private Set<String> aSet(String... elements) {
         return new HashSet<>(asList(elements));
     }
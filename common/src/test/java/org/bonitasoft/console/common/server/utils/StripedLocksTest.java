@@ -0,0 +1,43 @@
+/**
+ * Copyright (C) 2020 Bonitasoft S.A.
+ * Bonitasoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.console.common.server.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+public class StripedLocksTest {
+
+    private final StripedLocks stripedLocks = new StripedLocks(4);
+
+    @Test
+    public void should_return_the_same_lock_for_the_same_key() {
+        assertThat(stripedLocks.get("1|myPage")).isSameAs(stripedLocks.get(new String("1|myPage")));
+        assertThat(stripedLocks.get(12L)).isSameAs(stripedLocks.get(12L));
+    }
+
+    @Test
+    public void should_spread_the_keys_on_the_stripes() {
+        assertThat(stripedLocks.get(1L)).isNotSameAs(stripedLocks.get(2L));
+        assertThat(stripedLocks.get(1L)).isSameAs(stripedLocks.get(5L));
+    }
+
+    @Test
+    public void should_return_a_lock_for_negative_keys() {
+        assertThat(stripedLocks.get(-3L)).isSameAs(stripedLocks.get(1L));
+        assertThat(stripedLocks.get(Integer.MIN_VALUE + 1L)).isNotNull();
+    }
+
+}
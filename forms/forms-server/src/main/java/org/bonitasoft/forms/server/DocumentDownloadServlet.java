@@ -14,11 +14,7 @@
 package org.bonitasoft.forms.server;
 
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.OutputStream;
 import java.net.URLEncoder;
 import java.util.Date;
 import java.util.logging.Level;
@@ -30,6 +26,7 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
 import org.apache.commons.io.FilenameUtils;
+import org.bonitasoft.console.common.server.servlet.DownloadResponseWriter;
 import org.bonitasoft.console.common.server.utils.BPMEngineAPIUtil;
 import org.bonitasoft.console.common.server.utils.BonitaHomeFolderAccessor;
 import org.bonitasoft.console.common.server.utils.FormsResourcesUtils;
@@ -109,6 +106,11 @@ public class DocumentDownloadServlet extends HttpServlet {
      */
     protected BPMEngineAPIUtil bpmEngineAPIUtil = new BPMEngineAPIUtil();
 
+    /**
+     * Util class writing the downloaded content in the response
+     */
+    protected DownloadResponseWriter downloadResponseWriter = new DownloadResponseWriter();
+
     /**
      * Logger
      */
@@ -126,7 +128,7 @@ public class DocumentDownloadServlet extends HttpServlet {
         final String documentId = request.getParameter(DOCUMENT_ID_PARAM);
         String contentStorageId = request.getParameter(CONTENT_STORAGE_ID_PARAM);
         final APISession apiSession = (APISession) request.getSession().getAttribute(API_SESSION_PARAM_KEY);
-        byte[] fileContent = null;
+        File fileToDownload = null;
         if (filePath != null) {
             if (LOGGER.isLoggable(Level.FINE)) {
                 LOGGER.log(Level.FINE, "attachmentPath: " + filePath);
@@ -137,22 +139,14 @@ public class DocumentDownloadServlet extends HttpServlet {
                 if (fileName == null) {
                     fileName = file.getName();
                 }
-                fileContent = getFileContent(file, filePath);
+                fileToDownload = file;
             } catch (final UnauthorizedFolderException e) {
                 throw new ServletException(e.getMessage());
             } catch (final IOException e) {
                 throw new ServletException(e);
             }
         } else if (fileName != null && contentStorageId != null) {
-            try {
-                fileContent = bpmEngineAPIUtil.getProcessAPI(apiSession).getDocumentContent(contentStorageId);
-            } catch (final Exception e) {
-                final String errorMessage = "Error while retrieving the document  with content storage ID " + contentStorageId + " from the engine.";
-                if (LOGGER.isLoggable(Level.SEVERE)) {
-                    LOGGER.log(Level.SEVERE, errorMessage, e);
-                }
-                throw new ServletException(errorMessage, e);
-            }
+            // the content is only retrieved from the engine once the conditional headers are checked
         } else if (documentId != null) {
             try {
                 final ProcessAPI processAPI = bpmEngineAPIUtil.getProcessAPI(apiSession);
@@ -165,9 +159,6 @@ public class DocumentDownloadServlet extends HttpServlet {
                     fileName = archivedDocument.getDocumentContentFileName();
                     contentStorageId = archivedDocument.getContentStorageId();
                 }
-                if (contentStorageId != null && !contentStorageId.isEmpty()) {
-                    fileContent = processAPI.getDocumentContent(contentStorageId);
-                }
             } catch (final Exception e) {
                 final String errorMessage = "Error while retrieving the document  with ID " + documentId + " from the engine.";
                 if (LOGGER.isLoggable(Level.SEVERE)) {
@@ -204,7 +195,7 @@ public class DocumentDownloadServlet extends HttpServlet {
                 final File resource = new File(processDir, BUSINESS_ARCHIVE_RESOURCES_DIRECTORY + File.separator + resourcePath);
                 if (resource.exists()) {
                     fileName = resource.getName();
-                    fileContent = getFileContent(resource, filePath);
+                    fileToDownload = resource;
                 } else {
                     final String errorMessage = "The target resource does not exist " + resource.getAbsolutePath();
                     if (LOGGER.isLoggable(Level.SEVERE)) {
@@ -237,14 +228,17 @@ public class DocumentDownloadServlet extends HttpServlet {
                 response.setHeader("Content-Disposition", "attachment; filename=\"" + encodedfileName.replaceAll("\\+", " ") + "\"; filename*=UTF-8''"
                         + encodedfileName.replace("+", "%20"));
             }
-            final OutputStream out = response.getOutputStream();
-            if (fileContent == null) {
-                response.setContentLength(0);
+            if (fileToDownload != null) {
+                downloadResponseWriter.writeFile(request, response, fileToDownload, null);
+            } else if (contentStorageId != null && !contentStorageId.isEmpty()) {
+                final String eTag = downloadResponseWriter.getETag(contentStorageId);
+                if (!downloadResponseWriter.checkNotModified(request, response, eTag, -1)) {
+                    downloadResponseWriter.writeContent(request, response, getDocumentContent(apiSession, contentStorageId), eTag, null);
+                }
             } else {
-                response.setContentLength(fileContent.length);
-                out.write(fileContent);
+                response.setContentLength(0);
+                response.getOutputStream().close();
             }
-            out.close();
         } catch (final IOException e) {
             if (LOGGER.isLoggable(Level.SEVERE)) {
                 LOGGER.log(Level.SEVERE, "Error while generating the response.", e);
@@ -253,47 +247,15 @@ public class DocumentDownloadServlet extends HttpServlet {
         }
     }
 
-    protected byte[] getFileContent(final File file, final String filePath) throws ServletException {
-
-        int fileLength = 0;
-        if (file.length() > Integer.MAX_VALUE) {
-            throw new ServletException("file " + filePath + " too big !");
-        } else {
-            fileLength = (int) file.length();
-        }
-
-        byte[] content;
+    protected byte[] getDocumentContent(final APISession apiSession, final String contentStorageId) throws ServletException {
         try {
-            final InputStream fileInput = new FileInputStream(file);
-            final byte[] fileContent = new byte[fileLength];
-            try {
-                int offset = 0;
-                int length = fileLength;
-                while (length > 0) {
-                    final int read = fileInput.read(fileContent, offset, length);
-                    if (read <= 0) {
-                        break;
-                    }
-                    length -= read;
-                    offset += read;
-                }
-                content = fileContent;
-            } catch (final FileNotFoundException e) {
-                final String errorMessage = "Error while getting the attachment. The file " + filePath + " does not exist.";
-                if (LOGGER.isLoggable(Level.SEVERE)) {
-                    LOGGER.log(Level.SEVERE, errorMessage, e);
-                }
-                throw new ServletException(errorMessage, e);
-            } finally {
-                fileInput.close();
-            }
-        } catch (final IOException e) {
-            final String errorMessage = "Error while reading attachment (file  : " + filePath;
+            return bpmEngineAPIUtil.getProcessAPI(apiSession).getDocumentContent(contentStorageId);
+        } catch (final Exception e) {
+            final String errorMessage = "Error while retrieving the document  with content storage ID " + contentStorageId + " from the engine.";
             if (LOGGER.isLoggable(Level.SEVERE)) {
                 LOGGER.log(Level.SEVERE, errorMessage, e);
             }
             throw new ServletException(errorMessage, e);
         }
-        return content;
     }
 }
@@ -213,8 +213,7 @@ public class FormsServlet extends RemoteServiceServlet implements FormsService {
                 if (pageId != null) {
                     formPage = definitionAPI.getFormPage(formID, pageId, context);
                     if (formPage != null) {
-                        formPage.setPageLabel((String) formServiceProvider.resolveExpression(formPage.getPageLabelExpression(), context));
-                        formFieldValuesUtil.setFormWidgetsValues(tenantID, formPage.getFormWidgets(), context);
+                        formFieldValuesUtil.setFormPageValues(tenantID, formPage, context);
                         formFieldValuesUtil.storeWidgetsInCacheAndSetCacheID(tenantID, formID, pageId, localeStr, deployementDate, formPage.getFormWidgets());
                     }
                 } else {
@@ -340,8 +339,7 @@ public class FormsServlet extends RemoteServiceServlet implements FormsService {
             final String pageId = (String) formServiceProvider.resolveExpression(nextPageIdExpression, context);
             if (pageId != null) {
                 final FormPage formPage = definitionAPI.getFormPage(formID, pageId, context);
-                formPage.setPageLabel((String) formServiceProvider.resolveExpression(formPage.getPageLabelExpression(), context));
-                formFieldValuesUtil.setFormWidgetsValues(tenantID, formPage.getFormWidgets(), context);
+                formFieldValuesUtil.setFormPageValues(tenantID, formPage, context);
                 formFieldValuesUtil.storeWidgetsInCacheAndSetCacheID(tenantID, formID, pageId, localeStr, deployementDate, formPage.getFormWidgets());
                 return formPage.getReducedFormPage();
             } else {
@@ -57,6 +57,11 @@ public class DefaultFormsProperties extends ConfigurationFile {
      */
     protected static final int DEFAULT_CACHE_MAX_PROCESS_ENTRIES = 15;
 
+    /**
+     * Default maximum number of processes whose validators are cached, for all the tenants
+     */
+    protected static final int DEFAULT_VALIDATORS_CACHE_MAX_PROCESS_ENTRIES = 100;
+
     /**
      * Default maximum number of entries per language Map
      */
@@ -142,6 +147,24 @@ public class DefaultFormsProperties extends ConfigurationFile {
         }
     }
 
+    /**
+     * @return the max number of processes whose validators are cached. It is read from the platform configuration as the validators cache
+     *         is shared by all the tenants.
+     */
+    public int getMaxProcessesInValidatorsCache() {
+        final String maxProcessesInCache = getProperty("forms.cache.validators.processes.size");
+        if (maxProcessesInCache == null) {
+            return DEFAULT_VALIDATORS_CACHE_MAX_PROCESS_ENTRIES;
+        }
+        try {
+            return Integer.parseInt(maxProcessesInCache);
+        } catch (final NumberFormatException nfe) {
+            LOGGER.log(Level.INFO, "the max number of processes in the validators cache is incorrectly defined. Using the default value : "
+                    + DEFAULT_VALIDATORS_CACHE_MAX_PROCESS_ENTRIES);
+            return DEFAULT_VALIDATORS_CACHE_MAX_PROCESS_ENTRIES;
+        }
+    }
+
     public int getMaxLanguagesInCache() {
         final String maxLanguagesInCache = getProperty("forms.cache.languages.size");
         try {
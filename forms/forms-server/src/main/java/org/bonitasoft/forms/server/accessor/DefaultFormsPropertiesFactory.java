@@ -37,4 +37,12 @@ public class DefaultFormsPropertiesFactory {
         }
         return map.get(tenantId);
     }
+
+    /**
+     * Get the DefaultFormsProperties of the platform, for the settings shared by all the tenants
+     * @return DefaultFormsProperties
+     */
+    public static DefaultFormsProperties getPlatformFormProperties() {
+        return getDefaultFormProperties(-1L);
+    }
 }
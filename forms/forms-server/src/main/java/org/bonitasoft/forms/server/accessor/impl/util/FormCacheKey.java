@@ -0,0 +1,92 @@
+/**
+ * Copyright (C) 2020 Bonitasoft S.A.
+ * Bonitasoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.forms.server.accessor.impl.util;
+
+import java.io.Serializable;
+
+/**
+ * Key of an element of the form definition cached by {@link FormCacheUtil} in the partition of its process.
+ * The deployment date of the process is not part of the key: the whole partition is replaced when the process is redeployed.
+ * The hash code is computed once, at creation.
+ */
+final class FormCacheKey implements Serializable {
+
+    private static final long serialVersionUID = -2938641283675092415L;
+
+    private final String cacheName;
+
+    private final String formID;
+
+    private final String locale;
+
+    private final String pageID;
+
+    private final String widgetID;
+
+    private final int hashCode;
+
+    FormCacheKey(final String cacheName, final String formID, final String locale) {
+        this(cacheName, formID, locale, null, null);
+    }
+
+    FormCacheKey(final String cacheName, final String formID, final String locale, final String pageID) {
+        this(cacheName, formID, locale, pageID, null);
+    }
+
+    FormCacheKey(final String cacheName, final String formID, final String locale, final String pageID, final String widgetID) {
+        this.cacheName = cacheName;
+        this.formID = formID;
+        this.locale = locale;
+        this.pageID = pageID;
+        this.widgetID = widgetID;
+        int hash = cacheName.hashCode();
+        hash = 31 * hash + hashCode(formID);
+        hash = 31 * hash + hashCode(locale);
+        hash = 31 * hash + hashCode(pageID);
+        hash = 31 * hash + hashCode(widgetID);
+        hashCode = hash;
+    }
+
+    private static int hashCode(final String value) {
+        return value == null ? 0 : value.hashCode();
+    }
+
+    private static boolean equals(final String value1, final String value2) {
+        return value1 == value2 || value1 != null && value1.equals(value2);
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof FormCacheKey)) {
+            return false;
+        }
+        final FormCacheKey other = (FormCacheKey) obj;
+        return hashCode == other.hashCode && equals(cacheName, other.cacheName) && equals(formID, other.formID) && equals(locale, other.locale)
+                && equals(pageID, other.pageID) && equals(widgetID, other.widgetID);
+    }
+
+    @Override
+    public String toString() {
+        return cacheName + "[" + formID + ", " + locale + ", " + pageID + ", " + widgetID + "]";
+    }
+}
@@ -1,11 +1,15 @@
 package org.bonitasoft.forms.server.accessor.impl.util;
 
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
-import org.bonitasoft.console.common.server.preferences.constants.WebBonitaConstantsUtils;
 import org.bonitasoft.forms.client.model.ApplicationConfig;
 import org.bonitasoft.forms.client.model.Expression;
 import org.bonitasoft.forms.client.model.FormAction;
@@ -13,9 +17,20 @@ import org.bonitasoft.forms.client.model.FormPage;
 import org.bonitasoft.forms.client.model.FormValidator;
 import org.bonitasoft.forms.client.model.FormWidget;
 import org.bonitasoft.forms.client.model.TransientData;
-import org.bonitasoft.forms.server.cache.CacheUtil;
+import org.bonitasoft.forms.server.accessor.DefaultFormsPropertiesFactory;
 import org.bonitasoft.forms.server.exception.InvalidFormDefinitionException;
-
+import org.bonitasoft.forms.server.provider.impl.util.FormServiceProviderUtil;
+
+/**
+ * Cache of the form definition elements of the processes of a tenant.
+ * The elements are held in one partition per process (identified by the process name and version at the beginning of the form ID) and are
+ * looked up with {@link FormCacheKey}s, which do not contain the deployment date of the process: the partition records it and is replaced,
+ * with all its elements, as soon as the elements of the process are requested with another date (redeployment or migration).
+ * The elements sent to the client (widgets, validators, layouts...) are also identified by an opaque ID, made of the generation of the
+ * partition and of a sequence number, so that they are resolved directly in the partition of their process.
+ * The number of partitions is bounded: above the max number of processes in cache (forms.cache.processes.size), the least recently used
+ * partition is removed. The partition of a process is also removed as soon as the process is found to be undeployed.
+ */
 public class FormCacheUtil {
 
     /**
@@ -37,6 +52,8 @@ public class FormCacheUtil {
 
     protected static final String FORM_PAGE_LAYOUT_CACHE = "formPageLayoutCache";
 
+    protected static final String FORM_PAGE_LAYOUT_CONTENT_CACHE = "formPageLayoutContentCache";
+
     protected static final String FORM_APPLICATION_LAYOUT_CACHE = "formApplicationLayoutCache";
 
     protected static final String FORM_FIRST_PAGE_CACHE = "formFirstPageCache";
@@ -57,243 +74,420 @@ public class FormCacheUtil {
 
     protected static final String FORM_WIDGET_CACHE = "formWidgetCache";
 
-    protected static String CACHE_DISK_STORE_PATH = null;
+    /**
+     * separator of the process name and version and of the activity name in the form IDs
+     */
+    protected static final String PROCESS_UUID_SEPARATOR = "--";
 
-    protected static String DOMAIN_KEY_CONNECTOR = "@";
+    /**
+     * separator of the partition generation and of the sequence number in the IDs of the cached elements
+     */
+    protected static final char ID_SEPARATOR = '-';
 
     protected long tenantID;
 
+    /**
+     * max number of partitions kept in the cache
+     */
+    protected final int maxProcesses;
+
+    /**
+     * partitions by process definition UUID, only modified while holding their lock
+     */
+    protected final ConcurrentMap<String, ProcessPartition> partitions = new ConcurrentHashMap<String, ProcessPartition>();
+
+    protected final ConcurrentMap<String, ProcessPartition> partitionsByFormID = new ConcurrentHashMap<String, ProcessPartition>();
+
+    protected final ConcurrentMap<Long, ProcessPartition> partitionsByGeneration = new ConcurrentHashMap<Long, ProcessPartition>();
+
+    /**
+     * starts from the current time so that the IDs held by the clients before a restart of the server are not resolved to other elements
+     */
+    protected final AtomicLong generations = new AtomicLong(System.currentTimeMillis());
+
+    /**
+     * sequence used to order the accesses to the partitions
+     */
+    protected final AtomicLong accesses = new AtomicLong();
+
     protected FormCacheUtil(final long tenantID) {
-        try {
-            CACHE_DISK_STORE_PATH = WebBonitaConstantsUtils.getInstance(tenantID).getFormsWorkFolder().getAbsolutePath();
-            this.tenantID = tenantID;
-        } catch (final Exception e) {
-            LOGGER.log(Level.WARNING, "Unable to retrieve the path of the cache disk store directory path.", e);
+        this(tenantID, DefaultFormsPropertiesFactory.getDefaultFormProperties(tenantID).getMaxProcessesInCache());
+    }
+
+    protected FormCacheUtil(final long tenantID, final int maxProcesses) {
+        this.tenantID = tenantID;
+        this.maxProcesses = maxProcesses;
+    }
+
+    /**
+     * Elements of the forms of a process, for a deployment date of the process
+     */
+    protected static class ProcessPartition {
+
+        protected final String processDefinitionUUID;
+
+        protected final long generation;
+
+        protected final long deploymentTime;
+
+        protected final Set<String> formIDs = new HashSet<String>();
+
+        protected final ConcurrentMap<FormCacheKey, CachedElement> elements = new ConcurrentHashMap<FormCacheKey, CachedElement>();
+
+        protected final ConcurrentMap<String, FormCacheKey> keysById = new ConcurrentHashMap<String, FormCacheKey>();
+
+        protected final AtomicLong ids = new AtomicLong();
+
+        protected volatile long lastAccess;
+
+        protected ProcessPartition(final String processDefinitionUUID, final long generation, final long deploymentTime) {
+            this.processDefinitionUUID = processDefinitionUUID;
+            this.generation = generation;
+            this.deploymentTime = deploymentTime;
+        }
+
+        protected String newId() {
+            return Long.toString(generation) + ID_SEPARATOR + ids.incrementAndGet();
         }
     }
 
+    protected static class CachedElement {
+
+        protected final Object value;
 
-    protected static String getDateStr(final Date date) {
+        protected final String id;
+
+        protected CachedElement(final Object value, final String id) {
+            this.value = value;
+            this.id = id;
+        }
+    }
+
+    protected static long getDeploymentTime(final Date date) {
         if (date != null) {
-            return Long.toString(date.getTime());
+            return date.getTime();
+        }
+        return 0;
+    }
+
+    /**
+     * @param formID
+     *            the form ID (processName--processVersion$formType or processName--processVersion--activityName$formType)
+     * @return the process definition UUID (processName--processVersion), or the part of the form ID before its type for the custom form IDs
+     */
+    protected static String getProcessDefinitionUUID(final String formID) {
+        int end = formID.indexOf(FormServiceProviderUtil.FORM_ID_SEPARATOR);
+        if (end < 0) {
+            end = formID.length();
+        }
+        final int processNameEnd = formID.indexOf(PROCESS_UUID_SEPARATOR);
+        if (processNameEnd >= 0 && processNameEnd < end) {
+            final int versionEnd = formID.indexOf(PROCESS_UUID_SEPARATOR, processNameEnd + PROCESS_UUID_SEPARATOR.length());
+            if (versionEnd >= 0 && versionEnd < end) {
+                end = versionEnd;
+            }
+        }
+        return formID.substring(0, end);
+    }
+
+    protected ProcessPartition getPartition(final String formID, final Date deploymentDate) {
+        final long deploymentTime = getDeploymentTime(deploymentDate);
+        final ProcessPartition partition = partitionsByFormID.get(formID);
+        if (partition != null && partition.deploymentTime == deploymentTime) {
+            partition.lastAccess = accesses.incrementAndGet();
+            return partition;
+        }
+        synchronized (partitions) {
+            final String processDefinitionUUID = getProcessDefinitionUUID(formID);
+            ProcessPartition processPartition = partitions.get(processDefinitionUUID);
+            if (processPartition == null || processPartition.deploymentTime != deploymentTime) {
+                if (processPartition != null) {
+                    removePartition(processPartition);
+                }
+                processPartition = new ProcessPartition(processDefinitionUUID, generations.incrementAndGet(), deploymentTime);
+                evictLeastRecentlyUsedPartitions(maxProcesses - 1);
+                partitions.put(processDefinitionUUID, processPartition);
+                partitionsByGeneration.put(processPartition.generation, processPartition);
+                if (LOGGER.isLoggable(Level.FINE)) {
+                    LOGGER.log(Level.FINE, "Forms cache partition " + processPartition.generation + " created for the process " + processDefinitionUUID
+                            + " of tenant " + tenantID);
+                }
+            }
+            processPartition.lastAccess = accesses.incrementAndGet();
+            processPartition.formIDs.add(formID);
+            partitionsByFormID.put(formID, processPartition);
+            return processPartition;
+        }
+    }
+
+    /**
+     * Must be called while holding the lock of the partitions
+     */
+    protected void removePartition(final ProcessPartition partition) {
+        partitions.remove(partition.processDefinitionUUID, partition);
+        partitionsByGeneration.remove(partition.generation, partition);
+        for (final String formID : partition.formIDs) {
+            partitionsByFormID.remove(formID, partition);
+        }
+        if (LOGGER.isLoggable(Level.FINE)) {
+            LOGGER.log(Level.FINE, "Forms cache partition " + partition.generation + " of the process " + partition.processDefinitionUUID + " of tenant "
+                    + tenantID + " removed");
+        }
+    }
+
+    /**
+     * Remove the least recently used partitions until there are no more than the given number of partitions.
+     * Must be called while holding the lock of the partitions
+     */
+    protected void evictLeastRecentlyUsedPartitions(final int maxPartitions) {
+        while (partitions.size() > Math.max(maxPartitions, 0)) {
+            ProcessPartition leastRecentlyUsedPartition = null;
+            for (final ProcessPartition partition : partitions.values()) {
+                if (leastRecentlyUsedPartition == null || partition.lastAccess < leastRecentlyUsedPartition.lastAccess) {
+                    leastRecentlyUsedPartition = partition;
+                }
+            }
+            removePartition(leastRecentlyUsedPartition);
+        }
+    }
+
+    protected Object get(final String formID, final Date deploymentDate, final FormCacheKey key) {
+        final CachedElement element = getPartition(formID, deploymentDate).elements.get(key);
+        if (element != null) {
+            return element.value;
+        }
+        return null;
+    }
+
+    protected void store(final String formID, final Date deploymentDate, final FormCacheKey key, final Object value) {
+        getPartition(formID, deploymentDate).elements.put(key, new CachedElement(value, null));
+    }
+
+    /**
+     * Store an element sent to the client and return its ID. The ID of an element already stored with the same key is kept.
+     */
+    protected String storeWithId(final String formID, final Date deploymentDate, final FormCacheKey key, final Object value) {
+        final ProcessPartition partition = getPartition(formID, deploymentDate);
+        final CachedElement previousElement = partition.elements.get(key);
+        final String id;
+        if (previousElement != null && previousElement.id != null) {
+            id = previousElement.id;
+        } else {
+            id = partition.newId();
+            partition.keysById.put(id, key);
+        }
+        partition.elements.put(key, new CachedElement(value, id));
+        return id;
+    }
+
+    protected Object getById(final String id) {
+        if (id == null) {
+            return null;
         }
-        return "";
+        final int separatorIndex = id.indexOf(ID_SEPARATOR);
+        if (separatorIndex <= 0) {
+            return null;
+        }
+        final long generation;
+        try {
+            generation = Long.parseLong(id.substring(0, separatorIndex));
+        } catch (final NumberFormatException e) {
+            return null;
+        }
+        final ProcessPartition partition = partitionsByGeneration.get(generation);
+        if (partition == null) {
+            if (LOGGER.isLoggable(Level.FINEST)) {
+                LOGGER.log(Level.FINEST, "####Forms cache partition of element " + id + " not found. The process may have been redeployed.");
+            }
+            return null;
+        }
+        final FormCacheKey key = partition.keysById.get(id);
+        if (key != null) {
+            final CachedElement element = partition.elements.get(key);
+            if (element != null) {
+                return element.value;
+            }
+        }
+        return null;
     }
 
     public Expression getFirstPage(final String formID, final String locale, final Date applicationDeployementDate) throws InvalidFormDefinitionException {
-        return (Expression) CacheUtil.get(CACHE_DISK_STORE_PATH, FORM_FIRST_PAGE_CACHE, formID + locale + getDateStr(applicationDeployementDate)
-                + DOMAIN_KEY_CONNECTOR + tenantID);
+        return (Expression) get(formID, applicationDeployementDate, new FormCacheKey(FORM_FIRST_PAGE_CACHE, formID, locale));
     }
 
     public void storeFirstPage(final String formID, final String locale, final Date applicationDeployementDate, final Expression firstPage) throws InvalidFormDefinitionException {
-        CacheUtil.store(CACHE_DISK_STORE_PATH, FORM_FIRST_PAGE_CACHE, formID + locale + getDateStr(applicationDeployementDate) + DOMAIN_KEY_CONNECTOR
-                + tenantID, firstPage);
+        store(formID, applicationDeployementDate, new FormCacheKey(FORM_FIRST_PAGE_CACHE, formID, locale), firstPage);
     }
 
     public FormPage getPage(final String formID, final String locale, final Date applicationDeployementDate, final String pageId) throws InvalidFormDefinitionException {
-        return (FormPage) CacheUtil.get(CACHE_DISK_STORE_PATH, FORM_PAGES_CACHE, formID + locale + getDateStr(applicationDeployementDate) + pageId
-                + DOMAIN_KEY_CONNECTOR + tenantID);
+        return (FormPage) get(formID, applicationDeployementDate, new FormCacheKey(FORM_PAGES_CACHE, formID, locale, pageId));
     }
 
     public void storePage(final String formID, final String locale, final Date applicationDeployementDate, final FormPage formPage) throws InvalidFormDefinitionException {
-        CacheUtil.store(CACHE_DISK_STORE_PATH, FORM_PAGES_CACHE, formID + locale + getDateStr(applicationDeployementDate) + formPage.getPageId()
-                + DOMAIN_KEY_CONNECTOR + tenantID, formPage);
+        store(formID, applicationDeployementDate, new FormCacheKey(FORM_PAGES_CACHE, formID, locale, formPage.getPageId()), formPage);
     }
 
     @SuppressWarnings("unchecked")
     public List<TransientData> getTransientData(final String formID, final String locale, final Date applicationDeployementDate) throws InvalidFormDefinitionException {
-        return (List<TransientData>) CacheUtil.get(CACHE_DISK_STORE_PATH, FORM_TRANSIENT_DATA_CACHE, formID + locale + getDateStr(applicationDeployementDate)
-                + DOMAIN_KEY_CONNECTOR
-                + tenantID);
+        return (List<TransientData>) get(formID, applicationDeployementDate, new FormCacheKey(FORM_TRANSIENT_DATA_CACHE, formID, locale));
     }
 
     public void storeTransientData(final String formID, final String locale, final Date applicationDeployementDate, final List<TransientData> transientData) throws InvalidFormDefinitionException {
-        CacheUtil.store(CACHE_DISK_STORE_PATH, FORM_TRANSIENT_DATA_CACHE, formID + locale + getDateStr(applicationDeployementDate) + DOMAIN_KEY_CONNECTOR
-                + tenantID, transientData);
+        store(formID, applicationDeployementDate, new FormCacheKey(FORM_TRANSIENT_DATA_CACHE, formID, locale), transientData);
     }
 
     @SuppressWarnings("unchecked")
     public List<FormAction> getPageActions(final String formID, final String locale, final Date applicationDeployementDate, final String pageId)
             throws InvalidFormDefinitionException {
-        return (List<FormAction>) CacheUtil.get(CACHE_DISK_STORE_PATH, FORM_PAGE_ACTIONS_CACHE, formID + locale + getDateStr(applicationDeployementDate)
-                + pageId + DOMAIN_KEY_CONNECTOR + tenantID);
+        return (List<FormAction>) get(formID, applicationDeployementDate, new FormCacheKey(FORM_PAGE_ACTIONS_CACHE, formID, locale, pageId));
     }
 
     public void storePageActions(final String formID, final String locale, final Date applicationDeployementDate, final String pageId,
             final List<FormAction> actions) throws InvalidFormDefinitionException {
-        CacheUtil.store(CACHE_DISK_STORE_PATH, FORM_PAGE_ACTIONS_CACHE, formID + locale + getDateStr(applicationDeployementDate) + pageId
-                + DOMAIN_KEY_CONNECTOR + tenantID, actions);
+        store(formID, applicationDeployementDate, new FormCacheKey(FORM_PAGE_ACTIONS_CACHE, formID, locale, pageId), actions);
     }
 
-	public ApplicationConfig getApplicationConfig(final String formID, final String locale, final Date applicationDeployementDate, final boolean includeApplicationTemplate) throws InvalidFormDefinitionException {
-        return (ApplicationConfig) CacheUtil.get(CACHE_DISK_STORE_PATH, FORM_CONFIG_CACHE,
-                formID + locale + getDateStr(applicationDeployementDate) + Boolean.toString(includeApplicationTemplate) + DOMAIN_KEY_CONNECTOR + tenantID);
+    public ApplicationConfig getApplicationConfig(final String formID, final String locale, final Date applicationDeployementDate, final boolean includeApplicationTemplate) throws InvalidFormDefinitionException {
+        return (ApplicationConfig) get(formID, applicationDeployementDate,
+                new FormCacheKey(FORM_CONFIG_CACHE, formID, locale, Boolean.toString(includeApplicationTemplate)));
     }
 
     public final void storeApplicationConfig(final String formID, final String locale, final Date applicationDeployementDate, final boolean includeApplicationTemplate, final ApplicationConfig ApplicationConfig) throws InvalidFormDefinitionException {
-        CacheUtil.store(CACHE_DISK_STORE_PATH, FORM_CONFIG_CACHE,
-                formID + locale + getDateStr(applicationDeployementDate) + Boolean.toString(includeApplicationTemplate) + DOMAIN_KEY_CONNECTOR + tenantID,
+        store(formID, applicationDeployementDate, new FormCacheKey(FORM_CONFIG_CACHE, formID, locale, Boolean.toString(includeApplicationTemplate)),
                 ApplicationConfig);
     }
 
     public String getApplicationPermissions(final String formID, final String locale, final Date applicationDeployementDate) throws InvalidFormDefinitionException {
-        return (String) CacheUtil.get(CACHE_DISK_STORE_PATH, FORM_APPLICATION_PERMISSIONS_CACHE, formID + locale + getDateStr(applicationDeployementDate)
-                + DOMAIN_KEY_CONNECTOR
-                + tenantID);
+        return (String) get(formID, applicationDeployementDate, new FormCacheKey(FORM_APPLICATION_PERMISSIONS_CACHE, formID, locale));
     }
 
     public void storeApplicationPermissions(final String formID, final String locale, final Date applicationDeployementDate, final String applicationPermissions) throws InvalidFormDefinitionException {
-        CacheUtil.store(CACHE_DISK_STORE_PATH, FORM_APPLICATION_PERMISSIONS_CACHE, formID + locale + getDateStr(applicationDeployementDate)
-                + DOMAIN_KEY_CONNECTOR + tenantID, applicationPermissions);
+        store(formID, applicationDeployementDate, new FormCacheKey(FORM_APPLICATION_PERMISSIONS_CACHE, formID, locale), applicationPermissions);
     }
 
     public String getMigrationProductVersion(final String formID, final String locale, final Date applicationDeployementDate) throws InvalidFormDefinitionException {
-        return (String) CacheUtil.get(CACHE_DISK_STORE_PATH, FORM_MIGRATION_PRODUCT_VERSION_CACHE, formID + locale + getDateStr(applicationDeployementDate)
-                + DOMAIN_KEY_CONNECTOR
-                + tenantID);
+        return (String) get(formID, applicationDeployementDate, new FormCacheKey(FORM_MIGRATION_PRODUCT_VERSION_CACHE, formID, locale));
     }
 
     public void storeMigrationProductVersion(final String formID, final String locale, final Date applicationDeployementDate, final String migrationProductVersion) throws InvalidFormDefinitionException {
-        CacheUtil.store(CACHE_DISK_STORE_PATH, FORM_MIGRATION_PRODUCT_VERSION_CACHE, formID + locale + getDateStr(applicationDeployementDate)
-                + DOMAIN_KEY_CONNECTOR + tenantID, migrationProductVersion);
+        store(formID, applicationDeployementDate, new FormCacheKey(FORM_MIGRATION_PRODUCT_VERSION_CACHE, formID, locale), migrationProductVersion);
     }
 
     public String getFormPermissions(final String formID, final String locale, final Date applicationDeployementDate) throws InvalidFormDefinitionException {
-        return (String) CacheUtil.get(CACHE_DISK_STORE_PATH, FORM_PERMISSIONS_CACHE, formID + locale + getDateStr(applicationDeployementDate)
-                + DOMAIN_KEY_CONNECTOR + tenantID);
+        return (String) get(formID, applicationDeployementDate, new FormCacheKey(FORM_PERMISSIONS_CACHE, formID, locale));
     }
 
     public void storeFormPermissions(final String formID, final String locale, final Date applicationDeployementDate, final String formPermissions) throws InvalidFormDefinitionException {
-        CacheUtil.store(CACHE_DISK_STORE_PATH, FORM_PERMISSIONS_CACHE, formID + locale + getDateStr(applicationDeployementDate) + DOMAIN_KEY_CONNECTOR
-                + tenantID, formPermissions);
+        store(formID, applicationDeployementDate, new FormCacheKey(FORM_PERMISSIONS_CACHE, formID, locale), formPermissions);
     }
 
     public String getNextForm(final String formID, final String locale, final Date applicationDeployementDate) throws InvalidFormDefinitionException {
-        return (String) CacheUtil.get(CACHE_DISK_STORE_PATH, FORM_NEXT_FORM_CACHE, formID + locale + getDateStr(applicationDeployementDate)
-                + DOMAIN_KEY_CONNECTOR + tenantID);
+        return (String) get(formID, applicationDeployementDate, new FormCacheKey(FORM_NEXT_FORM_CACHE, formID, locale));
     }
 
     public void storeNextForm(final String formID, final String locale, final Date applicationDeployementDate, final String nextForm) throws InvalidFormDefinitionException {
-        CacheUtil.store(CACHE_DISK_STORE_PATH, FORM_NEXT_FORM_CACHE,
-                formID + locale + getDateStr(applicationDeployementDate) + DOMAIN_KEY_CONNECTOR + tenantID, nextForm);
+        store(formID, applicationDeployementDate, new FormCacheKey(FORM_NEXT_FORM_CACHE, formID, locale), nextForm);
     }
 
     public String getFormPageLayout(final String formID, final String locale, final Date applicationDeployementDate,final String pageId) throws InvalidFormDefinitionException {
-        return (String) CacheUtil.get(CACHE_DISK_STORE_PATH, FORM_PAGE_LAYOUT_CACHE, formID + locale + getDateStr(applicationDeployementDate) + pageId
-                + DOMAIN_KEY_CONNECTOR
-                + tenantID);
+        return (String) get(formID, applicationDeployementDate, new FormCacheKey(FORM_PAGE_LAYOUT_CACHE, formID, locale, pageId));
     }
 
     public void storeFormPageLayout(final String formID, final String locale, final Date applicationDeployementDate,final String pageId, final String formPageLayout) throws InvalidFormDefinitionException {
-        CacheUtil.store(CACHE_DISK_STORE_PATH, FORM_PAGE_LAYOUT_CACHE, formID + locale + getDateStr(applicationDeployementDate) + pageId + DOMAIN_KEY_CONNECTOR
-                + tenantID, formPageLayout);
+        store(formID, applicationDeployementDate, new FormCacheKey(FORM_PAGE_LAYOUT_CACHE, formID, locale, pageId), formPageLayout);
     }
 
     public String getApplicationVersion(final String formID, final String locale, final Date applicationDeployementDate) throws InvalidFormDefinitionException {
-        return (String) CacheUtil.get(CACHE_DISK_STORE_PATH, FORM_APPLICATION_VERSION_CACHE, formID + locale + getDateStr(applicationDeployementDate)
-                + DOMAIN_KEY_CONNECTOR
-                + tenantID);
+        return (String) get(formID, applicationDeployementDate, new FormCacheKey(FORM_APPLICATION_VERSION_CACHE, formID, locale));
     }
 
     public void storeApplicationVersion(final String formID, final String locale, final Date applicationDeployementDate, final String applicationVersion) throws InvalidFormDefinitionException {
-        CacheUtil.store(CACHE_DISK_STORE_PATH, FORM_APPLICATION_VERSION_CACHE, formID + locale + getDateStr(applicationDeployementDate) + DOMAIN_KEY_CONNECTOR
-                + tenantID, applicationVersion);
+        store(formID, applicationDeployementDate, new FormCacheKey(FORM_APPLICATION_VERSION_CACHE, formID, locale), applicationVersion);
     }
 
     public String getApplicationName(final String formID, final String locale, final Date applicationDeployementDate) throws InvalidFormDefinitionException {
-        return (String) CacheUtil.get(CACHE_DISK_STORE_PATH, FORM_APPLICATION_NAME_CACHE, formID + locale + getDateStr(applicationDeployementDate)
-                + DOMAIN_KEY_CONNECTOR + tenantID);
+        return (String) get(formID, applicationDeployementDate, new FormCacheKey(FORM_APPLICATION_NAME_CACHE, formID, locale));
     }
 
     public void storeApplicationName(final String formID, final String locale, final Date applicationDeployementDate, final String applicationName) throws InvalidFormDefinitionException {
-        CacheUtil.store(CACHE_DISK_STORE_PATH, FORM_APPLICATION_NAME_CACHE, formID + locale + getDateStr(applicationDeployementDate) + DOMAIN_KEY_CONNECTOR
-                + tenantID, applicationName);
+        store(formID, applicationDeployementDate, new FormCacheKey(FORM_APPLICATION_NAME_CACHE, formID, locale), applicationName);
     }
 
     public FormWidget getFormWidget(final String formWidgetCacheId){
-        return (FormWidget) CacheUtil.get(CACHE_DISK_STORE_PATH, FORM_WIDGET_CACHE, formWidgetCacheId);
+        return (FormWidget) getById(formWidgetCacheId);
     }
 
     public FormWidget getFormWidget(final String formID, final String pageID, final String widgetID, final String locale, final Date processDeployementDate) {
-        return getFormWidget(formID + pageID + widgetID + locale + getDateStr(processDeployementDate) + DOMAIN_KEY_CONNECTOR + tenantID);
+        return (FormWidget) get(formID, processDeployementDate, new FormCacheKey(FORM_WIDGET_CACHE, formID, locale, pageID, widgetID));
     }
 
     public String storeFormWidget(final String formID, final String pageID, final String locale, final Date processDeployementDate, final FormWidget formWidget) {
-        final String formWidgetCacheId = formID + pageID + formWidget.getId() + locale + getDateStr(processDeployementDate) + DOMAIN_KEY_CONNECTOR + tenantID;
-        CacheUtil.store(CACHE_DISK_STORE_PATH, FORM_WIDGET_CACHE, formWidgetCacheId, formWidget);
-        return formWidgetCacheId;
+        return storeWithId(formID, processDeployementDate, new FormCacheKey(FORM_WIDGET_CACHE, formID, locale, pageID, formWidget.getId()), formWidget);
     }
 
     public Expression getNextPageIdExpression(final String nextPageExpressionId) {
-        return (Expression) CacheUtil.get(CACHE_DISK_STORE_PATH, NEXT_PAGE_ID_EXPRESSION_CACHE, nextPageExpressionId);
+        return (Expression) getById(nextPageExpressionId);
     }
 
     public String storeNextPageIdExpression(final String formID, final String pageID, final String locale, final Date processDeployementDate, final Expression nextPageIdExpression) {
-        final String nextPageExpressionId = formID + pageID + locale + getDateStr(processDeployementDate) + DOMAIN_KEY_CONNECTOR + tenantID;
-        CacheUtil.store(CACHE_DISK_STORE_PATH, NEXT_PAGE_ID_EXPRESSION_CACHE, nextPageExpressionId, nextPageIdExpression);
-        return nextPageExpressionId;
+        return storeWithId(formID, processDeployementDate, new FormCacheKey(NEXT_PAGE_ID_EXPRESSION_CACHE, formID, locale, pageID), nextPageIdExpression);
     }
 
     @SuppressWarnings("unchecked")
     public List<FormValidator> getFieldValidators(final String fieldValidatorsId) {
-        return (List<FormValidator>) CacheUtil.get(CACHE_DISK_STORE_PATH, FIELD_VALIDATORS_CACHE, fieldValidatorsId);
+        return (List<FormValidator>) getById(fieldValidatorsId);
     }
 
     public String storeFieldValidators(final String formID, final String pageID, final String widgetID, final String locale, final Date processDeployementDate, final List<FormValidator> validators) {
-        final String validatorsId = formID + pageID + widgetID + locale + getDateStr(processDeployementDate) + DOMAIN_KEY_CONNECTOR + tenantID;
-        CacheUtil.store(CACHE_DISK_STORE_PATH, FIELD_VALIDATORS_CACHE, validatorsId, validators);
-        return validatorsId;
+        return storeWithId(formID, processDeployementDate, new FormCacheKey(FIELD_VALIDATORS_CACHE, formID, locale, pageID, widgetID), validators);
     }
 
     @SuppressWarnings("unchecked")
     public List<FormValidator> getPageValidators(final String pageValidatorsId) {
-        return (List<FormValidator>) CacheUtil.get(CACHE_DISK_STORE_PATH, PAGE_VALIDATORS_CACHE, pageValidatorsId);
+        return (List<FormValidator>) getById(pageValidatorsId);
     }
 
     public String storePageValidators(final String formID, final String pageID, final String locale, final Date processDeployementDate, final List<FormValidator> validators) {
-        final String validatorsId = formID + pageID + locale + getDateStr(processDeployementDate) + DOMAIN_KEY_CONNECTOR + tenantID;
-        CacheUtil.store(CACHE_DISK_STORE_PATH, PAGE_VALIDATORS_CACHE, validatorsId, validators);
-        return validatorsId;
+        return storeWithId(formID, processDeployementDate, new FormCacheKey(PAGE_VALIDATORS_CACHE, formID, locale, pageID), validators);
     }
 
     public String getPageLayoutContent(final String bodyContentId) throws InvalidFormDefinitionException {
-        return (String) CacheUtil.get(CACHE_DISK_STORE_PATH, FORM_PAGE_LAYOUT_CACHE, bodyContentId);
+        return (String) getById(bodyContentId);
     }
 
     public String storePageLayoutContent(final String formID, final String PageID, final String locale, final Date applicationDeployementDate, final String BodyContent) throws InvalidFormDefinitionException {
-        final String bodyContentId = formID + PageID + locale + getDateStr(applicationDeployementDate) + DOMAIN_KEY_CONNECTOR + tenantID;
-        CacheUtil.store(CACHE_DISK_STORE_PATH, FORM_PAGE_LAYOUT_CACHE, bodyContentId, BodyContent);
-        return bodyContentId;
+        return storeWithId(formID, applicationDeployementDate, new FormCacheKey(FORM_PAGE_LAYOUT_CONTENT_CACHE, formID, locale, PageID), BodyContent);
     }
 
     public String getApplicationLayoutContent(final String bodyContentId) throws InvalidFormDefinitionException {
-        return (String) CacheUtil.get(CACHE_DISK_STORE_PATH, FORM_APPLICATION_LAYOUT_CACHE, bodyContentId);
+        return (String) getById(bodyContentId);
     }
 
     public String storeApplicationLayoutContent(final String formID, final String locale, final Date applicationDeployementDate, final String BodyContent) throws InvalidFormDefinitionException {
-        final String bodyContentId = formID + locale + getDateStr(applicationDeployementDate) + DOMAIN_KEY_CONNECTOR + tenantID;
-        CacheUtil.store(CACHE_DISK_STORE_PATH, FORM_APPLICATION_LAYOUT_CACHE, bodyContentId, BodyContent);
-        return bodyContentId;
+        return storeWithId(formID, applicationDeployementDate, new FormCacheKey(FORM_APPLICATION_LAYOUT_CACHE, formID, locale), BodyContent);
+    }
+
+    /**
+     * Remove all the cached elements of a process (for example when it is undeployed)
+     *
+     * @param processDefinitionUUID
+     *            the process definition UUID (processName--processVersion)
+     */
+    public void clearProcess(final String processDefinitionUUID) {
+        synchronized (partitions) {
+            final ProcessPartition partition = partitions.get(processDefinitionUUID);
+            if (partition != null) {
+                removePartition(partition);
+            }
+        }
     }
 
     public void clearAll() {
-        CacheUtil.clear(CACHE_DISK_STORE_PATH, FORM_FIRST_PAGE_CACHE);
-        CacheUtil.clear(CACHE_DISK_STORE_PATH, FORM_PAGES_CACHE);
-        CacheUtil.clear(CACHE_DISK_STORE_PATH, FORM_TRANSIENT_DATA_CACHE);
-        CacheUtil.clear(CACHE_DISK_STORE_PATH, FORM_PAGE_ACTIONS_CACHE);
-        CacheUtil.clear(CACHE_DISK_STORE_PATH, FORM_CONFIG_CACHE);
-        CacheUtil.clear(CACHE_DISK_STORE_PATH, FORM_APPLICATION_PERMISSIONS_CACHE);
-        CacheUtil.clear(CACHE_DISK_STORE_PATH, FORM_MIGRATION_PRODUCT_VERSION_CACHE);
-        CacheUtil.clear(CACHE_DISK_STORE_PATH, FORM_PERMISSIONS_CACHE);
-        CacheUtil.clear(CACHE_DISK_STORE_PATH, FORM_NEXT_FORM_CACHE);
-        CacheUtil.clear(CACHE_DISK_STORE_PATH, FORM_PAGE_LAYOUT_CACHE);
-        CacheUtil.clear(CACHE_DISK_STORE_PATH, FORM_APPLICATION_VERSION_CACHE);
-        CacheUtil.clear(CACHE_DISK_STORE_PATH, FORM_APPLICATION_NAME_CACHE);
-        CacheUtil.clear(CACHE_DISK_STORE_PATH, NEXT_PAGE_ID_EXPRESSION_CACHE);
-        CacheUtil.clear(CACHE_DISK_STORE_PATH, FIELD_VALIDATORS_CACHE);
-        CacheUtil.clear(CACHE_DISK_STORE_PATH, PAGE_VALIDATORS_CACHE);
-        CacheUtil.clear(CACHE_DISK_STORE_PATH, FORM_WIDGET_CACHE);
-        CacheUtil.clear(CACHE_DISK_STORE_PATH, FORM_APPLICATION_LAYOUT_CACHE);
+        synchronized (partitions) {
+            partitions.clear();
+            partitionsByFormID.clear();
+            partitionsByGeneration.clear();
+        }
     }
 
 }
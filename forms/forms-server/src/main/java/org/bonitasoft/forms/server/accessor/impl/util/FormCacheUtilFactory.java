@@ -16,8 +16,8 @@
  */
 package org.bonitasoft.forms.server.accessor.impl.util;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * @author Ruiheng.Fan
@@ -25,16 +25,21 @@ import java.util.Map;
  */
 public class FormCacheUtilFactory {
 
-    private static Map<Long, FormCacheUtil> map = new HashMap<Long, FormCacheUtil>();
+    private static ConcurrentMap<Long, FormCacheUtil> map = new ConcurrentHashMap<Long, FormCacheUtil>();
     
     /**
      * Get FormCacheUtil of different Domain
      * @return FormCacheUtil
      */
     public static FormCacheUtil getTenantFormCacheUtil(final long tenantID) {
-        if(!map.containsKey(tenantID)){
-            map.put(tenantID, new FormCacheUtil(tenantID));
+        FormCacheUtil formCacheUtil = map.get(tenantID);
+        if (formCacheUtil == null) {
+            final FormCacheUtil newFormCacheUtil = new FormCacheUtil(tenantID);
+            formCacheUtil = map.putIfAbsent(tenantID, newFormCacheUtil);
+            if (formCacheUtil == null) {
+                formCacheUtil = newFormCacheUtil;
+            }
         }
-        return map.get(tenantID);
+        return formCacheUtil;
     }
 }
@@ -18,6 +18,7 @@ package org.bonitasoft.forms.server.accessor.impl.util;
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
@@ -25,7 +26,6 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
 import java.util.Date;
-import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -36,6 +36,7 @@ import org.bonitasoft.engine.bpm.process.ProcessDefinitionNotFoundException;
 import org.bonitasoft.engine.exception.RetrieveException;
 import org.bonitasoft.engine.session.APISession;
 import org.bonitasoft.engine.session.InvalidSessionException;
+import org.bonitasoft.forms.server.accessor.DefaultFormsProperties;
 import org.bonitasoft.forms.server.accessor.DefaultFormsPropertiesFactory;
 import org.bonitasoft.forms.server.exception.InvalidFormDefinitionException;
 import org.w3c.dom.Document;
@@ -81,7 +82,7 @@ public class FormDocumentBuilder {
     /**
      * Last access to the current instance
      */
-    protected Long lastAccess = new Date().getTime();
+    protected volatile Long lastAccess = new Date().getTime();
 
     /**
      * the {@link Date} of the process deployment
@@ -99,18 +100,25 @@ public class FormDocumentBuilder {
     private static Logger LOGGER = Logger.getLogger(FormDocumentBuilder.class.getName());
 
     /**
-     * Instances map by process
+     * Instances by process and by locale
      */
-    private static Map<String, Map<String, FormDocumentBuilder>> INSTANCES;
+    private static final ProcessLocaleCache<FormDocumentBuilder> INSTANCES = new ProcessLocaleCache<FormDocumentBuilder>();
 
     /**
      * Separator for the instance map keys
      */
     protected final static String INSTANCES_MAP_SEPERATOR = "@";
 
+    /**
+     * Xerces feature building the DOM nodes lazily, while they are read. It is disabled so that the documents shared by the threads
+     * are not modified by the XPath evaluations.
+     */
+    protected final static String DEFER_NODE_EXPANSION_FEATURE = "http://apache.org/xml/features/dom/defer-node-expansion";
+
     /**
      * Retrieve an instance of FormDocumentBuilder or create a new one if necessary.
-     * The map contains a cache of instances. Each instance has a validity duration equals to the INSTANCE_EXPIRATION_TIME constant value
+     * The instances are cached by process and by locale. Each instance has a validity duration equals to the processes time to live in cache
+     * The instances of different processes are loaded concurrently, and an instance requested by several threads is only loaded once
      * The deployment date is also check because a process can be undeployed and redeployed (after modifications) with the same UUID
      * 
      * @param session
@@ -126,7 +134,7 @@ public class FormDocumentBuilder {
      * @throws BPMEngineException
      * @throws InvalidSessionException
      */
-    public static synchronized FormDocumentBuilder getInstance(final APISession session, final long processDefinitionID, final String locale,
+    public static FormDocumentBuilder getInstance(final APISession session, final long processDefinitionID, final String locale,
             final Date processDeployementDate) throws ProcessDefinitionNotFoundException, IOException, InvalidFormDefinitionException, BPMEngineException,
             InvalidSessionException, RetrieveException {
 
@@ -135,7 +143,8 @@ public class FormDocumentBuilder {
 
     /**
      * Retrieve an instance of FormDocumentBuilder or create a new one if necessary.
-     * The map contains a cache of instances. Each instance has a validity duration equals to the INSTANCE_EXPIRATION_TIME constant value
+     * The instances are cached by process and by locale. Each instance has a validity duration equals to the processes time to live in cache
+     * The instances of different processes are loaded concurrently, and an instance requested by several threads is only loaded once
      * The deployment date is also check because a process can be undeployed and redeployed (after modifications) with the same UUID
      * 
      * @param session
@@ -153,76 +162,81 @@ public class FormDocumentBuilder {
      * @throws BPMEngineException
      * @throws InvalidSessionException
      */
-    public static synchronized FormDocumentBuilder getInstance(final APISession session, final long processDefinitionID, final String locale,
+    public static FormDocumentBuilder getInstance(final APISession session, final long processDefinitionID, final String locale,
             final Date processDeployementDate, final boolean getFormDefinitionFromBAR) throws ProcessDefinitionNotFoundException, IOException,
             InvalidFormDefinitionException, BPMEngineException, InvalidSessionException, RetrieveException {
 
         final long tenantID = session.getTenantId();
-        if (INSTANCES == null) {
-            INSTANCES = new LinkedHashMap<String, Map<String, FormDocumentBuilder>>(DefaultFormsPropertiesFactory.getDefaultFormProperties(tenantID)
-                    .getMaxProcessesInCache(), .75F, true) {
-
-                private static final long serialVersionUID = 7451370208143315146L;
-
-                @Override
-                protected boolean removeEldestEntry(final Map.Entry<String, Map<String, FormDocumentBuilder>> eldest) {
-                    return size() > DefaultFormsPropertiesFactory.getDefaultFormProperties(tenantID).getMaxProcessesInCache();
-                };
-            };
-        }
-
-        FormDocumentBuilder instance = null;
         if (processDefinitionID == -1) {
-            try {
-                instance = new FormDocumentBuilder(session, -1, locale, processDeployementDate, getFormDefinitionFromBAR);
-            } catch (final FileNotFoundException e) {
-                if (locale != null) {
-                    instance = new FormDocumentBuilder(session, -1, null, processDeployementDate, getFormDefinitionFromBAR);
-                } else {
-                    throw new FileNotFoundException("The forms definition file for process was not found.");
-                }
-            }
-        } else {
-            Map<String, FormDocumentBuilder> localeInstances = INSTANCES.get(processDefinitionID + INSTANCES_MAP_SEPERATOR + tenantID);
-            if (localeInstances != null) {
-                instance = localeInstances.get(locale);
-            }
-            boolean outOfDateDefinition = false;
-            if (instance != null
-                    && ((processDeployementDate != null && processDeployementDate.compareTo(instance.processDeployementDate) != 0) || instance
-                            .hasExpired(tenantID))) {
-                localeInstances.remove(locale);
-                outOfDateDefinition = true;
-            }
-            if (instance == null || outOfDateDefinition) {
-                if (localeInstances == null) {
-                    localeInstances = new LinkedHashMap<String, FormDocumentBuilder>() {
+            return newInstance(session, processDefinitionID, locale, processDeployementDate, getFormDefinitionFromBAR);
+        }
+        final DefaultFormsProperties formsProperties = DefaultFormsPropertiesFactory.getDefaultFormProperties(tenantID);
+        try {
+            final FormDocumentBuilder instance = INSTANCES.get(processDefinitionID + INSTANCES_MAP_SEPERATOR + tenantID, locale,
+                    formsProperties.getMaxProcessesInCache(), formsProperties.getMaxLanguagesInCache(),
+                    new ProcessLocaleCache.Validator<FormDocumentBuilder>() {
 
-                        private static final long serialVersionUID = -2092174987934309788L;
+                        @Override
+                        public boolean isOutOfDate(final FormDocumentBuilder cachedInstance) {
+                            return processDeployementDate != null && processDeployementDate.compareTo(cachedInstance.processDeployementDate) != 0
+                                    || cachedInstance.hasExpired(tenantID);
+                        }
+                    }, new ProcessLocaleCache.Loader<FormDocumentBuilder>() {
 
                         @Override
-                        protected boolean removeEldestEntry(final java.util.Map.Entry<String, FormDocumentBuilder> eldest) {
-                            return size() > DefaultFormsPropertiesFactory.getDefaultFormProperties(tenantID).getMaxLanguagesInCache();
+                        public FormDocumentBuilder load() throws Exception {
+                            final long start = System.currentTimeMillis();
+                            final FormDocumentBuilder loadedInstance = newInstance(session, processDefinitionID, locale, processDeployementDate,
+                                    getFormDefinitionFromBAR);
+                            if (LOGGER.isLoggable(Level.FINE)) {
+                                LOGGER.log(Level.FINE, "Form document builder for process " + processDefinitionID + " and locale " + locale + " loaded in "
+                                        + (System.currentTimeMillis() - start) + " ms. Cache statistics: hit ratio " + INSTANCES.getHitRatio() + ", "
+                                        + INSTANCES.getStatistics());
+                            }
+                            return loadedInstance;
                         }
-                    };
-                }
-                try {
-                    instance = new FormDocumentBuilder(session, processDefinitionID, locale, processDeployementDate, getFormDefinitionFromBAR);
-                    localeInstances.put(locale, instance);
-                    INSTANCES.put(processDefinitionID + INSTANCES_MAP_SEPERATOR + tenantID, localeInstances);
-                } catch (final FileNotFoundException e) {
-                    if (locale != null) {
-                        instance = new FormDocumentBuilder(session, processDefinitionID, null, processDeployementDate, getFormDefinitionFromBAR);
-                    } else {
-                        throw new FileNotFoundException("The forms definition file for process " + processDefinitionID + "in tenant " + tenantID
-                                + " was not found.");
-                    }
-                }
+                    });
+            instance.lastAccess = new Date().getTime();
+            return instance;
+        } catch (final ProcessDefinitionNotFoundException | IOException | InvalidFormDefinitionException | BPMEngineException | RuntimeException e) {
+            throw e;
+        } catch (final Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Build a new instance, with the default form definition file if there is no file for the locale
+     */
+    private static FormDocumentBuilder newInstance(final APISession session, final long processDefinitionID, final String locale,
+            final Date processDeployementDate, final boolean getFormDefinitionFromBAR) throws ProcessDefinitionNotFoundException, IOException,
+            InvalidFormDefinitionException, BPMEngineException, InvalidSessionException, RetrieveException {
+        try {
+            return new FormDocumentBuilder(session, processDefinitionID, locale, processDeployementDate, getFormDefinitionFromBAR);
+        } catch (final FileNotFoundException e) {
+            if (locale != null) {
+                return new FormDocumentBuilder(session, processDefinitionID, null, processDeployementDate, getFormDefinitionFromBAR);
+            } else if (processDefinitionID == -1) {
+                throw new FileNotFoundException("The forms definition file for process was not found.");
             } else {
-                instance.lastAccess = new Date().getTime();
+                throw new FileNotFoundException("The forms definition file for process " + processDefinitionID + "in tenant " + session.getTenantId()
+                        + " was not found.");
             }
         }
-        return instance;
+    }
+
+    /**
+     * @return the ratio of the requests served from the cache of instances
+     */
+    public static double getCacheHitRatio() {
+        return INSTANCES.getHitRatio();
+    }
+
+    /**
+     * @return the statistics of the cache of instances (hits, misses, load failures, total and average load time in ms, evictions)
+     */
+    public static Map<String, Long> getCacheStatistics() {
+        return INSTANCES.getStatistics();
     }
 
     /**
@@ -258,8 +272,7 @@ public class FormDocumentBuilder {
         this.getFormDefinitionFromBAR = getFormDefinitionFromBAR;
         final InputStream formsDefinitionStream = getFormsDefinitionInputStream(session);
         try {
-            final DocumentBuilder builder = DocumentBuilderFactory.newInstance().newDocumentBuilder();
-            this.document = builder.parse(formsDefinitionStream);
+            this.document = newDocumentBuilder().parse(formsDefinitionStream);
         } catch (final Exception e) {
             final String errorMessage = "Failed to parse the forms definition file";
             if (LOGGER.isLoggable(Level.SEVERE)) {
@@ -273,6 +286,21 @@ public class FormDocumentBuilder {
         }
     }
 
+    /**
+     * @return a document builder producing fully expanded documents
+     */
+    protected static DocumentBuilder newDocumentBuilder() throws ParserConfigurationException {
+        final DocumentBuilderFactory documentBuilderFactory = DocumentBuilderFactory.newInstance();
+        try {
+            documentBuilderFactory.setFeature(DEFER_NODE_EXPANSION_FEATURE, false);
+        } catch (final ParserConfigurationException e) {
+            if (LOGGER.isLoggable(Level.WARNING)) {
+                LOGGER.log(Level.WARNING, "The XML parser does not support disabling the deferred node expansion", e);
+            }
+        }
+        return documentBuilderFactory.newDocumentBuilder();
+    }
+
     /**
      * @return the form definition as an input stream
      * @param session
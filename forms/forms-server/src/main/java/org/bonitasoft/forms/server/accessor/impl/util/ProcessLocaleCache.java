@@ -0,0 +1,235 @@
+/**
+ * Copyright (C) 2020 Bonitasoft S.A.
+ * Bonitasoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.forms.server.accessor.impl.util;
+
+import java.io.InterruptedIOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Concurrent cache of values by process and by locale.
+ * A value is loaded once even if it is requested by several threads at the same time: the other threads wait for the end of the loading,
+ * while the threads requesting other keys are not blocked.
+ * The number of processes and the number of locales of each process are bounded, the least recently used entries being evicted first.
+ */
+class ProcessLocaleCache<V> {
+
+    /**
+     * Loads a value which is not in the cache
+     */
+    interface Loader<V> {
+
+        V load() throws Exception;
+    }
+
+    /**
+     * Tells whether a cached value has to be reloaded
+     */
+    interface Validator<V> {
+
+        boolean isOutOfDate(V value);
+    }
+
+    /**
+     * Key used for the null locale
+     */
+    private static final String NO_LOCALE = "";
+
+    private final ConcurrentMap<String, ProcessEntry<V>> processes = new ConcurrentHashMap<String, ProcessEntry<V>>();
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    private final AtomicLong loadFailures = new AtomicLong();
+
+    private final AtomicLong totalLoadTime = new AtomicLong();
+
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * Retrieve a value from the cache or load it if it is not cached or if it is out of date
+     * 
+     * @param processKey
+     *            the key of the process
+     * @param locale
+     *            the locale (may be null)
+     * @param maxProcesses
+     *            the maximum number of processes in the cache
+     * @param maxLocales
+     *            the maximum number of locales by process in the cache
+     * @param validator
+     *            the validator of the cached values
+     * @param loader
+     *            the loader of the value
+     * @return the value
+     * @throws Exception
+     *             the exception thrown by the loader (the threads waiting for the same value get the same exception)
+     */
+    V get(final String processKey, final String locale, final int maxProcesses, final int maxLocales, final Validator<V> validator,
+            final Loader<V> loader) throws Exception {
+        final ProcessEntry<V> processEntry = getProcessEntry(processKey, maxProcesses);
+        final String localeKey = locale == null ? NO_LOCALE : locale;
+        while (true) {
+            LocaleEntry<V> localeEntry = processEntry.locales.get(localeKey);
+            if (localeEntry == null) {
+                final LocaleEntry<V> newEntry = new LocaleEntry<V>();
+                localeEntry = processEntry.locales.putIfAbsent(localeKey, newEntry);
+                if (localeEntry == null) {
+                    evict(processEntry.locales, maxLocales);
+                    return load(processEntry, localeKey, newEntry, loader);
+                }
+            }
+            final V value = await(localeEntry.future);
+            if (validator.isOutOfDate(value)) {
+                processEntry.locales.remove(localeKey, localeEntry);
+            } else {
+                localeEntry.touch();
+                hits.incrementAndGet();
+                return value;
+            }
+        }
+    }
+
+    private ProcessEntry<V> getProcessEntry(final String processKey, final int maxProcesses) {
+        ProcessEntry<V> processEntry = processes.get(processKey);
+        if (processEntry == null) {
+            final ProcessEntry<V> newEntry = new ProcessEntry<V>();
+            processEntry = processes.putIfAbsent(processKey, newEntry);
+            if (processEntry == null) {
+                processEntry = newEntry;
+                evict(processes, maxProcesses);
+            }
+        }
+        processEntry.touch();
+        return processEntry;
+    }
+
+    private V load(final ProcessEntry<V> processEntry, final String localeKey, final LocaleEntry<V> localeEntry, final Loader<V> loader)
+            throws Exception {
+        misses.incrementAndGet();
+        final long start = System.nanoTime();
+        try {
+            final V value = loader.load();
+            localeEntry.future.complete(value);
+            return value;
+        } catch (final Exception e) {
+            loadFailures.incrementAndGet();
+            processEntry.locales.remove(localeKey, localeEntry);
+            localeEntry.future.completeExceptionally(e);
+            throw e;
+        } catch (final Error e) {
+            loadFailures.incrementAndGet();
+            processEntry.locales.remove(localeKey, localeEntry);
+            localeEntry.future.completeExceptionally(e);
+            throw e;
+        } finally {
+            totalLoadTime.addAndGet(System.nanoTime() - start);
+        }
+    }
+
+    private V await(final CompletableFuture<V> future) throws Exception {
+        try {
+            return future.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the loading of a cached value");
+        } catch (final ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw (Exception) cause;
+        }
+    }
+
+    /**
+     * Evict the least recently used entries while the map is larger than the maximum size.
+     * The scan is only done when an entry is added, which is rare compared to the hits.
+     */
+    private <E extends Entry> void evict(final ConcurrentMap<String, E> entries, final int maxSize) {
+        while (entries.size() > maxSize) {
+            Map.Entry<String, E> leastRecentlyUsed = null;
+            for (final Map.Entry<String, E> entry : entries.entrySet()) {
+                if (leastRecentlyUsed == null || entry.getValue().lastAccess < leastRecentlyUsed.getValue().lastAccess) {
+                    leastRecentlyUsed = entry;
+                }
+            }
+            if (leastRecentlyUsed != null && entries.remove(leastRecentlyUsed.getKey(), leastRecentlyUsed.getValue())) {
+                evictions.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Remove all the values of the cache (the statistics are kept)
+     */
+    void clear() {
+        processes.clear();
+    }
+
+    /**
+     * @return the number of processes in the cache
+     */
+    int size() {
+        return processes.size();
+    }
+
+    /**
+     * @return the ratio of the requests served from the cache
+     */
+    double getHitRatio() {
+        final long requests = hits.get() + misses.get();
+        return requests == 0 ? 0 : (double) hits.get() / requests;
+    }
+
+    /**
+     * @return the statistics of the cache (the load time is in milliseconds)
+     */
+    Map<String, Long> getStatistics() {
+        final Map<String, Long> statistics = new LinkedHashMap<String, Long>();
+        statistics.put("hits", hits.get());
+        statistics.put("misses", misses.get());
+        statistics.put("loadFailures", loadFailures.get());
+        statistics.put("totalLoadTime", totalLoadTime.get() / 1000000);
+        statistics.put("averageLoadTime", misses.get() == 0 ? 0 : totalLoadTime.get() / 1000000 / misses.get());
+        statistics.put("evictions", evictions.get());
+        return statistics;
+    }
+
+    private static class Entry {
+
+        volatile long lastAccess = System.nanoTime();
+
+        void touch() {
+            lastAccess = System.nanoTime();
+        }
+    }
+
+    private static class ProcessEntry<V> extends Entry {
+
+        final ConcurrentMap<String, LocaleEntry<V>> locales = new ConcurrentHashMap<String, LocaleEntry<V>>();
+    }
+
+    private static class LocaleEntry<V> extends Entry {
+
+        final CompletableFuture<V> future = new CompletableFuture<V>();
+    }
+}
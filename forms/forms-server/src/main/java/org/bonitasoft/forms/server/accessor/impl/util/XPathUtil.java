@@ -16,6 +16,8 @@
  */
 package org.bonitasoft.forms.server.accessor.impl.util;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -30,15 +32,30 @@ import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 
 /**
+ * The XPath expressions are evaluated without locking: the form definition documents are fully expanded when they are parsed (see
+ * {@link FormDocumentBuilder}) so reading them does not modify them.
+ *
  * @author Anthony Birembaut
  *
  */
 public abstract class XPathUtil {
 
     /**
-     * Xpath evaluation accessor
+     * Maximum number of compiled XPath expressions kept by each thread (some expressions contain form or page ids)
+     */
+    protected static final int COMPILED_XPATH_CACHE_SIZE = 500;
+
+    /**
+     * Compiled XPath expressions by expression string. {@link XPath} and {@link XPathExpression} are not thread-safe, so each thread
+     * compiles and evaluates its own expressions.
      */
-    protected XPath xpathEvaluator = XPathFactory.newInstance().newXPath();
+    private static final ThreadLocal<CompiledXPathCache> COMPILED_XPATHS = new ThreadLocal<CompiledXPathCache>() {
+
+        @Override
+        protected CompiledXPathCache initialValue() {
+            return new CompiledXPathCache();
+        }
+    };
 
     /**
      * Logger
@@ -57,10 +74,7 @@ public abstract class XPathUtil {
     public Node getNodeByXpath(final Node parentNode, final String xPath) {
         Node node = null;
         try {
-            final XPathExpression compiledXpath = xpathEvaluator.compile(xPath);
-            synchronized (parentNode) {
-                node = (Node) compiledXpath.evaluate(parentNode, XPathConstants.NODE);
-            }
+            node = (Node) COMPILED_XPATHS.get().compile(xPath).evaluate(parentNode, XPathConstants.NODE);
         } catch (final XPathExpressionException e) {
             if (LOGGER.isLoggable(Level.WARNING)) {
                 LOGGER.log(Level.WARNING, "Error in Xpath expression", e);
@@ -99,10 +113,7 @@ public abstract class XPathUtil {
     public NodeList getNodeListByXpath(final Node parentNode, final String xPath) {
         NodeList nodeList = null;
         try {
-            final XPathExpression compiledXpath = xpathEvaluator.compile(xPath);
-            synchronized (parentNode) {
-                nodeList = (NodeList) compiledXpath.evaluate(parentNode, XPathConstants.NODESET);
-            }
+            nodeList = (NodeList) COMPILED_XPATHS.get().compile(xPath).evaluate(parentNode, XPathConstants.NODESET);
         } catch (final XPathExpressionException e) {
             if (LOGGER.isLoggable(Level.WARNING)) {
                 LOGGER.log(Level.WARNING, "Error in Xpath expression", e);
@@ -152,4 +163,32 @@ public abstract class XPathUtil {
     protected String escapeSingleQuote(final String str) {
         return str.replaceAll("'", XMLForms.SINGLE_QUOTE_ESCAPE);
     }
+
+    /**
+     * Least recently used compiled XPath expressions of a thread
+     */
+    static class CompiledXPathCache extends LinkedHashMap<String, XPathExpression> {
+
+        private static final long serialVersionUID = -3389466702562307634L;
+
+        private final XPath xpathEvaluator = XPathFactory.newInstance().newXPath();
+
+        CompiledXPathCache() {
+            super(16, .75F, true);
+        }
+
+        XPathExpression compile(final String xPath) throws XPathExpressionException {
+            XPathExpression compiledXpath = get(xPath);
+            if (compiledXpath == null) {
+                compiledXpath = xpathEvaluator.compile(xPath);
+                put(xPath, compiledXpath);
+            }
+            return compiledXpath;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<String, XPathExpression> eldest) {
+            return size() > COMPILED_XPATH_CACHE_SIZE;
+        }
+    }
 }
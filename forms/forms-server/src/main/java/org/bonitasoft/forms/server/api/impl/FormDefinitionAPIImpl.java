@@ -562,7 +562,10 @@ public class FormDefinitionAPIImpl implements IFormDefinitionAPI {
                 expressionsToEvaluate.add(expression);
             }
         }
-        final Map<String, Serializable> resolvedExpressions = formServiceProvider.resolveExpressions(expressionsToEvaluate, context);
+        Map<String, Serializable> resolvedExpressions = new HashMap<String, Serializable>();
+        if (!expressionsToEvaluate.isEmpty()) {
+            resolvedExpressions = formServiceProvider.resolveExpressions(expressionsToEvaluate, context);
+        }
         for (final TransientData data : transientData) {
             final String name = data.getName();
             final String className = data.getClassname();
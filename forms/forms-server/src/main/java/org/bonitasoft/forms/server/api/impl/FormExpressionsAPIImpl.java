@@ -21,6 +21,7 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.UUID;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -47,6 +48,7 @@ import org.bonitasoft.forms.server.accessor.api.ExpressionEvaluatorEngineClient;
 import org.bonitasoft.forms.server.accessor.api.ProcessInstanceAccessorEngineClient;
 import org.bonitasoft.forms.server.accessor.api.utils.ProcessInstanceAccessor;
 import org.bonitasoft.forms.server.api.IFormExpressionsAPI;
+import org.bonitasoft.forms.server.api.impl.util.ConstantExpressionEvaluator;
 import org.bonitasoft.forms.server.api.impl.util.ExpressionAdapter;
 import org.bonitasoft.forms.server.exception.FileTooBigException;
 
@@ -76,6 +78,11 @@ public class FormExpressionsAPIImpl implements IFormExpressionsAPI {
 
     private final EngineClientFactory engineClientFactory = new EngineClientFactory();
 
+    /**
+     * Evaluator of the constant expressions, which are not sent to the engine
+     */
+    protected ConstantExpressionEvaluator constantExpressionEvaluator = new ConstantExpressionEvaluator();
+
     /**
      * evaluate an initial value expression (at form construction)
      *
@@ -119,6 +126,9 @@ public class FormExpressionsAPIImpl implements IFormExpressionsAPI {
     @Override
     public Serializable evaluateActivityInitialExpression(final APISession session, final long activityInstanceID, final Expression expression,
             final Locale locale, final boolean isCurrentValue, final Map<String, Serializable> context) throws BPMExpressionEvaluationException, InvalidSessionException, BPMEngineException {
+        if (constantExpressionEvaluator.canEvaluate(expression)) {
+            return constantExpressionEvaluator.evaluate(expression);
+        }
         Serializable result = null;
         if (expression != null) {
             final Map<org.bonitasoft.engine.expression.Expression, Map<String, Serializable>> expressionWithContext = new HashMap<org.bonitasoft.engine.expression.Expression, Map<String, Serializable>>();
@@ -183,6 +193,9 @@ public class FormExpressionsAPIImpl implements IFormExpressionsAPI {
     @Override
     public Serializable evaluateInstanceInitialExpression(final APISession session, final long processInstanceId, final Expression expression,
             final Locale locale, final boolean isCurrentValue, final Map<String, Serializable> context) throws BPMEngineException, InvalidSessionException, BPMExpressionEvaluationException {
+        if (constantExpressionEvaluator.canEvaluate(expression)) {
+            return constantExpressionEvaluator.evaluate(expression);
+        }
         Serializable result = null;
         if (expression != null) {
             final Map<org.bonitasoft.engine.expression.Expression, Map<String, Serializable>> expressions = new HashMap<org.bonitasoft.engine.expression.Expression, Map<String, Serializable>>();
@@ -205,6 +218,16 @@ public class FormExpressionsAPIImpl implements IFormExpressionsAPI {
         return evaluatedExpressions.values().iterator().next();
     }
 
+    /**
+     * @return the key of the result of an expression in the map of evaluated expressions (the same as the engine)
+     */
+    protected String getResultName(final Expression expression) {
+        if (expression.getName() == null) {
+            return UUID.randomUUID().toString();
+        }
+        return expression.getName();
+    }
+
     /**
      * evaluate an initial value expression (at form construction)
      *
@@ -243,6 +266,9 @@ public class FormExpressionsAPIImpl implements IFormExpressionsAPI {
     @Override
     public Serializable evaluateProcessInitialExpression(final APISession session, final long processDefinitionID, final Expression expression,
             final Locale locale, final Map<String, Serializable> context) throws BPMExpressionEvaluationException, InvalidSessionException, BPMEngineException {
+        if (constantExpressionEvaluator.canEvaluate(expression)) {
+            return constantExpressionEvaluator.evaluate(expression);
+        }
         Serializable result = null;
         if (expression != null) {
             context.put(IFormExpressionsAPI.USER_LOCALE, locale);
@@ -491,6 +517,9 @@ public class FormExpressionsAPIImpl implements IFormExpressionsAPI {
     public Serializable evaluateActivityExpression(final APISession session, final long activityInstanceID, final Expression expression,
             final Map<String, FormFieldValue> fieldValues, final Locale locale, final boolean isCurrentValue, final Map<String, Serializable> context)
                     throws BPMExpressionEvaluationException, InvalidSessionException, FileTooBigException, IOException, BPMEngineException {
+        if (constantExpressionEvaluator.canEvaluate(expression)) {
+            return constantExpressionEvaluator.evaluate(expression);
+        }
         Serializable result = null;
         if (expression != null) {
             final Map<String, Serializable> evalContext = generateGroovyContext(session, fieldValues, locale, context, false);
@@ -567,6 +596,9 @@ public class FormExpressionsAPIImpl implements IFormExpressionsAPI {
     public Serializable evaluateInstanceExpression(final APISession session, final long processInstanceId, final Expression expression,
             final Map<String, FormFieldValue> fieldValues, final Locale locale, final boolean isCurrentValue, final Map<String, Serializable> context)
                     throws BPMEngineException, InvalidSessionException, FileTooBigException, IOException, BPMExpressionEvaluationException {
+        if (constantExpressionEvaluator.canEvaluate(expression)) {
+            return constantExpressionEvaluator.evaluate(expression);
+        }
         Serializable result = null;
         if (expression != null) {
             final Map<String, Serializable> evalContext = generateGroovyContext(session, fieldValues, locale, context, false);
@@ -634,6 +666,9 @@ public class FormExpressionsAPIImpl implements IFormExpressionsAPI {
     public Serializable evaluateProcessExpression(final APISession session, final long processDefinitionID, final Expression expression,
             final Map<String, FormFieldValue> fieldValues, final Locale locale, final Map<String, Serializable> context) throws BPMExpressionEvaluationException,
             InvalidSessionException, FileTooBigException, IOException, BPMEngineException {
+        if (constantExpressionEvaluator.canEvaluate(expression)) {
+            return constantExpressionEvaluator.evaluate(expression);
+        }
         Serializable result = null;
         if (expression != null) {
             final Map<String, Serializable> evalContext = generateGroovyContext(session, fieldValues, locale, context, false);
@@ -718,7 +753,9 @@ public class FormExpressionsAPIImpl implements IFormExpressionsAPI {
 
         final ExpressionAdapter expressionAdapter = new ExpressionAdapter();
         for (final Expression expression : expressions) {
-            if (expression != null) {
+            if (constantExpressionEvaluator.canEvaluate(expression)) {
+                result.put(getResultName(expression), constantExpressionEvaluator.evaluate(expression));
+            } else if (expression != null) {
                 expressionsWithContext.put(expressionAdapter.getEngineExpression(expression), context);
             } else {
                 if (LOGGER.isLoggable(Level.FINE)) {
@@ -773,7 +810,9 @@ public class FormExpressionsAPIImpl implements IFormExpressionsAPI {
 
         final ExpressionAdapter expressionAdapter = new ExpressionAdapter();
         for (final Expression expression : expressions) {
-            if (expression != null) {
+            if (constantExpressionEvaluator.canEvaluate(expression)) {
+                result.put(getResultName(expression), constantExpressionEvaluator.evaluate(expression));
+            } else if (expression != null) {
                 expressionsWithContext.put(expressionAdapter.getEngineExpression(expression), context);
             } else {
                 if (LOGGER.isLoggable(Level.FINE)) {
@@ -826,7 +865,9 @@ public class FormExpressionsAPIImpl implements IFormExpressionsAPI {
 
         final ExpressionAdapter expressionAdapter = new ExpressionAdapter();
         for (final Expression expression : expressions) {
-            if (expression != null) {
+            if (constantExpressionEvaluator.canEvaluate(expression)) {
+                result.put(getResultName(expression), constantExpressionEvaluator.evaluate(expression));
+            } else if (expression != null) {
                 expressionsWithContext.put(expressionAdapter.getEngineExpression(expression), context);
             } else {
                 if (LOGGER.isLoggable(Level.FINE)) {
@@ -850,7 +891,7 @@ public class FormExpressionsAPIImpl implements IFormExpressionsAPI {
         return new ProcessInstanceExpressionsEvaluator(getExpressionEvaluator(session));
     }
 
-    private ExpressionEvaluatorEngineClient getExpressionEvaluator(final APISession session) throws BPMEngineException {
+    protected ExpressionEvaluatorEngineClient getExpressionEvaluator(final APISession session) throws BPMEngineException {
         return engineClientFactory.createExpressionEvaluatorEngineClient(session);
     }
 
@@ -890,7 +931,9 @@ public class FormExpressionsAPIImpl implements IFormExpressionsAPI {
 
         final ExpressionAdapter expressionAdapter = new ExpressionAdapter();
         for (final Expression expression : expressions) {
-            if (expression != null) {
+            if (constantExpressionEvaluator.canEvaluate(expression)) {
+                result.put(getResultName(expression), constantExpressionEvaluator.evaluate(expression));
+            } else if (expression != null) {
                 expressionsWithContext.put(expressionAdapter.getEngineExpression(expression), context);
             } else {
                 if (LOGGER.isLoggable(Level.FINE)) {
@@ -935,7 +978,9 @@ public class FormExpressionsAPIImpl implements IFormExpressionsAPI {
 
         final ExpressionAdapter expressionAdapter = new ExpressionAdapter();
         for (final Expression expression : expressions) {
-            if (expression != null) {
+            if (constantExpressionEvaluator.canEvaluate(expression)) {
+                result.put(getResultName(expression), constantExpressionEvaluator.evaluate(expression));
+            } else if (expression != null) {
                 expressionsWithContext.put(expressionAdapter.getEngineExpression(expression), context);
             } else {
                 if (LOGGER.isLoggable(Level.FINE)) {
@@ -983,7 +1028,9 @@ public class FormExpressionsAPIImpl implements IFormExpressionsAPI {
 
         final ExpressionAdapter expressionAdapter = new ExpressionAdapter();
         for (final Expression expression : expressions) {
-            if (expression != null) {
+            if (constantExpressionEvaluator.canEvaluate(expression)) {
+                result.put(getResultName(expression), constantExpressionEvaluator.evaluate(expression));
+            } else if (expression != null) {
                 expressionsWithContext.put(expressionAdapter.getEngineExpression(expression), context);
             } else {
                 if (LOGGER.isLoggable(Level.FINE)) {
@@ -39,9 +39,12 @@ import org.bonitasoft.engine.session.InvalidSessionException;
 import org.bonitasoft.forms.client.model.Expression;
 import org.bonitasoft.forms.client.model.FormFieldValue;
 import org.bonitasoft.forms.client.model.FormValidator;
+import org.bonitasoft.forms.server.accessor.DefaultFormsPropertiesFactory;
 import org.bonitasoft.forms.server.api.FormAPIFactory;
 import org.bonitasoft.forms.server.api.IFormValidationAPI;
 import org.bonitasoft.forms.server.api.IFormWorkflowAPI;
+import org.bonitasoft.forms.server.api.impl.util.FormValidatorsCache;
+import org.bonitasoft.forms.server.api.impl.util.FormValidatorsCache.ValidatorInstances;
 import org.bonitasoft.forms.server.exception.FileTooBigException;
 import org.bonitasoft.forms.server.exception.FormValidationException;
 import org.bonitasoft.forms.server.validator.AbstractFormFieldValidator;
@@ -61,6 +64,20 @@ public class FormValidationAPIImpl implements IFormValidationAPI {
      */
     private static Logger LOGGER = Logger.getLogger(FormValidationAPIImpl.class.getName());
 
+    protected FormValidatorsCache getValidatorsCache() {
+        return FormValidatorsCache.getInstance();
+    }
+
+    /**
+     * Retrieve the instances of a validator for the current classloader of the process
+     */
+    protected ValidatorInstances getValidatorInstances(final APISession session, final long processDefinitionID, final String validatorClassName)
+            throws ClassNotFoundException, InstantiationException, IllegalAccessException {
+        final ClassLoader processClassLoader = new FormsResourcesUtils().getProcessClassLoader(session, processDefinitionID);
+        return getValidatorsCache().getValidatorInstances(processDefinitionID, processClassLoader, validatorClassName,
+                DefaultFormsPropertiesFactory.getPlatformFormProperties().getMaxProcessesInValidatorsCache());
+    }
+
     /**
      * Validate a form field value using the validator whose name is provided
      * 
@@ -94,29 +111,27 @@ public class FormValidationAPIImpl implements IFormValidationAPI {
 
         boolean valid = true;
         try {
-            final ClassLoader processClassLoader = new FormsResourcesUtils().getProcessClassLoader(session, processDefinitionID);
-            Class<?> validatorClass;
-            if (processClassLoader != null) {
-                validatorClass = Class.forName(validatorClassName, true, processClassLoader);
-            } else {
-                validatorClass = Class.forName(validatorClassName);
-            }
-            final Object formFieldValidatorObject = validatorClass.newInstance();
-            if (formFieldValidatorObject instanceof AbstractFormValidator) {
-                final AbstractFormValidator formValidator = (AbstractFormValidator) formFieldValidatorObject;
-                formValidator.setSession(session);
-                formValidator.setParameter(parameter);
-                formValidator.setProcessDefinitionID(processDefinitionID);
-                formValidator.setProcessInstanceID(processInstanceID);
-                formValidator.setActivityInstanceID(activityInstanceID);
-                formValidator.setTransientDataContext(transientDataContext);
-                formValidator.setSubmitButtonId(submitButtonId);
-            }
-            if (formFieldValidatorObject instanceof AbstractFormFieldValidator) {
-                ((AbstractFormFieldValidator) formFieldValidatorObject).setFieldID(fieldID);
+            final ValidatorInstances validatorInstances = getValidatorInstances(session, processDefinitionID, validatorClassName);
+            final Object formFieldValidatorObject = validatorInstances.acquire();
+            try {
+                if (formFieldValidatorObject instanceof AbstractFormValidator) {
+                    final AbstractFormValidator formValidator = (AbstractFormValidator) formFieldValidatorObject;
+                    formValidator.setSession(session);
+                    formValidator.setParameter(parameter);
+                    formValidator.setProcessDefinitionID(processDefinitionID);
+                    formValidator.setProcessInstanceID(processInstanceID);
+                    formValidator.setActivityInstanceID(activityInstanceID);
+                    formValidator.setTransientDataContext(transientDataContext);
+                    formValidator.setSubmitButtonId(submitButtonId);
+                }
+                if (formFieldValidatorObject instanceof AbstractFormFieldValidator) {
+                    ((AbstractFormFieldValidator) formFieldValidatorObject).setFieldID(fieldID);
+                }
+                final IFormFieldValidator formFieldValidator = (IFormFieldValidator) formFieldValidatorObject;
+                valid = formFieldValidator.validate(value, locale);
+            } finally {
+                validatorInstances.release(formFieldValidatorObject);
             }
-            final IFormFieldValidator formFieldValidator = (IFormFieldValidator) formFieldValidatorObject;
-            valid = formFieldValidator.validate(value, locale);
         } catch (final ClassNotFoundException e) {
             final String message = "The validator " + validatorClassName + " is not in the classpath";
             if (LOGGER.isLoggable(Level.SEVERE)) {
@@ -170,26 +185,24 @@ public class FormValidationAPIImpl implements IFormValidationAPI {
 
         boolean valid = true;
         try {
-            final ClassLoader processClassLoader = new FormsResourcesUtils().getProcessClassLoader(session, processDefinitionID);
-            Class<?> validatorClass;
-            if (processClassLoader != null) {
-                validatorClass = Class.forName(validatorClassName, true, processClassLoader);
-            } else {
-                validatorClass = Class.forName(validatorClassName);
-            }
-            final Object formPageValidatorObject = validatorClass.newInstance();
-            if (formPageValidatorObject instanceof AbstractFormValidator) {
-                final AbstractFormValidator formValidator = (AbstractFormValidator) formPageValidatorObject;
-                formValidator.setSession(session);
-                formValidator.setParameter(parameter);
-                formValidator.setProcessDefinitionID(processDefinitionID);
-                formValidator.setProcessInstanceID(processInstanceID);
-                formValidator.setActivityInstanceID(activityInstanceID);
-                formValidator.setTransientDataContext(transientDataContext);
-                formValidator.setSubmitButtonId(submitButtonId);
+            final ValidatorInstances validatorInstances = getValidatorInstances(session, processDefinitionID, validatorClassName);
+            final Object formPageValidatorObject = validatorInstances.acquire();
+            try {
+                if (formPageValidatorObject instanceof AbstractFormValidator) {
+                    final AbstractFormValidator formValidator = (AbstractFormValidator) formPageValidatorObject;
+                    formValidator.setSession(session);
+                    formValidator.setParameter(parameter);
+                    formValidator.setProcessDefinitionID(processDefinitionID);
+                    formValidator.setProcessInstanceID(processInstanceID);
+                    formValidator.setActivityInstanceID(activityInstanceID);
+                    formValidator.setTransientDataContext(transientDataContext);
+                    formValidator.setSubmitButtonId(submitButtonId);
+                }
+                final IFormPageValidator formPageValidator = (IFormPageValidator) formPageValidatorObject;
+                valid = formPageValidator.validate(fields, locale);
+            } finally {
+                validatorInstances.release(formPageValidatorObject);
             }
-            final IFormPageValidator formPageValidator = (IFormPageValidator) formPageValidatorObject;
-            valid = formPageValidator.validate(fields, locale);
         } catch (final ClassNotFoundException e) {
             final String message = "The validator " + validatorClassName + " is not in the classpath";
             if (LOGGER.isLoggable(Level.SEVERE)) {
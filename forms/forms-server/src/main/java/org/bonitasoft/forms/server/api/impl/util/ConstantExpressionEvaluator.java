@@ -0,0 +1,78 @@
+/**
+ * Copyright (C) 2020 Bonitasoft S.A.
+ * Bonitasoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.forms.server.api.impl.util;
+
+import java.io.Serializable;
+
+import org.bonitasoft.engine.expression.ExpressionType;
+import org.bonitasoft.forms.client.model.Expression;
+
+/**
+ * Evaluates the constant expressions in the web tier, the same way the engine does, so that they don't need to be sent to the engine.
+ * Only the return types converted by the engine with a simple parsing are supported (the dates, whose parsing is specific to the engine, are
+ * not). The expressions which cannot be evaluated here, or whose evaluation would fail, are left to the engine so that the errors remain
+ * the same.
+ */
+public class ConstantExpressionEvaluator {
+
+    /**
+     * @param expression
+     *            the expression
+     * @return true if the expression is a constant which can be evaluated without the engine
+     */
+    public boolean canEvaluate(final Expression expression) {
+        if (expression == null || expression.getContent() == null || !ExpressionType.TYPE_CONSTANT.name().equals(expression.getExpressionType())) {
+            return false;
+        }
+        try {
+            return convert(expression.getContent(), expression.getReturnType()) != null;
+        } catch (final NumberFormatException e) {
+            return false;
+        }
+    }
+
+    /**
+     * @param expression
+     *            a constant expression that {@link #canEvaluate(Expression)}
+     * @return the value of the expression
+     */
+    public Serializable evaluate(final Expression expression) {
+        final Serializable value = convert(expression.getContent(), expression.getReturnType());
+        if (value == null) {
+            throw new IllegalArgumentException("The expression " + expression.getName() + " cannot be evaluated without the engine");
+        }
+        return value;
+    }
+
+    /**
+     * @return the content converted to the return type, null if the return type is not supported
+     */
+    protected Serializable convert(final String content, final String returnType) {
+        if (String.class.getName().equals(returnType)) {
+            return content;
+        } else if (Boolean.class.getName().equals(returnType)) {
+            return Boolean.parseBoolean(content);
+        } else if (Long.class.getName().equals(returnType)) {
+            return Long.parseLong(content);
+        } else if (Integer.class.getName().equals(returnType)) {
+            return Integer.parseInt(content);
+        } else if (Double.class.getName().equals(returnType)) {
+            return Double.parseDouble(content);
+        } else if (Float.class.getName().equals(returnType)) {
+            return Float.parseFloat(content);
+        }
+        return null;
+    }
+}
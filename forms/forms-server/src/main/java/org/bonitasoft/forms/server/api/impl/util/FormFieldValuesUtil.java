@@ -37,6 +37,7 @@ import org.bonitasoft.engine.expression.ExpressionType;
 import org.bonitasoft.forms.client.model.Expression;
 import org.bonitasoft.forms.client.model.FormFieldAvailableValue;
 import org.bonitasoft.forms.client.model.FormFieldValue;
+import org.bonitasoft.forms.client.model.FormPage;
 import org.bonitasoft.forms.client.model.FormWidget;
 import org.bonitasoft.forms.client.model.ReducedFormFieldAvailableValue;
 import org.bonitasoft.forms.client.model.WidgetType;
@@ -95,6 +96,8 @@ public class FormFieldValuesUtil {
 
     protected static final String EXPRESSION_TYPE = "SCRIPT";
 
+    protected static final String PAGE_LABEL = EXPRESSION_KEY_SEPARATOR + "page-label";
+
     /**
      * Logger
      */
@@ -579,8 +582,13 @@ public class FormFieldValuesUtil {
     public void setFormWidgetValues(final long tenantID, final FormWidget formWidget, final Map<String, Serializable> evaluatedExpressions,
             final Map<String, Object> context) throws FormNotFoundException, FormServiceProviderNotFoundException, SessionTimeoutException, IOException,
             FileTooBigException, FormInitializationException {
+        setFormWidgetValues(FormServiceProviderFactory.getFormServiceProvider(tenantID), formWidget, evaluatedExpressions, context);
+    }
+
+    protected void setFormWidgetValues(final FormServiceProvider formServiceProvider, final FormWidget formWidget,
+            final Map<String, Serializable> evaluatedExpressions, final Map<String, Object> context) throws FormNotFoundException, SessionTimeoutException,
+            IOException, FileTooBigException, FormInitializationException {
         final String widgetId = formWidget.getId();
-        final FormServiceProvider formServiceProvider = FormServiceProviderFactory.getFormServiceProvider(tenantID);
         final Locale locale = (Locale) context.get(FormServiceProviderUtil.LOCALE);
         formWidget.setLabel(getStringValue(evaluatedExpressions.get(widgetId + EXPRESSION_KEY_SEPARATOR + WIDGET_LABEL)));
         formWidget.setTitle(getStringValue(evaluatedExpressions.get(widgetId + EXPRESSION_KEY_SEPARATOR + WIDGET_TITLE)));
@@ -867,26 +875,99 @@ public class FormFieldValuesUtil {
             IOException,
             FileTooBigException, FormInitializationException {
         final FormServiceProvider formServiceProvider = FormServiceProviderFactory.getFormServiceProvider(tenantID);
+        setFormWidgetsValues(formServiceProvider, widgets, evaluatePageExpressions(formServiceProvider, null, widgets, context), context);
+    }
+
+    /**
+     * set the label and the widget values of a form page
+     *
+     * @param tenantID
+     *            the tenant ID
+     * @param formPage
+     *            the form page
+     * @param context
+     *            the context including the URL parameters
+     * @throws FormServiceProviderNotFoundException
+     * @throws FormNotFoundException
+     * @throws SessionTimeoutException
+     * @throws IOException
+     * @throws FileTooBigException
+     * @throws FormInitializationException
+     */
+    public void setFormPageValues(final long tenantID, final FormPage formPage, final Map<String, Object> context) throws FormNotFoundException,
+            FormServiceProviderNotFoundException, SessionTimeoutException, IOException, FileTooBigException, FormInitializationException {
+        setFormPageValues(FormServiceProviderFactory.getFormServiceProvider(tenantID), formPage, context);
+    }
 
-        final Map<String, Serializable> evaluatedDisplayExpressions = resolveDisplayExpressions(widgets, context, formServiceProvider);
-        final Map<String, Serializable> evaluatedExpressions = formServiceProvider.resolveExpressions(
-                getExpressionsToEvaluation(widgets, evaluatedDisplayExpressions, context),
-                context);
-        evaluatedExpressions.putAll(evaluatedDisplayExpressions);
+    protected void setFormPageValues(final FormServiceProvider formServiceProvider, final FormPage formPage, final Map<String, Object> context)
+            throws FormNotFoundException, SessionTimeoutException, IOException, FileTooBigException, FormInitializationException {
+        final Map<String, Serializable> evaluatedExpressions = evaluatePageExpressions(formServiceProvider, formPage.getPageLabelExpression(),
+                formPage.getFormWidgets(), context);
+        formPage.setPageLabel(getStringValue(evaluatedExpressions.get(PAGE_LABEL)));
+        setFormWidgetsValues(formServiceProvider, formPage.getFormWidgets(), evaluatedExpressions, context);
+    }
 
+    private void setFormWidgetsValues(final FormServiceProvider formServiceProvider, final List<FormWidget> widgets,
+            final Map<String, Serializable> evaluatedExpressions, final Map<String, Object> context) throws FormNotFoundException, SessionTimeoutException,
+            IOException, FileTooBigException, FormInitializationException {
         for (final FormWidget formWidget : widgets) {
-            setFormWidgetValues(tenantID, formWidget, evaluatedExpressions, context);
+            setFormWidgetValues(formServiceProvider, formWidget, evaluatedExpressions, context);
             setTablesParams(formWidget, evaluatedExpressions, context);
         }
     }
 
-    private Map<String, Serializable> resolveDisplayExpressions(final List<FormWidget> widgets, final Map<String, Object> context,
-            final FormServiceProvider formServiceProvider)
-            throws FormNotFoundException, SessionTimeoutException, FileTooBigException, IOException, FormInitializationException {
-        final Map<String, Serializable> resolvedExpressions = formServiceProvider.resolveExpressions(
-                new DisplayExpressions(widgets).asList(),
-                context);
-        return resolvedExpressions != null ? resolvedExpressions : new HashMap<String, Serializable>();
+    /**
+     * Evaluate all the expressions of a page in as few engine calls as possible.
+     * The page label, the display conditions and the expressions of the widgets without display condition are evaluated together.
+     * The expressions of the widgets with a display condition are only evaluated if the widget is displayed, so they are evaluated afterwards
+     * (if there are such widgets).
+     *
+     * @param formServiceProvider
+     *            the form service provider
+     * @param pageLabelExpression
+     *            the page label expression (may be null)
+     * @param widgets
+     *            the widgets of the page
+     * @param context
+     *            the context including the URL parameters
+     * @return the evaluated expressions by name
+     */
+    protected Map<String, Serializable> evaluatePageExpressions(final FormServiceProvider formServiceProvider, final Expression pageLabelExpression,
+            final List<FormWidget> widgets, final Map<String, Object> context) throws FormNotFoundException, SessionTimeoutException, FileTooBigException,
+            IOException, FormInitializationException {
+        final List<Expression> expressionsToEvaluate = new ArrayList<Expression>();
+        if (pageLabelExpression != null) {
+            pageLabelExpression.setName(PAGE_LABEL);
+            expressionsToEvaluate.add(pageLabelExpression);
+        }
+        expressionsToEvaluate.addAll(new DisplayExpressions(widgets).asList());
+        final List<FormWidget> conditionalWidgets = new ArrayList<FormWidget>();
+        for (final FormWidget formWidget : widgets) {
+            if (formWidget.getDisplayConditionExpression() == null) {
+                expressionsToEvaluate.addAll(getWidgetExpressions(formWidget, context));
+            } else {
+                conditionalWidgets.add(formWidget);
+            }
+        }
+        final Map<String, Serializable> evaluatedExpressions = resolveExpressions(formServiceProvider, expressionsToEvaluate, context);
+        if (!conditionalWidgets.isEmpty()) {
+            evaluatedExpressions.putAll(resolveExpressions(formServiceProvider,
+                    getExpressionsToEvaluation(conditionalWidgets, evaluatedExpressions, context), context));
+        }
+        return evaluatedExpressions;
+    }
+
+    private Map<String, Serializable> resolveExpressions(final FormServiceProvider formServiceProvider, final List<Expression> expressions,
+            final Map<String, Object> context) throws FormNotFoundException, SessionTimeoutException, FileTooBigException, IOException,
+            FormInitializationException {
+        final Map<String, Serializable> resolvedExpressions = new HashMap<String, Serializable>();
+        if (!expressions.isEmpty()) {
+            final Map<String, Serializable> results = formServiceProvider.resolveExpressions(expressions, context);
+            if (results != null) {
+                resolvedExpressions.putAll(results);
+            }
+        }
+        return resolvedExpressions;
     }
 
     protected List<Expression> getExpressionsToEvaluation(final List<FormWidget> widgets,
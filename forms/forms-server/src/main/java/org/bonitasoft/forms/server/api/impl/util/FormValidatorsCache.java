@@ -0,0 +1,197 @@
+/**
+ * Copyright (C) 2020 Bonitasoft S.A.
+ * Bonitasoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.forms.server.api.impl.util;
+
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.bonitasoft.forms.server.validator.AbstractFormFieldValidator;
+import org.bonitasoft.forms.server.validator.AbstractFormValidator;
+import org.bonitasoft.forms.server.validator.IStatelessValidator;
+
+/**
+ * Cache of the validator instances of the processes.
+ * The class of a validator is loaded once per process deployment and process classloader. The validators declared stateless (implementing
+ * {@link IStatelessValidator} without extending {@link AbstractFormValidator}) are instantiated once, the other ones are pooled: an instance is
+ * only used by one validation at a time.
+ * The validators of a process are dropped as soon as they are requested with another classloader (redeployment, new business data model...)
+ * or when the process resources are removed, so that the cache does not keep a process classloader alive.
+ * The number of processes is bounded for all the tenants, the least recently used ones being evicted first.
+ */
+public class FormValidatorsCache {
+
+    /**
+     * max number of idle instances kept for each stateful validator class
+     */
+    protected static final int MAX_POOLED_INSTANCES = 16;
+
+    private static final FormValidatorsCache INSTANCE = new FormValidatorsCache();
+
+    protected final ConcurrentMap<Long, ProcessValidators> processes = new ConcurrentHashMap<Long, ProcessValidators>();
+
+    public static FormValidatorsCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Validators of a process loaded with a classloader
+     */
+    protected static class ProcessValidators {
+
+        protected final ClassLoader classLoader;
+
+        protected final ConcurrentMap<String, ValidatorInstances> validators = new ConcurrentHashMap<String, ValidatorInstances>();
+
+        protected volatile long lastAccess = System.nanoTime();
+
+        protected ProcessValidators(final ClassLoader classLoader) {
+            this.classLoader = classLoader;
+        }
+    }
+
+    /**
+     * Instances of a validator class
+     */
+    public static class ValidatorInstances {
+
+        protected final Class<?> validatorClass;
+
+        protected final Object sharedInstance;
+
+        protected final BlockingQueue<Object> pool;
+
+        protected ValidatorInstances(final Class<?> validatorClass) throws InstantiationException, IllegalAccessException {
+            this.validatorClass = validatorClass;
+            if (IStatelessValidator.class.isAssignableFrom(validatorClass) && !AbstractFormValidator.class.isAssignableFrom(validatorClass)) {
+                sharedInstance = validatorClass.newInstance();
+                pool = null;
+            } else {
+                sharedInstance = null;
+                pool = new ArrayBlockingQueue<Object>(MAX_POOLED_INSTANCES);
+            }
+        }
+
+        public boolean isStateless() {
+            return sharedInstance != null;
+        }
+
+        /**
+         * @return an instance of the validator, which must be given back with {@link #release(Object)} after the validation
+         */
+        public Object acquire() throws InstantiationException, IllegalAccessException {
+            if (sharedInstance != null) {
+                return sharedInstance;
+            }
+            final Object validator = pool.poll();
+            if (validator != null) {
+                return validator;
+            }
+            return validatorClass.newInstance();
+        }
+
+        /**
+         * Give back an instance obtained with {@link #acquire()}. The context of the validation is removed from it before it is pooled.
+         */
+        public void release(final Object validator) {
+            if (sharedInstance != null || validator == null) {
+                return;
+            }
+            if (validator instanceof AbstractFormValidator) {
+                final AbstractFormValidator formValidator = (AbstractFormValidator) validator;
+                formValidator.setSession(null);
+                formValidator.setParameter(null);
+                formValidator.setProcessDefinitionID(-1);
+                formValidator.setProcessInstanceID(-1);
+                formValidator.setActivityInstanceID(-1);
+                formValidator.setTransientDataContext(null);
+                formValidator.setSubmitButtonId(null);
+            }
+            if (validator instanceof AbstractFormFieldValidator) {
+                ((AbstractFormFieldValidator) validator).setFieldID(null);
+            }
+            pool.offer(validator);
+        }
+    }
+
+    /**
+     * @param processDefinitionID
+     *            the process definition ID
+     * @param processClassLoader
+     *            the classloader of the process (null if the process has no specific classloader)
+     * @param validatorClassName
+     *            the class name of the validator
+     * @param maxProcesses
+     *            the max number of processes whose validators are kept, for all the tenants
+     * @return the instances of the validator
+     */
+    public ValidatorInstances getValidatorInstances(final long processDefinitionID, final ClassLoader processClassLoader, final String validatorClassName,
+            final int maxProcesses) throws ClassNotFoundException, InstantiationException, IllegalAccessException {
+        ProcessValidators processValidators = processes.get(processDefinitionID);
+        if (processValidators == null || processValidators.classLoader != processClassLoader) {
+            // a concurrent replacement only costs the loading of the validators again
+            processValidators = new ProcessValidators(processClassLoader);
+            processes.put(processDefinitionID, processValidators);
+            evict(maxProcesses);
+        }
+        processValidators.lastAccess = System.nanoTime();
+        ValidatorInstances validatorInstances = processValidators.validators.get(validatorClassName);
+        if (validatorInstances == null) {
+            final Class<?> validatorClass;
+            if (processClassLoader != null) {
+                validatorClass = Class.forName(validatorClassName, true, processClassLoader);
+            } else {
+                validatorClass = Class.forName(validatorClassName);
+            }
+            final ValidatorInstances newValidatorInstances = new ValidatorInstances(validatorClass);
+            validatorInstances = processValidators.validators.putIfAbsent(validatorClassName, newValidatorInstances);
+            if (validatorInstances == null) {
+                validatorInstances = newValidatorInstances;
+            }
+        }
+        return validatorInstances;
+    }
+
+    protected void evict(final int maxProcesses) {
+        while (processes.size() > maxProcesses) {
+            Map.Entry<Long, ProcessValidators> leastRecentlyUsed = null;
+            for (final Map.Entry<Long, ProcessValidators> entry : processes.entrySet()) {
+                if (leastRecentlyUsed == null || entry.getValue().lastAccess < leastRecentlyUsed.getValue().lastAccess) {
+                    leastRecentlyUsed = entry;
+                }
+            }
+            if (leastRecentlyUsed == null) {
+                return;
+            }
+            processes.remove(leastRecentlyUsed.getKey(), leastRecentlyUsed.getValue());
+        }
+    }
+
+    /**
+     * Drop the validators of a process, and the reference to its classloader
+     *
+     * @param processDefinitionID
+     *            the process definition ID
+     */
+    public void clearProcess(final long processDefinitionID) {
+        processes.remove(processDefinitionID);
+    }
+
+    public void clear() {
+        processes.clear();
+    }
+}
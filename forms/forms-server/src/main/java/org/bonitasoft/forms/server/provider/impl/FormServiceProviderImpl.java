@@ -76,6 +76,7 @@ import org.bonitasoft.forms.server.api.FormAPIFactory;
 import org.bonitasoft.forms.server.api.IFormValidationAPI;
 import org.bonitasoft.forms.server.api.IFormWorkflowAPI;
 import org.bonitasoft.forms.server.api.impl.FormWorkflowAPIImpl;
+import org.bonitasoft.forms.server.api.impl.util.FormValidatorsCache;
 import org.bonitasoft.forms.server.exception.ApplicationFormDefinitionNotFoundException;
 import org.bonitasoft.forms.server.exception.FileTooBigException;
 import org.bonitasoft.forms.server.exception.FormInitializationException;
@@ -228,6 +229,7 @@ public class FormServiceProviderImpl implements FormServiceProvider {
                     } catch (final ProcessDefinitionNotFoundException e) {
                         final String message = "The process definition for process definition with UUID " + processDefinitionUUID + " was not found!";
                         logSevereWithContext(message, e, context);
+                        clearFormCacheOfProcess(session, processDefinitionUUID);
                         throw new RuntimeException(message, e);
                     }
                 }
@@ -254,6 +256,18 @@ public class FormServiceProviderImpl implements FormServiceProvider {
         return processDefinitionID;
     }
 
+    /**
+     * Remove the cached form elements of a process which is not deployed anymore
+     *
+     * @param session
+     *        the API session
+     * @param processDefinitionUUID
+     *        the process definition UUID (processName--processVersion)
+     */
+    protected void clearFormCacheOfProcess(final APISession session, final String processDefinitionUUID) {
+        FormCacheUtilFactory.getTenantFormCacheUtil(session.getTenantId()).clearProcess(processDefinitionUUID);
+    }
+
     protected String extractProcessDefinitionUUID(final String formId) {
         final StringBuilder stringBuilder = new StringBuilder();
         stringBuilder.append("\\");
@@ -1638,6 +1652,13 @@ public class FormServiceProviderImpl implements FormServiceProvider {
         } catch (final ProcessDefinitionNotFoundException e) {
             final String message = "The process with UUID " + processDefinitionID + " does not exist!";
             logSevereWithContext(message, e, context);
+            if (processDefinitionID != -1) {
+                FormValidatorsCache.getInstance().clearProcess(processDefinitionID);
+            }
+            final Map<String, Object> urlContext = getUrlContext(context);
+            if (urlContext != null && urlContext.get(FormServiceProviderUtil.FORM_ID) != null) {
+                clearFormCacheOfProcess(ctxu.getAPISessionFromContext(), extractProcessDefinitionUUID((String) urlContext.get(FormServiceProviderUtil.FORM_ID)));
+            }
             throw new FormNotFoundException(message);
         } catch (final InvalidSessionException e) {
             final String message = "The engine session is invalid.";
@@ -1679,8 +1700,9 @@ public class FormServiceProviderImpl implements FormServiceProvider {
                     final File oldFormsDir = FormsResourcesUtils.getApplicationResourceDir(session, processDefinitionID,
                             workflowAPI.getProcessDefinitionDate(session, processDefinitionID));
                     if (oldFormsDir.exists()) {
+                        // the cached form elements of the process are replaced as soon as they are requested with the migration date
                         FormsResourcesUtils.removeApplicationFiles(session, processDefinitionID);
-                        FormCacheUtilFactory.getTenantFormCacheUtil(session.getTenantId()).clearAll();
+                        FormValidatorsCache.getInstance().clearProcess(processDefinitionID);
                     }
                 }
             } catch (final ProcessDefinitionNotFoundException e) {
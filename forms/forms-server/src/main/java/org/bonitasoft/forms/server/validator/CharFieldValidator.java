@@ -26,7 +26,7 @@ import org.bonitasoft.forms.client.model.FormFieldValue;
  * @author Anthony Birembaut
  * 
  */
-public class CharFieldValidator implements IFormFieldValidator {
+public class CharFieldValidator implements IFormFieldValidator, IStatelessValidator {
 
     /**
      * {@inheritDoc}
@@ -30,7 +30,7 @@ import org.bonitasoft.forms.client.model.FormFieldValue;
  * @author Anthony Birembaut
  *
  */
-public class DateFieldValidator implements IFormFieldValidator {
+public class DateFieldValidator implements IFormFieldValidator, IStatelessValidator {
 
     /**
      * {@inheritDoc}
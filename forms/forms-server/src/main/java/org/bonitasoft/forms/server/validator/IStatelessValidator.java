@@ -0,0 +1,24 @@
+/**
+ * Copyright (C) 2020 Bonitasoft S.A.
+ * Bonitasoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.forms.server.validator;
+
+/**
+ * Marker interface of the field and page validators which keep no state between two validations.
+ * A single instance of such a validator is created for each deployment of a process and is used by the concurrent validations.
+ * It has no effect on the subclasses of {@link AbstractFormValidator}, since the context of each validation is set on their instances.
+ */
+public interface IStatelessValidator {
+
+}
@@ -25,7 +25,7 @@ import org.bonitasoft.forms.client.model.FormFieldValue;
  * @author Aurelien Pupier
  * Check that the input match with an email address.
  */
-public class MailValidator implements IFormFieldValidator {
+public class MailValidator implements IFormFieldValidator, IStatelessValidator {
 
 	/* (non-Javadoc)
 	 * @see org.bonitasoft.forms.server.validator.IFormFieldValidator#validate(org.bonitasoft.forms.client.model.FormFieldValue, java.util.Locale)
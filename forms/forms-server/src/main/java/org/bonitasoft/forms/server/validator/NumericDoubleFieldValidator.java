@@ -26,7 +26,7 @@ import org.bonitasoft.forms.client.model.FormFieldValue;
  * @author Anthony Birembaut
  * 
  */
-public class NumericDoubleFieldValidator implements IFormFieldValidator {
+public class NumericDoubleFieldValidator implements IFormFieldValidator, IStatelessValidator {
 
     /**
      * {@inheritDoc}
@@ -26,7 +26,7 @@ import org.bonitasoft.forms.client.model.FormFieldValue;
  * @author Anthony Birembaut
  * 
  */
-public class NumericFloatFieldValidator implements IFormFieldValidator {
+public class NumericFloatFieldValidator implements IFormFieldValidator, IStatelessValidator {
 
     /**
      * {@inheritDoc}
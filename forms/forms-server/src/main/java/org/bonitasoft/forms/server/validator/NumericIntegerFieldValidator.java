@@ -26,7 +26,7 @@ import org.bonitasoft.forms.client.model.FormFieldValue;
  * @author Anthony Birembaut
  * 
  */
-public class NumericIntegerFieldValidator implements IFormFieldValidator {
+public class NumericIntegerFieldValidator implements IFormFieldValidator, IStatelessValidator {
 
     /**
      * {@inheritDoc}
@@ -26,7 +26,7 @@ import org.bonitasoft.forms.client.model.FormFieldValue;
  * @author Anthony Birembaut
  * 
  */
-public class NumericLongFieldValidator implements IFormFieldValidator {
+public class NumericLongFieldValidator implements IFormFieldValidator, IStatelessValidator {
 
     /**
      * {@inheritDoc}
@@ -25,7 +25,7 @@ import org.bonitasoft.forms.client.model.FormFieldValue;
  * @author Aurelien Pupier
  *
  */
-public class PhoneNumberValidator implements IFormFieldValidator {
+public class PhoneNumberValidator implements IFormFieldValidator, IStatelessValidator {
 
 	/* (non-Javadoc)
 	 * @see org.bonitasoft.forms.server.validator.IFormFieldValidator#validate(org.bonitasoft.forms.client.model.FormFieldValue, java.util.Locale)
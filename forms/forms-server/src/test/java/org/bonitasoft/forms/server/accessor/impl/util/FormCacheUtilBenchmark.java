@@ -0,0 +1,114 @@
+package org.bonitasoft.forms.server.accessor.impl.util;
+
+import java.util.Date;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import org.bonitasoft.forms.client.model.FormWidget;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the building of the keys of the cached widgets and their lookup with {@link FormCacheKey} and with the former string keys
+ * (concatenation of the form ID, page ID, widget ID, locale, deployment date and tenant ID), both in a concurrent map, so that the figures do not
+ * include the overhead of the former cache implementation. The lookups through {@link FormCacheUtil} (by key and by the ID sent to the client)
+ * include the resolution of the partition of the process.
+ * It is not run with the unit tests, run the main method (with the test classpath) to launch it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FormCacheUtilBenchmark {
+
+    private static final long TENANT_ID = 1L;
+
+    private static final String FORM_ID = "Expense report--1.2.0--Validate expense$entry";
+
+    private static final String PAGE_ID = "expenseReportPage";
+
+    private static final String LOCALE = "en";
+
+    @Param({ "100", "10000" })
+    private int numberOfWidgets;
+
+    private final Date deploymentDate = new Date();
+
+    private String[] widgetIds;
+
+    private String[] widgetCacheIds;
+
+    private ConcurrentMap<String, Object> stringKeyMap;
+
+    private ConcurrentMap<FormCacheKey, Object> typedKeyMap;
+
+    private FormCacheUtil formCacheUtil;
+
+    private int index;
+
+    @Setup
+    public void setUp() {
+        widgetIds = new String[numberOfWidgets];
+        widgetCacheIds = new String[numberOfWidgets];
+        stringKeyMap = new ConcurrentHashMap<String, Object>();
+        typedKeyMap = new ConcurrentHashMap<FormCacheKey, Object>();
+        formCacheUtil = new FormCacheUtil(TENANT_ID);
+        for (int i = 0; i < numberOfWidgets; i++) {
+            final FormWidget widget = new FormWidget();
+            widget.setId("expenseWidget" + i);
+            widgetIds[i] = widget.getId();
+            stringKeyMap.put(stringKey(widgetIds[i]), widget);
+            typedKeyMap.put(new FormCacheKey(FormCacheUtil.FORM_WIDGET_CACHE, FORM_ID, LOCALE, PAGE_ID, widgetIds[i]), widget);
+            widgetCacheIds[i] = formCacheUtil.storeFormWidget(FORM_ID, PAGE_ID, LOCALE, deploymentDate, widget);
+        }
+    }
+
+    private int nextIndex() {
+        index = (index + 1) % numberOfWidgets;
+        return index;
+    }
+
+    private String stringKey(final String widgetID) {
+        return FORM_ID + PAGE_ID + widgetID + LOCALE + Long.toString(deploymentDate.getTime()) + "@" + TENANT_ID;
+    }
+
+    @Benchmark
+    public void lookupWithStringKeys(final Blackhole blackhole) {
+        blackhole.consume(stringKeyMap.get(stringKey(widgetIds[nextIndex()])));
+    }
+
+    @Benchmark
+    public void lookupWithTypedKeys(final Blackhole blackhole) {
+        blackhole.consume(typedKeyMap.get(new FormCacheKey(FormCacheUtil.FORM_WIDGET_CACHE, FORM_ID, LOCALE, PAGE_ID, widgetIds[nextIndex()])));
+    }
+
+    @Benchmark
+    public void lookupWithFormCacheUtil(final Blackhole blackhole) {
+        blackhole.consume(formCacheUtil.getFormWidget(FORM_ID, PAGE_ID, widgetIds[nextIndex()], LOCALE, deploymentDate));
+    }
+
+    @Benchmark
+    public void lookupByIdWithFormCacheUtil(final Blackhole blackhole) {
+        blackhole.consume(formCacheUtil.getFormWidget(widgetCacheIds[nextIndex()]));
+    }
+
+    public static void main(final String[] args) throws Exception {
+        new Runner(new OptionsBuilder().include(FormCacheUtilBenchmark.class.getSimpleName()).build()).run();
+    }
+
+}
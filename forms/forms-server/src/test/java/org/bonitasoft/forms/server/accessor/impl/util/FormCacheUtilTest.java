@@ -2,6 +2,8 @@ package org.bonitasoft.forms.server.accessor.impl.util;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 
 import java.util.Date;
 import java.util.Locale;
@@ -24,4 +26,98 @@ public class FormCacheUtilTest {
         assertNotNull(formWidget1RetrievedFromCacheByParameters);
         assertEquals("widget1", widget1.getId());
     }
+
+    @Test
+    public void testStoreFormWidgetKeepsItsCacheId() {
+        final FormCacheUtil formCacheUtil = new FormCacheUtil(1);
+        final Date processDeploymentDate = new Date();
+        final String formWidgetCacheId = formCacheUtil.storeFormWidget("process--1.0$entry", "pageID", "en", processDeploymentDate, aWidget("widget1"));
+        final FormWidget widget = aWidget("widget1");
+
+        assertEquals(formWidgetCacheId, formCacheUtil.storeFormWidget("process--1.0$entry", "pageID", "en", processDeploymentDate, widget));
+        assertSame(widget, formCacheUtil.getFormWidget(formWidgetCacheId));
+    }
+
+    @Test
+    public void testRedeployingAProcessOnlyEvictsItsElements() {
+        final FormCacheUtil formCacheUtil = new FormCacheUtil(1);
+        final Date deploymentDate = new Date(1000L);
+        final String widgetOfTaskId = formCacheUtil.storeFormWidget("process--1.0--task$entry", "pageID", "en", deploymentDate, aWidget("widget1"));
+        formCacheUtil.storeFormWidget("process--1.0$entry", "pageID", "en", deploymentDate, aWidget("widget1"));
+        final String widgetOfOtherProcessId = formCacheUtil.storeFormWidget("otherProcess--1.0$entry", "pageID", "en", deploymentDate,
+                aWidget("widget1"));
+
+        final Date redeploymentDate = new Date(2000L);
+        assertNull(formCacheUtil.getFormWidget("process--1.0$entry", "pageID", "widget1", "en", redeploymentDate));
+
+        assertNull(formCacheUtil.getFormWidget("process--1.0--task$entry", "pageID", "widget1", "en", redeploymentDate));
+        assertNull(formCacheUtil.getFormWidget(widgetOfTaskId));
+        assertNotNull(formCacheUtil.getFormWidget(widgetOfOtherProcessId));
+        assertNotNull(formCacheUtil.getFormWidget("otherProcess--1.0$entry", "pageID", "widget1", "en", deploymentDate));
+    }
+
+    @Test
+    public void testClearProcessOnlyEvictsItsElements() {
+        final FormCacheUtil formCacheUtil = new FormCacheUtil(1);
+        final Date deploymentDate = new Date();
+        final String widgetId = formCacheUtil.storeFormWidget("process--1.0$entry", "pageID", "en", deploymentDate, aWidget("widget1"));
+        final String otherWidgetId = formCacheUtil.storeFormWidget("process--2.0$entry", "pageID", "en", deploymentDate, aWidget("widget1"));
+
+        formCacheUtil.clearProcess("process--1.0");
+
+        assertNull(formCacheUtil.getFormWidget(widgetId));
+        assertNull(formCacheUtil.getFormWidget("process--1.0$entry", "pageID", "widget1", "en", deploymentDate));
+        assertNotNull(formCacheUtil.getFormWidget(otherWidgetId));
+    }
+
+    @Test
+    public void testTheTenantsDoNotShareTheirElements() {
+        final Date deploymentDate = new Date();
+        final FormCacheUtil formCacheUtilOfTenant1 = new FormCacheUtil(1);
+        final FormCacheUtil formCacheUtilOfTenant2 = new FormCacheUtil(2);
+        formCacheUtilOfTenant1.storeFormWidget("process--1.0$entry", "pageID", "en", deploymentDate, aWidget("widget1"));
+
+        assertNull(formCacheUtilOfTenant2.getFormWidget("process--1.0$entry", "pageID", "widget1", "en", deploymentDate));
+        assertNotNull(formCacheUtilOfTenant1.getFormWidget("process--1.0$entry", "pageID", "widget1", "en", deploymentDate));
+    }
+
+    @Test
+    public void testUnknownCacheIdsAreNotFound() {
+        final FormCacheUtil formCacheUtil = new FormCacheUtil(1);
+
+        assertNull(formCacheUtil.getFormWidget("process--1.0$entrypageIDwidget1en1000@1"));
+        assertNull(formCacheUtil.getFormWidget("42-1"));
+        assertNull(formCacheUtil.getFormWidget((String) null));
+    }
+
+    @Test
+    public void testTheLeastRecentlyUsedProcessIsEvictedAboveTheMaxNumberOfProcesses() {
+        final FormCacheUtil formCacheUtil = new FormCacheUtil(1, 2);
+        final Date deploymentDate = new Date();
+        final String widgetId = formCacheUtil.storeFormWidget("process--1.0$entry", "pageID", "en", deploymentDate, aWidget("widget1"));
+        final String leastRecentlyUsedWidgetId = formCacheUtil.storeFormWidget("process--2.0$entry", "pageID", "en", deploymentDate,
+                aWidget("widget1"));
+        assertNotNull(formCacheUtil.getFormWidget("process--1.0$entry", "pageID", "widget1", "en", deploymentDate));
+
+        final String newWidgetId = formCacheUtil.storeFormWidget("process--3.0$entry", "pageID", "en", deploymentDate, aWidget("widget1"));
+
+        assertEquals(2, formCacheUtil.partitions.size());
+        assertNull(formCacheUtil.getFormWidget(leastRecentlyUsedWidgetId));
+        assertNotNull(formCacheUtil.getFormWidget(widgetId));
+        assertNotNull(formCacheUtil.getFormWidget(newWidgetId));
+    }
+
+    @Test
+    public void testGetProcessDefinitionUUID() {
+        assertEquals("process--1.0", FormCacheUtil.getProcessDefinitionUUID("process--1.0$entry"));
+        assertEquals("process--1.0", FormCacheUtil.getProcessDefinitionUUID("process--1.0--task--1$entry"));
+        assertEquals("customForm", FormCacheUtil.getProcessDefinitionUUID("customForm$entry"));
+        assertEquals("formID", FormCacheUtil.getProcessDefinitionUUID("formID"));
+    }
+
+    private FormWidget aWidget(final String id) {
+        final FormWidget widget = new FormWidget();
+        widget.setId(id);
+        return widget;
+    }
 }
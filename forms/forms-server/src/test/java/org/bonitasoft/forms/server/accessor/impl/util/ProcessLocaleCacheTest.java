@@ -0,0 +1,162 @@
+package org.bonitasoft.forms.server.accessor.impl.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.io.FileNotFoundException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+public class ProcessLocaleCacheTest {
+
+    private final ProcessLocaleCache<Object> cache = new ProcessLocaleCache<Object>();
+
+    private final ProcessLocaleCache.Validator<Object> alwaysValid = new ProcessLocaleCache.Validator<Object>() {
+
+        @Override
+        public boolean isOutOfDate(final Object value) {
+            return false;
+        }
+    };
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private ProcessLocaleCache.Loader<Object> newLoader() {
+        return new ProcessLocaleCache.Loader<Object>() {
+
+            @Override
+            public Object load() {
+                loads.incrementAndGet();
+                return new Object();
+            }
+        };
+    }
+
+    @Test
+    public void should_load_a_value_once_and_serve_it_from_the_cache() throws Exception {
+        final Object value = cache.get("1@1", "fr", 10, 10, alwaysValid, newLoader());
+
+        assertSame(value, cache.get("1@1", "fr", 10, 10, alwaysValid, newLoader()));
+        assertEquals(1, loads.get());
+        assertEquals(0.5, cache.getHitRatio(), 0);
+        assertEquals(Long.valueOf(1), cache.getStatistics().get("hits"));
+        assertEquals(Long.valueOf(1), cache.getStatistics().get("misses"));
+    }
+
+    @Test
+    public void should_reload_an_out_of_date_value() throws Exception {
+        final Object value = cache.get("1@1", null, 10, 10, alwaysValid, newLoader());
+
+        final Object reloadedValue = cache.get("1@1", null, 10, 10, new ProcessLocaleCache.Validator<Object>() {
+
+            @Override
+            public boolean isOutOfDate(final Object cachedValue) {
+                return true;
+            }
+        }, newLoader());
+
+        assertEquals(2, loads.get());
+        assertSame(reloadedValue, cache.get("1@1", null, 10, 10, alwaysValid, newLoader()));
+        assertNotSame(value, reloadedValue);
+    }
+
+    @Test
+    public void should_evict_the_least_recently_used_process() throws Exception {
+        cache.get("1@1", "fr", 2, 10, alwaysValid, newLoader());
+        cache.get("2@1", "fr", 2, 10, alwaysValid, newLoader());
+        cache.get("1@1", "fr", 2, 10, alwaysValid, newLoader());
+        cache.get("3@1", "fr", 2, 10, alwaysValid, newLoader());
+
+        assertEquals(2, cache.size());
+        assertEquals(Long.valueOf(1), cache.getStatistics().get("evictions"));
+        cache.get("1@1", "fr", 2, 10, alwaysValid, newLoader());
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    public void should_evict_the_least_recently_used_locale_of_a_process() throws Exception {
+        cache.get("1@1", "fr", 10, 2, alwaysValid, newLoader());
+        cache.get("1@1", "en", 10, 2, alwaysValid, newLoader());
+        cache.get("1@1", "fr", 10, 2, alwaysValid, newLoader());
+        cache.get("1@1", "de", 10, 2, alwaysValid, newLoader());
+
+        cache.get("1@1", "fr", 10, 2, alwaysValid, newLoader());
+        assertEquals(3, loads.get());
+        cache.get("1@1", "en", 10, 2, alwaysValid, newLoader());
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    public void should_not_cache_a_failed_load() throws Exception {
+        try {
+            cache.get("1@1", "fr", 10, 10, alwaysValid, new ProcessLocaleCache.Loader<Object>() {
+
+                @Override
+                public Object load() throws Exception {
+                    throw new FileNotFoundException("forms.xml");
+                }
+            });
+            fail("the loading exception should be thrown");
+        } catch (final FileNotFoundException e) {
+            assertEquals("forms.xml", e.getMessage());
+        }
+
+        cache.get("1@1", "fr", 10, 10, alwaysValid, newLoader());
+        assertEquals(1, loads.get());
+        assertEquals(Long.valueOf(1), cache.getStatistics().get("loadFailures"));
+    }
+
+    @Test
+    public void should_load_a_value_requested_concurrently_only_once() throws Exception {
+        final CountDownLatch loading = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final ProcessLocaleCache.Loader<Object> slowLoader = new ProcessLocaleCache.Loader<Object>() {
+
+            @Override
+            public Object load() throws Exception {
+                loads.incrementAndGet();
+                loading.countDown();
+                release.await(10, TimeUnit.SECONDS);
+                return new Object();
+            }
+        };
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<Object>> results = new ArrayList<Future<Object>>();
+            final Callable<Object> task = new Callable<Object>() {
+
+                @Override
+                public Object call() throws Exception {
+                    return cache.get("1@1", "fr", 10, 10, alwaysValid, slowLoader);
+                }
+            };
+            results.add(executor.submit(task));
+            loading.await(10, TimeUnit.SECONDS);
+            for (int i = 0; i < 3; i++) {
+                results.add(executor.submit(task));
+            }
+            // another process is not blocked by the loading
+            cache.get("2@1", "fr", 10, 10, alwaysValid, newLoader());
+            release.countDown();
+
+            final Object value = results.get(0).get(10, TimeUnit.SECONDS);
+            for (final Future<Object> result : results) {
+                assertSame(value, result.get(10, TimeUnit.SECONDS));
+            }
+            assertEquals(2, loads.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package org.bonitasoft.forms.server.accessor.impl.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.xml.xpath.XPathExpression;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.w3c.dom.Document;
+
+public class XPathUtilTest {
+
+    private final XPathUtil xPathUtil = new XPathUtil() {
+    };
+
+    private Document document;
+
+    @Before
+    public void setUp() throws Exception {
+        final StringBuilder forms = new StringBuilder("<forms>");
+        for (int i = 0; i < 100; i++) {
+            forms.append("<form id='form").append(i).append("'><label>label").append(i).append("</label></form>");
+        }
+        forms.append("</forms>");
+        document = FormDocumentBuilder.newDocumentBuilder().parse(new ByteArrayInputStream(forms.toString().getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    public void testGetNodeByXpath() {
+        assertEquals("label42", xPathUtil.getStringByXpath(document, "//form[@id='form42']/label"));
+        assertEquals(100, xPathUtil.getNodeListByXpath(document, "//form").getLength());
+        assertNull(xPathUtil.getNodeByXpath(document, "//form[@id='unknown']"));
+    }
+
+    @Test
+    public void testCompiledXpathIsReused() throws Exception {
+        final XPathUtil.CompiledXPathCache cache = new XPathUtil.CompiledXPathCache();
+
+        final XPathExpression compiledXpath = cache.compile("//form");
+
+        assertSame(compiledXpath, cache.compile("//form"));
+    }
+
+    @Test
+    public void testCompiledXpathCacheIsBounded() throws Exception {
+        final XPathUtil.CompiledXPathCache cache = new XPathUtil.CompiledXPathCache();
+        final XPathExpression compiledXpath = cache.compile("//form[@id='form0']");
+
+        for (int i = 1; i <= XPathUtil.COMPILED_XPATH_CACHE_SIZE; i++) {
+            cache.compile("//form[@id='form" + i + "']");
+        }
+
+        assertEquals(XPathUtil.COMPILED_XPATH_CACHE_SIZE, cache.size());
+        assertNotSame(compiledXpath, cache.compile("//form[@id='form0']"));
+    }
+
+    @Test
+    public void testConcurrentEvaluationsOfTheSameDocument() throws Exception {
+        final ExecutorService executorService = Executors.newFixedThreadPool(8);
+        try {
+            final List<Future<String>> labels = new ArrayList<Future<String>>();
+            for (int i = 0; i < 1000; i++) {
+                final int formIndex = i % 100;
+                labels.add(executorService.submit(new Callable<String>() {
+
+                    @Override
+                    public String call() {
+                        return xPathUtil.getStringByXpath(xPathUtil.getNodeByXpath(document, "//form[@id='form" + formIndex + "']"), "label");
+                    }
+                }));
+            }
+            for (int i = 0; i < 1000; i++) {
+                assertEquals("label" + i % 100, labels.get(i).get());
+            }
+        } finally {
+            executorService.shutdown();
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package org.bonitasoft.forms.server.api.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.anyMapOf;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.bonitasoft.engine.expression.ExpressionType;
+import org.bonitasoft.engine.session.APISession;
+import org.bonitasoft.forms.client.model.Expression;
+import org.bonitasoft.forms.server.accessor.api.ExpressionEvaluatorEngineClient;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.mockito.stubbing.Answer;
+
+@RunWith(MockitoJUnitRunner.class)
+public class FormExpressionsAPIImplTest {
+
+    @Mock
+    private APISession session;
+
+    @Mock
+    private ExpressionEvaluatorEngineClient engineClient;
+
+    private FormExpressionsAPIImpl formExpressionsAPI;
+
+    private final Locale locale = new Locale("en");
+
+    @Before
+    public void setUp() throws Exception {
+        formExpressionsAPI = spy(new FormExpressionsAPIImpl());
+        doReturn(engineClient).when(formExpressionsAPI).getExpressionEvaluator(session);
+        // the engine evaluates the constants to their content and the scripts to their name
+        when(engineClient.evaluateExpressionsOnProcessDefinition(anyLong(), anyMapOf(org.bonitasoft.engine.expression.Expression.class, Map.class)))
+                .thenAnswer(new Answer<Map<String, Serializable>>() {
+
+                    @Override
+                    @SuppressWarnings("unchecked")
+                    public Map<String, Serializable> answer(final InvocationOnMock invocation) {
+                        final Map<String, Serializable> results = new HashMap<String, Serializable>();
+                        for (final org.bonitasoft.engine.expression.Expression expression : ((Map<org.bonitasoft.engine.expression.Expression, ?>) invocation
+                                .getArguments()[1]).keySet()) {
+                            results.put(expression.getName(), expression.getName() + " evaluated by the engine");
+                        }
+                        return results;
+                    }
+                });
+    }
+
+    @Test
+    public void should_evaluate_the_constants_of_a_form_without_the_engine() throws Exception {
+        final List<Expression> expressions = Arrays.asList(aConstant("label1", "First name", String.class),
+                aConstant("label2", "Last name", String.class), aConstant("mandatory", "true", Boolean.class), aConstant("maxLength", "50", Integer.class),
+                aConstant("maxRows", "1000", Long.class), aConstant("ratio", "0.5", Double.class));
+
+        final Map<String, Serializable> result = formExpressionsAPI.evaluateProcessInitialExpressions(session, 1L, expressions, locale,
+                new HashMap<String, Serializable>());
+
+        verify(formExpressionsAPI, never()).getExpressionEvaluator(session);
+        assertThat(result).hasSize(6).containsEntry("label1", "First name").containsEntry("label2", "Last name")
+                .containsEntry("mandatory", Boolean.TRUE).containsEntry("maxLength", 50).containsEntry("maxRows", 1000L).containsEntry("ratio", 0.5);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void should_only_send_the_non_constant_expressions_of_a_mixed_list_to_the_engine() throws Exception {
+        final List<Expression> expressions = Arrays.asList(aConstant("label1", "First name", String.class),
+                aScript("initialValue"), aConstant("label2", "Last name", String.class), aConstant("date", "2014-01-01", java.util.Date.class));
+
+        final Map<String, Serializable> result = formExpressionsAPI.evaluateProcessInitialExpressions(session, 1L, expressions, locale,
+                new HashMap<String, Serializable>());
+
+        final ArgumentCaptor<Map> sentExpressions = ArgumentCaptor.forClass(Map.class);
+        verify(engineClient, times(1)).evaluateExpressionsOnProcessDefinition(anyLong(), sentExpressions.capture());
+        assertThat(sentExpressions.getValue()).hasSize(2);
+        assertThat(result).hasSize(4).containsEntry("label1", "First name").containsEntry("label2", "Last name")
+                .containsEntry("initialValue", "initialValue evaluated by the engine").containsEntry("date", "date evaluated by the engine");
+    }
+
+    @Test
+    public void should_evaluate_a_single_constant_without_the_engine() throws Exception {
+        final Serializable result = formExpressionsAPI.evaluateProcessInitialExpression(session, 1L, aConstant("label", "First name", String.class),
+                locale);
+
+        verify(formExpressionsAPI, never()).getExpressionEvaluator(session);
+        assertThat(result).isEqualTo("First name");
+    }
+
+    @Test
+    public void should_send_a_constant_which_cannot_be_converted_to_the_engine() throws Exception {
+        final Serializable result = formExpressionsAPI.evaluateProcessInitialExpression(session, 1L, aConstant("maxLength", "fifty", Integer.class),
+                locale);
+
+        verify(engineClient).evaluateExpressionsOnProcessDefinition(anyLong(), any(Map.class));
+        assertThat(result).isEqualTo("maxLength evaluated by the engine");
+    }
+
+    private Expression aConstant(final String name, final String content, final Class<?> returnType) {
+        return new Expression(name, content, ExpressionType.TYPE_CONSTANT.name(), returnType.getName(), null, null);
+    }
+
+    private Expression aScript(final String name) {
+        return new Expression(name, "return 1", ExpressionType.TYPE_READ_ONLY_SCRIPT.name(), String.class.getName(), "GROOVY", null);
+    }
+}
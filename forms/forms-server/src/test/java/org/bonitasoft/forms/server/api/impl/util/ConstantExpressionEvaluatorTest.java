@@ -0,0 +1,45 @@
+package org.bonitasoft.forms.server.api.impl.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Date;
+
+import org.bonitasoft.engine.expression.ExpressionType;
+import org.bonitasoft.forms.client.model.Expression;
+import org.junit.Test;
+
+public class ConstantExpressionEvaluatorTest {
+
+    private final ConstantExpressionEvaluator evaluator = new ConstantExpressionEvaluator();
+
+    @Test
+    public void should_convert_the_constants_to_their_return_type() throws Exception {
+        assertThat(evaluator.evaluate(aConstant("label", String.class))).isEqualTo("label");
+        assertThat(evaluator.evaluate(aConstant("true", Boolean.class))).isEqualTo(Boolean.TRUE);
+        assertThat(evaluator.evaluate(aConstant("12", Integer.class))).isEqualTo(12);
+        assertThat(evaluator.evaluate(aConstant("12", Long.class))).isEqualTo(12L);
+        assertThat(evaluator.evaluate(aConstant("1.5", Double.class))).isEqualTo(1.5);
+        assertThat(evaluator.evaluate(aConstant("1.5", Float.class))).isEqualTo(1.5F);
+    }
+
+    @Test
+    public void should_not_evaluate_the_expressions_which_are_not_constants() throws Exception {
+        assertThat(evaluator.canEvaluate(new Expression("script", "return 1", ExpressionType.TYPE_READ_ONLY_SCRIPT.name(), String.class.getName(),
+                "GROOVY", null))).isFalse();
+        assertThat(evaluator.canEvaluate(new Expression("i18n", "label", ExpressionType.TYPE_I18N.name(), String.class.getName(), null, null)))
+                .isFalse();
+        assertThat(evaluator.canEvaluate(null)).isFalse();
+    }
+
+    @Test
+    public void should_leave_the_constants_which_the_engine_converts_differently_to_the_engine() throws Exception {
+        assertThat(evaluator.canEvaluate(aConstant("2014-01-01", Date.class))).isFalse();
+        assertThat(evaluator.canEvaluate(aConstant("twelve", Integer.class))).isFalse();
+        assertThat(evaluator.canEvaluate(aConstant(null, String.class))).isFalse();
+        assertThat(evaluator.canEvaluate(aConstant("12", Integer.class))).isTrue();
+    }
+
+    private Expression aConstant(final String content, final Class<?> returnType) {
+        return new Expression("constant", content, ExpressionType.TYPE_CONSTANT.name(), returnType.getName(), null, null);
+    }
+}
@@ -22,6 +22,12 @@ import static org.hamcrest.Matchers.hasSize;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Matchers.anyMapOf;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import java.io.Serializable;
 import java.util.ArrayList;
@@ -34,11 +40,18 @@ import java.util.Map;
 
 import org.bonitasoft.engine.expression.ExpressionType;
 import org.bonitasoft.forms.client.model.Expression;
+import org.bonitasoft.forms.client.model.FormPage;
+import org.bonitasoft.forms.client.model.FormType;
 import org.bonitasoft.forms.client.model.FormValidator;
 import org.bonitasoft.forms.client.model.FormWidget;
+import org.bonitasoft.forms.client.model.WidgetType;
 import org.bonitasoft.forms.server.accessor.impl.util.FormCacheUtil;
 import org.bonitasoft.forms.server.accessor.impl.util.FormCacheUtilFactory;
+import org.bonitasoft.forms.server.provider.FormServiceProvider;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 
 /**
  * @author Vincent Elcrin
@@ -169,4 +182,90 @@ public class FormFieldValuesUtilTest {
         assertThat(fieldValidatorsRetrievedFromCacheByCacheID, hasSize(1));
         assertEquals("validator1", fieldValidatorsRetrievedFromCacheByCacheID.get(0).getId());
     }
+
+    @Test
+    public void testThePageExpressionsAreEvaluatedInASingleCall() throws Exception {
+        final FormServiceProvider formServiceProvider = anEvaluatingFormServiceProvider();
+        final List<FormWidget> widgets = Arrays.asList(aTextbox("widget1"), aTextbox("widget2"), aTextbox("widget3"));
+        final FormPage formPage = new FormPage("page", anExpression("Page label"), null, widgets, null, FormType.entry, false);
+
+        util.setFormPageValues(formServiceProvider, formPage, new HashMap<String, Object>());
+
+        verify(formServiceProvider, times(1)).resolveExpressions(anyListOf(Expression.class), anyMapOf(String.class, Object.class));
+        assertEquals("Page label", formPage.getPageLabel());
+        for (final FormWidget widget : widgets) {
+            assertEquals(widget.getId() + " label", widget.getLabel());
+            assertEquals(widget.getId() + " value", widget.getInitialFieldValue().getValue());
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testTheExpressionsOfTheConditionalWidgetsAreEvaluatedOnceTheirConditionIsKnown() throws Exception {
+        final FormServiceProvider formServiceProvider = anEvaluatingFormServiceProvider();
+        final FormWidget displayedWidget = aTextbox("displayed");
+        displayedWidget.setDisplayConditionExpression(anExpression("true"));
+        final FormWidget hiddenWidget = aTextbox("hidden");
+        hiddenWidget.setDisplayConditionExpression(anExpression("false"));
+        final List<FormWidget> widgets = Arrays.asList(aTextbox("widget1"), displayedWidget, hiddenWidget, aTextbox("widget2"));
+        final FormPage formPage = new FormPage("page", anExpression("Page label"), null, widgets, null, FormType.entry, false);
+
+        util.setFormPageValues(formServiceProvider, formPage, new HashMap<String, Object>());
+
+        final ArgumentCaptor<List> expressions = ArgumentCaptor.forClass(List.class);
+        verify(formServiceProvider, times(2)).resolveExpressions(expressions.capture(), anyMapOf(String.class, Object.class));
+        assertEquals(7, expressions.getAllValues().get(0).size());
+        assertEquals(2, expressions.getAllValues().get(1).size());
+        assertEquals("displayed label", displayedWidget.getLabel());
+        assertTrue(displayedWidget.isDisplayCondition());
+        assertEquals(null, hiddenWidget.getLabel());
+        assertFalse(hiddenWidget.isDisplayCondition());
+    }
+
+    @Test
+    public void testAPageWithoutExpressionsIsNotEvaluated() throws Exception {
+        final FormServiceProvider formServiceProvider = anEvaluatingFormServiceProvider();
+        final FormWidget widget = new FormWidget();
+        widget.setId("widget");
+        widget.setType(WidgetType.TEXTBOX);
+        final FormPage formPage = new FormPage("page", null, null, Arrays.asList(widget), null, FormType.entry, false);
+
+        util.setFormPageValues(formServiceProvider, formPage, new HashMap<String, Object>());
+
+        verify(formServiceProvider, times(0)).resolveExpressions(anyListOf(Expression.class), anyMapOf(String.class, Object.class));
+    }
+
+    /**
+     * @return a form service provider evaluating each expression to its content
+     */
+    FormServiceProvider anEvaluatingFormServiceProvider() throws Exception {
+        final FormServiceProvider formServiceProvider = mock(FormServiceProvider.class);
+        when(formServiceProvider.resolveExpressions(anyListOf(Expression.class), anyMapOf(String.class, Object.class))).thenAnswer(
+                new Answer<Map<String, Serializable>>() {
+
+                    @Override
+                    @SuppressWarnings("unchecked")
+                    public Map<String, Serializable> answer(final InvocationOnMock invocation) {
+                        final Map<String, Serializable> results = new HashMap<String, Serializable>();
+                        for (final Expression expression : (List<Expression>) invocation.getArguments()[0]) {
+                            results.put(expression.getName(), expression.getContent());
+                        }
+                        return results;
+                    }
+                });
+        return formServiceProvider;
+    }
+
+    FormWidget aTextbox(final String id) {
+        final FormWidget fw = new FormWidget();
+        fw.setId(id);
+        fw.setType(WidgetType.TEXTBOX);
+        fw.setLabelExpression(anExpression(id + " label"));
+        fw.setInitialValueExpression(anExpression(id + " value"));
+        return fw;
+    }
+
+    Expression anExpression(final String content) {
+        return new Expression(null, content, ExpressionType.TYPE_CONSTANT.name(), String.class.getName(), null, null);
+    }
 }
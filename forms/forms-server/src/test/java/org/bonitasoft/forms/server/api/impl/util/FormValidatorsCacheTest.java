@@ -0,0 +1,151 @@
+package org.bonitasoft.forms.server.api.impl.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.bonitasoft.forms.server.api.impl.util.FormValidatorsCache.ValidatorInstances;
+import org.bonitasoft.forms.server.validator.InstanceIDTestFieldValidator;
+import org.bonitasoft.forms.server.validator.MailValidator;
+import org.junit.Before;
+import org.junit.Test;
+
+public class FormValidatorsCacheTest {
+
+    private static final int MAX_PROCESSES = 10;
+
+    private FormValidatorsCache formValidatorsCache;
+
+    @Before
+    public void setUp() {
+        formValidatorsCache = new FormValidatorsCache();
+    }
+
+    @Test
+    public void should_share_a_single_instance_of_a_stateless_validator() throws Exception {
+        final ValidatorInstances validatorInstances = formValidatorsCache.getValidatorInstances(1L, null, MailValidator.class.getName(), MAX_PROCESSES);
+
+        final Object validator = validatorInstances.acquire();
+
+        assertThat(validatorInstances.isStateless()).isTrue();
+        assertThat(validatorInstances.acquire()).isSameAs(validator);
+        assertThat(formValidatorsCache.getValidatorInstances(1L, null, MailValidator.class.getName(), MAX_PROCESSES)).isSameAs(validatorInstances);
+    }
+
+    @Test
+    public void should_not_use_an_instance_of_a_stateful_validator_for_two_validations_at_the_same_time() throws Exception {
+        final ValidatorInstances validatorInstances = formValidatorsCache.getValidatorInstances(1L, null, InstanceIDTestFieldValidator.class.getName(),
+                MAX_PROCESSES);
+
+        final Object validator1 = validatorInstances.acquire();
+        final Object validator2 = validatorInstances.acquire();
+
+        assertThat(validatorInstances.isStateless()).isFalse();
+        assertThat(validator2).isNotSameAs(validator1);
+    }
+
+    @Test
+    public void should_reuse_a_released_instance_of_a_stateful_validator_without_its_context() throws Exception {
+        final ValidatorInstances validatorInstances = formValidatorsCache.getValidatorInstances(1L, null, InstanceIDTestFieldValidator.class.getName(),
+                MAX_PROCESSES);
+        final InstanceIDTestFieldValidator validator = (InstanceIDTestFieldValidator) validatorInstances.acquire();
+        validator.setProcessInstanceID(12L);
+        validator.setSubmitButtonId("submit");
+
+        validatorInstances.release(validator);
+        final InstanceIDTestFieldValidator reusedValidator = (InstanceIDTestFieldValidator) validatorInstances.acquire();
+
+        assertThat(reusedValidator).isSameAs(validator);
+        assertThat(reusedValidator.getProcessInstanceID()).isEqualTo(-1L);
+        assertThat(reusedValidator.getSubmitButtonId()).isNull();
+    }
+
+    @Test
+    public void should_load_the_validators_again_with_the_new_classloader_of_a_process() throws Exception {
+        final ClassLoader classLoader = new ProcessClassLoader(MailValidator.class.getName());
+        final Object validator = formValidatorsCache.getValidatorInstances(1L, classLoader, MailValidator.class.getName(), MAX_PROCESSES).acquire();
+        final ClassLoader newClassLoader = new ProcessClassLoader(MailValidator.class.getName());
+
+        final ValidatorInstances validatorInstances = formValidatorsCache.getValidatorInstances(1L, newClassLoader, MailValidator.class.getName(),
+                MAX_PROCESSES);
+        final Object newValidator = validatorInstances.acquire();
+
+        assertThat(validator.getClass().getClassLoader()).isSameAs(classLoader);
+        assertThat(newValidator.getClass().getClassLoader()).isSameAs(newClassLoader);
+        assertThat(validatorInstances.isStateless()).isTrue();
+        assertThat(formValidatorsCache.getValidatorInstances(1L, newClassLoader, MailValidator.class.getName(), MAX_PROCESSES).acquire())
+                .isSameAs(newValidator);
+    }
+
+    @Test
+    public void should_keep_the_validators_of_the_most_recently_used_processes() throws Exception {
+        final ValidatorInstances validatorsOfProcess1 = formValidatorsCache.getValidatorInstances(1L, null, MailValidator.class.getName(), 2);
+        final ValidatorInstances validatorsOfProcess2 = formValidatorsCache.getValidatorInstances(2L, null, MailValidator.class.getName(), 2);
+        formValidatorsCache.getValidatorInstances(1L, null, MailValidator.class.getName(), 2);
+
+        formValidatorsCache.getValidatorInstances(3L, null, MailValidator.class.getName(), 2);
+
+        assertThat(formValidatorsCache.getValidatorInstances(1L, null, MailValidator.class.getName(), 2)).isSameAs(validatorsOfProcess1);
+        assertThat(formValidatorsCache.processes.containsKey(2L)).isFalse();
+        assertThat(formValidatorsCache.getValidatorInstances(2L, null, MailValidator.class.getName(), 2)).isNotSameAs(validatorsOfProcess2);
+    }
+
+    @Test
+    public void should_drop_the_validators_and_the_classloader_of_a_cleared_process() throws Exception {
+        final ClassLoader classLoader = new ProcessClassLoader(MailValidator.class.getName());
+        final ValidatorInstances validatorInstances = formValidatorsCache.getValidatorInstances(1L, classLoader, MailValidator.class.getName(),
+                MAX_PROCESSES);
+        formValidatorsCache.getValidatorInstances(2L, null, MailValidator.class.getName(), MAX_PROCESSES);
+
+        formValidatorsCache.clearProcess(1L);
+
+        assertThat(formValidatorsCache.processes.containsKey(1L)).isFalse();
+        assertThat(formValidatorsCache.processes.containsKey(2L)).isTrue();
+        assertThat(formValidatorsCache.getValidatorInstances(1L, classLoader, MailValidator.class.getName(), MAX_PROCESSES))
+                .isNotSameAs(validatorInstances);
+    }
+
+    /**
+     * Classloader defining its own version of a class, as the classloader of a deployed process does for the classes of the process
+     */
+    private static class ProcessClassLoader extends ClassLoader {
+
+        private final String className;
+
+        ProcessClassLoader(final String className) {
+            super(FormValidatorsCacheTest.class.getClassLoader());
+            this.className = className;
+        }
+
+        @Override
+        protected Class<?> loadClass(final String name, final boolean resolve) throws ClassNotFoundException {
+            if (!name.equals(className)) {
+                return super.loadClass(name, resolve);
+            }
+            synchronized (getClassLoadingLock(name)) {
+                Class<?> loadedClass = findLoadedClass(name);
+                if (loadedClass == null) {
+                    final byte[] bytes = readClass(name);
+                    loadedClass = defineClass(name, bytes, 0, bytes.length);
+                }
+                return loadedClass;
+            }
+        }
+
+        private byte[] readClass(final String name) throws ClassNotFoundException {
+            try (InputStream inputStream = getParent().getResourceAsStream(name.replace('.', '/') + ".class")) {
+                final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+                final byte[] buffer = new byte[4096];
+                int length;
+                while ((length = inputStream.read(buffer)) != -1) {
+                    outputStream.write(buffer, 0, length);
+                }
+                return outputStream.toByteArray();
+            } catch (final IOException e) {
+                throw new ClassNotFoundException(name, e);
+            }
+        }
+    }
+}
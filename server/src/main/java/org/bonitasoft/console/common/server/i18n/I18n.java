@@ -21,10 +21,17 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 import org.bonitasoft.web.toolkit.client.common.i18n.AbstractI18n;
 import org.bonitasoft.web.toolkit.client.common.texttemplate.Arg;
@@ -45,22 +52,134 @@ public class I18n extends AbstractI18n {
      */
     public static final String I18N_CUSTOM_DIR_PROPERTY = "org.bonitasoft.i18n.folder";
 
+    private static final Logger LOGGER = Logger.getLogger(I18n.class.getName());
+
     private static File I18N_CUSTOM_DIR = getI18nCustomDirectory();
 
+    /**
+     * The same keys are translated in every locale, their strings are shared by the translation maps of all the locales
+     */
+    private final ConcurrentMap<String, String> sharedKeys = new ConcurrentHashMap<>();
+
+    /**
+     * JSON translations of the loaded locales, computed once when the locale is loaded
+     */
+    private final Map<LOCALE, TranslationPayload> translationPayloads = new ConcurrentHashMap<>();
+
+    private I18nFolderWatcher customDirWatcher;
+
     private I18n() {
         // Singleton
+        watchCustomDirectory();
     }
 
-    public static I18n getInstance() {
-        if (I18N_instance == null) {
-            I18N_instance = new I18n();
+    private static class InstanceHolder {
+
+        private static final I18n INSTANCE = createInstance();
+
+        private static I18n createInstance() {
+            final I18n instance = new I18n();
+            I18N_instance = instance;
+            return instance;
         }
-        return (I18n) I18N_instance;
+    }
+
+    public static I18n getInstance() {
+        return InstanceHolder.INSTANCE;
     }
 
     // For test matters only:
     void refresh() {
         I18N_CUSTOM_DIR = getI18nCustomDirectory();
+        watchCustomDirectory();
+    }
+
+    /**
+     * Reload the loaded locales whenever the .po files of the custom i18n folder change
+     */
+    private synchronized void watchCustomDirectory() {
+        stopWatchingCustomDirectory();
+        if (I18N_CUSTOM_DIR != null && I18N_CUSTOM_DIR.isDirectory()) {
+            final I18nFolderWatcher watcher = new I18nFolderWatcher(I18N_CUSTOM_DIR.toPath(), this::reloadLocales);
+            try {
+                watcher.start();
+                customDirWatcher = watcher;
+            } catch (final IOException e) {
+                LOGGER.log(Level.WARNING, "Unable to watch the i18n folder " + I18N_CUSTOM_DIR + ", its changes will require a restart.", e);
+            }
+        }
+    }
+
+    /**
+     * Stop watching the custom i18n folder, releasing its watch service and thread
+     */
+    public synchronized void stopWatchingCustomDirectory() {
+        if (customDirWatcher != null) {
+            customDirWatcher.stop();
+            customDirWatcher = null;
+        }
+    }
+
+    /**
+     * @return true if the translations can change without a restart, the custom i18n folder being watched
+     */
+    public synchronized boolean isWatchingCustomDirectory() {
+        return customDirWatcher != null;
+    }
+
+    void reloadLocales() {
+        for (final LOCALE locale : new ArrayList<>(translationPayloads.keySet())) {
+            loadLocale(locale);
+        }
+    }
+
+    /**
+     * Load all the locales having translations, in parallel on the common fork-join pool
+     */
+    public void loadAvailableLocales() {
+        final long startTime = System.currentTimeMillis();
+        final Set<LOCALE> availableLocales = getLocalesWithTranslations();
+        availableLocales.parallelStream().forEach(this::loadLocaleAtStartup);
+        if (LOGGER.isLoggable(Level.INFO)) {
+            LOGGER.log(Level.INFO, availableLocales.size() + " locales (" + sharedKeys.size() + " distinct keys) loaded in "
+                    + (System.currentTimeMillis() - startTime) + " ms");
+        }
+    }
+
+    private void loadLocaleAtStartup(final LOCALE locale) {
+        try {
+            loadLocale(locale);
+        } catch (final RuntimeException e) {
+            //the locale will be loaded again when it is requested
+            LOGGER.log(Level.WARNING, "Unable to load the translations of the locale " + locale, e);
+        }
+    }
+
+    Set<LOCALE> getLocalesWithTranslations() {
+        final List<String> poFileNames = new ArrayList<>();
+        try {
+            for (final Resource resource : getResourcePatternResolver().getResources("classpath:/i18n/*.po")) {
+                poFileNames.add(resource.getFilename());
+            }
+        } catch (final IOException e) {
+            LOGGER.log(Level.WARNING, "Unable to list the i18n resources of the classpath", e);
+        }
+        if (I18N_CUSTOM_DIR != null) {
+            for (final File file : FileUtils.listDir(I18N_CUSTOM_DIR)) {
+                poFileNames.add(file.getName());
+            }
+        }
+        final Set<LOCALE> locales = new TreeSet<>();
+        for (final LOCALE locale : LOCALE.values()) {
+            final String suffix = "_" + locale + ".po";
+            for (final String poFileName : poFileNames) {
+                if (poFileName != null && poFileName.endsWith(suffix)) {
+                    locales.add(locale);
+                    break;
+                }
+            }
+        }
+        return locales;
     }
 
     private static File getI18nCustomDirectory() {
@@ -74,7 +193,33 @@ public class I18n extends AbstractI18n {
         if (I18N_CUSTOM_DIR != null) {
             results.putAll(loadLocale(locale, FileUtils.listDir(I18N_CUSTOM_DIR)));
         }
-        setLocale(locale, results);
+        translationPayloads.put(locale, new TranslationPayload(results));
+        setLocale(locale, compact(results));
+    }
+
+    /**
+     * @return an unmodifiable copy of the translations, sized for them and using the shared key strings
+     */
+    private Map<String, String> compact(final Map<String, String> translations) {
+        final Map<String, String> compactTranslations = new HashMap<>((int) (translations.size() / 0.75f) + 1);
+        for (final Map.Entry<String, String> translation : translations.entrySet()) {
+            final String sharedKey = sharedKeys.putIfAbsent(translation.getKey(), translation.getKey());
+            compactTranslations.put(sharedKey != null ? sharedKey : translation.getKey(), translation.getValue());
+        }
+        return Collections.unmodifiableMap(compactTranslations);
+    }
+
+    /**
+     * @return the translations of the locale (or of the default locale if null) serialized in JSON
+     */
+    public TranslationPayload getTranslationPayload(final LOCALE locale) {
+        final LOCALE payloadLocale = locale != null ? locale : getDefaultLocale();
+        TranslationPayload translationPayload = translationPayloads.get(payloadLocale);
+        if (translationPayload == null) {
+            loadLocale(payloadLocale);
+            translationPayload = translationPayloads.get(payloadLocale);
+        }
+        return translationPayload;
     }
 
     private Map<String, String> loadLocale(List<InputStream> streams) {
@@ -94,7 +239,7 @@ public class I18n extends AbstractI18n {
     }
 
     List<InputStream> getStreams(LOCALE locale) {
-        ResourcePatternResolver patternResolver = new PathMatchingResourcePatternResolver();
+        ResourcePatternResolver patternResolver = getResourcePatternResolver();
         try {
             Resource[] resources = patternResolver.getResources("classpath:/i18n/" + getLocaleRegexForResource(locale));
             List<InputStream> streams = new ArrayList<>(resources.length);
@@ -109,6 +254,14 @@ public class I18n extends AbstractI18n {
         }
     }
 
+    /**
+     * The resources are resolved with the classloader of the webapp and not with the context classloader of the current thread, as
+     * the locales are also loaded from the common fork-join pool and from the i18n folder watcher thread
+     */
+    private ResourcePatternResolver getResourcePatternResolver() {
+        return new PathMatchingResourcePatternResolver(I18n.class.getClassLoader());
+    }
+
     private Map<String, String> parsePoFile(final File file) {
         return POParser.parse(file);
     }
@@ -0,0 +1,109 @@
+/**
+ * Copyright (C) 2020 Bonitasoft S.A.
+ * Bonitasoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.console.common.server.i18n;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Watch the custom i18n folder and notify when .po files are created, modified or deleted in it.
+ * The events received within {@link #QUIET_PERIOD_MS} of each other (e.g. a file copied in several writes) lead to a single notification.
+ */
+class I18nFolderWatcher implements Runnable {
+
+    private static final Logger LOGGER = Logger.getLogger(I18nFolderWatcher.class.getName());
+
+    static final long QUIET_PERIOD_MS = 200;
+
+    private final Path folder;
+
+    private final Runnable onChange;
+
+    private WatchService watchService;
+
+    private Thread thread;
+
+    I18nFolderWatcher(final Path folder, final Runnable onChange) {
+        this.folder = folder;
+        this.onChange = onChange;
+    }
+
+    void start() throws IOException {
+        watchService = folder.getFileSystem().newWatchService();
+        folder.register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE);
+        thread = new Thread(this, "i18n-folder-watcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    void stop() {
+        try {
+            watchService.close();
+        } catch (final IOException e) {
+            LOGGER.log(Level.WARNING, "Unable to stop watching the i18n folder " + folder, e);
+        }
+        thread.interrupt();
+    }
+
+    @Override
+    public void run() {
+        try {
+            while (true) {
+                boolean poFileChanged = hasPoFileChanged(watchService.take());
+                WatchKey key;
+                while ((key = watchService.poll(QUIET_PERIOD_MS, TimeUnit.MILLISECONDS)) != null) {
+                    poFileChanged |= hasPoFileChanged(key);
+                }
+                if (poFileChanged) {
+                    notifyChange();
+                }
+            }
+        } catch (final ClosedWatchServiceException | InterruptedException e) {
+            // stopped
+        }
+    }
+
+    private boolean hasPoFileChanged(final WatchKey key) {
+        boolean poFileChanged = false;
+        for (final WatchEvent<?> event : key.pollEvents()) {
+            poFileChanged |= event.kind() == OVERFLOW || event.context().toString().endsWith(".po");
+        }
+        key.reset();
+        return poFileChanged;
+    }
+
+    private void notifyChange() {
+        if (LOGGER.isLoggable(Level.FINE)) {
+            LOGGER.log(Level.FINE, "The translations of the i18n folder " + folder + " have changed, reloading them.");
+        }
+        try {
+            onChange.run();
+        } catch (final RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Unable to reload the translations of the i18n folder " + folder, e);
+        }
+    }
+}
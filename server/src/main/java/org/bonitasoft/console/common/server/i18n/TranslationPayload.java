@@ -0,0 +1,99 @@
+/**
+ * Copyright (C) 2020 Bonitasoft S.A.
+ * Bonitasoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.console.common.server.i18n;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigInteger;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+/**
+ * Translations of a locale serialized once in JSON (as an array of key/value objects), with their gzip-compressed version and a hash of
+ * their content to be used as entity tag
+ */
+public class TranslationPayload {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final byte[] json;
+
+    private final byte[] gzippedJson;
+
+    private final String hash;
+
+    public TranslationPayload(final Map<String, String> translations) {
+        try {
+            json = toJson(translations);
+            gzippedJson = gzip(json);
+            hash = new BigInteger(1, MessageDigest.getInstance("SHA-1").digest(json)).toString(16);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] toJson(final Map<String, String> translations) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(out, JsonEncoding.UTF8)) {
+            generator.writeStartArray();
+            for (final Map.Entry<String, String> entry : translations.entrySet()) {
+                generator.writeStartObject();
+                generator.writeStringField("key", entry.getKey());
+                generator.writeStringField("value", entry.getValue());
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] gzip(final byte[] content) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream(content.length / 4);
+        try (GZIPOutputStream gzipOut = new GZIPOutputStream(out)) {
+            gzipOut.write(content);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * @return the translations in JSON, encoded in UTF-8
+     */
+    public byte[] getJson() {
+        return json;
+    }
+
+    /**
+     * @return the gzip-compressed JSON
+     */
+    public byte[] getGzippedJson() {
+        return gzippedJson;
+    }
+
+    /**
+     * @return the hash of the JSON, which changes only when the translations change
+     */
+    public String getHash() {
+        return hash;
+    }
+}
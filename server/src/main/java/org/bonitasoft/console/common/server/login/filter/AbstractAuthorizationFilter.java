@@ -55,10 +55,14 @@ public abstract class AbstractAuthorizationFilter implements Filter {
         final HttpServletResponse httpResponse = (HttpServletResponse) response;
         final String requestURL = httpRequest.getRequestURI();
 
-        if (sessionIsNotNeeded(requestURL, excludePatterns)) {
-            chain.doFilter(httpRequest, httpResponse);
-        } else if (checkValidCondition(httpRequest, httpResponse)) {
-            chain.doFilter(httpRequest, httpResponse);
+        try {
+            if (sessionIsNotNeeded(requestURL, excludePatterns)) {
+                chain.doFilter(httpRequest, httpResponse);
+            } else if (checkValidCondition(httpRequest, httpResponse)) {
+                chain.doFilter(httpRequest, httpResponse);
+            }
+        } finally {
+            httpRequest.release();
         }
     }
 
@@ -0,0 +1,156 @@
+/**
+ * Copyright (C) 2020 Bonitasoft S.A.
+ * Bonitasoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.console.common.server.login.filter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.bonitasoft.console.common.server.preferences.properties.ConfigurationFilesManager;
+import org.bonitasoft.console.common.server.preferences.properties.PropertiesFactory;
+import org.bonitasoft.console.common.server.preferences.properties.SecurityProperties;
+import org.bonitasoft.console.common.server.utils.CacheUtil;
+import org.bonitasoft.console.common.server.utils.TenantCache;
+import org.bonitasoft.engine.api.permission.APICallContext;
+import org.bonitasoft.engine.session.APISession;
+
+/**
+ * Tenant cache of the decisions of the dynamic permissions scripts.
+ * It is disabled unless a time to live is set in security-config.properties. A decision is cached for an engine session, a script
+ * and an API call (method, API, resource, resource id and query string without the paging parameters), so a new login or a change
+ * of the script mapped to the resource never reuse it. The decisions of a session are removed when it is logged out and all the
+ * decisions of the tenant are removed when its configuration changes.
+ * Only the decisions for GET requests are cached, unless the script is declared as cacheable for write methods, in which case the
+ * request body is also part of the key.
+ */
+public class DynamicPermissionsDecisionCache extends TenantCache {
+
+    protected static final String DYNAMIC_PERMISSIONS_CACHE = "dynamicPermissionsCache";
+
+    private static final String KEY_SEPARATOR = "|";
+
+    static {
+        ConfigurationFilesManager.getInstance().addTenantConfigurationListener(DynamicPermissionsDecisionCache::clearTenant);
+    }
+
+    /**
+     * Read for each call so that a modification of the configuration applies without restarting
+     */
+    private final SecurityProperties securityProperties;
+
+    private final String cacheName;
+
+    private volatile boolean cacheCreated;
+
+    public static DynamicPermissionsDecisionCache getInstance(final long tenantId) {
+        return getInstance(DynamicPermissionsDecisionCache.class, tenantId,
+                id -> new DynamicPermissionsDecisionCache(id, PropertiesFactory.getSecurityProperties(id)));
+    }
+
+    /**
+     * Remove the decisions of an engine session that was logged out
+     */
+    public static void clearSession(final APISession apiSession) {
+        final DynamicPermissionsDecisionCache decisionCache = getExistingInstance(DynamicPermissionsDecisionCache.class, apiSession.getTenantId());
+        if (decisionCache != null) {
+            decisionCache.clearSession(apiSession.getId());
+        }
+    }
+
+    static void clearTenant(final long tenantId) {
+        final DynamicPermissionsDecisionCache decisionCache = getExistingInstance(DynamicPermissionsDecisionCache.class, tenantId);
+        if (decisionCache != null) {
+            decisionCache.clear();
+        }
+    }
+
+    DynamicPermissionsDecisionCache(final long tenantId, final SecurityProperties securityProperties) {
+        super(tenantId);
+        this.securityProperties = securityProperties;
+        cacheName = getCacheName(DYNAMIC_PERMISSIONS_CACHE);
+    }
+
+    /**
+     * @return the key of the decision of the script for this call or null if it should not be cached
+     */
+    public String getDecisionKey(final APISession apiSession, final String resourceClassname, final APICallContext apiCallContext) {
+        if (securityProperties.getDynamicPermissionsCacheTimeToLive() <= 0) {
+            return null;
+        }
+        final boolean isReadCall = apiCallContext.isGET();
+        if (!isReadCall && !securityProperties.getDynamicPermissionsCacheWriteScripts().contains(resourceClassname)) {
+            return null;
+        }
+        final StringBuilder key = new StringBuilder();
+        key.append(apiSession.getId()).append(KEY_SEPARATOR)
+                .append(resourceClassname).append(KEY_SEPARATOR)
+                .append(apiCallContext.getMethod()).append(KEY_SEPARATOR)
+                .append(apiCallContext.getApiName()).append(KEY_SEPARATOR)
+                .append(apiCallContext.getResourceName()).append(KEY_SEPARATOR)
+                .append(apiCallContext.getResourceId()).append(KEY_SEPARATOR)
+                .append(normalizeQueryString(apiCallContext.getQueryString()));
+        if (!isReadCall) {
+            key.append(KEY_SEPARATOR).append(apiCallContext.getBody());
+        }
+        return key.toString();
+    }
+
+    /**
+     * Sort the parameters of the query string and remove the paging ones (p and c) that do not change what the call can access
+     */
+    String normalizeQueryString(final String queryString) {
+        if (queryString == null || queryString.isEmpty()) {
+            return "";
+        }
+        final List<String> parameters = new ArrayList<>();
+        for (final String parameter : queryString.split("&")) {
+            if (!parameter.isEmpty() && !parameter.startsWith("p=") && !parameter.startsWith("c=")) {
+                parameters.add(parameter);
+            }
+        }
+        Collections.sort(parameters);
+        return String.join("&", parameters);
+    }
+
+    /**
+     * @return the cached decision or null if there is none
+     */
+    public Boolean getDecision(final String decisionKey) {
+        return (Boolean) CacheUtil.get(diskStorePath, cacheName, decisionKey);
+    }
+
+    public void storeDecision(final String decisionKey, final boolean authorized) {
+        final long timeToLive = securityProperties.getDynamicPermissionsCacheTimeToLive();
+        if (!cacheCreated) {
+            createCache(DYNAMIC_PERMISSIONS_CACHE, securityProperties.getDynamicPermissionsCacheMaxSize(), timeToLive);
+            cacheCreated = true;
+        }
+        CacheUtil.store(diskStorePath, cacheName, decisionKey, authorized, (int) Math.min(timeToLive, Integer.MAX_VALUE));
+    }
+
+    void clearSession(final long apiSessionId) {
+        final String sessionKeyPrefix = apiSessionId + KEY_SEPARATOR;
+        for (final Object decisionKey : CacheUtil.getKeys(diskStorePath, cacheName)) {
+            if (decisionKey instanceof String && ((String) decisionKey).startsWith(sessionKeyPrefix)) {
+                CacheUtil.remove(diskStorePath, cacheName, decisionKey);
+            }
+        }
+    }
+
+    public void clear() {
+        CacheUtil.clear(diskStorePath, cacheName);
+    }
+
+}
@@ -15,20 +15,24 @@
 package org.bonitasoft.console.common.server.login.filter;
 
 import java.io.BufferedReader;
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
 
 import javax.servlet.ServletInputStream;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletRequestWrapper;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletRequestWrapper;
 
-import org.apache.commons.io.IOUtils;
-
+/**
+ * Request whose body can be read several times (in the filters and in the API servlet).<br>
+ * The body is read once in a {@link RequestBody} shared with the other MultiReadHttpServletRequest wrapping the same request. Call
+ * {@link #release()} once the request is processed.
+ */
 public class MultiReadHttpServletRequest extends HttpServletRequestWrapper {
 
-    private ByteArrayOutputStream readBytes;
+    private RequestBody body;
 
     public MultiReadHttpServletRequest(final HttpServletRequest request) {
         super(request);
@@ -36,10 +40,7 @@ public class MultiReadHttpServletRequest extends HttpServletRequestWrapper {
 
     @Override
     public ServletInputStream getInputStream() throws IOException {
-        if (readBytes == null) {
-            readInputStream();
-        }
-        return new CachedServletInputStream();
+        return new CachedServletInputStream(getBody().openStream());
     }
 
     @Override
@@ -51,17 +52,57 @@ public class MultiReadHttpServletRequest extends HttpServletRequestWrapper {
         return new BufferedReader(new InputStreamReader(getInputStream(), enc));
     }
 
-    private void readInputStream() throws IOException {
-        readBytes = new ByteArrayOutputStream();
-        IOUtils.copy(super.getInputStream(), readBytes);
+    /**
+     * @return the body of the request, read the first time it is requested
+     */
+    public synchronized RequestBody getBody() throws IOException {
+        if (body == null) {
+            final MultiReadHttpServletRequest wrappedMultiReadRequest = getMultiReadRequest(getRequest());
+            if (wrappedMultiReadRequest != null) {
+                body = wrappedMultiReadRequest.getBody();
+                body.retain();
+            } else {
+                body = RequestBody.read(super.getInputStream(), getContentLength());
+            }
+        }
+        return body;
+    }
+
+    /**
+     * Release the body of the request if it was read
+     */
+    public synchronized void release() {
+        if (body != null) {
+            body.release();
+            body = null;
+        }
+    }
+
+    /**
+     * @return the body of the request if it is, or wraps, a MultiReadHttpServletRequest, null otherwise
+     */
+    public static RequestBody getBody(final ServletRequest request) throws IOException {
+        final MultiReadHttpServletRequest multiReadRequest = getMultiReadRequest(request);
+        return multiReadRequest != null ? multiReadRequest.getBody() : null;
+    }
+
+    private static MultiReadHttpServletRequest getMultiReadRequest(final ServletRequest request) {
+        ServletRequest wrappedRequest = request;
+        while (wrappedRequest instanceof ServletRequestWrapper) {
+            if (wrappedRequest instanceof MultiReadHttpServletRequest) {
+                return (MultiReadHttpServletRequest) wrappedRequest;
+            }
+            wrappedRequest = ((ServletRequestWrapper) wrappedRequest).getRequest();
+        }
+        return null;
     }
 
     class CachedServletInputStream extends ServletInputStream {
 
-        private final ByteArrayInputStream input;
+        private final InputStream input;
 
-        public CachedServletInputStream() {
-            input = new ByteArrayInputStream(readBytes.toByteArray());
+        public CachedServletInputStream(final InputStream input) {
+            this.input = input;
         }
 
         @Override
@@ -85,4 +126,4 @@ public class MultiReadHttpServletRequest extends HttpServletRequestWrapper {
             super.close();
         }
     }
-}
\ No newline at end of file
+}
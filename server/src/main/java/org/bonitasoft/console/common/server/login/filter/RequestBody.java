@@ -0,0 +1,203 @@
+/**
+ * Copyright (C) 2020 Bonitasoft S.A.
+ * Bonitasoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.console.common.server.login.filter;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.apache.commons.io.IOUtils;
+
+/**
+ * Body of a request, read once and shared by all the readers of the request (authorization filters, API servlets...).<br>
+ * Bodies up to {@value #DEFAULT_MEMORY_THRESHOLD} bytes (or the value of the {@value #MEMORY_THRESHOLD_PROPERTY} system property)
+ * are kept in memory and read without being copied, bigger ones are written to a temporary file.
+ * The body is reference counted: each holder releases it at the end of the request and the temporary file is deleted with the
+ * last reference.
+ */
+public class RequestBody {
+
+    private static final Logger LOGGER = Logger.getLogger(RequestBody.class.getName());
+
+    public static final String MEMORY_THRESHOLD_PROPERTY = "bonita.request.body.memory.threshold";
+
+    public static final int DEFAULT_MEMORY_THRESHOLD = 1024 * 1024;
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final AtomicInteger references = new AtomicInteger(1);
+
+    private final MemoryBuffer memoryBuffer;
+
+    private final File file;
+
+    private final long length;
+
+    private String decodedBody;
+
+    private Charset decodedBodyCharset;
+
+    private RequestBody(final MemoryBuffer memoryBuffer, final File file, final long length) {
+        this.memoryBuffer = memoryBuffer;
+        this.file = file;
+        this.length = length;
+    }
+
+    public static RequestBody read(final InputStream input, final int contentLength) throws IOException {
+        return read(input, contentLength, getMemoryThreshold());
+    }
+
+    static RequestBody read(final InputStream input, final int contentLength, final int memoryThreshold) throws IOException {
+        MemoryBuffer memoryBuffer = new MemoryBuffer(contentLength > 0 && contentLength <= memoryThreshold ? contentLength : BUFFER_SIZE);
+        File file = null;
+        OutputStream output = memoryBuffer;
+        long length = 0;
+        try {
+            final byte[] chunk = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = input.read(chunk)) != -1) {
+                if (file == null && length + read > memoryThreshold) {
+                    file = File.createTempFile("bonita-request-body", ".tmp");
+                    output = new BufferedOutputStream(new FileOutputStream(file), BUFFER_SIZE);
+                    memoryBuffer.writeTo(output);
+                    memoryBuffer = null;
+                }
+                output.write(chunk, 0, read);
+                length += read;
+            }
+        } catch (final IOException e) {
+            if (file != null) {
+                IOUtils.closeQuietly(output);
+                deleteFile(file);
+            }
+            throw e;
+        }
+        if (file != null) {
+            output.close();
+        }
+        return new RequestBody(memoryBuffer, file, length);
+    }
+
+    private static int getMemoryThreshold() {
+        final String memoryThreshold = System.getProperty(MEMORY_THRESHOLD_PROPERTY);
+        if (memoryThreshold != null) {
+            try {
+                return Integer.parseInt(memoryThreshold.trim());
+            } catch (final NumberFormatException e) {
+                LOGGER.log(Level.WARNING, "Invalid value " + memoryThreshold + " for " + MEMORY_THRESHOLD_PROPERTY + ", using "
+                        + DEFAULT_MEMORY_THRESHOLD);
+            }
+        }
+        return DEFAULT_MEMORY_THRESHOLD;
+    }
+
+    public long getLength() {
+        return length;
+    }
+
+    boolean isInMemory() {
+        return file == null;
+    }
+
+    /**
+     * @return a new stream reading the body from the start
+     */
+    public InputStream openStream() throws IOException {
+        if (memoryBuffer != null) {
+            return memoryBuffer.openStream();
+        }
+        return new FileInputStream(file);
+    }
+
+    /**
+     * @return a new reader decoding the body from the start, without building it as a String
+     */
+    public Reader openReader(final String charset) throws IOException {
+        return new InputStreamReader(openStream(), getCharset(charset));
+    }
+
+    /**
+     * The body is decoded the first time it is requested and the result is kept for the other readers using the same charset
+     * (UTF-8 if none is given).
+     */
+    public synchronized String getAsString(final String charsetName) throws IOException {
+        final Charset charset = getCharset(charsetName);
+        if (decodedBody == null || !decodedBodyCharset.equals(charset)) {
+            if (memoryBuffer != null) {
+                decodedBody = memoryBuffer.decode(charset);
+            } else {
+                try (Reader reader = new InputStreamReader(openStream(), charset)) {
+                    decodedBody = IOUtils.toString(reader);
+                }
+            }
+            decodedBodyCharset = charset;
+        }
+        return decodedBody;
+    }
+
+    private Charset getCharset(final String charset) {
+        return Charset.forName(charset != null ? charset : "UTF-8");
+    }
+
+    void retain() {
+        references.incrementAndGet();
+    }
+
+    /**
+     * Release a reference to the body. The temporary file is deleted when the last reference is released.
+     */
+    public void release() {
+        if (references.decrementAndGet() == 0 && file != null) {
+            deleteFile(file);
+        }
+    }
+
+    private static void deleteFile(final File file) {
+        if (!file.delete() && LOGGER.isLoggable(Level.WARNING)) {
+            LOGGER.log(Level.WARNING, "Unable to delete the temporary file " + file.getAbsolutePath() + " of a request body");
+        }
+    }
+
+    /**
+     * Buffer exposing its content to the streams reading it, instead of a copy of it
+     */
+    private static class MemoryBuffer extends ByteArrayOutputStream {
+
+        MemoryBuffer(final int size) {
+            super(size);
+        }
+
+        InputStream openStream() {
+            return new ByteArrayInputStream(buf, 0, count);
+        }
+
+        String decode(final Charset charset) {
+            return new String(buf, 0, count, charset);
+        }
+    }
+
+}
@@ -148,7 +148,10 @@ public class RestAPIAuthorizationFilter extends AbstractAuthorizationFilter {
         } else {
             //if there is no dynamic rule, use the static permissions
             final ResourcesPermissionsMapping resourcesPermissionsMapping = getResourcesPermissionsMapping(tenantId);
-            final Set<String> resourcePermissions = getDeclaredPermissions(apiName, resourceName, method, resourceQualifiers, resourcesPermissionsMapping);
+            Set<String> resourcePermissions = getDeclaredPermissions(apiName, resourceName, method, resourceQualifiers, resourcesPermissionsMapping);
+            if (resourcePermissions.isEmpty()) {
+                resourcePermissions = resourcesPermissionsMapping.getDefaultResourcePermissions(method, apiName, resourceName);
+            }
             final APICallContext apiCallContext = new APICallContext(method, apiName, resourceName, resourceQualifiersAsString);
             if (isAllwaysAuthorizedResource(request, apiSession, apiCallContext)) {
                 return true;
@@ -206,6 +209,10 @@ public class RestAPIAuthorizationFilter extends AbstractAuthorizationFilter {
 
     protected String getRequestBody(final HttpServletRequest request) throws ServletException {
         try {
+            final RequestBody body = MultiReadHttpServletRequest.getBody(request);
+            if (body != null) {
+                return body.getAsString(request.getCharacterEncoding());
+            }
             final ServletInputStream inputStream = request.getInputStream();
             return IOUtils.toString(inputStream, request.getCharacterEncoding());
         } catch (final IOException e) {
@@ -225,6 +232,10 @@ public class RestAPIAuthorizationFilter extends AbstractAuthorizationFilter {
         return PropertiesFactory.getDynamicPermissionsChecks(tenantId);
     }
 
+    protected DynamicPermissionsDecisionCache getDynamicPermissionsDecisionCache(final long tenantId) {
+        return DynamicPermissionsDecisionCache.getInstance(tenantId);
+    }
+
     protected boolean staticCheck(final APICallContext apiCallContext, final Set<String> permissionsOfUser,
             final Set<String> resourcePermissions, final String username) {
         for (final String resourcePermission : resourcePermissions) {
@@ -257,8 +268,21 @@ public class RestAPIAuthorizationFilter extends AbstractAuthorizationFilter {
 
     protected boolean checkDynamicPermissionsWithScript(final APICallContext apiCallContext, final String resourceClassname,
             final APISession apiSession) throws ServletException {
+        final DynamicPermissionsDecisionCache decisionCache = getDynamicPermissionsDecisionCache(apiSession.getTenantId());
+        final String decisionKey = decisionCache.getDecisionKey(apiSession, resourceClassname, apiCallContext);
+        final boolean useDecisionCache = decisionKey != null && !shouldReload(apiSession);
+        if (useDecisionCache) {
+            final Boolean cachedDecision = decisionCache.getDecision(decisionKey);
+            if (cachedDecision != null) {
+                return cachedDecision;
+            }
+        }
         try {
-            return executeScript(apiSession, resourceClassname, apiCallContext);
+            final boolean authorized = executeScript(apiSession, resourceClassname, apiCallContext);
+            if (useDecisionCache) {
+                decisionCache.storeDecision(decisionKey, authorized);
+            }
+            return authorized;
         } catch (final NotFoundException e) {
             if (LOGGER.isLoggable(Level.SEVERE)) {
                 LOGGER.log(Level.SEVERE, "Unable to find the dynamic permissions script: " + resourceClassname, e);
@@ -32,6 +32,7 @@ import org.bonitasoft.console.common.server.auth.AuthenticationManagerFactory;
 import org.bonitasoft.console.common.server.auth.AuthenticationManagerNotFoundException;
 import org.bonitasoft.console.common.server.auth.ConsumerNotFoundException;
 import org.bonitasoft.console.common.server.login.HttpServletRequestAccessor;
+import org.bonitasoft.console.common.server.login.filter.DynamicPermissionsDecisionCache;
 import org.bonitasoft.console.common.server.login.utils.LoginUrl;
 import org.bonitasoft.console.common.server.login.utils.RedirectUrlBuilder;
 import org.bonitasoft.console.common.server.utils.SessionUtil;
@@ -181,6 +182,7 @@ public class LogoutServlet extends HttpServlet {
         if (apiSession != null) {
             final LoginAPI loginAPI = TenantAPIAccessor.getLoginAPI();
             loginAPI.logout(apiSession);
+            DynamicPermissionsDecisionCache.clearSession(apiSession);
         }
     }
 }
@@ -21,6 +21,7 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Properties;
 import java.util.Set;
 import java.util.logging.Level;
@@ -169,6 +170,7 @@ public class CustomPageService {
 
     public void removePage(final APISession apiSession, final String pageName) throws IOException {
         closeClassloader(pageName);
+        RestApiControllerCache.getInstance().invalidate(apiSession.getTenantId(), pageName);
         final PageResourceProvider pageResourceProvider = new PageResourceProviderImpl(pageName, apiSession.getTenantId());
         removePageZipContent(apiSession, pageResourceProvider);
         CustomPageDependenciesResolver.removePageLibTempFolder(pageName);
@@ -178,6 +180,8 @@ public class CustomPageService {
         final PageResourceProvider pageResourceProvider = new PageResourceProviderImpl(page, apiSession.getTenantId());
         final String pageName = pageResourceProvider.getFullPageName();
         closeClassloader(pageName);
+        RestApiControllerCache.getInstance().invalidate(apiSession.getTenantId(), pageName);
+        getPageMetadataCache(apiSession).invalidatePage(page.getId());
         removePageZipContent(apiSession, pageResourceProvider);
         CustomPageDependenciesResolver.removePageLibTempFolder(pageName);
     }
@@ -380,7 +384,32 @@ public class CustomPageService {
     }
 
     public Page getPage(final APISession apiSession, final long pageId) throws BonitaException {
-        return getPageAPI(apiSession).getPage(pageId);
+        final PageMetadataCache pageMetadataCache = getPageMetadataCache(apiSession);
+        Page page = pageMetadataCache.getPage(pageId);
+        if (page == null) {
+            page = getPageAPI(apiSession).getPage(pageId);
+            pageMetadataCache.storePage(page);
+        }
+        return page;
+    }
+
+    /**
+     * @return the page retrieved from the engine, whatever the content of the cache. The cached page is replaced and, if it was
+     *         modified outside of this web application, the page mappings resolved for it are cleared.
+     */
+    public Page getUpToDatePage(final APISession apiSession, final long pageId) throws BonitaException {
+        final PageMetadataCache pageMetadataCache = getPageMetadataCache(apiSession);
+        final Page page = getPageAPI(apiSession).getPage(pageId);
+        final Page cachedPage = pageMetadataCache.getPage(pageId);
+        if (cachedPage != null && !Objects.equals(cachedPage.getLastModificationDate(), page.getLastModificationDate())) {
+            pageMetadataCache.invalidatePage(pageId);
+        }
+        pageMetadataCache.storePage(page);
+        return page;
+    }
+
+    protected PageMetadataCache getPageMetadataCache(final APISession apiSession) {
+        return PageMetadataCache.getInstance(apiSession.getTenantId());
     }
 
     public void removeRestApiExtensionPermissions(final ResourcesPermissionsMapping resourcesPermissionsMapping,
@@ -437,6 +466,7 @@ public class CustomPageService {
         for (final String page : PAGES_CLASSLOADERS.keySet()) {
             closeClassloader(page);
         }
+        RestApiControllerCache.getInstance().clear();
     }
 
     public void writePageToTemp(Page page, 
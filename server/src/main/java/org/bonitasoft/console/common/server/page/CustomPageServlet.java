@@ -35,6 +35,7 @@ import org.bonitasoft.engine.exception.ServerAPIException;
 import org.bonitasoft.engine.exception.UnknownAPITypeException;
 import org.bonitasoft.engine.session.APISession;
 import org.bonitasoft.livingapps.ApplicationModelFactory;
+import org.bonitasoft.livingapps.ApplicationRoutingCache;
 
 public class CustomPageServlet extends HttpServlet {
 
@@ -151,6 +152,7 @@ public class CustomPageServlet extends HttpServlet {
                 TenantAPIAccessor.getLivingApplicationAPI(apiSession), TenantAPIAccessor.getCustomPageAPI(apiSession), new ApplicationModelFactory(
                 TenantAPIAccessor.getLivingApplicationAPI(apiSession),
                 TenantAPIAccessor.getCustomPageAPI(apiSession),
-                TenantAPIAccessor.getProfileAPI(apiSession)));
+                TenantAPIAccessor.getProfileAPI(apiSession),
+                ApplicationRoutingCache.getInstance(apiSession.getTenantId())));
     }
 }
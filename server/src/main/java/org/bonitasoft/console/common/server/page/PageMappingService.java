@@ -42,6 +42,14 @@ public class PageMappingService {
 
     public PageReference getPage(final HttpServletRequest request, final APISession apiSession, final String mappingKey, final Locale locale,
             final boolean executeAuthorizationRules) throws BonitaException {
+        //mappings resolved without authorization rules to a page do not depend on the request context
+        final PageMetadataCache pageMetadataCache = getPageMetadataCache(apiSession);
+        if (!executeAuthorizationRules) {
+            final PageReference cachedPageReference = pageMetadataCache.getPageReference(mappingKey, locale);
+            if (cachedPageReference != null) {
+                return cachedPageReference;
+            }
+        }
         final Map<String, Serializable> context = new HashMap<>();
         //clone the request parameters map to a HashMap to avoid deserialization exceptions when calling a remote engine
         //see BS-16992 (the parameters map implementation is specific to the servlet container). 
@@ -53,7 +61,11 @@ public class PageMappingService {
         context.put(URLAdapterConstants.CONTEXT_PATH, request.getContextPath());
         final PageAPI pageAPI = getPageAPI(apiSession);
         final PageURL pageURL = pageAPI.resolvePageOrURL(mappingKey, context, executeAuthorizationRules);
-        return new PageReference(pageURL.getPageId(), pageURL.getUrl());
+        final PageReference pageReference = new PageReference(pageURL.getPageId(), pageURL.getUrl());
+        if (!executeAuthorizationRules && pageReference.getPageId() != null && pageReference.getURL() == null) {
+            pageMetadataCache.storePageReference(mappingKey, locale, pageReference);
+        }
+        return pageReference;
     }
 
     protected boolean isLoggedUserAdmin(final HttpServletRequest request) {
@@ -67,4 +79,8 @@ public class PageMappingService {
             UnknownAPITypeException {
         return TenantAPIAccessor.getCustomPageAPI(apiSession);
     }
+
+    protected PageMetadataCache getPageMetadataCache(final APISession apiSession) {
+        return PageMetadataCache.getInstance(apiSession.getTenantId());
+    }
 }
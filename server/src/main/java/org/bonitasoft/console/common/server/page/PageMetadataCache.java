@@ -0,0 +1,127 @@
+/**
+ * Copyright (C) 2020 Bonitasoft S.A.
+ * Bonitasoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.console.common.server.page;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.bonitasoft.console.common.server.preferences.properties.ConsoleProperties;
+import org.bonitasoft.console.common.server.preferences.properties.PropertiesFactory;
+import org.bonitasoft.console.common.server.utils.CacheUtil;
+import org.bonitasoft.console.common.server.utils.TenantCache;
+import org.bonitasoft.engine.page.Page;
+
+/**
+ * Tenant cache of the pages and of the page mappings resolved by the engine.
+ * Entries expire after the time to live and are evicted above the max size configured in console-config.properties. Page import,
+ * update and delete invalidate them explicitly. Pages modified directly through the engine are taken into account when the entries
+ * expire, except for the REST API extensions whose page is always read again from the engine.
+ */
+public class PageMetadataCache extends TenantCache {
+
+    protected static final String PAGE_MAPPING_CACHE = "pageMappingCache";
+
+    protected static final String PAGE_CACHE = "pageCache";
+
+    private final String pageMappingCacheName;
+
+    private final String pageCacheName;
+
+    private final AtomicLong pageMappingHitCount = new AtomicLong();
+
+    private final AtomicLong pageMappingMissCount = new AtomicLong();
+
+    private final AtomicLong pageHitCount = new AtomicLong();
+
+    private final AtomicLong pageMissCount = new AtomicLong();
+
+    public static PageMetadataCache getInstance(final long tenantId) {
+        return getInstance(PageMetadataCache.class, tenantId, id -> new PageMetadataCache(id, PropertiesFactory.getConsoleProperties(id)));
+    }
+
+    PageMetadataCache(final long tenantId, final ConsoleProperties consoleProperties) {
+        super(tenantId);
+        final int maxSize = consoleProperties.getPageCacheMaxSize();
+        final long timeToLive = consoleProperties.getPageCacheTimeToLive();
+        pageMappingCacheName = createCache(PAGE_MAPPING_CACHE, maxSize, timeToLive);
+        pageCacheName = createCache(PAGE_CACHE, maxSize, timeToLive);
+    }
+
+    /**
+     * @return the page reference resolved for the mapping key and locale or null if it is not cached
+     */
+    public PageReference getPageReference(final String mappingKey, final Locale locale) {
+        final PageReference pageReference = (PageReference) CacheUtil.get(diskStorePath, pageMappingCacheName, buildMappingCacheKey(mappingKey, locale));
+        if (pageReference != null) {
+            pageMappingHitCount.incrementAndGet();
+            return new PageReference(pageReference.getPageId(), pageReference.getURL());
+        }
+        pageMappingMissCount.incrementAndGet();
+        return null;
+    }
+
+    public void storePageReference(final String mappingKey, final Locale locale, final PageReference pageReference) {
+        CacheUtil.store(diskStorePath, pageMappingCacheName, buildMappingCacheKey(mappingKey, locale),
+                new PageReference(pageReference.getPageId(), pageReference.getURL()));
+    }
+
+    /**
+     * @return the page with the given id or null if it is not cached
+     */
+    public Page getPage(final long pageId) {
+        final Page page = (Page) CacheUtil.get(diskStorePath, pageCacheName, pageId);
+        if (page != null) {
+            pageHitCount.incrementAndGet();
+        } else {
+            pageMissCount.incrementAndGet();
+        }
+        return page;
+    }
+
+    public void storePage(final Page page) {
+        CacheUtil.store(diskStorePath, pageCacheName, page.getId(), page);
+    }
+
+    /**
+     * Remove the page from the cache. Page mappings are all cleared since they may reference the page.
+     */
+    public void invalidatePage(final long pageId) {
+        CacheUtil.remove(diskStorePath, pageCacheName, pageId);
+        CacheUtil.clear(diskStorePath, pageMappingCacheName);
+    }
+
+    public void clear() {
+        CacheUtil.clear(diskStorePath, pageCacheName);
+        CacheUtil.clear(diskStorePath, pageMappingCacheName);
+    }
+
+    public Map<String, Long> getStatistics() {
+        final Map<String, Long> statistics = new LinkedHashMap<>();
+        statistics.put("pageMappingHits", pageMappingHitCount.get());
+        statistics.put("pageMappingMisses", pageMappingMissCount.get());
+        statistics.put("pageMappingSize", (long) CacheUtil.getSize(diskStorePath, pageMappingCacheName));
+        statistics.put("pageHits", pageHitCount.get());
+        statistics.put("pageMisses", pageMissCount.get());
+        statistics.put("pageSize", (long) CacheUtil.getSize(diskStorePath, pageCacheName));
+        return statistics;
+    }
+
+    private String buildMappingCacheKey(final String mappingKey, final Locale locale) {
+        return mappingKey + "@" + locale;
+    }
+
+}
@@ -43,6 +43,7 @@ import org.bonitasoft.engine.exception.UnauthorizedAccessException;
 import org.bonitasoft.engine.page.PageNotFoundException;
 import org.bonitasoft.engine.session.APISession;
 import org.bonitasoft.livingapps.ApplicationModelFactory;
+import org.bonitasoft.livingapps.ApplicationRoutingCache;
 import org.bonitasoft.livingapps.exception.CreationException;
 
 /**
@@ -203,7 +204,8 @@ public class PageServlet extends HttpServlet {
         ApplicationModelFactory applicationModelFactory = new ApplicationModelFactory(
                 TenantAPIAccessor.getLivingApplicationAPI(apiSession),
                 TenantAPIAccessor.getCustomPageAPI(apiSession),
-                TenantAPIAccessor.getProfileAPI(apiSession));
+                TenantAPIAccessor.getProfileAPI(apiSession),
+                ApplicationRoutingCache.getInstance(apiSession.getTenantId()));
         return applicationModelFactory.createApplicationModel(appToken).getApplicationThemeId();
     }
 
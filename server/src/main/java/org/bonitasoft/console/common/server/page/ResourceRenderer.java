@@ -16,10 +16,8 @@ package org.bonitasoft.console.common.server.page;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.io.OutputStream;
 import java.io.UnsupportedEncodingException;
 import java.net.URLDecoder;
-import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.logging.Level;
@@ -28,6 +26,7 @@ import java.util.logging.Logger;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
+import org.bonitasoft.console.common.server.servlet.DownloadResponseWriter;
 import org.bonitasoft.engine.exception.BonitaException;
 import org.bonitasoft.engine.session.APISession;
 import org.codehaus.groovy.control.CompilationFailedException;
@@ -45,24 +44,17 @@ public class ResourceRenderer {
      */
     private final static Logger LOGGER = Logger.getLogger(ResourceRenderer.class.getName());
 
+    private final static DownloadResponseWriter DOWNLOAD_RESPONSE_WRITER = new DownloadResponseWriter();
+
     public void renderFile(final HttpServletRequest request, final HttpServletResponse response, final File resourceFile, final APISession apiSession)
             throws CompilationFailedException, IllegalAccessException, IOException, BonitaException {
 
-        byte[] content;
         response.setCharacterEncoding("UTF-8");
 
         try {
-            content = getFileContent(resourceFile, response);
-
-            response.setContentType(request.getSession().getServletContext()
+            checkResourceFile(resourceFile);
+            DOWNLOAD_RESPONSE_WRITER.writeFile(request, response, resourceFile, request.getSession().getServletContext()
                     .getMimeType(resourceFile.getName()));
-            response.setContentLength(content.length);
-            response.setBufferSize(content.length);
-
-            try (OutputStream out = response.getOutputStream()) {
-                out.write(content, 0, content.length);
-            }
-            response.flushBuffer();
         }catch (final FileNotFoundException e) {
             response.sendError(HttpServletResponse.SC_NOT_FOUND, e.getMessage());
         }catch (final IOException e) {
@@ -73,7 +65,7 @@ public class ResourceRenderer {
         }
     }
 
-    private byte[] getFileContent(final File resourceFile, final HttpServletResponse response) throws IOException, BonitaException {
+    private void checkResourceFile(final File resourceFile) throws IOException, BonitaException {
         if (resourceFile == null) {
             final String errorMessage = "Resource file must not be null.";
             if (LOGGER.isLoggable(Level.WARNING)) {
@@ -81,9 +73,7 @@ public class ResourceRenderer {
             }
             throw new BonitaException(errorMessage);
         }
-        if (resourceFile.exists()) {
-            return Files.readAllBytes(resourceFile.toPath());
-        } else {
+        if (!resourceFile.exists()) {
             final String fileNotFoundMessage = "Cannot find the resource file ";
             if (LOGGER.isLoggable(Level.WARNING)) {
                 LOGGER.log(Level.WARNING, fileNotFoundMessage + resourceFile.getCanonicalPath());
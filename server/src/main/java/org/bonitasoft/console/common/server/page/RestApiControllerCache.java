@@ -0,0 +1,235 @@
+/**
+ * Copyright (C) 2020 Bonitasoft S.A.
+ * Bonitasoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.console.common.server.page;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Date;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import groovy.lang.GroovyClassLoader;
+import org.bonitasoft.console.common.server.utils.StripedLocks;
+import org.bonitasoft.engine.exception.BonitaException;
+import org.bonitasoft.engine.page.Page;
+import org.bonitasoft.engine.session.APISession;
+import org.bonitasoft.web.extension.page.PageResourceProvider;
+import org.codehaus.groovy.control.CompilationFailedException;
+
+/**
+ * Cache of the REST API extensions controller classes and of the controller files resolved from their page.properties.
+ * An entry is stored per tenant and page and is only valid for the page id and last modification date it was built with.
+ * Compiled classes are also bound to the page classloader they were compiled with, so a classloader rebuilt after a BDM
+ * update (or in page debug mode) triggers a new compilation.
+ * The entry also records whether the page folder was checked against its last modification date, so that only the first
+ * call after a page update has to lock the page (and not the whole JVM) to retrieve its content from the engine.
+ */
+public class RestApiControllerCache {
+
+    private static final Logger LOGGER = Logger.getLogger(RestApiControllerCache.class.getName());
+
+    private static final RestApiControllerCache INSTANCE = new RestApiControllerCache();
+
+    private final ConcurrentMap<String, CachedRestApiPage> cachedPages = new ConcurrentHashMap<>();
+
+    /**
+     * Locks the pages are spread on, so that the locks do not grow with the number of pages
+     */
+    private final StripedLocks pageLocks = new StripedLocks(64);
+
+    private final AtomicLong hitCount = new AtomicLong();
+
+    private final AtomicLong missCount = new AtomicLong();
+
+    private final AtomicLong compilationTime = new AtomicLong();
+
+    RestApiControllerCache() {
+        // use getInstance()
+    }
+
+    public static RestApiControllerCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * @return the cache entry of the page, a new empty one if the page was updated since the entry was created
+     */
+    public CachedRestApiPage getCachedPage(final long tenantId, final Page page, final String fullPageName) {
+        final long lastModificationTimestamp = getLastModificationTimestamp(page);
+        return cachedPages.compute(buildKey(tenantId, fullPageName), (key, cachedPage) -> {
+            if (cachedPage != null && cachedPage.isValidFor(page.getId(), lastModificationTimestamp)) {
+                return cachedPage;
+            }
+            return new CachedRestApiPage(page.getId(), lastModificationTimestamp);
+        });
+    }
+
+    /**
+     * Make sure the page folder matches the given version of the page. Calls for a page version already checked do not lock
+     * nor reach the engine, other calls are serialized per tenant and page (pages sharing a lock stripe are also serialized).
+     *
+     * @return the cache entry of the page with an up to date page folder
+     */
+    public CachedRestApiPage getUpToDateCachedPage(final APISession apiSession, final Page page, final PageResourceProvider pageResourceProvider,
+            final CustomPageService customPageService) throws BonitaException, IOException {
+        final long tenantId = apiSession.getTenantId();
+        final String fullPageName = pageResourceProvider.getFullPageName();
+        CachedRestApiPage cachedPage = getCachedPage(tenantId, page, fullPageName);
+        if (!cachedPage.isPageFolderUpToDate()) {
+            synchronized (getPageLock(tenantId, fullPageName)) {
+                cachedPage = getCachedPage(tenantId, page, fullPageName);
+                if (!cachedPage.isPageFolderUpToDate()) {
+                    customPageService.ensurePageFolderIsUpToDate(apiSession, pageResourceProvider);
+                    //the page folder may have been replaced, which invalidates the previous entry
+                    cachedPage = getCachedPage(tenantId, page, fullPageName);
+                    cachedPage.setPageFolderUpToDate();
+                }
+            }
+        }
+        return cachedPage;
+    }
+
+    public Class<?> getRestApiControllerClass(final CachedRestApiPage cachedPage, final GroovyClassLoader pageClassLoader,
+            final File restApiControllerFile, final CustomPageService customPageService) throws CompilationFailedException, IOException {
+        final Class<?> cachedClass = cachedPage.getControllerClass(pageClassLoader, restApiControllerFile);
+        if (cachedClass != null) {
+            hitCount.incrementAndGet();
+            return cachedClass;
+        }
+        missCount.incrementAndGet();
+        final long startTime = System.currentTimeMillis();
+        final Class<?> restApiControllerClass = customPageService.registerRestApiPage(pageClassLoader, restApiControllerFile);
+        final long duration = System.currentTimeMillis() - startTime;
+        compilationTime.addAndGet(duration);
+        if (LOGGER.isLoggable(Level.FINE)) {
+            LOGGER.log(Level.FINE, "REST API extension controller " + restApiControllerFile.getPath() + " compiled in " + duration + " ms (cache hits: "
+                    + getHitCount() + ", misses: " + getMissCount() + ")");
+        }
+        return cachedPage.putControllerClass(pageClassLoader, restApiControllerFile, restApiControllerClass);
+    }
+
+    public void invalidate(final long tenantId, final String fullPageName) {
+        cachedPages.remove(buildKey(tenantId, fullPageName));
+    }
+
+    public void clear() {
+        cachedPages.clear();
+    }
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * @return the cumulated time spent compiling REST API extensions controllers, in milliseconds
+     */
+    public long getCompilationTime() {
+        return compilationTime.get();
+    }
+
+    private Object getPageLock(final long tenantId, final String fullPageName) {
+        return pageLocks.get(buildKey(tenantId, fullPageName));
+    }
+
+    private String buildKey(final long tenantId, final String fullPageName) {
+        return tenantId + "|" + fullPageName;
+    }
+
+    private long getLastModificationTimestamp(final Page page) {
+        final Date lastModificationDate = page.getLastModificationDate();
+        return lastModificationDate != null ? lastModificationDate.getTime() : 0L;
+    }
+
+    /**
+     * Cached data of a REST API extension page for a given last modification date
+     */
+    public static class CachedRestApiPage {
+
+        private final long pageId;
+
+        private final long lastModificationTimestamp;
+
+        private final ConcurrentMap<String, File> controllerFiles = new ConcurrentHashMap<>();
+
+        private volatile CompiledClasses compiledClasses;
+
+        private volatile boolean pageFolderUpToDate;
+
+        CachedRestApiPage(final long pageId, final long lastModificationTimestamp) {
+            this.pageId = pageId;
+            this.lastModificationTimestamp = lastModificationTimestamp;
+        }
+
+        boolean isValidFor(final long pageId, final long lastModificationTimestamp) {
+            return this.pageId == pageId && this.lastModificationTimestamp == lastModificationTimestamp;
+        }
+
+        boolean isPageFolderUpToDate() {
+            return pageFolderUpToDate;
+        }
+
+        void setPageFolderUpToDate() {
+            pageFolderUpToDate = true;
+        }
+
+        /**
+         * @return the controller file previously resolved for the given mapping key or null
+         */
+        public File getControllerFile(final String mappingKey) {
+            return controllerFiles.get(mappingKey);
+        }
+
+        public void putControllerFile(final String mappingKey, final File restApiControllerFile) {
+            controllerFiles.put(mappingKey, restApiControllerFile);
+        }
+
+        Class<?> getControllerClass(final ClassLoader pageClassLoader, final File restApiControllerFile) {
+            final CompiledClasses classes = compiledClasses;
+            if (classes == null || classes.classLoader != pageClassLoader) {
+                return null;
+            }
+            return classes.classes.get(restApiControllerFile.getPath());
+        }
+
+        Class<?> putControllerClass(final ClassLoader pageClassLoader, final File restApiControllerFile, final Class<?> restApiControllerClass) {
+            CompiledClasses classes = compiledClasses;
+            if (classes == null || classes.classLoader != pageClassLoader) {
+                classes = new CompiledClasses(pageClassLoader);
+                compiledClasses = classes;
+            }
+            final Class<?> existingClass = classes.classes.putIfAbsent(restApiControllerFile.getPath(), restApiControllerClass);
+            return existingClass != null ? existingClass : restApiControllerClass;
+        }
+    }
+
+    private static class CompiledClasses {
+
+        private final ClassLoader classLoader;
+
+        private final ConcurrentMap<String, Class<?>> classes = new ConcurrentHashMap<>();
+
+        CompiledClasses(final ClassLoader classLoader) {
+            this.classLoader = classLoader;
+        }
+    }
+
+}
@@ -43,21 +43,28 @@ public class RestApiRenderer {
 
     private final CustomPageService customPageService = new CustomPageService();
 
+    private final RestApiControllerCache restApiControllerCache = RestApiControllerCache.getInstance();
+
     public org.bonitasoft.web.extension.rest.RestApiResponse handleRestApiCall(final HttpServletRequest request,
                                                                                ResourceExtensionResolver resourceExtensionResolver)
             throws CompilationFailedException, InstantiationException, IllegalAccessException, IOException, BonitaException {
         final PageContextHelper pageContextHelper = new PageContextHelper(request);
         final APISession apiSession = pageContextHelper.getApiSession();
         final Long pageId = resourceExtensionResolver.resolvePageId(apiSession);
-        final Page page = customPageService.getPage(apiSession, pageId);
+        //the page is read from the engine so that an update of the extension is taken into account at once, even if it was not made
+        //through this web application
+        final Page page = customPageService.getUpToDatePage(apiSession, pageId);
         final PageResourceProviderImpl pageResourceProvider = new PageResourceProviderImpl(page, apiSession.getTenantId());
-        synchronized (RestApiRenderer.class) {
-            customPageService.ensurePageFolderIsUpToDate(apiSession, pageResourceProvider);
-        }
-        final File restApiControllerFile = resourceExtensionResolver.resolveRestApiControllerFile(pageResourceProvider);
+        final RestApiControllerCache.CachedRestApiPage cachedPage = restApiControllerCache.getUpToDateCachedPage(apiSession, page,
+                pageResourceProvider, customPageService);
         final String mappingKey = resourceExtensionResolver.generateMappingKey();
+        File restApiControllerFile = cachedPage.getControllerFile(mappingKey);
+        if (restApiControllerFile == null) {
+            restApiControllerFile = resourceExtensionResolver.resolveRestApiControllerFile(pageResourceProvider);
+        }
         if (restApiControllerFile.exists()) {
-            return renderResponse(request, apiSession, pageContextHelper, pageResourceProvider, restApiControllerFile,
+            cachedPage.putControllerFile(mappingKey, restApiControllerFile);
+            return renderResponse(request, apiSession, pageContextHelper, pageResourceProvider, cachedPage, restApiControllerFile,
                     mappingKey);
         }
         LOGGER.log(Level.SEVERE, "resource does not exists:" + mappingKey);
@@ -66,14 +73,16 @@ public class RestApiRenderer {
 
     private org.bonitasoft.web.extension.rest.RestApiResponse renderResponse(final HttpServletRequest request, final APISession apiSession,
                                                                              final PageContextHelper pageContextHelper,
-                                                                             final PageResourceProviderImpl pageResourceProvider, File restApiControllerFile, String mappingKey)
+                                                                             final PageResourceProviderImpl pageResourceProvider,
+                                                                             final RestApiControllerCache.CachedRestApiPage cachedPage,
+                                                                             File restApiControllerFile, String mappingKey)
             throws CompilationFailedException, InstantiationException, IllegalAccessException, IOException, BonitaException {
         final ClassLoader originalClassloader = Thread.currentThread().getContextClassLoader();
         final GroovyClassLoader pageClassloader = customPageService.getPageClassloader(apiSession, pageResourceProvider);
         try {
             Thread.currentThread().setContextClassLoader(pageClassloader);
-            final Class<?> restApiControllerClass = customPageService.registerRestApiPage(pageClassloader,
-                    restApiControllerFile);
+            final Class<?> restApiControllerClass = restApiControllerCache.getRestApiControllerClass(cachedPage, pageClassloader,
+                    restApiControllerFile, customPageService);
             pageResourceProvider.setResourceClassLoader(pageClassloader);
             try {
                 return doHandle(request, apiSession, pageContextHelper, pageResourceProvider, restApiControllerClass);
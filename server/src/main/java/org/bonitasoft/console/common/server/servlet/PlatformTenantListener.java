@@ -21,6 +21,7 @@ import java.util.logging.Logger;
 import javax.servlet.ServletContextEvent;
 import javax.servlet.ServletContextListener;
 
+import org.bonitasoft.console.common.server.i18n.I18n;
 import org.bonitasoft.console.common.server.preferences.constants.WebBonitaConstantsUtils;
 import org.bonitasoft.console.common.server.utils.PlatformManagementUtils;
 import org.bonitasoft.console.common.server.utils.TenantsManagementUtils;
@@ -34,6 +35,7 @@ import org.bonitasoft.engine.session.APISession;
 import org.bonitasoft.engine.session.SessionNotFoundException;
 import org.bonitasoft.engine.theme.ThemeType;
 import org.bonitasoft.forms.server.ThemeExtractor;
+import org.bonitasoft.web.rest.server.framework.BatchCounters;
 
 /**
  * @author Zhiheng Yang, Anthony Birembaut
@@ -47,6 +49,7 @@ public class PlatformTenantListener implements ServletContextListener {
 
     @Override
     public void contextInitialized(final ServletContextEvent sce) {
+        I18n.getInstance().loadAvailableLocales();
         PlatformManagementUtils platformManagementUtils = new PlatformManagementUtils();
         try {
             platformManagementUtils.initializePlatformConfiguration();
@@ -96,6 +99,8 @@ public class PlatformTenantListener implements ServletContextListener {
 
     @Override
     public void contextDestroyed(final ServletContextEvent sce) {
+        BatchCounters.getInstance().shutdown();
+        I18n.getInstance().stopWatchingCustomDirectory();
     }
 
 }
@@ -0,0 +1,63 @@
+/**
+ * Copyright (C) 2020 Bonitasoft S.A.
+ * Bonitasoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.console.common.server.utils;
+
+import java.io.Serializable;
+import java.util.Map;
+
+import org.bonitasoft.engine.bpm.contract.ContractDefinition;
+
+/**
+ * Contract of a process or of a task with the adapted contract sent to the forms and the conversion plan of its inputs, computed
+ * once by {@link ContractTypeConverter#prepareContract(ContractDefinition)}.
+ * Instances are shared between requests and must not be modified.
+ */
+public class CachedContract {
+
+    private final ContractDefinition contract;
+
+    private final ContractDefinition adaptedContract;
+
+    private final Map<String, Serializable> conversionPlan;
+
+    CachedContract(final ContractDefinition contract, final ContractDefinition adaptedContract, final Map<String, Serializable> conversionPlan) {
+        this.contract = contract;
+        this.adaptedContract = adaptedContract;
+        this.conversionPlan = conversionPlan;
+    }
+
+    /**
+     * @return the contract as returned by the engine
+     */
+    public ContractDefinition getContract() {
+        return contract;
+    }
+
+    /**
+     * @return the contract with the file inputs content replaced by a temporary file path
+     */
+    public ContractDefinition getAdaptedContract() {
+        return adaptedContract;
+    }
+
+    /**
+     * @return the input definitions by input name. The children of complex inputs are mapped the same way in a nested map, file
+     *         inputs are kept as an {@link org.bonitasoft.engine.bpm.contract.InputDefinition} of type FILE.
+     */
+    Map<String, Serializable> getConversionPlan() {
+        return conversionPlan;
+    }
+
+}
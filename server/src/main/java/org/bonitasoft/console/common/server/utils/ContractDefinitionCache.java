@@ -0,0 +1,130 @@
+/**
+ * Copyright (C) 2020 Bonitasoft S.A.
+ * Bonitasoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.console.common.server.utils;
+
+import org.bonitasoft.console.common.server.preferences.properties.PropertiesFactory;
+import org.bonitasoft.engine.bpm.flownode.HumanTaskInstance;
+
+/**
+ * Tenant cache of the process and task contracts.
+ * Contracts never change for a deployed process and ids are never reused, so entries do not expire: they are evicted above the max
+ * size configured in console-config.properties or removed when the process is deleted. Task contracts are the same for all the
+ * instances of a task, so they are cached by task definition (process definition id and task name). The task definition of each
+ * task instance is cached too, so that a cached task contract is found without fetching the task instance.
+ */
+public class ContractDefinitionCache extends TenantCache {
+
+    protected static final String PROCESS_CONTRACT_CACHE = "processContractCache";
+
+    protected static final String TASK_CONTRACT_CACHE = "taskContractCache";
+
+    protected static final String TASK_DEFINITION_CACHE = "taskDefinitionCache";
+
+    private static final String TASK_KEY_SEPARATOR = "|";
+
+    private final String processContractCacheName;
+
+    private final String taskContractCacheName;
+
+    private final String taskDefinitionCacheName;
+
+    public static ContractDefinitionCache getInstance(final long tenantId) {
+        return getInstance(ContractDefinitionCache.class, tenantId,
+                id -> new ContractDefinitionCache(id, PropertiesFactory.getConsoleProperties(id).getContractCacheMaxSize()));
+    }
+
+    ContractDefinitionCache(final long tenantId, final int maxSize) {
+        super(tenantId);
+        processContractCacheName = createCache(PROCESS_CONTRACT_CACHE, maxSize, 0);
+        taskContractCacheName = createCache(TASK_CONTRACT_CACHE, maxSize, 0);
+        taskDefinitionCacheName = createCache(TASK_DEFINITION_CACHE, maxSize, 0);
+    }
+
+    /**
+     * Load a contract from the engine when it is not cached
+     */
+    @FunctionalInterface
+    public interface ContractLoader<E extends Exception> {
+
+        CachedContract load() throws E;
+    }
+
+    /**
+     * Load a task instance from the engine when its task definition is not cached
+     */
+    @FunctionalInterface
+    public interface TaskLoader<E extends Exception> {
+
+        HumanTaskInstance load() throws E;
+    }
+
+    /**
+     * @return the contract of the process, loaded with the given loader and cached if it is not cached yet
+     */
+    public <E extends Exception> CachedContract getProcessContract(final long processDefinitionId, final ContractLoader<E> loader) throws E {
+        return getOrLoad(processContractCacheName, processDefinitionId, loader);
+    }
+
+    /**
+     * @return the contract of the task instance, loaded with the given loaders and cached if it is not cached yet
+     */
+    public <E extends Exception> CachedContract getTaskContract(final long taskId, final TaskLoader<E> taskLoader, final ContractLoader<E> loader)
+            throws E {
+        String taskKey = (String) CacheUtil.get(diskStorePath, taskDefinitionCacheName, taskId);
+        if (taskKey == null) {
+            final HumanTaskInstance task = taskLoader.load();
+            taskKey = task.getProcessDefinitionId() + TASK_KEY_SEPARATOR + task.getName();
+            CacheUtil.store(diskStorePath, taskDefinitionCacheName, taskId, taskKey);
+        }
+        return getOrLoad(taskContractCacheName, taskKey, loader);
+    }
+
+    private <E extends Exception> CachedContract getOrLoad(final String cacheName, final Object key, final ContractLoader<E> loader) throws E {
+        CachedContract contract = (CachedContract) CacheUtil.get(diskStorePath, cacheName, key);
+        if (contract == null) {
+            contract = loader.load();
+            if (contract.getContract() != null) {
+                CacheUtil.store(diskStorePath, cacheName, key, contract);
+            }
+        }
+        return contract;
+    }
+
+    /**
+     * Remove the contract of the process, the contracts of its tasks and the task definitions of its task instances
+     */
+    public void invalidateProcess(final long processDefinitionId) {
+        CacheUtil.remove(diskStorePath, processContractCacheName, processDefinitionId);
+        final String taskKeyPrefix = processDefinitionId + TASK_KEY_SEPARATOR;
+        for (final Object key : CacheUtil.getKeys(diskStorePath, taskContractCacheName)) {
+            if (key.toString().startsWith(taskKeyPrefix)) {
+                CacheUtil.remove(diskStorePath, taskContractCacheName, key);
+            }
+        }
+        for (final Object taskId : CacheUtil.getKeys(diskStorePath, taskDefinitionCacheName)) {
+            final Object taskKey = CacheUtil.get(diskStorePath, taskDefinitionCacheName, taskId);
+            if (taskKey != null && taskKey.toString().startsWith(taskKeyPrefix)) {
+                CacheUtil.remove(diskStorePath, taskDefinitionCacheName, taskId);
+            }
+        }
+    }
+
+    public void clear() {
+        CacheUtil.clear(diskStorePath, processContractCacheName);
+        CacheUtil.clear(diskStorePath, taskContractCacheName);
+        CacheUtil.clear(diskStorePath, taskDefinitionCacheName);
+    }
+
+}
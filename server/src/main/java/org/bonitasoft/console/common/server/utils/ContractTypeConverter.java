@@ -25,6 +25,7 @@ import java.time.OffsetDateTime;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
@@ -32,6 +33,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -65,6 +68,12 @@ public class ContractTypeConverter {
     static final String FILE_TEMP_PATH = "tempPath";
     static final String TEMP_PATH_DESCRIPTION = "file name in the temporary upload directory";
 
+    /**
+     * Converters by date patterns. They are stateless once registered, so all the instances using the same patterns share them
+     * instead of registering all the bean utils converters again.
+     */
+    private static final ConcurrentMap<List<String>, ConvertUtilsBean> CONVERT_UTILS_BEANS = new ConcurrentHashMap<>();
+
     protected BonitaHomeFolderAccessor bonitaHomeFolderAccessor = new BonitaHomeFolderAccessor();
 
     private final ConvertUtilsBean convertUtilsBean;
@@ -74,12 +83,17 @@ public class ContractTypeConverter {
     private long tenantId;
 
     public ContractTypeConverter(final String[] datePatterns) {
-        convertUtilsBean = new ConvertUtilsBean();
+        convertUtilsBean = CONVERT_UTILS_BEANS.computeIfAbsent(Arrays.asList(datePatterns.clone()), patterns -> createConvertUtilsBean(datePatterns));
+    }
+
+    private static ConvertUtilsBean createConvertUtilsBean(final String[] datePatterns) {
+        final ConvertUtilsBean convertUtilsBean = new ConvertUtilsBean();
         convertUtilsBean.register(true, false, 0);
         final DateConverter dateConverter = new DateConverter();
         dateConverter.setPatterns(datePatterns);
         dateConverter.setTimeZone(TimeZone.getTimeZone("GMT"));
         convertUtilsBean.register(dateConverter, Date.class);
+        return convertUtilsBean;
     }
 
     Object convertToType(final Type type, final Serializable parameterValue) {
@@ -98,11 +112,25 @@ public class ContractTypeConverter {
 
     public Map<String, Serializable> getProcessedInput(final ContractDefinition processContract, final Map<String, Serializable> inputs,
             final long maxSizeForTenant, final long tenantId) throws FileNotFoundException {
+        final Map<String, Serializable> contractDefinitionMap = processContract == null ? Collections.<String, Serializable> emptyMap()
+                : createContractInputMap(processContract.getInputs());
+        return getProcessedInput(contractDefinitionMap, inputs, maxSizeForTenant, tenantId);
+    }
+
+    /**
+     * Same as {@link #getProcessedInput(ContractDefinition, Map, long, long)} with the conversion plan computed when the contract
+     * was prepared
+     */
+    public Map<String, Serializable> getProcessedInputFromPlan(final CachedContract contract, final Map<String, Serializable> inputs,
+            final long maxSizeForTenant, final long tenantId) throws FileNotFoundException {
+        return getProcessedInput(contract.getConversionPlan(), inputs, maxSizeForTenant, tenantId);
+    }
+
+    private Map<String, Serializable> getProcessedInput(final Map<String, Serializable> contractDefinitionMap, final Map<String, Serializable> inputs,
+            final long maxSizeForTenant, final long tenantId) throws FileNotFoundException {
         this.maxSizeForTenant = maxSizeForTenant;
         this.tenantId = tenantId;
         final Map<String, Serializable> processedInputs = new HashMap<>();
-        final Map<String, Serializable> contractDefinitionMap = processContract == null ? Collections.<String, Serializable> emptyMap()
-                : createContractInputMap(processContract.getInputs());
         if (inputs != null) {
             for (final Entry<String, Serializable> inputEntry : inputs.entrySet()) {
                 processedInputs.put(inputEntry.getKey(),
@@ -113,6 +141,67 @@ public class ContractTypeConverter {
         return processedInputs;
     }
 
+    /**
+     * Reserve in the {@link FileContentMemoryBudget} the memory of all the file contents the processing of the inputs will read. The
+     * total is reserved at once so that a submission never holds part of the budget while waiting for the rest. The returned lease
+     * must be closed once the engine call using the processed inputs is done, whether it succeeded or not.
+     */
+    public FileContentMemoryBudget.Lease reserveFileContents(final ContractDefinition processContract, final Map<String, Serializable> inputs,
+            final long tenantId) {
+        final Map<String, Serializable> contractDefinitionMap = processContract == null ? Collections.<String, Serializable> emptyMap()
+                : createContractInputMap(processContract.getInputs());
+        return reserveFileContents(contractDefinitionMap, inputs, tenantId);
+    }
+
+    /**
+     * Same as {@link #reserveFileContents(ContractDefinition, Map, long)} with the conversion plan computed when the contract was prepared
+     */
+    public FileContentMemoryBudget.Lease reserveFileContents(final CachedContract contract, final Map<String, Serializable> inputs,
+            final long tenantId) {
+        return reserveFileContents(contract.getConversionPlan(), inputs, tenantId);
+    }
+
+    private FileContentMemoryBudget.Lease reserveFileContents(final Map<String, Serializable> contractDefinitionMap,
+            final Map<String, Serializable> inputs, final long tenantId) {
+        long fileContentsLength = 0;
+        if (inputs != null) {
+            for (final Entry<String, Serializable> inputEntry : inputs.entrySet()) {
+                fileContentsLength += getFileContentsLength(inputEntry.getValue(), contractDefinitionMap.get(inputEntry.getKey()), tenantId);
+            }
+        }
+        return getMemoryBudget(tenantId).lease(fileContentsLength);
+    }
+
+    private long getFileContentsLength(final Serializable inputValue, final Serializable inputDefinition, final long tenantId) {
+        long fileContentsLength = 0;
+        if (inputValue == null || inputDefinition == null) {
+            return fileContentsLength;
+        }
+        if (inputValue instanceof List) {
+            for (final Object value : (List<?>) inputValue) {
+                fileContentsLength += getFileContentsLength((Serializable) value, inputDefinition, tenantId);
+            }
+        } else if (inputValue instanceof Map) {
+            @SuppressWarnings("unchecked")
+            final Map<String, Serializable> mapOfValues = (Map<String, Serializable>) inputValue;
+            if (inputDefinition instanceof Map) {
+                @SuppressWarnings("unchecked")
+                final Map<String, Serializable> mapOfInputDefinition = (Map<String, Serializable>) inputDefinition;
+                for (final Entry<String, Serializable> valueEntry : mapOfValues.entrySet()) {
+                    fileContentsLength += getFileContentsLength(valueEntry.getValue(), mapOfInputDefinition.get(valueEntry.getKey()), tenantId);
+                }
+            } else if (Type.FILE.equals(((InputDefinition) inputDefinition).getType()) && mapOfValues.containsKey(InputDefinition.FILE_INPUT_FILENAME)
+                    && mapOfValues.get(FILE_TEMP_PATH) != null) {
+                try {
+                    fileContentsLength += bonitaHomeFolderAccessor.getTempFile((String) mapOfValues.get(FILE_TEMP_PATH), tenantId).length();
+                } catch (final IOException e) {
+                    // the error is reported when the file is read
+                }
+            }
+        }
+        return fileContentsLength;
+    }
+
     public void deleteTemporaryFiles(Map<String, Serializable> inputs,
             long tenantId) {
         if (inputs != null) {
@@ -249,7 +338,8 @@ public class ContractTypeConverter {
     private byte[] getFileContent(final File sourceFile)
             throws DocumentException, IOException {
         byte[] fileContent;
-        if (sourceFile.length() > maxSizeForTenant * 1048576) {
+        final long fileLength = sourceFile.length();
+        if (fileLength > maxSizeForTenant * 1048576) {
             final String errorMessage = "This document is exceeded " + maxSizeForTenant + "Mb";
             throw new DocumentException(errorMessage);
         }
@@ -257,6 +347,10 @@ public class ContractTypeConverter {
         return fileContent;
     }
 
+    protected FileContentMemoryBudget getMemoryBudget(final long tenantId) {
+        return FileContentMemoryBudget.getInstance(tenantId);
+    }
+
     void deleteFile(final File sourceFile) {
         if (!sourceFile.delete()) {
             sourceFile.deleteOnExit();
@@ -279,6 +373,17 @@ public class ContractTypeConverter {
         return contractDefinitionMap;
     }
 
+    /**
+     * Compute the adapted contract and the conversion plan of the inputs of a contract so that they can be cached
+     */
+    public CachedContract prepareContract(final ContractDefinition contract) {
+        if (contract == null) {
+            return new CachedContract(null, null, Collections.<String, Serializable> emptyMap());
+        }
+        return new CachedContract(contract, getAdaptedContractDefinition(contract),
+                Collections.unmodifiableMap(createContractInputMap(contract.getInputs())));
+    }
+
     public ContractDefinition getAdaptedContractDefinition(final ContractDefinition contract) {
         final List<ConstraintDefinition> constraints = contract.getConstraints();
         final List<InputDefinition> inputDefinitions = adaptContractInputList(contract.getInputs());
@@ -0,0 +1,157 @@
+/**
+ * Copyright (C) 2020 Bonitasoft S.A.
+ * Bonitasoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.console.common.server.utils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.bonitasoft.console.common.server.preferences.properties.ConsoleProperties;
+import org.bonitasoft.console.common.server.preferences.properties.PropertiesFactory;
+import org.bonitasoft.web.toolkit.client.common.exception.api.APIServiceUnavailableException;
+
+/**
+ * Tenant budget of the uploaded file contents loaded in memory to be sent to the engine (contract file inputs and case documents).
+ * The engine API only accepts file contents as byte arrays, so a submission reserves the size of its files before reading them and
+ * releases it once the engine call is done. When the budget configured in console-config.properties is exhausted, new submissions
+ * wait for the running ones to release memory and are rejected if none is released before the timeout. A file larger than the whole
+ * budget is accepted when no other content is in memory.
+ */
+public class FileContentMemoryBudget {
+
+    private static final Logger LOGGER = Logger.getLogger(FileContentMemoryBudget.class.getName());
+
+    private static final ConcurrentMap<Long, FileContentMemoryBudget> INSTANCES = new ConcurrentHashMap<>();
+
+    private final long maxBytes;
+
+    private final long timeoutMillis;
+
+    private long bytesInFlight;
+
+    private long peakBytesInFlight;
+
+    private long reservations;
+
+    private long waits;
+
+    private long rejections;
+
+    public static FileContentMemoryBudget getInstance(final long tenantId) {
+        return INSTANCES.computeIfAbsent(tenantId, id -> {
+            final ConsoleProperties consoleProperties = PropertiesFactory.getConsoleProperties(id);
+            return new FileContentMemoryBudget(consoleProperties.getAttachmentMemoryBudget() * 1048576,
+                    consoleProperties.getAttachmentMemoryBudgetTimeout() * 1000);
+        });
+    }
+
+    /**
+     * @param maxBytes
+     *            max number of bytes in memory at the same time, 0 or less to only record the statistics
+     */
+    FileContentMemoryBudget(final long maxBytes, final long timeoutMillis) {
+        this.maxBytes = maxBytes;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * Reserve memory for a file content, waiting if needed for other submissions to release theirs
+     *
+     * @return the number of bytes reserved, to give back to {@link #release(long)}
+     * @throws APIServiceUnavailableException
+     *             if not enough memory was released before the timeout
+     */
+    public synchronized long reserve(final long bytes) {
+        final long reserved = maxBytes > 0 ? Math.min(bytes, maxBytes) : bytes;
+        if (maxBytes > 0 && bytesInFlight + reserved > maxBytes) {
+            waits++;
+            final long deadline = System.currentTimeMillis() + timeoutMillis;
+            long remainingMillis = timeoutMillis;
+            while (bytesInFlight + reserved > maxBytes) {
+                if (remainingMillis <= 0) {
+                    rejections++;
+                    if (LOGGER.isLoggable(Level.WARNING)) {
+                        LOGGER.log(Level.WARNING, "Rejecting a file content of " + bytes + " bytes: " + bytesInFlight
+                                + " bytes of uploaded files are already in memory (max " + maxBytes + ").");
+                    }
+                    throw new APIServiceUnavailableException("Too many files are being submitted at the same time. Please retry later.");
+                }
+                try {
+                    wait(remainingMillis);
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    rejections++;
+                    throw new APIServiceUnavailableException("Interrupted while waiting to read a submitted file.", e);
+                }
+                remainingMillis = deadline - System.currentTimeMillis();
+            }
+        }
+        bytesInFlight += reserved;
+        peakBytesInFlight = Math.max(peakBytesInFlight, bytesInFlight);
+        reservations++;
+        return reserved;
+    }
+
+    /**
+     * Same as {@link #reserve(long)} with the reserved memory released when the returned lease is closed
+     */
+    public Lease lease(final long bytes) {
+        return new Lease(reserve(bytes));
+    }
+
+    public synchronized void release(final long reservedBytes) {
+        if (reservedBytes > 0) {
+            bytesInFlight -= reservedBytes;
+            notifyAll();
+        }
+    }
+
+    public synchronized Map<String, Long> getStatistics() {
+        final Map<String, Long> statistics = new LinkedHashMap<>();
+        statistics.put("maxBytes", maxBytes);
+        statistics.put("bytesInFlight", bytesInFlight);
+        statistics.put("peakBytesInFlight", peakBytesInFlight);
+        statistics.put("reservations", reservations);
+        statistics.put("waits", waits);
+        statistics.put("rejections", rejections);
+        return statistics;
+    }
+
+    /**
+     * Memory reserved in the budget, to close once the file contents are not used anymore
+     */
+    public class Lease implements AutoCloseable {
+
+        private long reservedBytes;
+
+        private Lease(final long reservedBytes) {
+            this.reservedBytes = reservedBytes;
+        }
+
+        @Override
+        public void close() {
+            final long bytesToRelease;
+            synchronized (this) {
+                bytesToRelease = reservedBytes;
+                reservedBytes = 0;
+            }
+            release(bytesToRelease);
+        }
+    }
+
+}
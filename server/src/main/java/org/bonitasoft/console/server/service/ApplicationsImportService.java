@@ -19,6 +19,7 @@ import static org.bonitasoft.web.toolkit.client.common.i18n.AbstractI18n._;
 import java.util.List;
 import java.util.logging.Logger;
 
+import org.bonitasoft.console.common.server.utils.ProfilePermissionsCache;
 import org.bonitasoft.engine.api.ApplicationAPI;
 import org.bonitasoft.engine.api.ImportStatus;
 import org.bonitasoft.engine.api.TenantAPIAccessor;
@@ -54,6 +55,10 @@ public class ApplicationsImportService extends BonitaImportService {
         return TenantAPIAccessor.getLivingApplicationAPI(getSession());
     }
 
+    protected ProfilePermissionsCache getProfilePermissionsCache() {
+        return ProfilePermissionsCache.getInstance(getTenantId());
+    }
+
     @Override
     public String getToken() {
         return TOKEN;
@@ -68,6 +73,7 @@ public class ApplicationsImportService extends BonitaImportService {
     public ImportStatusMessages importFileContent(final byte[] fileContent, final String importPolicyAsString) throws ExecutionException, ImportException, AlreadyExistsException, InvalidSessionException, BonitaHomeNotSetException, ServerAPIException, UnknownAPITypeException {
         final ApplicationImportPolicy importPolicy = ApplicationImportPolicy.valueOf(importPolicyAsString);
         final List<ImportStatus> ImportStatusList = getApplicationAPI().importApplications(fileContent, importPolicy);
+        getProfilePermissionsCache().invalidate();
         return new ImportStatusMessages(ImportStatusList);
     }
 
@@ -1,9 +1,14 @@
 package org.bonitasoft.livingapps;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import org.bonitasoft.engine.api.ApplicationAPI;
 import org.bonitasoft.engine.api.PageAPI;
 import org.bonitasoft.engine.api.ProfileAPI;
 import org.bonitasoft.engine.business.application.Application;
+import org.bonitasoft.engine.business.application.ApplicationPage;
+import org.bonitasoft.engine.business.application.ApplicationPageSearchDescriptor;
 import org.bonitasoft.engine.business.application.ApplicationSearchDescriptor;
 import org.bonitasoft.engine.exception.SearchException;
 import org.bonitasoft.engine.search.SearchOptionsBuilder;
@@ -16,15 +21,55 @@ public class ApplicationModelFactory {
     private final ApplicationAPI applicationApi;
     private final PageAPI customPageApi;
     private final ProfileAPI profileApi;
+    private final ApplicationRoutingCache routingCache;
 
     public ApplicationModelFactory(final ApplicationAPI applicationApi, final PageAPI customPageApi, final ProfileAPI profileApi) {
+        this(applicationApi, customPageApi, profileApi, null);
+    }
+
+    /**
+     * @param routingCache
+     *            cache of the routing tables of the tenant, or null to read the application from the engine at each call
+     */
+    public ApplicationModelFactory(final ApplicationAPI applicationApi, final PageAPI customPageApi, final ProfileAPI profileApi,
+            final ApplicationRoutingCache routingCache) {
         this.applicationApi = applicationApi;
         this.customPageApi = customPageApi;
         this.profileApi = profileApi;
+        this.routingCache = routingCache;
     }
 
     public ApplicationModel createApplicationModel(final String name) throws CreationException {
+        if (routingCache == null) {
+            return new ApplicationModel(
+                    applicationApi,
+                    customPageApi,
+                    profileApi,
+                    searchApplication(name),
+                    new MenuFactory(applicationApi));
+        }
+        return new CachedApplicationModel(
+                applicationApi,
+                customPageApi,
+                profileApi,
+                getRoutingTable(name),
+                routingCache,
+                new MenuFactory(applicationApi));
+    }
+
+    /**
+     * @return the routing table of the application from the cache, built and stored if it is not cached
+     */
+    public ApplicationRoutingTable getRoutingTable(final String name) throws CreationException {
+        ApplicationRoutingTable routingTable = routingCache.getRoutingTable(name);
+        if (routingTable == null) {
+            routingTable = createRoutingTable(searchApplication(name));
+            routingCache.storeRoutingTable(name, routingTable);
+        }
+        return routingTable;
+    }
 
+    private Application searchApplication(final String name) throws CreationException {
         try {
             final SearchResult<Application> result = applicationApi.searchApplications(
                     new SearchOptionsBuilder(0, 1)
@@ -35,14 +80,27 @@ public class ApplicationModelFactory {
                 throw new CreationException("No application found with name " + name);
             }
 
-            return new ApplicationModel(
-                    applicationApi,
-                    customPageApi,
-                    profileApi,
-                    result.getResult().get(0),
-                    new MenuFactory(applicationApi));
+            return result.getResult().get(0);
         } catch (final SearchException e) {
             throw new CreationException("Error while searching for the application " + name, e);
         }
     }
+
+    ApplicationRoutingTable createRoutingTable(final Application application) throws CreationException {
+        try {
+            final Map<String, Long> pageIds = new HashMap<>();
+            String homePageToken = null;
+            for (final ApplicationPage applicationPage : applicationApi.searchApplicationPages(new SearchOptionsBuilder(0, Integer.MAX_VALUE)
+                    .filter(ApplicationPageSearchDescriptor.APPLICATION_ID, application.getId())
+                    .done()).getResult()) {
+                pageIds.put(applicationPage.getToken(), applicationPage.getPageId());
+                if (application.getHomePageId() != null && application.getHomePageId() == applicationPage.getId()) {
+                    homePageToken = applicationPage.getToken();
+                }
+            }
+            return new ApplicationRoutingTable(application, pageIds, homePageToken);
+        } catch (final SearchException e) {
+            throw new CreationException("Error while retrieving the pages of the application " + application.getToken(), e);
+        }
+    }
 }
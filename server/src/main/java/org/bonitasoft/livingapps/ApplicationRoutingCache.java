@@ -0,0 +1,123 @@
+package org.bonitasoft.livingapps;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.bonitasoft.console.common.server.preferences.properties.ConsoleProperties;
+import org.bonitasoft.console.common.server.preferences.properties.PropertiesFactory;
+import org.bonitasoft.console.common.server.utils.CacheUtil;
+import org.bonitasoft.console.common.server.utils.TenantCache;
+import org.bonitasoft.livingapps.menu.Menu;
+
+/**
+ * Tenant cache of the application routing tables (by application token), of the menu trees (by application id) and of the profiles of
+ * the users (by engine session id).
+ * Entries expire after the time to live configured in console-config.properties, and the routing tables are cleared when an
+ * application or an application page is modified through the REST API. The menu trees are stored with the menu version they were built
+ * from, which is incremented when a menu, an application or an application page is modified through the REST API.
+ */
+public class ApplicationRoutingCache extends TenantCache {
+
+    protected static final String APPLICATION_ROUTING_CACHE = "applicationRoutingCache";
+
+    protected static final String USER_PROFILES_CACHE = "userProfilesCache";
+
+    protected static final String APPLICATION_MENU_CACHE = "applicationMenuCache";
+
+    private final String applicationRoutingCacheName;
+
+    private final String userProfilesCacheName;
+
+    private final String applicationMenuCacheName;
+
+    private final AtomicLong menuVersion = new AtomicLong();
+
+    public static ApplicationRoutingCache getInstance(final long tenantId) {
+        return getInstance(ApplicationRoutingCache.class, tenantId, id -> new ApplicationRoutingCache(id, PropertiesFactory.getConsoleProperties(id)));
+    }
+
+    ApplicationRoutingCache(final long tenantId, final ConsoleProperties consoleProperties) {
+        super(tenantId);
+        final long timeToLive = consoleProperties.getApplicationRoutingCacheTimeToLive();
+        applicationRoutingCacheName = createCache(APPLICATION_ROUTING_CACHE, consoleProperties.getApplicationRoutingCacheMaxSize(), timeToLive);
+        userProfilesCacheName = createCache(USER_PROFILES_CACHE, consoleProperties.getUserProfilesCacheMaxSize(), timeToLive);
+        applicationMenuCacheName = createCache(APPLICATION_MENU_CACHE, consoleProperties.getApplicationRoutingCacheMaxSize(), timeToLive);
+    }
+
+    /**
+     * @return the routing table of the application or null if it is not cached
+     */
+    public ApplicationRoutingTable getRoutingTable(final String applicationToken) {
+        return (ApplicationRoutingTable) CacheUtil.get(diskStorePath, applicationRoutingCacheName, applicationToken);
+    }
+
+    public void storeRoutingTable(final String applicationToken, final ApplicationRoutingTable routingTable) {
+        CacheUtil.store(diskStorePath, applicationRoutingCacheName, applicationToken, routingTable);
+    }
+
+    /**
+     * @return the ids of the profiles of the user of the engine session or null if they are not cached
+     */
+    @SuppressWarnings("unchecked")
+    public Set<Long> getUserProfileIds(final long sessionId) {
+        return (Set<Long>) CacheUtil.get(diskStorePath, userProfilesCacheName, sessionId);
+    }
+
+    public void storeUserProfileIds(final long sessionId, final Set<Long> profileIds) {
+        CacheUtil.store(diskStorePath, userProfilesCacheName, sessionId, profileIds);
+    }
+
+    /**
+     * @return the current version of the menus, to be read before retrieving the menus from the engine and given back when storing the
+     *         menu tree built from them
+     */
+    public long getMenuVersion() {
+        return menuVersion.get();
+    }
+
+    /**
+     * @return the menu tree of the application or null if it is not cached or if it was built from menus older than the current version
+     */
+    @SuppressWarnings("unchecked")
+    public List<Menu> getMenuList(final long applicationId) {
+        final VersionedMenuList versionedMenuList = (VersionedMenuList) CacheUtil.get(diskStorePath, applicationMenuCacheName, applicationId);
+        if (versionedMenuList == null || versionedMenuList.version != menuVersion.get()) {
+            return null;
+        }
+        return versionedMenuList.menuList;
+    }
+
+    public void storeMenuList(final long applicationId, final long version, final List<Menu> menuList) {
+        CacheUtil.store(diskStorePath, applicationMenuCacheName, applicationId, new VersionedMenuList(version, menuList));
+    }
+
+    /**
+     * Make the menu trees of all the applications stale, including the ones being built
+     */
+    public void invalidateMenus() {
+        menuVersion.incrementAndGet();
+    }
+
+    /**
+     * Remove the routing tables of all the applications. As the menu links use the tokens of the application pages, the menu trees are
+     * invalidated too.
+     */
+    public void clearRoutingTables() {
+        CacheUtil.clear(diskStorePath, applicationRoutingCacheName);
+        invalidateMenus();
+    }
+
+    private static class VersionedMenuList {
+
+        private final long version;
+
+        private final List<Menu> menuList;
+
+        VersionedMenuList(final long version, final List<Menu> menuList) {
+            this.version = version;
+            this.menuList = menuList;
+        }
+    }
+
+}
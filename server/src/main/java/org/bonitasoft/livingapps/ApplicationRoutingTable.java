@@ -0,0 +1,114 @@
+package org.bonitasoft.livingapps;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.bonitasoft.engine.api.PageAPI;
+import org.bonitasoft.engine.business.application.Application;
+import org.bonitasoft.engine.page.PageNotFoundException;
+
+/**
+ * What is needed to route the requests to an application: its pages, home page, layout, theme and mapped profile.
+ * The names of the layout, of the theme and of the custom pages are only retrieved from the engine the first time they are requested.
+ */
+public class ApplicationRoutingTable implements Serializable {
+
+    private static final long serialVersionUID = -3525826372411917441L;
+
+    private final Application application;
+
+    private final Map<String, Long> pageIds;
+
+    private final String homePageToken;
+
+    private volatile String layoutName;
+
+    private volatile String themeName;
+
+    private final ConcurrentMap<Long, String> pageNames = new ConcurrentHashMap<>();
+
+    public ApplicationRoutingTable(final Application application, final Map<String, Long> pageIds, final String homePageToken) {
+        this(application, pageIds, homePageToken, null, null);
+    }
+
+    /**
+     * @param layoutName
+     *            the name of the layout if it is already known, null to retrieve it when requested
+     * @param themeName
+     *            the name of the theme if it is already known, null to retrieve it when requested
+     */
+    public ApplicationRoutingTable(final Application application, final Map<String, Long> pageIds, final String homePageToken,
+            final String layoutName, final String themeName) {
+        this.application = application;
+        this.pageIds = Collections.unmodifiableMap(pageIds);
+        this.homePageToken = homePageToken;
+        this.layoutName = layoutName;
+        this.themeName = themeName;
+    }
+
+    public Application getApplication() {
+        return application;
+    }
+
+    public boolean hasPage(final String pageToken) {
+        return pageIds.containsKey(pageToken);
+    }
+
+    /**
+     * @return the id of the custom page displayed by the application page or null if the application has no such page
+     */
+    public Long getPageId(final String pageToken) {
+        return pageIds.get(pageToken);
+    }
+
+    /**
+     * @return the name of the custom page displayed by the application page or null if the application has no such page
+     */
+    public String getPageName(final String pageToken, final PageAPI pageApi) throws PageNotFoundException {
+        final Long pageId = pageIds.get(pageToken);
+        if (pageId == null) {
+            return null;
+        }
+        String pageName = pageNames.get(pageId);
+        if (pageName == null) {
+            pageName = pageApi.getPage(pageId).getName();
+            pageNames.put(pageId, pageName);
+        }
+        return pageName;
+    }
+
+    /**
+     * @return the token of the home page or null if the application has none
+     */
+    public String getHomePageToken() {
+        return homePageToken;
+    }
+
+    /**
+     * @return the name of the layout or null if the application has none
+     */
+    public String getLayoutName(final PageAPI pageApi) throws PageNotFoundException {
+        if (layoutName == null && application.getLayoutId() != null) {
+            layoutName = pageApi.getPage(application.getLayoutId()).getName();
+        }
+        return layoutName;
+    }
+
+    /**
+     * @return the name of the theme or null if the application has none
+     */
+    public String getThemeName(final PageAPI pageApi) throws PageNotFoundException {
+        if (themeName == null && application.getThemeId() != null) {
+            themeName = pageApi.getPage(application.getThemeId()).getName();
+        }
+        return themeName;
+    }
+
+    public Long getThemeId() {
+        return application.getThemeId();
+    }
+
+}
@@ -0,0 +1,106 @@
+package org.bonitasoft.livingapps;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.bonitasoft.engine.api.ApplicationAPI;
+import org.bonitasoft.engine.api.PageAPI;
+import org.bonitasoft.engine.api.ProfileAPI;
+import org.bonitasoft.engine.business.application.ApplicationPageNotFoundException;
+import org.bonitasoft.engine.exception.SearchException;
+import org.bonitasoft.engine.page.PageNotFoundException;
+import org.bonitasoft.engine.profile.Profile;
+import org.bonitasoft.engine.profile.ProfileCriterion;
+import org.bonitasoft.engine.session.APISession;
+import org.bonitasoft.livingapps.menu.Menu;
+import org.bonitasoft.livingapps.menu.MenuFactory;
+
+/**
+ * Application model answering the routing questions from the cached {@link ApplicationRoutingTable} and user profiles, so that the
+ * pages and the layout and theme resources of an application are served without calling the engine once the routing table has resolved
+ * their names. The menu tree is cached too.
+ */
+public class CachedApplicationModel extends ApplicationModel {
+
+    private final PageAPI pageApi;
+
+    private final ProfileAPI profileApi;
+
+    private final ApplicationRoutingTable routingTable;
+
+    private final ApplicationRoutingCache routingCache;
+
+    public CachedApplicationModel(
+            final ApplicationAPI applicationApi,
+            final PageAPI pageApi,
+            final ProfileAPI profileApi,
+            final ApplicationRoutingTable routingTable,
+            final ApplicationRoutingCache routingCache,
+            final MenuFactory factory) {
+        super(applicationApi, pageApi, profileApi, routingTable.getApplication(), factory);
+        this.pageApi = pageApi;
+        this.profileApi = profileApi;
+        this.routingTable = routingTable;
+        this.routingCache = routingCache;
+    }
+
+    @Override
+    public String getApplicationLayoutName() throws PageNotFoundException {
+        return routingTable.getLayoutName(pageApi);
+    }
+
+    @Override
+    public String getApplicationThemeName() throws PageNotFoundException {
+        return routingTable.getThemeName(pageApi);
+    }
+
+    @Override
+    public Long getApplicationThemeId() {
+        return routingTable.getThemeId();
+    }
+
+    @Override
+    public String getApplicationHomePage() throws ApplicationPageNotFoundException {
+        if (routingTable.getHomePageToken() == null) {
+            //let the engine report the missing home page
+            return super.getApplicationHomePage();
+        }
+        return routingTable.getHomePageToken() + "/";
+    }
+
+    @Override
+    public boolean hasPage(final String pageToken) {
+        return routingTable.hasPage(pageToken);
+    }
+
+    @Override
+    public boolean authorize(final APISession session) {
+        return getUserProfileIds(session).contains(routingTable.getApplication().getProfileId());
+    }
+
+    @Override
+    public List<Menu> getMenuList() throws SearchException, ApplicationPageNotFoundException {
+        List<Menu> menuList = routingCache.getMenuList(getId());
+        if (menuList == null) {
+            //read the version first so that a menu modified while building the tree makes it stale
+            final long menuVersion = routingCache.getMenuVersion();
+            menuList = super.getMenuList();
+            routingCache.storeMenuList(getId(), menuVersion, menuList);
+        }
+        return menuList;
+    }
+
+    private Set<Long> getUserProfileIds(final APISession session) {
+        Set<Long> profileIds = routingCache.getUserProfileIds(session.getId());
+        if (profileIds == null) {
+            profileIds = new HashSet<>();
+            for (final Profile userProfile : profileApi.getProfilesForUser(session.getUserId(), 0, Integer.MAX_VALUE, ProfileCriterion.ID_ASC)) {
+                profileIds.add(userProfile.getId());
+            }
+            routingCache.storeUserProfileIds(session.getId(), profileIds);
+        }
+        return profileIds;
+    }
+
+}
@@ -37,13 +37,13 @@ import org.bonitasoft.console.common.server.utils.SessionUtil;
 import org.bonitasoft.engine.api.ApplicationAPI;
 import org.bonitasoft.engine.api.PageAPI;
 import org.bonitasoft.engine.api.TenantAPIAccessor;
-import org.bonitasoft.engine.business.application.ApplicationPageNotFoundException;
 import org.bonitasoft.engine.exception.BonitaException;
 import org.bonitasoft.engine.exception.BonitaHomeNotSetException;
 import org.bonitasoft.engine.exception.ServerAPIException;
 import org.bonitasoft.engine.exception.UnknownAPITypeException;
 import org.bonitasoft.engine.page.PageNotFoundException;
 import org.bonitasoft.engine.session.APISession;
+import org.bonitasoft.livingapps.exception.CreationException;
 
 public class LivingApplicationPageServlet extends HttpServlet {
 
@@ -144,26 +144,18 @@ public class LivingApplicationPageServlet extends HttpServlet {
 
     }
 
-    private Long getCustomPageId(final String appToken, final String pageToken, final APISession apiSession, final HttpServletResponse response) throws IOException, ServletException {
+    private String getCustomPageName(final String appToken, final String pageToken, final APISession apiSession, final HttpServletResponse response) throws ServletException, IOException {
         try {
-            return getApplicationApi(apiSession).getApplicationPage(appToken, pageToken).getPageId();
-        } catch (final ApplicationPageNotFoundException e) {
+            final String customPageName = getRoutingTable(appToken, apiSession).getPageName(pageToken, getPageApi(apiSession));
+            if (customPageName != null) {
+                return customPageName;
+            }
             if (LOGGER.isLoggable(Level.WARNING)) {
-                LOGGER.log(Level.WARNING, "Error while trying to render the application page " + appToken + "/" + pageToken, e);
+                LOGGER.log(Level.WARNING, "Error while trying to render the application page " + appToken + "/" + pageToken + ": the application has no such page.");
             }
             response.sendError(HttpServletResponse.SC_NOT_FOUND,
                     "Cannot found the page" + pageToken + "for the application" + appToken + ".");
-        } catch (final Exception e) {
-            handleException(appToken + "/" + pageToken, e);
-        }
-        return null;
-    }
-
-    private String getCustomPageName(final String appToken, final String pageToken, final APISession apiSession, final HttpServletResponse response) throws ServletException, IOException {
-        try {
-            final Long customPageId = getCustomPageId(appToken, pageToken, apiSession, response);
-            return getPageApi(apiSession).getPage(customPageId).getName();
-        } catch (final PageNotFoundException e) {
+        } catch (final CreationException | PageNotFoundException e) {
             if (LOGGER.isLoggable(Level.WARNING)) {
                 LOGGER.log(Level.WARNING, "Error while trying to render the application page " + appToken + "/" + pageToken, e);
             }
@@ -214,12 +206,27 @@ public class LivingApplicationPageServlet extends HttpServlet {
         return TenantAPIAccessor.getCustomPageAPI(apiSession);
     }
 
+    /**
+     * @return the cached routing table of the application, so that the pages are resolved without calling the engine
+     */
+    protected ApplicationRoutingTable getRoutingTable(final String appToken, final APISession apiSession) throws BonitaHomeNotSetException,
+            ServerAPIException, UnknownAPITypeException, CreationException {
+        return createApplicationModelFactory(apiSession).getRoutingTable(appToken);
+    }
+
     protected CustomPageAuthorizationsHelper getCustomPageAuthorizationsHelper(final APISession apiSession) throws BonitaHomeNotSetException,
             ServerAPIException, UnknownAPITypeException {
         return new CustomPageAuthorizationsHelper(new GetUserRightsHelper(apiSession),
-                TenantAPIAccessor.getLivingApplicationAPI(apiSession), TenantAPIAccessor.getCustomPageAPI(apiSession), new ApplicationModelFactory(
-                TenantAPIAccessor.getLivingApplicationAPI(apiSession),
-                TenantAPIAccessor.getCustomPageAPI(apiSession),
-                TenantAPIAccessor.getProfileAPI(apiSession)));
+                TenantAPIAccessor.getLivingApplicationAPI(apiSession), TenantAPIAccessor.getCustomPageAPI(apiSession),
+                createApplicationModelFactory(apiSession));
+    }
+
+    private ApplicationModelFactory createApplicationModelFactory(final APISession apiSession) throws BonitaHomeNotSetException, ServerAPIException,
+            UnknownAPITypeException {
+        return new ApplicationModelFactory(
+                getApplicationApi(apiSession),
+                getPageApi(apiSession),
+                TenantAPIAccessor.getProfileAPI(apiSession),
+                ApplicationRoutingCache.getInstance(apiSession.getTenantId()));
     }
 }
@@ -64,7 +64,8 @@ public class LivingApplicationServlet extends HttpServlet {
         return new ApplicationRouter(new ApplicationModelFactory(
                 TenantAPIAccessor.getLivingApplicationAPI(session),
                 TenantAPIAccessor.getCustomPageAPI(session),
-                TenantAPIAccessor.getProfileAPI(session)));
+                TenantAPIAccessor.getProfileAPI(session),
+                ApplicationRoutingCache.getInstance(session.getTenantId())));
     }
 
     private boolean isPageUrlWithoutFinalSlash(final HttpServletRequest request) {
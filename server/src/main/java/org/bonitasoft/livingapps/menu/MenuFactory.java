@@ -1,12 +1,18 @@
 package org.bonitasoft.livingapps.menu;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.bonitasoft.engine.api.ApplicationAPI;
 import org.bonitasoft.engine.business.application.ApplicationMenu;
+import org.bonitasoft.engine.business.application.ApplicationPage;
 import org.bonitasoft.engine.business.application.ApplicationPageNotFoundException;
+import org.bonitasoft.engine.business.application.ApplicationPageSearchDescriptor;
 import org.bonitasoft.engine.exception.SearchException;
+import org.bonitasoft.engine.search.SearchOptionsBuilder;
 
 public class MenuFactory {
 
@@ -21,26 +27,69 @@ public class MenuFactory {
         this.applicationApi = applicationApi;
     }
 
+    /**
+     * Build the immutable menu tree of an application from all its menus, sorted by index.
+     * The menus are indexed by parent in a single pass and the tokens of the pages are retrieved with a single search.
+     */
     public List<Menu> create(final List<ApplicationMenu> menuList) throws ApplicationPageNotFoundException, SearchException {
-        return collect(menuList, new RootMenuCollector());
+        final Collector rootCollector = new RootMenuCollector();
+        final List<ApplicationMenu> roots = new ArrayList<ApplicationMenu>();
+        final Map<Long, List<ApplicationMenu>> childrenByParentId = new HashMap<Long, List<ApplicationMenu>>();
+        for (final ApplicationMenu item : menuList) {
+            if (rootCollector.isCollectible(item)) {
+                roots.add(item);
+            } else {
+                List<ApplicationMenu> children = childrenByParentId.get(item.getParentId());
+                if (children == null) {
+                    children = new ArrayList<ApplicationMenu>();
+                    childrenByParentId.put(item.getParentId(), children);
+                }
+                children.add(item);
+            }
+        }
+        return create(roots, childrenByParentId, getPageTokens(menuList));
+    }
+
+    private List<Menu> create(final List<ApplicationMenu> items, final Map<Long, List<ApplicationMenu>> childrenByParentId,
+            final Map<Long, String> pageTokens) throws ApplicationPageNotFoundException {
+        final List<Menu> menuList = new ArrayList<Menu>(items.size());
+        for (final ApplicationMenu item : items) {
+            menuList.add(create(item, childrenByParentId, pageTokens));
+        }
+        return Collections.unmodifiableList(menuList);
     }
 
-    private Menu create(final ApplicationMenu menu, final List<ApplicationMenu> menuList) throws ApplicationPageNotFoundException, SearchException {
-        if(menu.getApplicationPageId() == null) {
+    private Menu create(final ApplicationMenu menu, final Map<Long, List<ApplicationMenu>> childrenByParentId, final Map<Long, String> pageTokens)
+            throws ApplicationPageNotFoundException {
+        if (menu.getApplicationPageId() == null) {
+            final List<ApplicationMenu> children = childrenByParentId.get(menu.getId());
             return new MenuContainer(menu,
-                    collect(menuList, new ChildrenMenuCollector(menu.getId())));
+                    create(children != null ? children : Collections.<ApplicationMenu> emptyList(), childrenByParentId, pageTokens));
         }
-        return new MenuLink(menu, applicationApi.getApplicationPage(menu.getApplicationPageId()).getToken());
+        return new MenuLink(menu, getPageToken(menu.getApplicationPageId(), pageTokens));
     }
 
-    private List<Menu> collect(final List<ApplicationMenu> items, final Collector collector)
-            throws ApplicationPageNotFoundException, SearchException {
-        final List<Menu> menuList = new ArrayList<Menu>();
-        for (final ApplicationMenu item : items) {
-            if(collector.isCollectible(item)) {
-                menuList.add(create(item, items));
-            }
+    private Map<Long, String> getPageTokens(final List<ApplicationMenu> menuList) throws SearchException {
+        final Map<Long, String> pageTokens = new HashMap<Long, String>();
+        if (menuList.isEmpty()) {
+            return pageTokens;
+        }
+        final List<ApplicationPage> applicationPages = applicationApi.searchApplicationPages(new SearchOptionsBuilder(0, Integer.MAX_VALUE)
+                .filter(ApplicationPageSearchDescriptor.APPLICATION_ID, menuList.get(0).getApplicationId())
+                .done()).getResult();
+        for (final ApplicationPage applicationPage : applicationPages) {
+            pageTokens.put(applicationPage.getId(), applicationPage.getToken());
+        }
+        return pageTokens;
+    }
+
+    private String getPageToken(final Long applicationPageId, final Map<Long, String> pageTokens) throws ApplicationPageNotFoundException {
+        String pageToken = pageTokens.get(applicationPageId);
+        if (pageToken == null) {
+            //page of another application or added after the search
+            pageToken = applicationApi.getApplicationPage(applicationPageId).getToken();
+            pageTokens.put(applicationPageId, pageToken);
         }
-        return menuList;
+        return pageToken;
     }
 }
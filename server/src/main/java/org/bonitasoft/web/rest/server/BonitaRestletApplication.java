@@ -37,6 +37,9 @@ import org.bonitasoft.web.rest.server.api.bpm.process.ProcessDefinitionDesignRes
 import org.bonitasoft.web.rest.server.api.bpm.process.ProcessInstantiationResource;
 import org.bonitasoft.web.rest.server.api.form.FormMappingResource;
 import org.bonitasoft.web.rest.server.api.system.I18nTanslationResource;
+import org.bonitasoft.web.rest.server.api.system.CountersResource;
+import org.bonitasoft.web.rest.server.api.system.FileContentMemoryResource;
+import org.bonitasoft.web.rest.server.api.system.PageCacheResource;
 import org.restlet.Application;
 import org.restlet.Context;
 import org.restlet.Request;
@@ -65,6 +68,12 @@ public class BonitaRestletApplication extends Application {
 
     public static final String FORM_MAPPING_URL = "/form/mapping";
 
+    public static final String SYSTEM_PAGE_CACHE_URL = "/system/pageCache";
+
+    public static final String SYSTEM_FILE_CONTENT_MEMORY_URL = "/system/fileContentMemory";
+
+    public static final String SYSTEM_COUNTERS_URL = "/system/counters";
+
     public static final String BPM_PROCESS_URL = "/bpm/process";
 
     public static final String BPM_USER_TASK_URL = "/bpm/userTask";
@@ -180,6 +189,11 @@ public class BonitaRestletApplication extends Application {
         // GET all translations
         router.attach("/system/i18ntranslation", factory.create(I18nTanslationResource.class));
 
+        // GET the page cache statistics
+        router.attach(SYSTEM_PAGE_CACHE_URL, factory.create(PageCacheResource.class));
+        router.attach(SYSTEM_FILE_CONTENT_MEMORY_URL, factory.create(FileContentMemoryResource.class));
+        router.attach(SYSTEM_COUNTERS_URL, factory.create(CountersResource.class));
+
         return router;
     }
 
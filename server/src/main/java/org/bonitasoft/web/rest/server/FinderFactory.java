@@ -58,6 +58,12 @@ import org.bonitasoft.web.rest.server.api.form.FormMappingResource;
 import org.bonitasoft.web.rest.server.api.form.FormMappingResourceFinder;
 import org.bonitasoft.web.rest.server.api.system.I18nTanslationResource;
 import org.bonitasoft.web.rest.server.api.system.I18nTanslationResourceFinder;
+import org.bonitasoft.web.rest.server.api.system.CountersResource;
+import org.bonitasoft.web.rest.server.api.system.CountersResourceFinder;
+import org.bonitasoft.web.rest.server.api.system.FileContentMemoryResource;
+import org.bonitasoft.web.rest.server.api.system.FileContentMemoryResourceFinder;
+import org.bonitasoft.web.rest.server.api.system.PageCacheResource;
+import org.bonitasoft.web.rest.server.api.system.PageCacheResourceFinder;
 import org.restlet.resource.Finder;
 import org.restlet.resource.ServerResource;
 
@@ -108,6 +114,9 @@ public class FinderFactory {
         finders.put(ProcessInstantiationResource.class, new ProcessInstantiationResourceFinder());
         finders.put(BusinessDataModelResource.class, new BusinessDataModelResourceFinder());
         finders.put(I18nTanslationResource.class, new I18nTanslationResourceFinder());
+        finders.put(PageCacheResource.class, new PageCacheResourceFinder());
+        finders.put(FileContentMemoryResource.class, new FileContentMemoryResourceFinder());
+        finders.put(CountersResource.class, new CountersResourceFinder());
 
         return finders;
     }
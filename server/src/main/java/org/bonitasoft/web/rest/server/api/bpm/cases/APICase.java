@@ -27,6 +27,7 @@ import org.bonitasoft.web.rest.server.datastore.bpm.cases.CaseDatastore;
 import org.bonitasoft.web.rest.server.datastore.bpm.flownode.FlowNodeDatastore;
 import org.bonitasoft.web.rest.server.datastore.bpm.process.ProcessDatastore;
 import org.bonitasoft.web.rest.server.datastore.organization.UserDatastore;
+import org.bonitasoft.web.rest.server.framework.BatchCounters;
 import org.bonitasoft.web.rest.server.framework.api.APIHasAdd;
 import org.bonitasoft.web.rest.server.framework.api.APIHasDelete;
 import org.bonitasoft.web.rest.server.framework.api.APIHasGet;
@@ -108,23 +109,29 @@ public class APICase extends ConsoleAPI<CaseItem> implements APIHasGet<CaseItem>
 
     private void fillNumberOfFailedFlowNodesIfFailedCounterExists(final CaseItem item, final List<String> counters) {
         if (counters.contains(CaseItem.COUNTER_FAILED_FLOW_NODES)) {
-            final FlowNodeDatastore flowNodeDatastore = getFlowNodeDatastore();
-            final Map<String, String> filters = new HashMap<String, String>();
-            filters.put(FlowNodeItem.ATTRIBUTE_STATE, FlowNodeItem.VALUE_STATE_FAILED);
-            filters.put(FlowNodeItem.ATTRIBUTE_PARENT_CASE_ID, String.valueOf(item.getId().toLong()));
-            item.setAttribute(CaseItem.COUNTER_FAILED_FLOW_NODES, flowNodeDatastore.count(null, null, filters));
+            item.setAttribute(CaseItem.COUNTER_FAILED_FLOW_NODES, countFailedFlowNodes(getFlowNodeDatastore(), item));
         }
     }
 
     private void fillNumberOfPendingFlowNodesIfActiveCounterExists(final CaseItem item, final List<String> counters) {
         if (counters.contains(CaseItem.COUNTER_ACTIVE_FLOW_NODES)) {
-            final FlowNodeDatastore flowNodeDatastore = getFlowNodeDatastore();
-            final Map<String, String> filters = new HashMap<String, String>();
-            filters.put(FlowNodeItem.ATTRIBUTE_PARENT_CASE_ID, String.valueOf(item.getId().toLong()));
-            item.setAttribute(CaseItem.COUNTER_ACTIVE_FLOW_NODES, flowNodeDatastore.count(null, null, filters));
+            item.setAttribute(CaseItem.COUNTER_ACTIVE_FLOW_NODES, countActiveFlowNodes(getFlowNodeDatastore(), item));
         }
     }
 
+    private long countFailedFlowNodes(final FlowNodeDatastore flowNodeDatastore, final CaseItem item) {
+        final Map<String, String> filters = new HashMap<String, String>();
+        filters.put(FlowNodeItem.ATTRIBUTE_STATE, FlowNodeItem.VALUE_STATE_FAILED);
+        filters.put(FlowNodeItem.ATTRIBUTE_PARENT_CASE_ID, String.valueOf(item.getId().toLong()));
+        return flowNodeDatastore.count(null, null, filters);
+    }
+
+    private long countActiveFlowNodes(final FlowNodeDatastore flowNodeDatastore, final CaseItem item) {
+        final Map<String, String> filters = new HashMap<String, String>();
+        filters.put(FlowNodeItem.ATTRIBUTE_PARENT_CASE_ID, String.valueOf(item.getId().toLong()));
+        return flowNodeDatastore.count(null, null, filters);
+    }
+
     @Override
     public void delete(final List<APIID> ids) {
         getCaseDatastore().delete(ids);
@@ -136,6 +143,22 @@ public class APICase extends ConsoleAPI<CaseItem> implements APIHasGet<CaseItem>
         fillNumberOfPendingFlowNodesIfActiveCounterExists(item, counters);
     }
 
+    @Override
+    protected void fillCounters(final List<CaseItem> items, final List<String> counters) {
+        //the engine session is resolved on the request thread, the counters being computed on the threads of the batch counters
+        final FlowNodeDatastore flowNodeDatastore = getFlowNodeDatastore();
+        if (counters.contains(CaseItem.COUNTER_FAILED_FLOW_NODES)) {
+            getBatchCounters().fill(items, CaseItem.COUNTER_FAILED_FLOW_NODES, item -> countFailedFlowNodes(flowNodeDatastore, item));
+        }
+        if (counters.contains(CaseItem.COUNTER_ACTIVE_FLOW_NODES)) {
+            getBatchCounters().fill(items, CaseItem.COUNTER_ACTIVE_FLOW_NODES, item -> countActiveFlowNodes(flowNodeDatastore, item));
+        }
+    }
+
+    BatchCounters getBatchCounters() {
+        return BatchCounters.getInstance();
+    }
+
     UserDatastore getUserDatastore() {
         return new UserDatastore(getEngineSession());
     }
@@ -16,8 +16,11 @@ package org.bonitasoft.web.rest.server.api.bpm.flownode;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.bonitasoft.engine.bpm.flownode.FlowNodeInstanceSearchDescriptor;
 import org.bonitasoft.web.rest.model.bpm.cases.ArchivedCaseItem;
@@ -27,6 +30,8 @@ import org.bonitasoft.web.rest.model.bpm.flownode.FlowNodeDefinition;
 import org.bonitasoft.web.rest.model.bpm.flownode.FlowNodeItem;
 import org.bonitasoft.web.rest.model.bpm.flownode.HumanTaskItem;
 import org.bonitasoft.web.rest.model.bpm.flownode.IFlowNodeItem;
+import org.bonitasoft.web.rest.model.bpm.process.ProcessItem;
+import org.bonitasoft.web.rest.model.identity.UserItem;
 import org.bonitasoft.web.rest.server.api.ConsoleAPI;
 import org.bonitasoft.web.rest.server.api.deployer.GenericDeployer;
 import org.bonitasoft.web.rest.server.datastore.bpm.cases.ArchivedCaseDatastore;
@@ -108,57 +113,165 @@ APIHasSearch<ITEM> {
     // UTILS
     // //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
 
+    /**
+     * Users, processes and cases deployed in the results of the search being deployed, by id, so that an item referenced by several
+     * flow nodes is retrieved once. They are null outside of a search. A null value marks an id already looked for and not found.
+     */
+    private Map<APIID, UserItem> deployedUsers;
+
+    private Map<APIID, ProcessItem> deployedProcesses;
+
+    private Map<APIID, CaseItem> deployedCases;
+
+    private Map<APIID, ArchivedCaseItem> deployedArchivedCases;
+
+    @Override
+    protected void fillDeploys(final List<ITEM> items, final List<String> deploys) {
+        deployedUsers = getUsers(getDeployableIds(items, deploys, FlowNodeItem.ATTRIBUTE_EXECUTED_BY_USER_ID,
+                FlowNodeItem.ATTRIBUTE_EXECUTED_BY_SUBSTITUTE_USER_ID, HumanTaskItem.ATTRIBUTE_ASSIGNED_USER_ID));
+        deployedProcesses = getProcesses(getDeployableIds(items, deploys, FlowNodeItem.ATTRIBUTE_PROCESS_ID));
+        deployedCases = new HashMap<>();
+        deployedArchivedCases = new HashMap<>();
+        try {
+            super.fillDeploys(items, deploys);
+        } finally {
+            deployedUsers = null;
+            deployedProcesses = null;
+            deployedCases = null;
+            deployedArchivedCases = null;
+        }
+    }
+
+    private List<APIID> getDeployableIds(final List<ITEM> items, final List<String> deploys, final String... attributes) {
+        final Set<APIID> ids = new LinkedHashSet<>();
+        for (final ITEM item : items) {
+            for (final String attribute : attributes) {
+                if (isDeployable(attribute, deploys, item)) {
+                    ids.add(item.getAttributeValueAsAPIID(attribute));
+                }
+            }
+        }
+        return new ArrayList<>(ids);
+    }
+
+    private Map<APIID, UserItem> getUsers(final List<APIID> ids) {
+        if (ids.isEmpty()) {
+            return new HashMap<>();
+        }
+        return withMissingIds(ids, new UserDatastore(getEngineSession()).get(ids));
+    }
+
+    private Map<APIID, ProcessItem> getProcesses(final List<APIID> ids) {
+        if (ids.isEmpty()) {
+            return new HashMap<>();
+        }
+        return withMissingIds(ids, new ProcessDatastore(getEngineSession()).get(ids));
+    }
+
+    /**
+     * @return the items retrieved at once, with a null value for the ids not found so that they are not retrieved again one by one
+     */
+    private <I extends IItem> Map<APIID, I> withMissingIds(final List<APIID> ids, final Map<APIID, I> items) {
+        final Map<APIID, I> deployedItems = new HashMap<>(items);
+        for (final APIID id : ids) {
+            if (!deployedItems.containsKey(id)) {
+                deployedItems.put(id, null);
+            }
+        }
+        return deployedItems;
+    }
+
+    /**
+     * @return the item from the items already looked for in the search results or from the datastore
+     */
+    private <I extends IItem> I getDeployedItem(final Map<APIID, I> deployedItems, final APIID id, final DatastoreHasGet<I> datastore) {
+        if (deployedItems == null) {
+            return datastore.get(id);
+        }
+        if (!deployedItems.containsKey(id)) {
+            deployedItems.put(id, datastore.get(id));
+        }
+        return deployedItems.get(id);
+    }
+
+    private UserItem getUser(final APIID id) {
+        return getDeployedItem(deployedUsers, id, new UserDatastore(getEngineSession()));
+    }
+
+    private ProcessItem getProcess(final APIID id) {
+        return getDeployedItem(deployedProcesses, id, new ProcessDatastore(getEngineSession()));
+    }
+
+    private CaseItem getCase(final APIID id) {
+        return getDeployedItem(deployedCases, id, getCaseDatastore());
+    }
+
+    private ArchivedCaseItem getArchivedCaseUsingSourceObjectId(final APIID id) {
+        return getDeployedItem(deployedArchivedCases, id, new DatastoreHasGet<ArchivedCaseItem>() {
+
+            @Override
+            public ArchivedCaseItem get(final APIID sourceObjectId) {
+                return getArchivedCaseDatastore().getUsingSourceObjectId(sourceObjectId);
+            }
+        });
+    }
+
+    private void setDeployIfFound(final ITEM item, final String attribute, final IItem deployedItem) {
+        if (deployedItem != null) {
+            item.setDeploy(attribute, deployedItem);
+        }
+    }
+
     @Override
     protected void fillDeploys(final ITEM item, final List<String> deploys) {
         /** TODO Refactor to an oriented object (cf. WEB-1637 ) */
         if (isDeployable(FlowNodeItem.ATTRIBUTE_PROCESS_ID, deploys, item)) {
-            item.setDeploy(FlowNodeItem.ATTRIBUTE_PROCESS_ID,
-                    new ProcessDatastore(getEngineSession()).get(item.getProcessId()));
+            setDeployIfFound(item, FlowNodeItem.ATTRIBUTE_PROCESS_ID, getProcess(item.getProcessId()));
         }
 
         if (isDeployable(FlowNodeItem.ATTRIBUTE_CASE_ID, deploys, item) || isDeployable(FlowNodeItem.ATTRIBUTE_ROOT_CASE_ID, deploys, item)) {
-            final CaseItem openedCaseItem = getCaseDatastore().get(item.getCaseId());
+            final CaseItem openedCaseItem = getCase(item.getCaseId());
             if ( openedCaseItem != null) {
                 item.setDeploy(FlowNodeItem.ATTRIBUTE_CASE_ID, openedCaseItem);
                 item.setDeploy(FlowNodeItem.ATTRIBUTE_ROOT_CASE_ID, openedCaseItem);
             } else {
-                final ArchivedCaseItem archivedCaseItem = getArchivedCaseDatastore().getUsingSourceObjectId(item.getCaseId());
+                final ArchivedCaseItem archivedCaseItem = getArchivedCaseUsingSourceObjectId(item.getCaseId());
                 item.setDeploy(FlowNodeItem.ATTRIBUTE_CASE_ID, archivedCaseItem);
                 item.setDeploy(FlowNodeItem.ATTRIBUTE_ROOT_CASE_ID, archivedCaseItem);
             }
         }
 
         if (isDeployable(FlowNodeItem.ATTRIBUTE_PARENT_CASE_ID, deploys, item)) {
-            final CaseItem openedParentCaseItem = getCaseDatastore().get(item.getParentCaseId());
+            final CaseItem openedParentCaseItem = getCase(item.getParentCaseId());
             if ( openedParentCaseItem != null) {
                 item.setDeploy(FlowNodeItem.ATTRIBUTE_PARENT_CASE_ID,
                         openedParentCaseItem);
             } else {
-                final ArchivedCaseItem archivedParentCaseItem = getArchivedCaseDatastore().getUsingSourceObjectId(item.getParentCaseId());
+                final ArchivedCaseItem archivedParentCaseItem = getArchivedCaseUsingSourceObjectId(item.getParentCaseId());
                 item.setDeploy(FlowNodeItem.ATTRIBUTE_PARENT_CASE_ID,
                         archivedParentCaseItem);
             }
         }
 
         if (isDeployable(FlowNodeItem.ATTRIBUTE_ROOT_CONTAINER_ID, deploys, item)) {
-            CaseItem rootContainerCase = getCaseDatastore().get(item
+            CaseItem rootContainerCase = getCase(item
                     .getAttributeValueAsAPIID(HumanTaskItem.ATTRIBUTE_ROOT_CONTAINER_ID));
             if (rootContainerCase == null) {
                 rootContainerCase = getArchivedCase(item.getAttributeValue(HumanTaskItem.ATTRIBUTE_ROOT_CONTAINER_ID));
             }
             if (rootContainerCase != null) {
-                item.setDeploy(FlowNodeItem.ATTRIBUTE_ROOT_CONTAINER_ID, new ProcessDatastore(getEngineSession()).get(rootContainerCase.getProcessId()));
+                setDeployIfFound(item, FlowNodeItem.ATTRIBUTE_ROOT_CONTAINER_ID, getProcess(rootContainerCase.getProcessId()));
             }
         }
 
         if (isDeployable(FlowNodeItem.ATTRIBUTE_EXECUTED_BY_USER_ID, deploys, item)) {
-            item.setDeploy(FlowNodeItem.ATTRIBUTE_EXECUTED_BY_USER_ID,
-                    new UserDatastore(getEngineSession()).get(item.getExecutedByUserId()));
+            setDeployIfFound(item, FlowNodeItem.ATTRIBUTE_EXECUTED_BY_USER_ID,
+                    getUser(item.getExecutedByUserId()));
         }
 
         if (isDeployable(FlowNodeItem.ATTRIBUTE_EXECUTED_BY_SUBSTITUTE_USER_ID, deploys, item)) {
-            item.setDeploy(FlowNodeItem.ATTRIBUTE_EXECUTED_BY_SUBSTITUTE_USER_ID,
-                    new UserDatastore(getEngineSession()).get(item.getExecutedBySubstituteUserId()));
+            setDeployIfFound(item, FlowNodeItem.ATTRIBUTE_EXECUTED_BY_SUBSTITUTE_USER_ID,
+                    getUser(item.getExecutedBySubstituteUserId()));
         }
 
         if (isDeployable(HumanTaskItem.ATTRIBUTE_ACTOR_ID, deploys, item)) {
@@ -167,8 +280,8 @@ APIHasSearch<ITEM> {
         }
 
         if (isDeployable(HumanTaskItem.ATTRIBUTE_ASSIGNED_USER_ID, deploys, item)) {
-            item.setDeploy(HumanTaskItem.ATTRIBUTE_ASSIGNED_USER_ID,
-                    new UserDatastore(getEngineSession()).get(item.getAttributeValueAsAPIID(HumanTaskItem.ATTRIBUTE_ASSIGNED_USER_ID)));
+            setDeployIfFound(item, HumanTaskItem.ATTRIBUTE_ASSIGNED_USER_ID,
+                    getUser(item.getAttributeValueAsAPIID(HumanTaskItem.ATTRIBUTE_ASSIGNED_USER_ID)));
         }
 
         addDeployer(new GenericDeployer<IItem>(new DatastoreHasGet<IItem>() {
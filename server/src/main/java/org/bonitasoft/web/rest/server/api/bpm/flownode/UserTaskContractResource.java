@@ -13,9 +13,13 @@
  **/
 package org.bonitasoft.web.rest.server.api.bpm.flownode;
 
+import org.bonitasoft.console.common.server.utils.CachedContract;
+import org.bonitasoft.console.common.server.utils.ContractDefinitionCache;
 import org.bonitasoft.console.common.server.utils.ContractTypeConverter;
 import org.bonitasoft.engine.api.ProcessAPI;
 import org.bonitasoft.engine.bpm.contract.ContractDefinition;
+import org.bonitasoft.engine.bpm.flownode.ActivityInstanceNotFoundException;
+import org.bonitasoft.engine.bpm.flownode.HumanTaskInstance;
 import org.bonitasoft.engine.bpm.flownode.UserTaskNotFoundException;
 import org.bonitasoft.web.rest.server.api.resource.CommonResource;
 import org.bonitasoft.web.toolkit.client.common.exception.api.APIException;
@@ -31,16 +35,31 @@ public class UserTaskContractResource extends CommonResource {
 
     private final ProcessAPI processAPI;
 
+    private final ContractDefinitionCache contractCache;
+
     protected ContractTypeConverter typeConverterUtil = new ContractTypeConverter(ContractTypeConverter.ISO_8601_DATE_PATTERNS);
 
-    public UserTaskContractResource(final ProcessAPI processAPI) {
+    public UserTaskContractResource(final ProcessAPI processAPI, final ContractDefinitionCache contractCache) {
         this.processAPI = processAPI;
+        this.contractCache = contractCache;
     }
 
     @Get("json")
     public ContractDefinition getContract() throws UserTaskNotFoundException {
-        ContractDefinition processContract = processAPI.getUserTaskContract(getTaskIdParameter());
-        return typeConverterUtil.getAdaptedContractDefinition(processContract);
+        return getTaskContract(getTaskIdParameter()).getAdaptedContract();
+    }
+
+    protected CachedContract getTaskContract(final long taskId) throws UserTaskNotFoundException {
+        return contractCache.getTaskContract(taskId, () -> getHumanTaskInstance(taskId),
+                () -> typeConverterUtil.prepareContract(processAPI.getUserTaskContract(taskId)));
+    }
+
+    private HumanTaskInstance getHumanTaskInstance(final long taskId) throws UserTaskNotFoundException {
+        try {
+            return processAPI.getHumanTaskInstance(taskId);
+        } catch (final ActivityInstanceNotFoundException e) {
+            throw new UserTaskNotFoundException(e.getMessage());
+        }
     }
 
     protected long getTaskIdParameter() {
@@ -9,6 +9,7 @@
 
 package org.bonitasoft.web.rest.server.api.bpm.flownode;
 
+import org.bonitasoft.console.common.server.utils.ContractDefinitionCache;
 import org.bonitasoft.engine.api.ProcessAPI;
 import org.bonitasoft.web.rest.server.ResourceFinder;
 import org.restlet.Request;
@@ -23,6 +24,7 @@ public class UserTaskContractResourceFinder extends ResourceFinder {
     @Override
     public ServerResource create(final Request request, final Response response) {
         final ProcessAPI processAPI = getProcessAPI(request);
-        return new UserTaskContractResource(processAPI);
+        final long tenantId = getAPISession(request).getTenantId();
+        return new UserTaskContractResource(processAPI, ContractDefinitionCache.getInstance(tenantId));
     }
 }
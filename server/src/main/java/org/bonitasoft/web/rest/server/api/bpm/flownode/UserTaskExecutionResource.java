@@ -18,11 +18,15 @@ import java.io.Serializable;
 import java.util.Map;
 
 import org.bonitasoft.console.common.server.preferences.properties.PropertiesFactory;
+import org.bonitasoft.console.common.server.utils.CachedContract;
+import org.bonitasoft.console.common.server.utils.ContractDefinitionCache;
 import org.bonitasoft.console.common.server.utils.ContractTypeConverter;
+import org.bonitasoft.console.common.server.utils.FileContentMemoryBudget;
 import org.bonitasoft.engine.api.ProcessAPI;
-import org.bonitasoft.engine.bpm.contract.ContractDefinition;
 import org.bonitasoft.engine.bpm.contract.ContractViolationException;
+import org.bonitasoft.engine.bpm.flownode.ActivityInstanceNotFoundException;
 import org.bonitasoft.engine.bpm.flownode.FlowNodeExecutionException;
+import org.bonitasoft.engine.bpm.flownode.HumanTaskInstance;
 import org.bonitasoft.engine.bpm.flownode.UserTaskNotFoundException;
 import org.bonitasoft.engine.exception.UpdateException;
 import org.bonitasoft.engine.session.APISession;
@@ -46,12 +50,15 @@ public class UserTaskExecutionResource extends CommonResource {
 
     private final APISession apiSession;
 
+    private final ContractDefinitionCache contractCache;
+
     protected ContractTypeConverter typeConverterUtil = new ContractTypeConverter(
             ContractTypeConverter.ISO_8601_DATE_PATTERNS);
 
-    public UserTaskExecutionResource(final ProcessAPI processAPI, final APISession apiSession) {
+    public UserTaskExecutionResource(final ProcessAPI processAPI, final APISession apiSession, final ContractDefinitionCache contractCache) {
         this.processAPI = processAPI;
         this.apiSession = apiSession;
+        this.contractCache = contractCache;
     }
 
     @Post("json")
@@ -62,15 +69,17 @@ public class UserTaskExecutionResource extends CommonResource {
         final long taskId = getTaskIdParameter();
         boolean assign = Boolean.parseBoolean(getRequestParameter(ASSIGN));
         try {
-            final ContractDefinition taskContract = processAPI.getUserTaskContract(taskId);
+            final CachedContract taskContract = getTaskContract(taskId);
             final long tenantId = apiSession.getTenantId();
             final long maxSizeForTenant = PropertiesFactory.getConsoleProperties(tenantId).getMaxSize();
-            final Map<String, Serializable> processedInputs = typeConverterUtil.getProcessedInput(taskContract, inputs,
-                    maxSizeForTenant, tenantId);
-            if (assign) {
-                processAPI.assignAndExecuteUserTask(userId, taskId, processedInputs);
-            } else {
-                processAPI.executeUserTask(userId, taskId, processedInputs);
+            try (FileContentMemoryBudget.Lease fileContentsLease = typeConverterUtil.reserveFileContents(taskContract, inputs, tenantId)) {
+                final Map<String, Serializable> processedInputs = typeConverterUtil.getProcessedInputFromPlan(taskContract, inputs,
+                        maxSizeForTenant, tenantId);
+                if (assign) {
+                    processAPI.assignAndExecuteUserTask(userId, taskId, processedInputs);
+                } else {
+                    processAPI.executeUserTask(userId, taskId, processedInputs);
+                }
             }
             typeConverterUtil.deleteTemporaryFiles(inputs, tenantId);
 
@@ -79,6 +88,19 @@ public class UserTaskExecutionResource extends CommonResource {
         }
     }
 
+    protected CachedContract getTaskContract(final long taskId) throws UserTaskNotFoundException {
+        return contractCache.getTaskContract(taskId, () -> getHumanTaskInstance(taskId),
+                () -> typeConverterUtil.prepareContract(processAPI.getUserTaskContract(taskId)));
+    }
+
+    private HumanTaskInstance getHumanTaskInstance(final long taskId) throws UserTaskNotFoundException {
+        try {
+            return processAPI.getHumanTaskInstance(taskId);
+        } catch (final ActivityInstanceNotFoundException e) {
+            throw new UserTaskNotFoundException(e.getMessage());
+        }
+    }
+
     protected long getTaskIdParameter() {
         final String taskId = getAttribute(TASK_ID);
         if (taskId == null) {
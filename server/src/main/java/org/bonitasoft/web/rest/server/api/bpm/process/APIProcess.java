@@ -27,6 +27,7 @@ import org.bonitasoft.web.rest.server.api.deployer.UserDeployer;
 import org.bonitasoft.web.rest.server.datastore.bpm.cases.CaseDatastore;
 import org.bonitasoft.web.rest.server.datastore.bpm.process.ProcessDatastore;
 import org.bonitasoft.web.rest.server.datastore.organization.UserDatastore;
+import org.bonitasoft.web.rest.server.framework.BatchCounters;
 import org.bonitasoft.web.rest.server.framework.api.APIHasAdd;
 import org.bonitasoft.web.rest.server.framework.api.APIHasDelete;
 import org.bonitasoft.web.rest.server.framework.api.APIHasGet;
@@ -113,26 +114,50 @@ public class APIProcess extends ConsoleAPI<ProcessItem> implements
         fillNumberOfOpenCasesIfOpenCounterExists(item, counters);
     }
 
+    @Override
+    protected void fillCounters(final List<ProcessItem> items, final List<String> counters) {
+        //the engine session is resolved on the request thread, the counters being computed on the threads of the batch counters
+        final CaseDatastore caseDatastore = getCaseDatastore();
+        if (counters.contains(ProcessItem.COUNTER_FAILED_CASES)) {
+            getBatchCounters().fill(items, ProcessItem.COUNTER_FAILED_CASES, item -> countFailedCases(caseDatastore, item));
+        }
+        if (counters.contains(ProcessItem.COUNTER_OPEN_CASES)) {
+            getBatchCounters().fill(items, ProcessItem.COUNTER_OPEN_CASES, item -> countOpenCases(caseDatastore, item));
+        }
+    }
+
     private void fillNumberOfFailedCasesIfFailedCounterExists(final ProcessItem item, final List<String> counters) {
         if (counters.contains(ProcessItem.COUNTER_FAILED_CASES)) {
-            final Map<String, String> filters = new HashMap<>();
-            filters.put(CaseItem.FILTER_CALLER, "any");
-            filters.put(CaseItem.ATTRIBUTE_PROCESS_ID, item.getId().toString());
-            filters.put(CaseItem.FILTER_STATE, ProcessInstanceState.ERROR.name());
-            item.setAttribute(ProcessItem.COUNTER_FAILED_CASES, getCaseDatastore().count(null, null, filters));
+            item.setAttribute(ProcessItem.COUNTER_FAILED_CASES, countFailedCases(getCaseDatastore(), item));
         }
     }
 
     private void fillNumberOfOpenCasesIfOpenCounterExists(final ProcessItem item, final List<String> counters) {
         if (counters.contains(ProcessItem.COUNTER_OPEN_CASES)) {
-            // Open is all states without the terminal states
-            final Map<String, String> filters = new HashMap<>();
-            filters.put(CaseItem.FILTER_CALLER, "any");
-            filters.put(CaseItem.ATTRIBUTE_PROCESS_ID, item.getId().toString());
-            item.setAttribute(ProcessItem.COUNTER_OPEN_CASES, getCaseDatastore().count(null, null, filters));
+            item.setAttribute(ProcessItem.COUNTER_OPEN_CASES, countOpenCases(getCaseDatastore(), item));
         }
     }
 
+    private long countFailedCases(final CaseDatastore caseDatastore, final ProcessItem item) {
+        final Map<String, String> filters = new HashMap<>();
+        filters.put(CaseItem.FILTER_CALLER, "any");
+        filters.put(CaseItem.ATTRIBUTE_PROCESS_ID, item.getId().toString());
+        filters.put(CaseItem.FILTER_STATE, ProcessInstanceState.ERROR.name());
+        return caseDatastore.count(null, null, filters);
+    }
+
+    private long countOpenCases(final CaseDatastore caseDatastore, final ProcessItem item) {
+        // Open is all states without the terminal states
+        final Map<String, String> filters = new HashMap<>();
+        filters.put(CaseItem.FILTER_CALLER, "any");
+        filters.put(CaseItem.ATTRIBUTE_PROCESS_ID, item.getId().toString());
+        return caseDatastore.count(null, null, filters);
+    }
+
+    protected BatchCounters getBatchCounters() {
+        return BatchCounters.getInstance();
+    }
+
     protected ProcessDatastore getProcessDatastore() {
         return new ProcessDatastore(getEngineSession());
     }
@@ -0,0 +1,59 @@
+/**
+ * Copyright (C) 2020 Bonitasoft S.A.
+ * Bonitasoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.web.rest.server.api.bpm.process;
+
+import java.util.List;
+
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+
+/**
+ * Jackson module writing the numeric id properties of beans as strings, since javascript clients cannot represent all the long
+ * ids generated by the engine.
+ */
+public class IdAsStringModule extends SimpleModule {
+
+    private static final long serialVersionUID = 1L;
+
+    static final String ID_PROPERTY = "id";
+
+    public IdAsStringModule() {
+        super(IdAsStringModule.class.getSimpleName());
+        setSerializerModifier(new IdAsStringSerializerModifier());
+    }
+
+    private static class IdAsStringSerializerModifier extends BeanSerializerModifier {
+
+        @Override
+        public List<BeanPropertyWriter> changeProperties(final SerializationConfig config, final BeanDescription beanDescription,
+                final List<BeanPropertyWriter> beanProperties) {
+            for (final BeanPropertyWriter beanProperty : beanProperties) {
+                if (ID_PROPERTY.equals(beanProperty.getName()) && isIntegral(beanProperty.getType().getRawClass())) {
+                    beanProperty.assignSerializer(ToStringSerializer.instance);
+                }
+            }
+            return beanProperties;
+        }
+
+        private boolean isIntegral(final Class<?> type) {
+            return type == long.class || type == Long.class || type == int.class || type == Integer.class;
+        }
+    }
+
+}
@@ -13,6 +13,8 @@
  **/
 package org.bonitasoft.web.rest.server.api.bpm.process;
 
+import org.bonitasoft.console.common.server.utils.CachedContract;
+import org.bonitasoft.console.common.server.utils.ContractDefinitionCache;
 import org.bonitasoft.console.common.server.utils.ContractTypeConverter;
 import org.bonitasoft.engine.api.ProcessAPI;
 import org.bonitasoft.engine.bpm.contract.ContractDefinition;
@@ -30,16 +32,23 @@ public class ProcessContractResource extends CommonResource {
 
     private final ProcessAPI processAPI;
 
+    private final ContractDefinitionCache contractCache;
+
     protected ContractTypeConverter typeConverterUtil = new ContractTypeConverter(ContractTypeConverter.ISO_8601_DATE_PATTERNS);
 
-    public ProcessContractResource(final ProcessAPI processAPI) {
+    public ProcessContractResource(final ProcessAPI processAPI, final ContractDefinitionCache contractCache) {
         this.processAPI = processAPI;
+        this.contractCache = contractCache;
     }
 
     @Get("json")
     public ContractDefinition getContract() throws ProcessDefinitionNotFoundException {
-        ContractDefinition processContract = processAPI.getProcessContract(getProcessDefinitionIdParameter());
-        return typeConverterUtil.getAdaptedContractDefinition(processContract);
+        return getProcessContract(getProcessDefinitionIdParameter()).getAdaptedContract();
+    }
+
+    protected CachedContract getProcessContract(final long processDefinitionId) throws ProcessDefinitionNotFoundException {
+        return contractCache.getProcessContract(processDefinitionId,
+                () -> typeConverterUtil.prepareContract(processAPI.getProcessContract(processDefinitionId)));
     }
 
     protected long getProcessDefinitionIdParameter() {
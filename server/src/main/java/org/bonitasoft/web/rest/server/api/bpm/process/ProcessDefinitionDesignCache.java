@@ -0,0 +1,117 @@
+/**
+ * Copyright (C) 2020 Bonitasoft S.A.
+ * Bonitasoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.web.rest.server.api.bpm.process;
+
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import org.bonitasoft.console.common.server.preferences.properties.PropertiesFactory;
+import org.bonitasoft.console.common.server.utils.CacheUtil;
+import org.bonitasoft.console.common.server.utils.TenantCache;
+import org.bonitasoft.engine.bpm.process.DesignProcessDefinition;
+import org.bonitasoft.web.rest.server.api.system.SHA1Generator;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Tenant cache of the JSON of the process definition designs.
+ * The design of a deployed process never changes and process definition ids are never reused, so entries do not expire: they are
+ * evicted above the max size configured in console-config.properties or removed when the process is deleted.
+ */
+public class ProcessDefinitionDesignCache extends TenantCache {
+
+    protected static final String PROCESS_DESIGN_CACHE = "processDesignCache";
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+            .configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false)
+            .registerModule(new IdAsStringModule());
+
+    private final String cacheName;
+
+    public static ProcessDefinitionDesignCache getInstance(final long tenantId) {
+        return getInstance(ProcessDefinitionDesignCache.class, tenantId,
+                id -> new ProcessDefinitionDesignCache(id, PropertiesFactory.getConsoleProperties(id).getProcessDesignCacheMaxSize()));
+    }
+
+    ProcessDefinitionDesignCache(final long tenantId, final int maxSize) {
+        super(tenantId);
+        cacheName = createCache(PROCESS_DESIGN_CACHE, maxSize, 0);
+    }
+
+    /**
+     * @return the serialized design of the process definition or null if it is not cached
+     */
+    public SerializedDesign get(final long processDefinitionId) {
+        return (SerializedDesign) CacheUtil.get(diskStorePath, cacheName, processDefinitionId);
+    }
+
+    /**
+     * Serialize the design and store it in the cache
+     *
+     * @return the serialized design
+     */
+    public SerializedDesign store(final long processDefinitionId, final DesignProcessDefinition design) throws IOException {
+        final SerializedDesign serializedDesign = serialize(design);
+        CacheUtil.store(diskStorePath, cacheName, processDefinitionId, serializedDesign);
+        return serializedDesign;
+    }
+
+    public void remove(final long processDefinitionId) {
+        CacheUtil.remove(diskStorePath, cacheName, processDefinitionId);
+    }
+
+    public void clear() {
+        CacheUtil.clear(diskStorePath, cacheName);
+    }
+
+    static SerializedDesign serialize(final DesignProcessDefinition design) throws IOException {
+        final byte[] content = OBJECT_MAPPER.writeValueAsBytes(design);
+        return new SerializedDesign(content, SHA1Generator.getStringFromBytes(sha1(content)));
+    }
+
+    private static byte[] sha1(final byte[] content) {
+        try {
+            return MessageDigest.getInstance("SHA-1").digest(content);
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * UTF-8 JSON of a design and the hash of its content used as entity tag
+     */
+    public static class SerializedDesign {
+
+        private final byte[] content;
+
+        private final String tag;
+
+        SerializedDesign(final byte[] content, final String tag) {
+            this.content = content;
+            this.tag = tag;
+        }
+
+        public byte[] getContent() {
+            return content;
+        }
+
+        public String getTag() {
+            return tag;
+        }
+    }
+
+}
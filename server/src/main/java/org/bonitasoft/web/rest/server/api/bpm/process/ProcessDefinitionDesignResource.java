@@ -16,16 +16,17 @@ package org.bonitasoft.web.rest.server.api.bpm.process;
 import java.io.IOException;
 
 import org.bonitasoft.engine.api.ProcessAPI;
-import org.bonitasoft.engine.bpm.process.DesignProcessDefinition;
 import org.bonitasoft.engine.bpm.process.ProcessDefinitionNotFoundException;
+import org.bonitasoft.web.rest.server.api.bpm.process.ProcessDefinitionDesignCache.SerializedDesign;
 import org.bonitasoft.web.rest.server.api.resource.CommonResource;
 import org.bonitasoft.web.toolkit.client.common.exception.api.APIException;
 import org.restlet.data.CharacterSet;
-import org.restlet.ext.jackson.JacksonRepresentation;
+import org.restlet.data.MediaType;
+import org.restlet.data.Tag;
+import org.restlet.representation.ByteArrayRepresentation;
+import org.restlet.representation.Representation;
 import org.restlet.resource.Get;
 
-import com.fasterxml.jackson.databind.SerializationFeature;
-
 /**
  * @author Nicolas Tith
  */
@@ -35,26 +36,28 @@ public class ProcessDefinitionDesignResource extends CommonResource {
 
     private final ProcessAPI processAPI;
 
-    public ProcessDefinitionDesignResource(final ProcessAPI processAPI) {
-        this.processAPI = processAPI;
-    }
+    private final ProcessDefinitionDesignCache designCache;
 
-    @Get("json")
-    public String getDesign() throws ProcessDefinitionNotFoundException, IOException {
-        final DesignProcessDefinition design = processAPI.getDesignProcessDefinition(getProcessDefinitionIdParameter());
-        final JacksonRepresentation<DesignProcessDefinition> jacksonRepresentation = new JacksonRepresentation<DesignProcessDefinition>(design);
-        jacksonRepresentation.getObjectMapper().configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false);
-        jacksonRepresentation.setCharacterSet(CharacterSet.UTF_8);
-        return replaceLongIdToString(jacksonRepresentation.getText());
+    public ProcessDefinitionDesignResource(final ProcessAPI processAPI, final ProcessDefinitionDesignCache designCache) {
+        this.processAPI = processAPI;
+        this.designCache = designCache;
     }
 
     /**
-     * @param design
-     * @return
-     * @throws IOException
+     * The design is tagged with the hash of its content so that clients can revalidate it with If-None-Match (answered with a 304
+     * by Restlet conditional handling)
      */
-    protected String replaceLongIdToString(final String design) throws IOException {
-        return design.replaceAll("([^\\\\]\"id\"\\s*:\\s*)(\\d+)", "$1\"$2\"");
+    @Get("json")
+    public Representation getDesign() throws ProcessDefinitionNotFoundException, IOException {
+        final long processDefinitionId = getProcessDefinitionIdParameter();
+        SerializedDesign design = designCache.get(processDefinitionId);
+        if (design == null) {
+            design = designCache.store(processDefinitionId, processAPI.getDesignProcessDefinition(processDefinitionId));
+        }
+        final ByteArrayRepresentation representation = new ByteArrayRepresentation(design.getContent(), MediaType.APPLICATION_JSON);
+        representation.setCharacterSet(CharacterSet.UTF_8);
+        representation.setTag(new Tag(design.getTag(), false));
+        return representation;
     }
 
     protected long getProcessDefinitionIdParameter() {
@@ -23,6 +23,7 @@ public class ProcessDefinitionDesignResourceFinder extends ResourceFinder {
     @Override
     public ServerResource create(final Request request, final Response response) {
         final ProcessAPI processAPI = getProcessAPI(request);
-        return new ProcessDefinitionDesignResource(processAPI);
+        final long tenantId = getAPISession(request).getTenantId();
+        return new ProcessDefinitionDesignResource(processAPI, ProcessDefinitionDesignCache.getInstance(tenantId));
     }
 }
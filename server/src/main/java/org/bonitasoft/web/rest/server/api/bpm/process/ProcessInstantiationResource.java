@@ -18,9 +18,11 @@ import java.io.Serializable;
 import java.util.Map;
 
 import org.bonitasoft.console.common.server.preferences.properties.PropertiesFactory;
+import org.bonitasoft.console.common.server.utils.CachedContract;
+import org.bonitasoft.console.common.server.utils.ContractDefinitionCache;
 import org.bonitasoft.console.common.server.utils.ContractTypeConverter;
+import org.bonitasoft.console.common.server.utils.FileContentMemoryBudget;
 import org.bonitasoft.engine.api.ProcessAPI;
-import org.bonitasoft.engine.bpm.contract.ContractDefinition;
 import org.bonitasoft.engine.bpm.contract.ContractViolationException;
 import org.bonitasoft.engine.bpm.process.ProcessActivationException;
 import org.bonitasoft.engine.bpm.process.ProcessDefinitionNotFoundException;
@@ -51,11 +53,14 @@ public class ProcessInstantiationResource extends CommonResource {
 
     private final APISession apiSession;
 
+    private final ContractDefinitionCache contractCache;
+
     protected ContractTypeConverter typeConverterUtil = new ContractTypeConverter(ContractTypeConverter.ISO_8601_DATE_PATTERNS);
 
-    public ProcessInstantiationResource(final ProcessAPI processAPI, final APISession apiSession) {
+    public ProcessInstantiationResource(final ProcessAPI processAPI, final APISession apiSession, final ContractDefinitionCache contractCache) {
         this.processAPI = processAPI;
         this.apiSession = apiSession;
+        this.contractCache = contractCache;
     }
 
     @Post("json")
@@ -64,15 +69,18 @@ public class ProcessInstantiationResource extends CommonResource {
         final String userId = getRequestParameter(USER_PARAM);
         final long processDefinitionId = getProcessDefinitionIdParameter();
         try {
-            final ContractDefinition processContract = processAPI.getProcessContract(processDefinitionId);
+            final CachedContract processContract = getProcessContract(processDefinitionId);
             final long tenantId = apiSession.getTenantId();
             final long maxSizeForTenant = PropertiesFactory.getConsoleProperties(tenantId).getMaxSize();
-            final Map<String, Serializable> processedInputs = typeConverterUtil.getProcessedInput(processContract, inputs, maxSizeForTenant, tenantId);
             long processInstanceId;
-            if (userId == null) {
-                processInstanceId = processAPI.startProcessWithInputs(processDefinitionId, processedInputs).getId();
-            } else {
-                processInstanceId = processAPI.startProcessWithInputs(Long.parseLong(userId), processDefinitionId, processedInputs).getId();
+            try (FileContentMemoryBudget.Lease fileContentsLease = typeConverterUtil.reserveFileContents(processContract, inputs, tenantId)) {
+                final Map<String, Serializable> processedInputs = typeConverterUtil.getProcessedInputFromPlan(processContract, inputs, maxSizeForTenant,
+                        tenantId);
+                if (userId == null) {
+                    processInstanceId = processAPI.startProcessWithInputs(processDefinitionId, processedInputs).getId();
+                } else {
+                    processInstanceId = processAPI.startProcessWithInputs(Long.parseLong(userId), processDefinitionId, processedInputs).getId();
+                }
             }
             //clean temp files
             typeConverterUtil.deleteTemporaryFiles(inputs, tenantId);
@@ -87,6 +95,11 @@ public class ProcessInstantiationResource extends CommonResource {
         }
     }
 
+    protected CachedContract getProcessContract(final long processDefinitionId) throws ProcessDefinitionNotFoundException {
+        return contractCache.getProcessContract(processDefinitionId,
+                () -> typeConverterUtil.prepareContract(processAPI.getProcessContract(processDefinitionId)));
+    }
+
     protected CaseItem convertEngineToConsoleItem(final ProcessInstance item) {
         return new CaseItemConverter().convert(item);
     }
@@ -9,6 +9,7 @@
 
 package org.bonitasoft.web.rest.server.api.bpm.process;
 
+import org.bonitasoft.console.common.server.utils.ContractDefinitionCache;
 import org.bonitasoft.engine.api.ProcessAPI;
 import org.bonitasoft.engine.session.APISession;
 import org.bonitasoft.web.rest.server.ResourceFinder;
@@ -25,6 +26,6 @@ public class ProcessInstantiationResourceFinder extends ResourceFinder {
     public ServerResource create(final Request request, final Response response) {
         final ProcessAPI processAPI = getProcessAPI(request);
         final APISession apiSession = getAPISession(request);
-        return new ProcessInstantiationResource(processAPI, apiSession);
+        return new ProcessInstantiationResource(processAPI, apiSession, ContractDefinitionCache.getInstance(apiSession.getTenantId()));
     }
 }
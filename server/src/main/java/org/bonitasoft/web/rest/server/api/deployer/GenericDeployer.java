@@ -16,8 +16,18 @@
  */
 package org.bonitasoft.web.rest.server.api.deployer;
 
-import org.bonitasoft.web.rest.server.framework.Deployer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.bonitasoft.web.rest.server.framework.BatchDeployer;
 import org.bonitasoft.web.rest.server.framework.api.DatastoreHasGet;
+import org.bonitasoft.web.rest.server.framework.api.DatastoreHasGetMultiple;
 import org.bonitasoft.web.toolkit.client.data.APIID;
 import org.bonitasoft.web.toolkit.client.data.item.IItem;
 
@@ -25,7 +35,9 @@ import org.bonitasoft.web.toolkit.client.data.item.IItem;
  * @author Vincent Elcrin
  * 
  */
-public class GenericDeployer<I extends IItem> implements Deployer {
+public class GenericDeployer<I extends IItem> implements BatchDeployer {
+
+    private static final Logger LOGGER = Logger.getLogger(GenericDeployer.class.getName());
 
     private final DatastoreHasGet<I> getter;
 
@@ -48,6 +60,28 @@ public class GenericDeployer<I extends IItem> implements Deployer {
         }
     }
 
+    @Override
+    public void deployIn(final List<? extends IItem> items) {
+        final Set<APIID> ids = new LinkedHashSet<>();
+        for (final IItem item : items) {
+            if (isDeployable(attribute, item)) {
+                ids.add(getItemId(item));
+            }
+        }
+        if (ids.isEmpty()) {
+            return;
+        }
+        final Map<APIID, I> deployedItems = getItems(new ArrayList<>(ids));
+        for (final IItem item : items) {
+            if (isDeployable(attribute, item)) {
+                final I deployedItem = deployedItems.get(getItemId(item));
+                if (deployedItem != null) {
+                    item.setDeploy(attribute, deployedItem);
+                }
+            }
+        }
+    }
+
     protected final boolean isDeployable(final String attribute, final IItem item) {
         return item.getAttributeValueAsAPIID(attribute) != null;
     }
@@ -59,4 +93,25 @@ public class GenericDeployer<I extends IItem> implements Deployer {
     private I getItem(APIID profileId) {
         return getter.get(profileId);
     }
+
+    @SuppressWarnings("unchecked")
+    private Map<APIID, I> getItems(final List<APIID> ids) {
+        if (getter instanceof DatastoreHasGetMultiple) {
+            return ((DatastoreHasGetMultiple<I>) getter).get(ids);
+        }
+        final Map<APIID, I> items = new HashMap<>();
+        for (final APIID id : ids) {
+            try {
+                items.put(id, getter.get(id));
+            } catch (final Exception e) {
+                // the other items are still deployed, the results referencing this one are returned without its deploy
+                if (LOGGER.isLoggable(Level.FINE)) {
+                    LOGGER.log(Level.FINE, "Unable to deploy the " + attribute + " attribute of id " + id, e);
+                } else if (LOGGER.isLoggable(Level.INFO)) {
+                    LOGGER.log(Level.INFO, "Unable to deploy the " + attribute + " attribute of id " + id);
+                }
+            }
+        }
+        return items;
+    }
 }
@@ -6,11 +6,13 @@ package org.bonitasoft.web.rest.server.api.document.api.impl;
 
 import java.io.ByteArrayOutputStream;
 import java.io.File;
-import java.io.FileInputStream;
+import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.FileNameMap;
 import java.net.URLConnection;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 
 /**
  * @author Yongtao Guo
@@ -39,11 +41,11 @@ public class DocumentUtil {
             throw new IOException("File too big");
         }
 
-        final FileInputStream input = new FileInputStream(f);
+        // read straight into an array of the file size, without copying an intermediate buffer
         try {
-            return getArrayByte(input, (int) length);
-        } finally {
-            input.close();
+            return Files.readAllBytes(f.toPath());
+        } catch (final NoSuchFileException e) {
+            throw new FileNotFoundException(f.getPath());
         }
     }
 
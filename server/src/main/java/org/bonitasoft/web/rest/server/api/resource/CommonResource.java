@@ -37,6 +37,7 @@ import org.bonitasoft.web.rest.server.datastore.utils.SearchOptionsCreator;
 import org.bonitasoft.web.rest.server.datastore.utils.Sorts;
 import org.bonitasoft.web.rest.server.framework.APIServletCall;
 import org.bonitasoft.web.toolkit.client.common.exception.api.APIException;
+import org.bonitasoft.web.toolkit.client.common.exception.api.APIServiceUnavailableException;
 import org.restlet.data.CharacterSet;
 import org.restlet.data.Range;
 import org.restlet.data.Status;
@@ -189,6 +190,8 @@ public class CommonResource extends ServerResource {
             errorMessage.setMessage("File Not Found");
         } else if (t instanceof NotFoundException) {
             status = Status.CLIENT_ERROR_NOT_FOUND;
+        } else if (t instanceof APIServiceUnavailableException) {
+            status = Status.SERVER_ERROR_SERVICE_UNAVAILABLE;
         } else {
             super.doCatch(t);
             status = getStatus();
@@ -0,0 +1,47 @@
+/*******************************************************************************
+ * Copyright (C) 2020 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This library is free software; you can redistribute it and/or modify it under the terms
+ * of the GNU Lesser General Public License as published by the Free Software Foundation
+ * version 2.1 of the License.
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License along with this
+ * program; if not, write to the Free Software Foundation, Inc., 51 Franklin Street, Fifth
+ * Floor, Boston, MA 02110-1301, USA.
+ ******************************************************************************/
+
+package org.bonitasoft.web.rest.server.api.system;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.bonitasoft.web.rest.server.api.resource.CommonResource;
+import org.bonitasoft.web.rest.server.framework.BatchCounters;
+import org.restlet.resource.Get;
+
+/**
+ * Statistics of the counters computed for the search results since the server started, by counter name
+ */
+public class CountersResource extends CommonResource {
+
+    @Get("json")
+    public Map<String, Map<String, Long>> getStatistics() {
+        final Map<String, Map<String, Long>> statistics = new LinkedHashMap<>();
+        for (final Map.Entry<String, BatchCounters.CounterStatistics> counter : getBatchCounters().getStatistics().entrySet()) {
+            final Map<String, Long> counterStatistics = new LinkedHashMap<>();
+            counterStatistics.put("computations", counter.getValue().getComputations());
+            counterStatistics.put("items", counter.getValue().getItems());
+            counterStatistics.put("totalTime", counter.getValue().getTotalTimeInMillis());
+            counterStatistics.put("maxTime", counter.getValue().getMaxTimeInMillis());
+            statistics.put(counter.getKey(), counterStatistics);
+        }
+        return statistics;
+    }
+
+    protected BatchCounters getBatchCounters() {
+        return BatchCounters.getInstance();
+    }
+
+}
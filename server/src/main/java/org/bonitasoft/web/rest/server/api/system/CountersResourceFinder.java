@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (C) 2015 BonitaSoft S.A.
+ * Copyright (C) 2020 BonitaSoft S.A.
  * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
  * This library is free software; you can redistribute it and/or modify it under the terms
  * of the GNU Lesser General Public License as published by the Free Software Foundation
@@ -14,33 +14,15 @@
 
 package org.bonitasoft.web.rest.server.api.system;
 
-/**
- * @author Julien Mege
- */
-public class Translation {
+import org.bonitasoft.web.rest.server.ResourceFinder;
+import org.restlet.Request;
+import org.restlet.Response;
+import org.restlet.resource.ServerResource;
 
-    private String key;
+public class CountersResourceFinder extends ResourceFinder {
 
-    private String value;
-
-    public Translation(String key, String value) {
-        this.key = key;
-        this.value = value;
-    }
-
-    public String getKey() {
-        return key;
-    }
-
-    public void setKey(String key) {
-        this.key = key;
-    }
-
-    public String getValue() {
-        return value;
-    }
-
-    public void setValue(String value) {
-        this.value = value;
+    @Override
+    public ServerResource create(final Request request, final Response response) {
+        return new CountersResource();
     }
 }
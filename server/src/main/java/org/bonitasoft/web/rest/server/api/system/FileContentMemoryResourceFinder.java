@@ -0,0 +1,28 @@
+/*******************************************************************************
+ * Copyright (C) 2020 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This library is free software; you can redistribute it and/or modify it under the terms
+ * of the GNU Lesser General Public License as published by the Free Software Foundation
+ * version 2.1 of the License.
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License along with this
+ * program; if not, write to the Free Software Foundation, Inc., 51 Franklin Street, Fifth
+ * Floor, Boston, MA 02110-1301, USA.
+ ******************************************************************************/
+
+package org.bonitasoft.web.rest.server.api.system;
+
+import org.bonitasoft.web.rest.server.ResourceFinder;
+import org.restlet.Request;
+import org.restlet.Response;
+import org.restlet.resource.ServerResource;
+
+public class FileContentMemoryResourceFinder extends ResourceFinder {
+
+    @Override
+    public ServerResource create(final Request request, final Response response) {
+        return new FileContentMemoryResource();
+    }
+}
@@ -14,17 +14,20 @@
 
 package org.bonitasoft.web.rest.server.api.system;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Map;
-
 import org.bonitasoft.console.common.server.i18n.I18n;
-import org.bonitasoft.engine.command.CommandExecutionException;
-import org.bonitasoft.engine.command.CommandNotFoundException;
-import org.bonitasoft.engine.command.CommandParameterizationException;
+import org.bonitasoft.console.common.server.i18n.TranslationPayload;
 import org.bonitasoft.web.rest.server.api.resource.CommonResource;
 import org.bonitasoft.web.toolkit.client.common.i18n.AbstractI18n;
+import org.restlet.data.CacheDirective;
+import org.restlet.data.CharacterSet;
+import org.restlet.data.Dimension;
+import org.restlet.data.Encoding;
+import org.restlet.data.MediaType;
+import org.restlet.data.Preference;
 import org.restlet.data.Status;
+import org.restlet.data.Tag;
+import org.restlet.representation.ByteArrayRepresentation;
+import org.restlet.representation.Representation;
 import org.restlet.resource.Get;
 
 /**
@@ -32,28 +35,58 @@ import org.restlet.resource.Get;
  */
 public class I18nTanslationResource extends CommonResource {
 
+    /**
+     * How long the clients can keep the translations without revalidating them, when they only change with a redeployment
+     */
+    static final int MAX_AGE_SECONDS = 24 * 60 * 60;
+
     private I18n i18n;
 
     public I18nTanslationResource(I18n i18n) {
         this.i18n = i18n;
     }
 
+    /**
+     * The translations are serialized once per locale. They are tagged with the hash of their content so that clients can revalidate
+     * them with If-None-Match (answered with a 304 by Restlet conditional handling).
+     */
     @Get("json")
-    public List<Translation> getI18nTanslation() throws CommandNotFoundException, CommandExecutionException, CommandParameterizationException {
-        List<Translation> items = new ArrayList<>();
-
+    public Representation getI18nTanslation() {
         String locale = getLocale();
         if (locale == null) {
             getResponse().setStatus(Status.CLIENT_ERROR_BAD_REQUEST, "Request should contains 'locale' parameter.");
             return null;
         }
-        Map<String, String> translations = i18n.getLocale(AbstractI18n.stringToLocale(locale));
+        TranslationPayload translationPayload = i18n.getTranslationPayload(AbstractI18n.stringToLocale(locale));
 
-        for (final Map.Entry<String, String> entry : translations.entrySet()) {
-            items.add(new Translation(entry.getKey(), entry.getValue()));
+        final ByteArrayRepresentation representation;
+        if (acceptsGzip()) {
+            representation = new ByteArrayRepresentation(translationPayload.getGzippedJson(), MediaType.APPLICATION_JSON);
+            representation.getEncodings().add(Encoding.GZIP);
+            representation.setTag(new Tag(translationPayload.getHash() + "-gzip", false));
+        } else {
+            representation = new ByteArrayRepresentation(translationPayload.getJson(), MediaType.APPLICATION_JSON);
+            representation.setTag(new Tag(translationPayload.getHash(), false));
         }
+        representation.setCharacterSet(CharacterSet.UTF_8);
+        getResponse().getDimensions().add(Dimension.ENCODING);
+        getResponse().getCacheDirectives().add(CacheDirective.privateInfo());
+        if (i18n.isWatchingCustomDirectory()) {
+            //the translations can be modified at any time
+            getResponse().getCacheDirectives().add(CacheDirective.noCache());
+        } else {
+            getResponse().getCacheDirectives().add(CacheDirective.maxAge(MAX_AGE_SECONDS));
+        }
+        return representation;
+    }
 
-        return items;
+    private boolean acceptsGzip() {
+        for (final Preference<Encoding> acceptedEncoding : getRequest().getClientInfo().getAcceptedEncodings()) {
+            if (Encoding.GZIP.equals(acceptedEncoding.getMetadata()) && acceptedEncoding.getQuality() > 0) {
+                return true;
+            }
+        }
+        return false;
     }
 
     private String getLocale() {
@@ -0,0 +1,37 @@
+/*******************************************************************************
+ * Copyright (C) 2020 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This library is free software; you can redistribute it and/or modify it under the terms
+ * of the GNU Lesser General Public License as published by the Free Software Foundation
+ * version 2.1 of the License.
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License along with this
+ * program; if not, write to the Free Software Foundation, Inc., 51 Franklin Street, Fifth
+ * Floor, Boston, MA 02110-1301, USA.
+ ******************************************************************************/
+
+package org.bonitasoft.web.rest.server.api.system;
+
+import java.util.Map;
+
+import org.bonitasoft.console.common.server.page.PageMetadataCache;
+import org.bonitasoft.web.rest.server.api.resource.CommonResource;
+import org.restlet.resource.Get;
+
+/**
+ * Statistics of the cache of pages and page mappings of the current tenant
+ */
+public class PageCacheResource extends CommonResource {
+
+    @Get("json")
+    public Map<String, Long> getStatistics() {
+        return getPageMetadataCache().getStatistics();
+    }
+
+    protected PageMetadataCache getPageMetadataCache() {
+        return PageMetadataCache.getInstance(getEngineSession().getTenantId());
+    }
+
+}
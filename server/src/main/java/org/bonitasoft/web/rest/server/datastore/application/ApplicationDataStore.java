@@ -19,6 +19,7 @@ package org.bonitasoft.web.rest.server.datastore.application;
 import java.util.List;
 import java.util.Map;
 
+import org.bonitasoft.console.common.server.utils.ProfilePermissionsCache;
 import org.bonitasoft.engine.api.ApplicationAPI;
 import org.bonitasoft.engine.api.PageAPI;
 import org.bonitasoft.engine.business.application.Application;
@@ -29,6 +30,7 @@ import org.bonitasoft.engine.exception.SearchException;
 import org.bonitasoft.engine.page.Page;
 import org.bonitasoft.engine.search.SearchResult;
 import org.bonitasoft.engine.session.APISession;
+import org.bonitasoft.livingapps.ApplicationRoutingCache;
 import org.bonitasoft.web.rest.model.application.ApplicationItem;
 import org.bonitasoft.web.rest.server.datastore.CommonDatastore;
 import org.bonitasoft.web.rest.server.datastore.filter.Filters;
@@ -55,13 +57,16 @@ DatastoreHasGet<ApplicationItem>,DatastoreHasSearch<ApplicationItem>, DatastoreH
     private final ApplicationAPI applicationAPI;
     private final ApplicationItemConverter converter;
     private final PageAPI pageAPI;
+    private final ApplicationRoutingCache routingCache;
     private static final String CUSTOMPAGE_HOME = "custompage_home";
 
-    public ApplicationDataStore(final APISession engineSession, final ApplicationAPI applicationAPI, final PageAPI pageAPI, final ApplicationItemConverter converter) {
+    public ApplicationDataStore(final APISession engineSession, final ApplicationAPI applicationAPI, final PageAPI pageAPI, final ApplicationItemConverter converter,
+            final ApplicationRoutingCache routingCache) {
         super(engineSession);
         this.applicationAPI = applicationAPI;
         this.pageAPI = pageAPI;
         this.converter = converter;
+        this.routingCache = routingCache;
     }
 
     @Override
@@ -72,6 +77,9 @@ DatastoreHasGet<ApplicationItem>,DatastoreHasSearch<ApplicationItem>, DatastoreH
             }
         } catch (final Exception e) {
             throw new APIException(e);
+        } finally {
+            routingCache.clearRoutingTables();
+            getProfilePermissionsCache().invalidate();
         }
     }
 
@@ -99,6 +107,8 @@ DatastoreHasGet<ApplicationItem>,DatastoreHasSearch<ApplicationItem>, DatastoreH
             return converter.toApplicationItem(application);
         }catch (final Exception e) {
             throw new APIException(e);
+        } finally {
+            getProfilePermissionsCache().invalidate();
         }
     }
 
@@ -110,6 +120,9 @@ DatastoreHasGet<ApplicationItem>,DatastoreHasSearch<ApplicationItem>, DatastoreH
             return converter.toApplicationItem(application);
         } catch (final Exception e) {
             throw new APIException(e);
+        } finally {
+            routingCache.clearRoutingTables();
+            getProfilePermissionsCache().invalidate();
         }
     }
 
@@ -146,6 +159,10 @@ DatastoreHasGet<ApplicationItem>,DatastoreHasSearch<ApplicationItem>, DatastoreH
         return new ApplicationSearchDescriptorConverter();
     }
 
+    protected ProfilePermissionsCache getProfilePermissionsCache() {
+        return ProfilePermissionsCache.getInstance(getEngineSession().getTenantId());
+    }
+
     @Override
     protected ApplicationItem convertEngineToConsoleItem(final Application item) {
         return new ApplicationItemConverter().toApplicationItem(item);
@@ -20,6 +20,7 @@ import org.bonitasoft.engine.api.ApplicationAPI;
 import org.bonitasoft.engine.api.PageAPI;
 import org.bonitasoft.engine.api.TenantAPIAccessor;
 import org.bonitasoft.engine.session.APISession;
+import org.bonitasoft.livingapps.ApplicationRoutingCache;
 import org.bonitasoft.web.toolkit.client.common.exception.api.APIException;
 
 /**
@@ -34,7 +35,8 @@ public class ApplicationDataStoreCreator {
         try {
             applicationAPI = TenantAPIAccessor.getLivingApplicationAPI(session);
             pageAPI = TenantAPIAccessor.getCustomPageAPI(session);
-            return new ApplicationDataStore(session, applicationAPI, pageAPI, getApplicationConverter());
+            return new ApplicationDataStore(session, applicationAPI, pageAPI, getApplicationConverter(),
+                    ApplicationRoutingCache.getInstance(session.getTenantId()));
         } catch (final Exception e) {
             throw new APIException(e);
         }
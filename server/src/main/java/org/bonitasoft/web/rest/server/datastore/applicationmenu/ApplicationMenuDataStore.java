@@ -24,6 +24,7 @@ import org.bonitasoft.engine.business.application.ApplicationMenu;
 import org.bonitasoft.engine.exception.SearchException;
 import org.bonitasoft.engine.search.SearchResult;
 import org.bonitasoft.engine.session.APISession;
+import org.bonitasoft.livingapps.ApplicationRoutingCache;
 import org.bonitasoft.web.rest.model.applicationmenu.ApplicationMenuItem;
 import org.bonitasoft.web.rest.server.datastore.CommonDatastore;
 import org.bonitasoft.web.rest.server.datastore.filter.Filters;
@@ -47,11 +48,14 @@ DatastoreHasUpdate<ApplicationMenuItem>,
 DatastoreHasGet<ApplicationMenuItem>, DatastoreHasSearch<ApplicationMenuItem>, DatastoreHasDelete {
     private final ApplicationAPI applicationAPI;
     private final ApplicationMenuItemConverter converter;
+    private final ApplicationRoutingCache routingCache;
 
-    public ApplicationMenuDataStore(final APISession engineSession, final ApplicationAPI applicationAPI, final ApplicationMenuItemConverter converter) {
+    public ApplicationMenuDataStore(final APISession engineSession, final ApplicationAPI applicationAPI, final ApplicationMenuItemConverter converter,
+            final ApplicationRoutingCache routingCache) {
         super(engineSession);
         this.applicationAPI = applicationAPI;
         this.converter = converter;
+        this.routingCache = routingCache;
     }
 
     @Override
@@ -61,6 +65,8 @@ DatastoreHasGet<ApplicationMenuItem>, DatastoreHasSearch<ApplicationMenuItem>, D
             return converter.toApplicationMenuItem(applicationMenu);
         } catch (final Exception e) {
             throw new APIException(e);
+        } finally {
+            routingCache.invalidateMenus();
         }
     }
 
@@ -71,6 +77,8 @@ DatastoreHasGet<ApplicationMenuItem>, DatastoreHasSearch<ApplicationMenuItem>, D
             return converter.toApplicationMenuItem(applicationMenu);
         } catch (final Exception e) {
             throw new APIException(e);
+        } finally {
+            routingCache.invalidateMenus();
         }
     }
 
@@ -92,6 +100,8 @@ DatastoreHasGet<ApplicationMenuItem>, DatastoreHasSearch<ApplicationMenuItem>, D
             }
         } catch (final Exception e) {
             throw new APIException(e);
+        } finally {
+            routingCache.invalidateMenus();
         }
     }
 
@@ -19,6 +19,7 @@ package org.bonitasoft.web.rest.server.datastore.applicationmenu;
 import org.bonitasoft.engine.api.ApplicationAPI;
 import org.bonitasoft.engine.api.TenantAPIAccessor;
 import org.bonitasoft.engine.session.APISession;
+import org.bonitasoft.livingapps.ApplicationRoutingCache;
 import org.bonitasoft.web.toolkit.client.common.exception.api.APIException;
 
 /**
@@ -31,7 +32,8 @@ public class ApplicationMenuDataStoreCreator {
         ApplicationAPI applicationAPI;
         try {
             applicationAPI = TenantAPIAccessor.getLivingApplicationAPI(session);
-            return new ApplicationMenuDataStore(session, applicationAPI, new ApplicationMenuItemConverter());
+            return new ApplicationMenuDataStore(session, applicationAPI, new ApplicationMenuItemConverter(),
+                    ApplicationRoutingCache.getInstance(session.getTenantId()));
         } catch (final Exception e) {
             throw new APIException(e);
         }
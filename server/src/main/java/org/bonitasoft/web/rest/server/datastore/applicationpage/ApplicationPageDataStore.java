@@ -19,12 +19,14 @@ package org.bonitasoft.web.rest.server.datastore.applicationpage;
 import java.util.List;
 import java.util.Map;
 
+import org.bonitasoft.console.common.server.utils.ProfilePermissionsCache;
 import org.bonitasoft.engine.api.ApplicationAPI;
 import org.bonitasoft.engine.api.PageAPI;
 import org.bonitasoft.engine.business.application.ApplicationPage;
 import org.bonitasoft.engine.exception.SearchException;
 import org.bonitasoft.engine.search.SearchResult;
 import org.bonitasoft.engine.session.APISession;
+import org.bonitasoft.livingapps.ApplicationRoutingCache;
 import org.bonitasoft.web.rest.model.applicationpage.ApplicationPageItem;
 import org.bonitasoft.web.rest.server.datastore.CommonDatastore;
 import org.bonitasoft.web.rest.server.datastore.filter.Filters;
@@ -47,13 +49,15 @@ DatastoreHasGet<ApplicationPageItem>, DatastoreHasSearch<ApplicationPageItem>, D
     private final ApplicationAPI applicationAPI;
     private final PageAPI pageAPI;
     private final ApplicationPageItemConverter converter;
+    private final ApplicationRoutingCache routingCache;
 
     public ApplicationPageDataStore(final APISession engineSession, final ApplicationAPI applicationAPI, final PageAPI pageAPI,
-            final ApplicationPageItemConverter converter) {
+            final ApplicationPageItemConverter converter, final ApplicationRoutingCache routingCache) {
         super(engineSession);
         this.applicationAPI = applicationAPI;
         this.pageAPI = pageAPI;
         this.converter = converter;
+        this.routingCache = routingCache;
     }
 
     @Override
@@ -64,6 +68,9 @@ DatastoreHasGet<ApplicationPageItem>, DatastoreHasSearch<ApplicationPageItem>, D
             return converter.toApplicationPageItem(applicationPage);
         } catch (final Exception e) {
             throw new APIException(e);
+        } finally {
+            routingCache.clearRoutingTables();
+            getProfilePermissionsCache().invalidate();
         }
     }
 
@@ -85,6 +92,9 @@ DatastoreHasGet<ApplicationPageItem>, DatastoreHasSearch<ApplicationPageItem>, D
             }
         } catch (final Exception e) {
             throw new APIException(e);
+        } finally {
+            routingCache.clearRoutingTables();
+            getProfilePermissionsCache().invalidate();
         }
     }
 
@@ -93,6 +103,10 @@ DatastoreHasGet<ApplicationPageItem>, DatastoreHasSearch<ApplicationPageItem>, D
         return new ApplicationPageSearchDescriptorConverter();
     }
 
+    protected ProfilePermissionsCache getProfilePermissionsCache() {
+        return ProfilePermissionsCache.getInstance(getEngineSession().getTenantId());
+    }
+
     @Override
     protected ApplicationPageItem convertEngineToConsoleItem(final ApplicationPage item) {
         return new ApplicationPageItemConverter().toApplicationPageItem(item);
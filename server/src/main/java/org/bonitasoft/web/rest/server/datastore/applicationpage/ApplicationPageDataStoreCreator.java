@@ -20,6 +20,7 @@ import org.bonitasoft.engine.api.ApplicationAPI;
 import org.bonitasoft.engine.api.PageAPI;
 import org.bonitasoft.engine.api.TenantAPIAccessor;
 import org.bonitasoft.engine.session.APISession;
+import org.bonitasoft.livingapps.ApplicationRoutingCache;
 import org.bonitasoft.web.toolkit.client.common.exception.api.APIException;
 
 /**
@@ -32,7 +33,8 @@ public class ApplicationPageDataStoreCreator {
         try {
             final ApplicationAPI applicationAPI = TenantAPIAccessor.getLivingApplicationAPI(session);
             final PageAPI pageAPI = TenantAPIAccessor.getCustomPageAPI(session);
-            return new ApplicationPageDataStore(session, applicationAPI, pageAPI, new ApplicationPageItemConverter());
+            return new ApplicationPageDataStore(session, applicationAPI, pageAPI, new ApplicationPageItemConverter(),
+                    ApplicationRoutingCache.getInstance(session.getTenantId()));
         } catch (final Exception e) {
             throw new APIException(e);
         }
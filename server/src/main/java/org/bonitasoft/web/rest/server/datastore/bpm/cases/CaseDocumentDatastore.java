@@ -28,6 +28,7 @@ import javax.activation.MimetypesFileTypeMap;
 import org.bonitasoft.console.common.server.preferences.constants.WebBonitaConstantsUtils;
 import org.bonitasoft.console.common.server.preferences.properties.PropertiesFactory;
 import org.bonitasoft.console.common.server.utils.BonitaHomeFolderAccessor;
+import org.bonitasoft.console.common.server.utils.FileContentMemoryBudget;
 import org.bonitasoft.console.common.server.utils.UnauthorizedFolderException;
 import org.bonitasoft.engine.api.ProcessAPI;
 import org.bonitasoft.engine.bpm.document.Document;
@@ -50,6 +51,7 @@ import org.bonitasoft.web.rest.server.framework.api.DatastoreHasUpdate;
 import org.bonitasoft.web.rest.server.framework.search.ItemSearchResult;
 import org.bonitasoft.web.toolkit.client.common.exception.api.APIException;
 import org.bonitasoft.web.toolkit.client.common.exception.api.APIForbiddenException;
+import org.bonitasoft.web.toolkit.client.common.exception.api.APIServiceUnavailableException;
 import org.bonitasoft.web.toolkit.client.common.util.StringUtil;
 import org.bonitasoft.web.toolkit.client.data.APIID;
 
@@ -133,18 +135,22 @@ DatastoreHasUpdate<CaseDocumentItem>, DatastoreHasDelete {
 
                 if (urlPath != null) {
                     documentValue = buildDocumentValueFromUrl(urlPath, -1);
-                } else {
+                    final Document document = processAPI.addDocument(caseId, documentName, documentDescription, documentValue);
+                    return convertEngineToConsoleItem(document);
+                }
+                try (FileContentMemoryBudget.Lease fileContentLease = leaseUploadedFileContent(uploadPath)) {
                     documentValue = buildDocumentValueFromUploadPath(uploadPath, index, item.getFileName());
+                    final Document document = processAPI.addDocument(caseId, documentName, documentDescription, documentValue);
+                    return convertEngineToConsoleItem(document);
                 }
 
-                final Document document = processAPI.addDocument(caseId, documentName, documentDescription, documentValue);
-                return convertEngineToConsoleItem(document);
-
             } else {
                 throw new APIException("Error while attaching a new document. Request with bad param value.");
             }
         } catch (final UnauthorizedFolderException e) {
             throw new APIForbiddenException(e.getMessage());
+        } catch (final APIServiceUnavailableException e) {
+            throw e;
         } catch (final Exception e) {
             throw new APIException(e);
         }
@@ -163,24 +169,45 @@ DatastoreHasUpdate<CaseDocumentItem>, DatastoreHasDelete {
                 if (attributes.containsKey(CaseDocumentItem.ATTRIBUTE_URL)) {
                     urlPath = attributes.get(CaseDocumentItem.ATTRIBUTE_URL);
                     documentValue = buildDocumentValueFromUrl(urlPath, -1);
-                } else {
-                    urlPath = attributes.get(CaseDocumentItem.ATTRIBUTE_UPLOAD_PATH);
+                    final Document document = processAPI.updateDocument(id.toLong(), documentValue);
+                    return convertEngineToConsoleItem(document);
+                }
+                urlPath = attributes.get(CaseDocumentItem.ATTRIBUTE_UPLOAD_PATH);
+                try (FileContentMemoryBudget.Lease fileContentLease = leaseUploadedFileContent(urlPath)) {
                     documentValue = buildDocumentValueFromUploadPath(urlPath, -1, attributes.get(CaseDocumentItem.ATTRIBUTE_CONTENT_FILENAME));
+                    final Document document = processAPI.updateDocument(id.toLong(), documentValue);
+                    return convertEngineToConsoleItem(document);
                 }
 
-                final Document document = processAPI.updateDocument(id.toLong(), documentValue);
-                return convertEngineToConsoleItem(document);
-
             } else {
                 throw new APIException("Error while attaching a new document. Request with bad param value.");
             }
         } catch (final UnauthorizedFolderException e) {
             throw new APIForbiddenException(e.getMessage());
+        } catch (final APIServiceUnavailableException e) {
+            throw e;
         } catch (final Exception e) {
             throw new APIException(e);
         }
     }
 
+    /**
+     * Reserve the memory needed to read an uploaded file in the file content budget of the tenant
+     *
+     * @return the lease to close once the engine has stored the content, null if there is no file content to read
+     */
+    protected FileContentMemoryBudget.Lease leaseUploadedFileContent(final String uploadPath) throws IOException {
+        if (uploadPath == null) {
+            return null;
+        }
+        final File theSourceFile = tenantFolder.getTempFile(uploadPath, getEngineSession().getTenantId());
+        if (!theSourceFile.exists() || theSourceFile.length() > maxSizeForTenant * 1048576) {
+            // the document value is rejected without reading the file
+            return null;
+        }
+        return getMemoryBudget().lease(theSourceFile.length());
+    }
+
     protected DocumentValue buildDocumentValueFromUploadPath(final String uploadPath, final int index, String fileName)
             throws DocumentException, IOException {
 
@@ -214,6 +241,10 @@ DatastoreHasUpdate<CaseDocumentItem>, DatastoreHasDelete {
         return documentValue;
     }
 
+    protected FileContentMemoryBudget getMemoryBudget() {
+        return FileContentMemoryBudget.getInstance(getEngineSession().getTenantId());
+    }
+
     protected DocumentValue buildDocumentValueFromUrl(final String urlPath, final int index) {
 
         final DocumentValue documentValue = new DocumentValue(urlPath);
@@ -16,6 +16,7 @@ package org.bonitasoft.web.rest.server.datastore.bpm.process;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.logging.Level;
@@ -26,6 +27,7 @@ import org.bonitasoft.console.common.server.preferences.properties.Configuration
 import org.bonitasoft.console.common.server.preferences.properties.PropertiesFactory;
 import org.bonitasoft.console.common.server.utils.BPMEngineException;
 import org.bonitasoft.console.common.server.utils.BonitaHomeFolderAccessor;
+import org.bonitasoft.console.common.server.utils.ContractDefinitionCache;
 import org.bonitasoft.console.common.server.utils.FormsResourcesUtils;
 import org.bonitasoft.console.common.server.utils.PlatformManagementUtils;
 import org.bonitasoft.console.common.server.utils.UnauthorizedFolderException;
@@ -43,6 +45,7 @@ import org.bonitasoft.engine.search.SearchOptionsBuilder;
 import org.bonitasoft.engine.search.SearchResult;
 import org.bonitasoft.engine.session.APISession;
 import org.bonitasoft.web.rest.model.bpm.process.ProcessItem;
+import org.bonitasoft.web.rest.server.api.bpm.process.ProcessDefinitionDesignCache;
 import org.bonitasoft.web.rest.server.datastore.CommonDatastore;
 import org.bonitasoft.web.rest.server.datastore.bpm.process.helper.ProcessItemConverter;
 import org.bonitasoft.web.rest.server.datastore.bpm.process.helper.SearchProcessHelper;
@@ -51,7 +54,7 @@ import org.bonitasoft.web.rest.server.engineclient.EngineClientFactory;
 import org.bonitasoft.web.rest.server.engineclient.ProcessEngineClient;
 import org.bonitasoft.web.rest.server.framework.api.DatastoreHasAdd;
 import org.bonitasoft.web.rest.server.framework.api.DatastoreHasDelete;
-import org.bonitasoft.web.rest.server.framework.api.DatastoreHasGet;
+import org.bonitasoft.web.rest.server.framework.api.DatastoreHasGetMultiple;
 import org.bonitasoft.web.rest.server.framework.api.DatastoreHasSearch;
 import org.bonitasoft.web.rest.server.framework.api.DatastoreHasUpdate;
 import org.bonitasoft.web.rest.server.framework.search.ItemSearchResult;
@@ -67,7 +70,7 @@ import org.bonitasoft.web.toolkit.client.data.APIID;
 public class ProcessDatastore extends CommonDatastore<ProcessItem, ProcessDeploymentInfo> implements
         DatastoreHasAdd<ProcessItem>,
         DatastoreHasUpdate<ProcessItem>,
-        DatastoreHasGet<ProcessItem>,
+        DatastoreHasGetMultiple<ProcessItem>,
         DatastoreHasSearch<ProcessItem>,
         DatastoreHasDelete {
 
@@ -188,6 +191,19 @@ public class ProcessDatastore extends CommonDatastore<ProcessItem, ProcessDeploy
         return convertEngineToConsoleItem(processDeploymentInfo);
     }
 
+    @Override
+    public Map<APIID, ProcessItem> get(final List<APIID> ids) {
+        final Map<Long, ProcessDeploymentInfo> processDeploymentInfos = getProcessEngineClient().getProcessDeploymentInfos(APIID.toLongList(ids));
+        final Map<APIID, ProcessItem> items = new HashMap<>();
+        for (final APIID id : ids) {
+            final ProcessDeploymentInfo processDeploymentInfo = processDeploymentInfos.get(id.toLong());
+            if (processDeploymentInfo != null) {
+                items.put(id, convertEngineToConsoleItem(processDeploymentInfo));
+            }
+        }
+        return items;
+    }
+
     @Override
     public void delete(final List<APIID> ids) {
         for (final APIID id : ids) {
@@ -195,6 +211,18 @@ public class ProcessDatastore extends CommonDatastore<ProcessItem, ProcessDeploy
         }
         final ProcessEngineClient engineClient = getProcessEngineClient();
         engineClient.deleteDisabledProcesses(APIID.toLongList(ids));
+        for (final APIID id : ids) {
+            getContractDefinitionCache().invalidateProcess(id.toLong());
+            getProcessDefinitionDesignCache().remove(id.toLong());
+        }
+    }
+
+    protected ContractDefinitionCache getContractDefinitionCache() {
+        return ContractDefinitionCache.getInstance(getEngineSession().getTenantId());
+    }
+
+    protected ProcessDefinitionDesignCache getProcessDefinitionDesignCache() {
+        return ProcessDefinitionDesignCache.getInstance(getEngineSession().getTenantId());
     }
 
     protected void removeProcessPagesFromHome(final APIID id) {
@@ -14,6 +14,7 @@
  */
 package org.bonitasoft.web.rest.server.datastore.organization;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -33,7 +34,7 @@ import org.bonitasoft.web.rest.server.engineclient.EngineAPIAccessor;
 import org.bonitasoft.web.rest.server.engineclient.EngineClientFactory;
 import org.bonitasoft.web.rest.server.engineclient.ProcessEngineClient;
 import org.bonitasoft.web.rest.server.engineclient.UserEngineClient;
-import org.bonitasoft.web.rest.server.framework.api.DatastoreHasGet;
+import org.bonitasoft.web.rest.server.framework.api.DatastoreHasGetMultiple;
 import org.bonitasoft.web.rest.server.framework.exception.APIAttributeException;
 import org.bonitasoft.web.rest.server.framework.search.ItemSearchResult;
 import org.bonitasoft.web.toolkit.client.common.exception.api.APIException;
@@ -43,7 +44,7 @@ import org.bonitasoft.web.toolkit.client.data.APIID;
  * @author Séverin Moussel
  */
 public class UserDatastore extends CommonDatastore<UserItem, User>
-        implements DatastoreHasGet<UserItem> {
+        implements DatastoreHasGetMultiple<UserItem> {
 
     protected EngineClientFactory engineClientFactory;
 
@@ -81,6 +82,19 @@ public class UserDatastore extends CommonDatastore<UserItem, User>
         return userItemConverter.convert(user);
     }
 
+    @Override
+    public Map<APIID, UserItem> get(final List<APIID> ids) {
+        final Map<Long, User> users = getUserEngineClient().get(APIID.toLongList(ids));
+        final Map<APIID, UserItem> items = new HashMap<>();
+        for (final APIID id : ids) {
+            final User user = users.get(id.toLong());
+            if (user != null) {
+                items.put(id, userItemConverter.convert(user));
+            }
+        }
+        return items;
+    }
+
     /**
      * Search for users
      *
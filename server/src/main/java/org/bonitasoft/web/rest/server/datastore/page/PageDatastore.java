@@ -24,11 +24,13 @@ import java.util.Random;
 
 import org.apache.commons.io.FileUtils;
 import org.bonitasoft.console.common.server.page.CustomPageService;
+import org.bonitasoft.console.common.server.page.PageMetadataCache;
 import org.bonitasoft.console.common.server.preferences.constants.WebBonitaConstantsUtils;
 import org.bonitasoft.console.common.server.preferences.properties.CompoundPermissionsMapping;
 import org.bonitasoft.console.common.server.preferences.properties.ResourcesPermissionsMapping;
 import org.bonitasoft.console.common.server.servlet.FileUploadServlet;
 import org.bonitasoft.console.common.server.utils.BonitaHomeFolderAccessor;
+import org.bonitasoft.console.common.server.utils.ProfilePermissionsCache;
 import org.bonitasoft.console.common.server.utils.UnauthorizedFolderException;
 import org.bonitasoft.console.common.server.utils.UnzipUtil;
 import org.bonitasoft.engine.api.PageAPI;
@@ -131,6 +133,8 @@ public class PageDatastore extends CommonDatastore<PageItem, Page>
             pageContentValidator.validate(unzipPageTempFolder);
             final Page page = createEnginePage(pageItem, zipFile);
             final PageItem addedPage = convertEngineToConsoleItem(page);
+            getPageMetadataCache().invalidatePage(page.getId());
+            getProfilePermissionsCache().invalidate();
 
             PageResourceProvider pageResourceProvider = customPageService.getPageResourceProvider(page, tenantId);
             customPageService.writePageToTemp(page,pageResourceProvider, unzipPageTempFolder,resourcesPermissionsMapping,compoundPermissionsMapping,engineSession);
@@ -232,6 +236,8 @@ public class PageDatastore extends CommonDatastore<PageItem, Page>
                             customPageService.getPageResourceProvider(page, engineSession.getTenantId()),
                             engineSession);
                     pageAPI.deletePage(id.toLong());
+                    getPageMetadataCache().invalidatePage(id.toLong());
+                    getProfilePermissionsCache().invalidate();
                     customPageService.removePage(engineSession, page.getName());
                     compoundPermissionsMapping.removeProperty(page.getName());
                 }
@@ -336,6 +342,8 @@ public class PageDatastore extends CommonDatastore<PageItem, Page>
                     pageUpdater.setContentName(originalFileName);
                     updatePageContent(id, zipFile, oldURLToken);
                     final Page page = pageAPI.updatePage(id.toLong(), pageUpdater);
+                    getPageMetadataCache().invalidatePage(id.toLong());
+                    getProfilePermissionsCache().invalidate();
                     updatedPage = convertEngineToConsoleItem(page);
                     if (!Objects.equals(oldURLToken, updatedPage.getUrlToken())) {
                         compoundPermissionsMapping.removeProperty(oldURLToken);
@@ -368,6 +376,14 @@ public class PageDatastore extends CommonDatastore<PageItem, Page>
         customPageService.removePage(getEngineSession(), oldURLToken);
     }
 
+    protected PageMetadataCache getPageMetadataCache() {
+        return PageMetadataCache.getInstance(getEngineSession().getTenantId());
+    }
+
+    protected ProfilePermissionsCache getProfilePermissionsCache() {
+        return ProfilePermissionsCache.getInstance(getEngineSession().getTenantId());
+    }
+
     @Override
     protected PageItem convertEngineToConsoleItem(final Page item) {
         if (item != null) {
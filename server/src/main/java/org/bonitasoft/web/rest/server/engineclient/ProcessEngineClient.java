@@ -15,6 +15,7 @@
 package org.bonitasoft.web.rest.server.engineclient;
 
 import java.util.List;
+import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -59,6 +60,17 @@ public class ProcessEngineClient {
         this.processAPI = processAPI;
     }
 
+    /**
+     * @return the process deployment information found, by process id. Ids of processes that do not exist are not in the map.
+     */
+    public Map<Long, ProcessDeploymentInfo> getProcessDeploymentInfos(final List<Long> processIds) {
+        try {
+            return getProcessApi().getProcessDeploymentInfosFromIds(processIds);
+        } catch (final Exception e) {
+            throw new APIException("Error when getting process deployment information", e);
+        }
+    }
+
     public ProcessDeploymentInfo getProcessDeploymentInfo(final long processId) {
         try {
             return getProcessApi().getProcessDeploymentInfo(processId);
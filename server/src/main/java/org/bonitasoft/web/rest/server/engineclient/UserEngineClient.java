@@ -26,6 +26,7 @@ import org.bonitasoft.web.toolkit.client.common.i18n._;
 import org.bonitasoft.web.toolkit.client.common.texttemplate.Arg;
 
 import java.util.List;
+import java.util.Map;
 
 public class UserEngineClient {
 
@@ -64,6 +65,13 @@ public class UserEngineClient {
         }
     }
     
+    /**
+     * @return the users found, by id. Ids of users that do not exist are not in the map.
+     */
+    public Map<Long, User> get(List<Long> userIds) {
+        return identityAPI.getUsers(userIds);
+    }
+
     public void delete(List<Long> userIds) {
         try {
             identityAPI.deleteUsers(userIds);
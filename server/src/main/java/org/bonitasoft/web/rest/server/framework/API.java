@@ -20,8 +20,10 @@ import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -62,6 +64,16 @@ public abstract class API<ITEM extends IItem> {
 
     private final Map<String, Deployer> deployers = new HashMap<>();
 
+    /**
+     * Results of the search being deployed, attributes already deployed in all of them by a {@link BatchDeployer} and attributes
+     * whose batch deploy failed
+     */
+    private List<? extends IItem> searchResultsToDeploy = null;
+
+    private final Set<String> batchDeployedAttributes = new HashSet<>();
+
+    private final Set<String> failedBatchDeployedAttributes = new HashSet<>();
+
     private static Logger LOGGER = Logger.getLogger(API.class.getName());
 
     // //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -239,10 +251,8 @@ public abstract class API<ITEM extends IItem> {
 
         final ItemSearchResult<ITEM> searchResult = search(page, resultsByPage, search, realOrders, filters != null ? filters : new HashMap<String, String>());
 
-        for (final ITEM item : searchResult.getResults()) {
-            fillDeploys(item, deploys != null ? deploys : new ArrayList<String>());
-            fillCounters(item, counters != null ? counters : new ArrayList<String>());
-        }
+        fillDeploys(searchResult.getResults(), deploys != null ? deploys : new ArrayList<String>());
+        fillCounters(searchResult.getResults(), counters != null ? counters : new ArrayList<String>());
 
         return searchResult;
     }
@@ -422,6 +432,26 @@ public abstract class API<ITEM extends IItem> {
         return Collections.unmodifiableMap(deployers);
     }
 
+    /**
+     * Fill the deploys of the results of a search.<br>
+     * The first time a {@link BatchDeployer} is used, it deploys its attribute in all the results so that the items they share are
+     * retrieved once. Override this method to prefetch the items deployed by {@link #fillDeploys(IItem, List)} without deployer.
+     */
+    protected void fillDeploys(final List<ITEM> items, final List<String> deploys) {
+        searchResultsToDeploy = items;
+        batchDeployedAttributes.clear();
+        failedBatchDeployedAttributes.clear();
+        try {
+            for (final ITEM item : items) {
+                fillDeploys(item, deploys);
+            }
+        } finally {
+            searchResultsToDeploy = null;
+            batchDeployedAttributes.clear();
+            failedBatchDeployedAttributes.clear();
+        }
+    }
+
     protected void fillDeploys(final ITEM item, final List<String> deploys) {
         for (final String attribute : deploys) {
             deployAttribute(attribute, item);
@@ -429,9 +459,13 @@ public abstract class API<ITEM extends IItem> {
     }
 
     private void deployAttribute(final String attribute, final ITEM item) {
-        if (deployers.containsKey(attribute)) {
+        final Deployer deployer = deployers.get(attribute);
+        if (deployer == null || isBatchDeployed(attribute, deployer)) {
+            return;
+        }
+        if (item.getDeploy(attribute) == null) {
             try {
-                deployers.get(attribute).deployIn(item);
+                deployer.deployIn(item);
             } catch (final Exception e) {
                 if (LOGGER.isLoggable(Level.FINE)) {
                     LOGGER.log(Level.FINE, getFailedDeployMessage(attribute, item), e);
@@ -442,10 +476,42 @@ public abstract class API<ITEM extends IItem> {
         }
     }
 
+    /**
+     * Deploy the attribute in all the search results the first time it is requested.<br>
+     * The items the batch deploy could not retrieve are not retrieved again one by one: they are only retried item by item when the
+     * whole batch failed.
+     */
+    private boolean isBatchDeployed(final String attribute, final Deployer deployer) {
+        if (!(deployer instanceof BatchDeployer) || searchResultsToDeploy == null) {
+            return false;
+        }
+        if (batchDeployedAttributes.add(attribute)) {
+            try {
+                ((BatchDeployer) deployer).deployIn(searchResultsToDeploy);
+            } catch (final Exception e) {
+                failedBatchDeployedAttributes.add(attribute);
+                if (LOGGER.isLoggable(Level.FINE)) {
+                    LOGGER.log(Level.FINE, "Could not deploy attribute '" + attribute + "' on all the search results", e);
+                }
+            }
+        }
+        return !failedBatchDeployedAttributes.contains(attribute);
+    }
+
     protected String getFailedDeployMessage(final String attribute, final ITEM item) {
         return "Could not deploy attribute '" + attribute + "' on item " + item.toString();
     }
 
+    /**
+     * Fill the counters of the results of a search.<br>
+     * Override this method to compute a counter for all the results at once, for instance with {@link BatchCounters}.
+     */
+    protected void fillCounters(final List<ITEM> items, final List<String> counters) {
+        for (final ITEM item : items) {
+            fillCounters(item, counters);
+        }
+    }
+
     protected void fillCounters(final ITEM item, final List<String> counters) {
         // Do Nothing if not override
     }
@@ -14,6 +14,8 @@
  */
 package org.bonitasoft.web.rest.server.framework;
 
+import java.io.IOException;
+import java.io.Reader;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Date;
@@ -27,7 +29,6 @@ import java.util.logging.Logger;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
-import org.bonitasoft.console.common.server.i18n.I18n;
 import org.bonitasoft.web.rest.server.framework.exception.APIMissingIdException;
 import org.bonitasoft.web.rest.server.framework.json.JSonSimpleDeserializer;
 import org.bonitasoft.web.rest.server.framework.search.ItemSearchResult;
@@ -111,7 +112,15 @@ public class APIServletCall extends ServletCall {
      * Read the inputStream and parse it as an IItem compatible with the called API.
      */
     private IItem getJSonStreamAsItem() {
-        final IItem item = JSonItemReader.parseItem(getInputStream(), api.getItemDefinition());
+        try (Reader reader = getInputReader()) {
+            return getJSonStreamAsItem(JSonSimpleDeserializer.unserializeTree(reader));
+        } catch (final IOException e) {
+            throw new APIException(e);
+        }
+    }
+
+    private IItem getJSonStreamAsItem(final AbstractTreeNode<String> json) {
+        final IItem item = JSonItemReader.parseItem(json, api.getItemDefinition());
 
         ValidatorEngine.validate(item, false);
 
@@ -134,9 +143,6 @@ public class APIServletCall extends ServletCall {
 
         parsePath(request);
 
-        // Fixes BS-400. This is ugly.
-        I18n.getInstance();
-
         api = APIs.get(apiName, resourceName);
         api.setCaller(this);
 
@@ -222,14 +228,19 @@ public class APIServletCall extends ServletCall {
                 throw new APIMissingIdException(getRequestURL());
             }
 
-            final String inputStream = getInputStream();
-            if (inputStream.length() == 0) {
+            final AbstractTreeNode<String> json;
+            try (Reader reader = getInputReader()) {
+                json = JSonSimpleDeserializer.unserializeTree(reader);
+            } catch (final IOException e) {
+                throw new APIException(e);
+            }
+            if (json == null) {
                 api.runUpdate(id, new HashMap<String, String>());
                 return;
             }
 
             Item.setApplyValidatorMandatoryByDefault(false);
-            final IItem item = getJSonStreamAsItem();
+            final IItem item = getJSonStreamAsItem(json);
             api.runUpdate(id, getAttributesWithDeploysAsJsonString(item));
         } catch (final APIException e) {
             e.setApi(apiName);
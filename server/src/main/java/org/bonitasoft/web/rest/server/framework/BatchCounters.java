@@ -0,0 +1,218 @@
+/**
+ * Copyright (C) 2020 Bonitasoft S.A.
+ * Bonitasoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.web.rest.server.framework;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToLongFunction;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.bonitasoft.web.toolkit.client.common.exception.api.APIException;
+import org.bonitasoft.web.toolkit.client.data.item.IItem;
+
+/**
+ * Computes a counter for all the results of a search page at once.<br>
+ * The engine calls of the different items are run in parallel on a dedicated pool of threads, whose max size can be set with the
+ * {@value #THREADS_PROPERTY} system property, and the time spent computing each counter is recorded. When all the threads of the
+ * pool are busy, the remaining items are computed by the request thread itself, so that concurrent requests do not wait for each
+ * other. The counter functions must not rely on the request thread: they are given everything they need (the engine session in
+ * particular) before the computation starts.
+ */
+public class BatchCounters {
+
+    private static final Logger LOGGER = Logger.getLogger(BatchCounters.class.getName());
+
+    public static final String THREADS_PROPERTY = "bonita.rest.counters.threads";
+
+    private static final BatchCounters INSTANCE = new BatchCounters(getNumberOfThreads());
+
+    private final ThreadPoolExecutor executor;
+
+    private final ConcurrentMap<String, CounterStatistics> statistics = new ConcurrentHashMap<>();
+
+    public static BatchCounters getInstance() {
+        return INSTANCE;
+    }
+
+    BatchCounters(final int numberOfThreads) {
+        if (numberOfThreads > 1) {
+            //idle threads are released after a minute and the items which cannot be handed to a thread are run by the caller
+            executor = new ThreadPoolExecutor(0, numberOfThreads, 60L, TimeUnit.SECONDS, new SynchronousQueue<Runnable>(),
+                    new CountersThreadFactory(), (task, pool) -> task.run());
+        } else {
+            executor = null;
+        }
+    }
+
+    /**
+     * Stop the threads of the pool. The counters computed afterwards are computed by the request thread.
+     */
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    private static int getNumberOfThreads() {
+        final int defaultNumberOfThreads = Math.min(4, Runtime.getRuntime().availableProcessors());
+        final String numberOfThreads = System.getProperty(THREADS_PROPERTY);
+        if (numberOfThreads != null) {
+            try {
+                return Integer.parseInt(numberOfThreads.trim());
+            } catch (final NumberFormatException e) {
+                LOGGER.log(Level.WARNING, "Invalid value " + numberOfThreads + " for " + THREADS_PROPERTY + ", using " + defaultNumberOfThreads);
+            }
+        }
+        return defaultNumberOfThreads;
+    }
+
+    /**
+     * Set the counter attribute of each item with the value computed for it. The first failure is thrown once all the items are
+     * processed.
+     */
+    public <ITEM extends IItem> void fill(final List<ITEM> items, final String counter, final ToLongFunction<ITEM> counterFunction) {
+        if (items.isEmpty()) {
+            return;
+        }
+        final long start = System.nanoTime();
+        try {
+            if (executor == null || executor.isShutdown() || items.size() == 1) {
+                for (final ITEM item : items) {
+                    item.setAttribute(counter, counterFunction.applyAsLong(item));
+                }
+            } else {
+                fillInParallel(items, counter, counterFunction);
+            }
+        } finally {
+            final long duration = System.nanoTime() - start;
+            getStatistics(counter).record(items.size(), duration);
+            if (LOGGER.isLoggable(Level.FINE)) {
+                LOGGER.log(Level.FINE, "Counter " + counter + " computed for " + items.size() + " items in " + duration / 1000000 + " ms");
+            }
+        }
+    }
+
+    private <ITEM extends IItem> void fillInParallel(final List<ITEM> items, final String counter, final ToLongFunction<ITEM> counterFunction) {
+        final List<Future<Long>> values = new ArrayList<>(items.size());
+        for (final ITEM item : items) {
+            values.add(executor.submit(new Callable<Long>() {
+
+                @Override
+                public Long call() {
+                    return counterFunction.applyAsLong(item);
+                }
+            }));
+        }
+        RuntimeException failure = null;
+        for (int i = 0; i < items.size(); i++) {
+            try {
+                items.get(i).setAttribute(counter, values.get(i).get());
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                cancel(values);
+                throw new APIException("Interrupted while computing counter " + counter, e);
+            } catch (final ExecutionException e) {
+                if (failure == null) {
+                    failure = e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause()
+                            : new APIException("Error while computing counter " + counter, e.getCause());
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private void cancel(final List<Future<Long>> values) {
+        for (final Future<Long> value : values) {
+            value.cancel(true);
+        }
+    }
+
+    private CounterStatistics getStatistics(final String counter) {
+        return statistics.computeIfAbsent(counter, name -> new CounterStatistics());
+    }
+
+    /**
+     * @return the statistics of the counters computed since the server started, by counter name
+     */
+    public Map<String, CounterStatistics> getStatistics() {
+        return Collections.unmodifiableMap(statistics);
+    }
+
+    public static class CounterStatistics {
+
+        private final AtomicLong computations = new AtomicLong();
+
+        private final AtomicLong items = new AtomicLong();
+
+        private final AtomicLong totalTime = new AtomicLong();
+
+        private final AtomicLong maxTime = new AtomicLong();
+
+        void record(final int nbItems, final long duration) {
+            computations.incrementAndGet();
+            items.addAndGet(nbItems);
+            totalTime.addAndGet(duration);
+            maxTime.accumulateAndGet(duration, Math::max);
+        }
+
+        /**
+         * @return the number of search pages the counter was computed for
+         */
+        public long getComputations() {
+            return computations.get();
+        }
+
+        public long getItems() {
+            return items.get();
+        }
+
+        public long getTotalTimeInMillis() {
+            return totalTime.get() / 1000000;
+        }
+
+        public long getMaxTimeInMillis() {
+            return maxTime.get() / 1000000;
+        }
+    }
+
+    private static class CountersThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+        @Override
+        public Thread newThread(final Runnable runnable) {
+            final Thread thread = new Thread(runnable, "bonita-rest-counters-" + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
+}
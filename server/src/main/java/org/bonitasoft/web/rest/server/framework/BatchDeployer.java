@@ -0,0 +1,30 @@
+/**
+ * Copyright (C) 2020 Bonitasoft S.A.
+ * Bonitasoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.web.rest.server.framework;
+
+import java.util.List;
+
+import org.bonitasoft.web.toolkit.client.data.item.IItem;
+
+/**
+ * Deployer able to deploy its attribute in all the results of a search at once, retrieving each referenced item only once.
+ */
+public interface BatchDeployer extends Deployer {
+
+    /**
+     * Deploy the attribute in the items for which the referenced item could be retrieved. The other items are left untouched.
+     */
+    void deployIn(List<? extends IItem> items);
+}
@@ -16,6 +16,9 @@
  */
 package org.bonitasoft.web.rest.server.framework.json;
 
+import java.io.IOException;
+import java.io.PushbackReader;
+import java.io.Reader;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -50,6 +53,27 @@ public class JSonSimpleDeserializer implements JSonUnserializer {
         return getInstance()._unserializeTree(json);
     }
 
+    /**
+     * Unserialize the JSon read from the reader, without reading it in a String first
+     * 
+     * @return the unserialized tree or null if there is nothing to read
+     */
+    public static AbstractTreeNode<String> unserializeTree(final Reader json) {
+        try {
+            final PushbackReader reader = new PushbackReader(json);
+            final int firstCharacter = reader.read();
+            if (firstCharacter == -1) {
+                return null;
+            }
+            reader.unread(firstCharacter);
+            return getInstance().unserializeTreeNode(new JSONParser().parse(reader));
+        } catch (final ParseException e) {
+            throw new IllegalArgumentException("Can't parse JSon", e);
+        } catch (final IOException e) {
+            throw new IllegalArgumentException("Can't read JSon", e);
+        }
+    }
+
     @Override
     public AbstractTreeNode<String> _unserializeTree(final String json) {
         try {
@@ -19,6 +19,7 @@ package org.bonitasoft.web.rest.server.framework.servlet;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
+import org.bonitasoft.console.common.server.i18n.I18n;
 import org.bonitasoft.web.rest.server.framework.APIServletCall;
 import org.bonitasoft.web.rest.server.framework.RestAPIFactory;
 import org.bonitasoft.web.rest.server.framework.json.JSonSimpleDeserializer;
@@ -38,6 +39,8 @@ public abstract class APIServlet extends ToolkitHttpServlet {
     @Override
     protected void initializeToolkit() {
     	super.initializeToolkit();
+    	// Fixes BS-400: the translations of the APIs must be done by the server I18n
+    	I18n.getInstance();
     	JSonItemReader.setUnserializer(new JSonSimpleDeserializer());
     	ItemDefinitionFactory.setDefaultFactory(defineApplicatioFactoryCommon());
         RestAPIFactory.setDefaultFactory(defineApplicatioFactoryServer());
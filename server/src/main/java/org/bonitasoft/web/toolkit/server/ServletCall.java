@@ -16,7 +16,7 @@
  */
 package org.bonitasoft.web.toolkit.server;
 
-import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
@@ -24,21 +24,26 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.PrintWriter;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.Writer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
-import javax.servlet.ServletInputStream;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import javax.servlet.http.HttpSession;
 
 import org.apache.commons.io.IOUtils;
+import org.bonitasoft.console.common.server.login.filter.MultiReadHttpServletRequest;
+import org.bonitasoft.console.common.server.login.filter.RequestBody;
 import org.bonitasoft.console.common.server.utils.LocaleUtils;
 import org.bonitasoft.web.toolkit.client.common.exception.http.ServerException;
-import org.bonitasoft.web.toolkit.client.common.json.JSonSerializer;
+import org.bonitasoft.web.toolkit.server.utils.DeferredOutputWriter;
+import org.bonitasoft.web.toolkit.server.utils.JSonStreamSerializer;
 
 /**
  * @author Séverin Moussel
@@ -127,41 +132,40 @@ public abstract class ServletCall {
      */
     public String getInputStream() {
         if (inputStream == null) {
-
-            BufferedReader reader = null;
             try {
-
-                // BS-8474 - use custom reader instead of request reader to avoid JBoss5.1 bug
-                // see https://issues.jboss.org/browse/JBAS-7817
-                final ServletInputStream stream = request.getInputStream();
-                reader = new BufferedReader(new InputStreamReader(stream, "UTF-8"));
-
-                final StringBuilder sb = new StringBuilder();
-                String line = reader.readLine();
-                while (line != null) {
-                    sb.append(line + "\n");
-                    line = reader.readLine();
+                final RequestBody body = MultiReadHttpServletRequest.getBody(request);
+                if (body != null) {
+                    inputStream = body.getAsString(INPUT_CHARSET);
+                } else {
+                    // BS-8474 - use custom reader instead of request reader to avoid JBoss5.1 bug
+                    // see https://issues.jboss.org/browse/JBAS-7817
+                    try (Reader reader = new InputStreamReader(request.getInputStream(), INPUT_CHARSET)) {
+                        inputStream = IOUtils.toString(reader);
+                    }
                 }
-
-                inputStream = sb.toString();
-
             } catch (final IOException e) {
                 throw new RuntimeException("Can't read input Stream.", e);
-            } finally {
-                closeQuietly(reader);
             }
         }
 
         return inputStream;
     }
 
-    private void closeQuietly(final BufferedReader reader) {
-        if (reader != null) {
-            try {
-                reader.close();
-            } catch (final IOException e) {
-                // do nothing / close quietly
+    /**
+     * Open a reader on the input stream, to parse it without reading it in a String
+     */
+    public Reader getInputReader() {
+        if (inputStream != null) {
+            return new StringReader(inputStream);
+        }
+        try {
+            final RequestBody body = MultiReadHttpServletRequest.getBody(request);
+            if (body != null) {
+                return body.openReader(INPUT_CHARSET);
             }
+            return new InputStreamReader(request.getInputStream(), INPUT_CHARSET);
+        } catch (final IOException e) {
+            throw new RuntimeException("Can't read input Stream.", e);
         }
     }
 
@@ -324,11 +328,31 @@ public abstract class ServletCall {
      *            An object that will be transform into JSon
      */
     protected void output(final Object object) {
-        final PrintWriter outputWriter = getOutputWriter();
-        outputWriter.print(JSonSerializer.serialize(object));
-        outputWriter.flush();
+        final Writer writer = new DeferredOutputWriter(new BufferedWriter(getOutputWriter(), OUTPUT_BUFFER_SIZE), OUTPUT_DEFERRED_SIZE);
+        try {
+            JSonStreamSerializer.serialize(object, writer);
+            writer.flush();
+        } catch (final IOException e) {
+            throw new ServerException(e);
+        }
     }
 
+    /**
+     * Charset of the input stream
+     */
+    private static final String INPUT_CHARSET = "UTF-8";
+
+    /**
+     * Size of the buffer used to write objects as JSON into the response writer
+     */
+    private static final int OUTPUT_BUFFER_SIZE = 8192;
+
+    /**
+     * Size of the JSON kept in memory before being written into the response, below which a serialization failure can still be reported
+     * with an error status instead of a truncated response
+     */
+    private static final int OUTPUT_DEFERRED_SIZE = 65536;
+
     /**
      * The outputWriter in which to write the response String.
      */
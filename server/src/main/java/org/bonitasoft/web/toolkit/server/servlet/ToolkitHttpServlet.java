@@ -35,6 +35,7 @@ import org.bonitasoft.web.toolkit.client.common.exception.api.APIForbiddenExcept
 import org.bonitasoft.web.toolkit.client.common.exception.api.APIItemNotFoundException;
 import org.bonitasoft.web.toolkit.client.common.exception.api.APIMethodNotAllowedException;
 import org.bonitasoft.web.toolkit.client.common.exception.api.APINotFoundException;
+import org.bonitasoft.web.toolkit.client.common.exception.api.APIServiceUnavailableException;
 import org.bonitasoft.web.toolkit.client.common.i18n.AbstractI18n.LOCALE;
 import org.bonitasoft.web.toolkit.client.common.json.JSonSerializer;
 import org.bonitasoft.web.toolkit.client.data.item.Item;
@@ -75,6 +76,10 @@ public abstract class ToolkitHttpServlet extends HttpServlet {
         try {
             super.service(req, resp);
         } catch (final Exception e) {
+            if (resp.isCommitted()) {
+                // the beginning of the response is already sent: let the container abort it rather than append an error to a partial body
+                throw new ServletException(e);
+            }
             catchAllExceptions(retrieveLowestAPIException(e), req, resp);
         }
     }
@@ -177,6 +182,8 @@ public abstract class ToolkitHttpServlet extends HttpServlet {
             outputException(null, req, resp, HttpServletResponse.SC_NOT_FOUND);
         } else if (exception instanceof APIForbiddenException) {
             outputException(exception, req, resp, HttpServletResponse.SC_FORBIDDEN);
+        } else if (exception instanceof APIServiceUnavailableException) {
+            outputException(exception, req, resp, HttpServletResponse.SC_SERVICE_UNAVAILABLE);
         } else if (exception instanceof ServiceException) {
             if (resp.getStatus() < HttpServletResponse.SC_BAD_REQUEST) {
                 // Response status is not yet set with an error code
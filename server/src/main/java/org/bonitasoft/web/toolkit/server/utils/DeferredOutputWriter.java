@@ -0,0 +1,93 @@
+/**
+ * Copyright (C) 2020 Bonitasoft S.A.
+ * Bonitasoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.web.toolkit.server.utils;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Keeps what is written in memory until it exceeds a threshold, then writes it and everything that follows into the target writer.<br>
+ * Nothing reaches the target before the threshold or a {@link #flush()}, so a failure while writing a small content leaves the target
+ * untouched and can still be reported with an error status.
+ */
+public class DeferredOutputWriter extends Writer {
+
+    private final Writer target;
+
+    private final int threshold;
+
+    private StringBuilder buffer = new StringBuilder();
+
+    public DeferredOutputWriter(final Writer target, final int threshold) {
+        this.target = target;
+        this.threshold = threshold;
+    }
+
+    @Override
+    public void write(final int c) throws IOException {
+        if (buffer == null) {
+            target.write(c);
+        } else {
+            buffer.append((char) c);
+            spillAboveThreshold();
+        }
+    }
+
+    @Override
+    public void write(final char[] cbuf, final int off, final int len) throws IOException {
+        if (buffer == null) {
+            target.write(cbuf, off, len);
+        } else {
+            buffer.append(cbuf, off, len);
+            spillAboveThreshold();
+        }
+    }
+
+    @Override
+    public void write(final String str, final int off, final int len) throws IOException {
+        if (buffer == null) {
+            target.write(str, off, len);
+        } else {
+            buffer.append(str, off, off + len);
+            spillAboveThreshold();
+        }
+    }
+
+    private void spillAboveThreshold() throws IOException {
+        if (buffer.length() > threshold) {
+            spill();
+        }
+    }
+
+    private void spill() throws IOException {
+        target.append(buffer);
+        buffer = null;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (buffer != null) {
+            spill();
+        }
+        target.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+        target.close();
+    }
+
+}
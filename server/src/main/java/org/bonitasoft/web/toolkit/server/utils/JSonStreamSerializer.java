@@ -0,0 +1,168 @@
+/**
+ * Copyright (C) 2020 Bonitasoft S.A.
+ * Bonitasoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.web.toolkit.server.utils;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Collection;
+import java.util.Date;
+import java.util.Map;
+
+import org.bonitasoft.web.toolkit.client.common.json.JSonSerializer;
+import org.bonitasoft.web.toolkit.client.common.json.JsonSerializable;
+import org.bonitasoft.web.toolkit.client.data.item.IItem;
+import org.bonitasoft.web.toolkit.client.data.item.Item;
+
+/**
+ * Writes the JSON representation of an object directly into a {@link Writer}.<br>
+ * The output is the same as the one of {@link JSonSerializer#serialize(Object)} but items, their deploys, collections and maps are
+ * written as they are traversed instead of being built in intermediate strings.
+ */
+public class JSonStreamSerializer {
+
+    private JSonStreamSerializer() {
+    }
+
+    public static void serialize(final Object object, final Writer writer) throws IOException {
+        if (object == null) {
+            writer.write("null");
+        } else if (object instanceof Item) {
+            serializeItem((Item) object, writer);
+        } else if (object instanceof JsonSerializable) {
+            writer.write(((JsonSerializable) object).toJson());
+        } else if (object instanceof Collection<?>) {
+            serializeCollection((Collection<?>) object, writer);
+        } else if (object instanceof Map<?, ?>) {
+            serializeMap((Map<?, ?>) object, writer);
+        } else if (object instanceof Number || object instanceof Boolean || object instanceof Date || object instanceof Throwable) {
+            writer.write(JSonSerializer.serialize(object));
+        } else {
+            quote(object.toString(), writer);
+        }
+    }
+
+    /**
+     * Same output as {@link Item#toJson()}
+     */
+    private static void serializeItem(final Item item, final Writer writer) throws IOException {
+        final Map<String, IItem> deploys = item.getDeploys();
+        writer.write('{');
+        boolean first = true;
+        for (final String attribute : item.getAttributeNames()) {
+            if (!first) {
+                writer.write(',');
+            }
+            quote(attribute, writer);
+            writer.write(':');
+            if (deploys.containsKey(attribute)) {
+                serialize(deploys.get(attribute), writer);
+            } else {
+                quote(item.getAttributeValue(attribute), writer);
+            }
+            first = false;
+        }
+        writer.write('}');
+    }
+
+    private static void serializeCollection(final Collection<?> list, final Writer writer) throws IOException {
+        writer.write('[');
+        boolean first = true;
+        for (final Object item : list) {
+            if (!first) {
+                writer.write(',');
+            }
+            serialize(item, writer);
+            first = false;
+        }
+        writer.write(']');
+    }
+
+    private static void serializeMap(final Map<?, ?> map, final Writer writer) throws IOException {
+        writer.write('{');
+        boolean first = true;
+        for (final Object key : map.keySet()) {
+            if (!first) {
+                writer.write(',');
+            }
+            quote(key.toString(), writer);
+            writer.write(':');
+            serialize(map.get(key), writer);
+            first = false;
+        }
+        writer.write('}');
+    }
+
+    /**
+     * Same escaping as {@link JSonSerializer#quote(String)}, the characters that do not need to be escaped are written by runs
+     */
+    static void quote(final String value, final Writer writer) throws IOException {
+        writer.write('"');
+        if (value != null) {
+            final int length = value.length();
+            int runStart = 0;
+            char previous;
+            char current = 0;
+            for (int i = 0; i < length; i++) {
+                previous = current;
+                current = value.charAt(i);
+                final String escaped = escape(previous, current);
+                if (escaped != null) {
+                    writer.write(value, runStart, i - runStart);
+                    writer.write(escaped);
+                    runStart = i + 1;
+                }
+            }
+            writer.write(value, runStart, length - runStart);
+        }
+        writer.write('"');
+    }
+
+    /**
+     * @return the escaped form of the character or null if it is written as is
+     */
+    private static String escape(final char previous, final char current) {
+        switch (current) {
+            case '<':
+            case '>':
+            case '\'':
+            case '\\':
+            case '"':
+                return toUnicode(current);
+            case '/':
+                return previous == '<' ? "\\/" : null;
+            case '\b':
+                return "\\b";
+            case '\t':
+                return "\\t";
+            case '\n':
+                return "\\n";
+            case '\f':
+                return "\\f";
+            case '\r':
+                return "\\r";
+            default:
+                if (current < ' ' || current >= '\u0080' && current < '\u00a0' || current >= '\u2000' && current < '\u2100') {
+                    return toUnicode(current);
+                }
+                return null;
+        }
+    }
+
+    private static String toUnicode(final char character) {
+        final String hexString = Integer.toHexString(character);
+        return "\\u0000".substring(0, 6 - hexString.length()) + hexString;
+    }
+
+}
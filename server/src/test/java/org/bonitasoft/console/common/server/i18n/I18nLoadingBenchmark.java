@@ -0,0 +1,107 @@
+/**
+ * Copyright (C) 2020 Bonitasoft S.A.
+ * Bonitasoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.console.common.server.i18n;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.bonitasoft.web.toolkit.client.common.i18n.AbstractI18n.LOCALE;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the loading of the locales of a custom i18n folder one after the other and in parallel by
+ * {@link I18n#loadAvailableLocales()}, which is what happens at startup.
+ * The folder holds a .po file of {@link #numberOfKeys} translations for each of the locales shipped with the portal.
+ * The memory used per locale can be compared with the heap histogram of the benchmark JVM (e.g. with the -prof gc option).
+ * It is not run with the unit tests, run the main method (with the test classpath) to launch it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class I18nLoadingBenchmark {
+
+    private static final LOCALE[] LOCALES = { LOCALE.en_US, LOCALE.fr, LOCALE.es, LOCALE.it, LOCALE.de, LOCALE.pt_BR, LOCALE.ja, LOCALE.ru };
+
+    @Param({ "1000", "5000" })
+    private int numberOfKeys;
+
+    private File customFolder;
+
+    private I18n i18n;
+
+    @Setup
+    public void setUp() throws IOException {
+        customFolder = Files.createTempDirectory("i18n").toFile();
+        for (final LOCALE locale : LOCALES) {
+            try (PrintWriter writer = new PrintWriter(new File(customFolder, "portal_" + locale + ".po"), StandardCharsets.UTF_8.name())) {
+                for (int i = 0; i < numberOfKeys; i++) {
+                    writer.println("msgid \"key number " + i + "\"");
+                    writer.println("msgstr \"" + locale + " translation of the key number " + i + "\"");
+                    writer.println();
+                }
+            }
+        }
+        System.setProperty(I18n.I18N_CUSTOM_DIR_PROPERTY, customFolder.getPath());
+        i18n = I18n.getInstance();
+        i18n.refresh();
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.clearProperty(I18n.I18N_CUSTOM_DIR_PROPERTY);
+        i18n.refresh();
+        for (final File file : customFolder.listFiles()) {
+            file.delete();
+        }
+        customFolder.delete();
+    }
+
+    @Benchmark
+    public void loadLocalesSequentially() {
+        for (final LOCALE locale : i18n.getLocalesWithTranslations()) {
+            i18n.loadLocale(locale);
+        }
+    }
+
+    @Benchmark
+    public void loadLocalesInParallel() {
+        i18n.loadAvailableLocales();
+    }
+
+    public static void main(final String[] args) throws Exception {
+        new Runner(new OptionsBuilder().include(I18nLoadingBenchmark.class.getSimpleName()).build()).run();
+    }
+
+}
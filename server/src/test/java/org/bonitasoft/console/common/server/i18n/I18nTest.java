@@ -2,18 +2,26 @@ package org.bonitasoft.console.common.server.i18n;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.io.File;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.List;
 import java.util.Map;
 
 import org.bonitasoft.web.toolkit.client.common.i18n.AbstractI18n;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 /**
  * @author Emmanuel Duchastenier
  */
 public class I18nTest {
 
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     @Test
     public void getStreams_should_read_from_classpath() throws Exception {
         final List<InputStream> streams = I18n.getInstance().getStreams(AbstractI18n.LOCALE.fr);
@@ -86,4 +94,94 @@ public class I18nTest {
 
         System.clearProperty(I18n.I18N_CUSTOM_DIR_PROPERTY);
     }
+
+    @Test
+    public void getTranslationPayload_should_serialize_the_translations_of_the_locale() throws Exception {
+        final I18n i18n = I18n.getInstance();
+        i18n.refresh();
+        i18n.loadLocale(AbstractI18n.LOCALE.fr);
+
+        final TranslationPayload translationPayload = i18n.getTranslationPayload(AbstractI18n.LOCALE.fr);
+
+        assertThat(new String(translationPayload.getJson(), StandardCharsets.UTF_8))
+                .contains("{\"key\":\"test key\",\"value\":\"Valeur de test en français\"}");
+        assertThat(i18n.isWatchingCustomDirectory()).isFalse();
+    }
+
+    @Test
+    public void reloadLocales_should_update_the_translations_modified_in_the_custom_folder() throws Exception {
+        final File customPoFile = temporaryFolder.newFile("test_fr.po");
+        Files.write(customPoFile.toPath(), "msgid \"test key\"\nmsgstr \"Valeur modifiée\"\n".getBytes(StandardCharsets.UTF_8));
+        System.setProperty(I18n.I18N_CUSTOM_DIR_PROPERTY, temporaryFolder.getRoot().getPath());
+        final I18n i18n = I18n.getInstance();
+        i18n.refresh();
+        final String hash = i18n.getTranslationPayload(AbstractI18n.LOCALE.fr).getHash();
+
+        Files.write(customPoFile.toPath(), "msgid \"test key\"\nmsgstr \"Valeur modifiée à nouveau\"\n".getBytes(StandardCharsets.UTF_8));
+        i18n.reloadLocales();
+
+        assertThat(i18n.isWatchingCustomDirectory()).isTrue();
+        assertThat(i18n.getLocale(AbstractI18n.LOCALE.fr).get("test key")).isEqualTo("Valeur modifiée à nouveau");
+        assertThat(i18n.getTranslationPayload(AbstractI18n.LOCALE.fr).getHash()).isNotEqualTo(hash);
+
+        System.clearProperty(I18n.I18N_CUSTOM_DIR_PROPERTY);
+        i18n.refresh();
+    }
+
+    @Test
+    public void getLocalesWithTranslations_should_list_the_locales_of_the_po_files() throws Exception {
+        final I18n i18n = I18n.getInstance();
+        i18n.refresh();
+
+        assertThat(i18n.getLocalesWithTranslations()).contains(AbstractI18n.LOCALE.fr).doesNotContain(AbstractI18n.LOCALE.es);
+    }
+
+    @Test
+    public void loadAvailableLocales_should_load_the_locales_with_translations() throws Exception {
+        System.setProperty(I18n.I18N_CUSTOM_DIR_PROPERTY, this.getClass().getResource("/custom_po_resource").getPath());
+        final I18n i18n = I18n.getInstance();
+        i18n.refresh();
+
+        i18n.loadAvailableLocales();
+
+        assertThat(i18n.getLocalesWithTranslations()).contains(AbstractI18n.LOCALE.fr, AbstractI18n.LOCALE.es);
+        assertThat(i18n.getLocale(AbstractI18n.LOCALE.es).get("test key")).isEqualTo("valor de prueba en Espanol");
+        assertThat(i18n.getLocale(AbstractI18n.LOCALE.fr).get("test key")).isEqualTo("Valeur modifiée");
+
+        System.clearProperty(I18n.I18N_CUSTOM_DIR_PROPERTY);
+        i18n.refresh();
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void getLocale_should_return_immutable_translations() throws Exception {
+        final I18n i18n = I18n.getInstance();
+        i18n.refresh();
+        i18n.loadLocale(AbstractI18n.LOCALE.fr);
+
+        i18n.getLocale(AbstractI18n.LOCALE.fr).put("test key", "other value");
+    }
+
+    @Test
+    public void loadLocale_should_share_the_keys_between_the_locales() throws Exception {
+        System.setProperty(I18n.I18N_CUSTOM_DIR_PROPERTY, this.getClass().getResource("/custom_po_resource").getPath());
+        final I18n i18n = I18n.getInstance();
+        i18n.refresh();
+        i18n.loadLocale(AbstractI18n.LOCALE.fr);
+        i18n.loadLocale(AbstractI18n.LOCALE.es);
+
+        assertThat(getKey(i18n.getLocale(AbstractI18n.LOCALE.es), "test key"))
+                .isSameAs(getKey(i18n.getLocale(AbstractI18n.LOCALE.fr), "test key"));
+
+        System.clearProperty(I18n.I18N_CUSTOM_DIR_PROPERTY);
+        i18n.refresh();
+    }
+
+    private String getKey(final Map<String, String> translations, final String key) {
+        for (final String translationKey : translations.keySet()) {
+            if (translationKey.equals(key)) {
+                return translationKey;
+            }
+        }
+        return null;
+    }
 }
@@ -0,0 +1,116 @@
+/**
+ * Copyright (C) 2020 Bonitasoft S.A.
+ * Bonitasoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.console.common.server.login.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+import java.util.Collections;
+
+import org.bonitasoft.console.common.server.preferences.properties.SecurityProperties;
+import org.bonitasoft.engine.api.permission.APICallContext;
+import org.bonitasoft.engine.session.APISession;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class DynamicPermissionsDecisionCacheTest {
+
+    @Mock
+    private SecurityProperties securityProperties;
+
+    @Mock
+    private APISession apiSession;
+
+    private DynamicPermissionsDecisionCache decisionCache;
+
+    @Before
+    public void setUp() throws Exception {
+        doReturn(60L).when(securityProperties).getDynamicPermissionsCacheTimeToLive();
+        doReturn(100).when(securityProperties).getDynamicPermissionsCacheMaxSize();
+        doReturn(Collections.singleton("writeScript")).when(securityProperties).getDynamicPermissionsCacheWriteScripts();
+        doReturn(12L).when(apiSession).getId();
+        decisionCache = new DynamicPermissionsDecisionCache(2L, securityProperties);
+        decisionCache.clear();
+    }
+
+    @Test
+    public void should_ignore_paging_and_parameters_order_in_the_decision_key() throws Exception {
+        final String key = decisionCache.getDecisionKey(apiSession, "script", new APICallContext("GET", "bpm", "case", null, "p=0&c=10&f=state%3dopen&o=name", ""));
+        final String otherPageKey = decisionCache.getDecisionKey(apiSession, "script", new APICallContext("GET", "bpm", "case", null, "o=name&f=state%3dopen&p=3&c=10", ""));
+        final String otherFilterKey = decisionCache.getDecisionKey(apiSession, "script", new APICallContext("GET", "bpm", "case", null, "p=0&c=10&f=state%3dclosed&o=name", ""));
+
+        assertThat(key).isEqualTo(otherPageKey);
+        assertThat(key).isNotEqualTo(otherFilterKey);
+    }
+
+    @Test
+    public void should_not_share_decisions_between_sessions_or_scripts() throws Exception {
+        final APICallContext apiCallContext = new APICallContext("GET", "bpm", "case", "1", "", "");
+        final APISession otherApiSession = mock(APISession.class);
+        doReturn(13L).when(otherApiSession).getId();
+
+        decisionCache.storeDecision(decisionCache.getDecisionKey(apiSession, "script", apiCallContext), true);
+
+        assertThat(decisionCache.getDecision(decisionCache.getDecisionKey(apiSession, "script", apiCallContext))).isTrue();
+        assertThat(decisionCache.getDecision(decisionCache.getDecisionKey(otherApiSession, "script", apiCallContext))).isNull();
+        assertThat(decisionCache.getDecision(decisionCache.getDecisionKey(apiSession, "otherScript", apiCallContext))).isNull();
+    }
+
+    @Test
+    public void should_remove_the_decisions_of_a_logged_out_session() throws Exception {
+        final APICallContext apiCallContext = new APICallContext("GET", "bpm", "case", "1", "", "");
+        final APISession otherApiSession = mock(APISession.class);
+        doReturn(13L).when(otherApiSession).getId();
+        decisionCache.storeDecision(decisionCache.getDecisionKey(apiSession, "script", apiCallContext), true);
+        decisionCache.storeDecision(decisionCache.getDecisionKey(otherApiSession, "script", apiCallContext), true);
+
+        decisionCache.clearSession(12L);
+
+        assertThat(decisionCache.getDecision(decisionCache.getDecisionKey(apiSession, "script", apiCallContext))).isNull();
+        assertThat(decisionCache.getDecision(decisionCache.getDecisionKey(otherApiSession, "script", apiCallContext))).isTrue();
+    }
+
+    @Test
+    public void should_read_the_configuration_for_each_call() throws Exception {
+        final APICallContext apiCallContext = new APICallContext("GET", "bpm", "case", "1", "", "");
+        assertThat(decisionCache.getDecisionKey(apiSession, "script", apiCallContext)).isNotNull();
+
+        doReturn(0L).when(securityProperties).getDynamicPermissionsCacheTimeToLive();
+
+        assertThat(decisionCache.getDecisionKey(apiSession, "script", apiCallContext)).isNull();
+    }
+
+    @Test
+    public void should_only_cache_write_calls_for_scripts_declared_as_cacheable() throws Exception {
+        final APICallContext apiCallContext = new APICallContext("PUT", "bpm", "case", "1", "", "{\"state\":\"canceled\"}");
+
+        assertThat(decisionCache.getDecisionKey(apiSession, "script", apiCallContext)).isNull();
+        assertThat(decisionCache.getDecisionKey(apiSession, "writeScript", apiCallContext)).contains("{\"state\":\"canceled\"}");
+    }
+
+    @Test
+    public void should_not_cache_decisions_when_no_time_to_live_is_configured() throws Exception {
+        doReturn(0L).when(securityProperties).getDynamicPermissionsCacheTimeToLive();
+        final DynamicPermissionsDecisionCache disabledDecisionCache = new DynamicPermissionsDecisionCache(3L, securityProperties);
+
+        assertThat(disabledDecisionCache.getDecisionKey(apiSession, "script", new APICallContext("GET", "bpm", "case", "1", "", ""))).isNull();
+    }
+
+}
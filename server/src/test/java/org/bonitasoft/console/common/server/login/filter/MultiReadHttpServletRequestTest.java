@@ -1,6 +1,8 @@
 package org.bonitasoft.console.common.server.login.filter;
 
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 import java.io.BufferedReader;
 import java.io.IOException;
@@ -8,6 +10,7 @@ import java.io.InputStream;
 
 import javax.servlet.ServletInputStream;
 import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
 
 import org.apache.commons.io.IOUtils;
 import org.apache.tools.ant.filters.StringInputStream;
@@ -65,6 +68,24 @@ public class MultiReadHttpServletRequestTest {
         }
     }
 
+    @Test
+    public void should_share_the_body_with_the_wrapped_multi_read_request() throws Exception {
+        final FakeServletInputStream fakeInputStream = new FakeServletInputStream();
+        try {
+            doReturn(fakeInputStream).when(request).getInputStream();
+            final MultiReadHttpServletRequest outerRequest = new MultiReadHttpServletRequest(request);
+            final MultiReadHttpServletRequest innerRequest = new MultiReadHttpServletRequest(new HttpServletRequestWrapper(outerRequest));
+
+            Assert.assertEquals("body content", IOUtils.toString(innerRequest.getInputStream()));
+            Assert.assertEquals("body content", IOUtils.toString(outerRequest.getInputStream()));
+            Assert.assertSame(outerRequest.getBody(), innerRequest.getBody());
+            Assert.assertSame(outerRequest.getBody(), MultiReadHttpServletRequest.getBody(new HttpServletRequestWrapper(innerRequest)));
+            verify(request, times(1)).getInputStream();
+        } finally {
+            fakeInputStream.close();
+        }
+    }
+
     class FakeServletInputStream extends ServletInputStream {
 
         private final StringInputStream inputStream = new StringInputStream("body content");
@@ -0,0 +1,106 @@
+/**
+ * Copyright (C) 2020 Bonitasoft S.A.
+ * Bonitasoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.console.common.server.login.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.io.Reader;
+import java.lang.reflect.Field;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.Test;
+
+public class RequestBodyTest {
+
+    private static final String BODY = "{\"name\":\"caf\u00e9\",\"description\":\"a body\"}";
+
+    private RequestBody read(final String content, final int memoryThreshold) throws Exception {
+        final byte[] bytes = content.getBytes("UTF-8");
+        return RequestBody.read(new ByteArrayInputStream(bytes), bytes.length, memoryThreshold);
+    }
+
+    @Test
+    public void should_keep_a_small_body_in_memory() throws Exception {
+        final RequestBody body = read(BODY, 1024);
+
+        assertThat(body.isInMemory()).isTrue();
+        assertThat(body.getLength()).isEqualTo(BODY.getBytes("UTF-8").length);
+        assertThat(body.getAsString("UTF-8")).isEqualTo(BODY);
+    }
+
+    @Test
+    public void should_write_a_body_bigger_than_the_threshold_in_a_temporary_file() throws Exception {
+        final RequestBody body = read(BODY, 10);
+
+        assertThat(body.isInMemory()).isFalse();
+        assertThat(body.getAsString("UTF-8")).isEqualTo(BODY);
+        try (InputStream stream = body.openStream()) {
+            assertThat(IOUtils.toString(stream, "UTF-8")).isEqualTo(BODY);
+        }
+    }
+
+    @Test
+    public void should_read_the_body_several_times() throws Exception {
+        final RequestBody body = read(BODY, 1024);
+
+        try (Reader reader = body.openReader("UTF-8")) {
+            assertThat(IOUtils.toString(reader)).isEqualTo(BODY);
+        }
+        try (Reader reader = body.openReader("UTF-8")) {
+            assertThat(IOUtils.toString(reader)).isEqualTo(BODY);
+        }
+    }
+
+    @Test
+    public void should_decode_the_body_once_for_a_charset() throws Exception {
+        final RequestBody body = read(BODY, 1024);
+
+        final String decodedBody = body.getAsString("UTF-8");
+
+        assertThat(body.getAsString(null)).isSameAs(decodedBody);
+        assertThat(body.getAsString("ISO-8859-1")).isNotEqualTo(decodedBody);
+    }
+
+    @Test
+    public void should_delete_the_temporary_file_when_the_last_reference_is_released() throws Exception {
+        final RequestBody body = read(BODY, 10);
+        final File file = getFile(body);
+        body.retain();
+
+        body.release();
+        assertThat(file).exists();
+
+        body.release();
+        assertThat(file).doesNotExist();
+    }
+
+    @Test
+    public void should_read_an_empty_body() throws Exception {
+        final RequestBody body = RequestBody.read(new ByteArrayInputStream(new byte[0]), -1, 1024);
+
+        assertThat(body.getLength()).isEqualTo(0L);
+        assertThat(body.getAsString("UTF-8")).isEmpty();
+    }
+
+    private File getFile(final RequestBody body) throws Exception {
+        final Field field = RequestBody.class.getDeclaredField("file");
+        field.setAccessible(true);
+        return (File) field.get(body);
+    }
+
+}
@@ -26,9 +26,11 @@ import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -40,6 +42,7 @@ import javax.servlet.http.HttpSession;
 
 import org.bonitasoft.console.common.server.preferences.properties.DynamicPermissionsChecks;
 import org.bonitasoft.console.common.server.preferences.properties.ResourcesPermissionsMapping;
+import org.bonitasoft.console.common.server.preferences.properties.SecurityProperties;
 import org.bonitasoft.console.common.server.utils.SessionUtil;
 import org.bonitasoft.engine.api.permission.APICallContext;
 import org.bonitasoft.engine.exception.ExecutionException;
@@ -68,6 +71,8 @@ public class RestAPIAuthorizationFilterTest {
     private APISession apiSession;
     @Mock
     private HttpSession httpSession;
+    @Mock
+    private SecurityProperties securityProperties;
 
     private final RestAPIAuthorizationFilter restAPIAuthorizationFilter = new RestAPIAuthorizationFilter(false);
 
@@ -277,6 +282,23 @@ public class RestAPIAuthorizationFilterTest {
         assertThat(isAuthorized).isFalse();
     }
 
+    @Test
+    public void should_checkPermissions_use_the_default_permissions_of_a_resource_not_declared_in_the_mapping() throws Exception {
+        final RestAPIAuthorizationFilter restAPIAuthorizationFilterSpy = spy(restAPIAuthorizationFilter);
+        initSpy(restAPIAuthorizationFilterSpy, new HashSet<String>(Arrays.asList("tenant_platform_visualization")));
+        doReturn(true).when(restAPIAuthorizationFilterSpy).isApiAuthorizationsCheckEnabled(1l);
+        doReturn(new HashSet<String>()).when(restAPIAuthorizationFilterSpy).getDeclaredPermissions(anyString(), anyString(),
+                anyString(), any(APIID.class), any(ResourcesPermissionsMapping.class));
+        doReturn(Collections.singleton("tenant_platform_visualization")).when(resourcesPermissionsMapping)
+                .getDefaultResourcePermissions("GET", "system", "pageCache");
+
+        //when
+        final boolean isAuthorized = restAPIAuthorizationFilterSpy.checkPermissions(request, "system", "pageCache", null);
+
+        //then
+        assertThat(isAuthorized).isTrue();
+    }
+
     @Test
     public void should_checkPermissions_return_true_if_dynamic_authorized() throws Exception {
         final RestAPIAuthorizationFilter restAPIAuthorizationFilterSpy = spy(restAPIAuthorizationFilter);
@@ -608,6 +630,45 @@ public class RestAPIAuthorizationFilterTest {
 
     }
 
+    @Test
+    public void should_dynamicCheck_execute_the_script_once_for_the_same_read_call_when_decisions_are_cached() throws Exception {
+        final Set<String> dynamicAuthorizations = new HashSet<String>(Arrays.asList("check|className"));
+        final RestAPIAuthorizationFilter restAPIAuthorizationFilterSpy = spy(restAPIAuthorizationFilter);
+        doReturn(getEnabledDecisionCache()).when(restAPIAuthorizationFilterSpy).getDynamicPermissionsDecisionCache(1L);
+        final APICallContext apiCallContext = new APICallContext("GET", "bpm", "case", "1", "p=0&c=10", "");
+        doReturn(true).when(restAPIAuthorizationFilterSpy).executeScript(apiSession, "className", apiCallContext);
+
+        final boolean firstCall = restAPIAuthorizationFilterSpy.dynamicCheck(apiCallContext, new HashSet<String>(), dynamicAuthorizations, apiSession);
+        final boolean secondCall = restAPIAuthorizationFilterSpy.dynamicCheck(new APICallContext("GET", "bpm", "case", "1", "p=1&c=10", ""),
+                new HashSet<String>(), dynamicAuthorizations, apiSession);
+
+        assertThat(firstCall).isTrue();
+        assertThat(secondCall).isTrue();
+        verify(restAPIAuthorizationFilterSpy, times(1)).executeScript(eq(apiSession), eq("className"), any(APICallContext.class));
+    }
+
+    @Test
+    public void should_dynamicCheck_always_execute_the_script_for_write_calls() throws Exception {
+        final Set<String> dynamicAuthorizations = new HashSet<String>(Arrays.asList("check|className"));
+        final RestAPIAuthorizationFilter restAPIAuthorizationFilterSpy = spy(restAPIAuthorizationFilter);
+        doReturn(getEnabledDecisionCache()).when(restAPIAuthorizationFilterSpy).getDynamicPermissionsDecisionCache(1L);
+        final APICallContext apiCallContext = new APICallContext("PUT", "bpm", "case", "1", "", "{\"state\":\"canceled\"}");
+        doReturn(true).when(restAPIAuthorizationFilterSpy).executeScript(apiSession, "className", apiCallContext);
+
+        restAPIAuthorizationFilterSpy.dynamicCheck(apiCallContext, new HashSet<String>(), dynamicAuthorizations, apiSession);
+        restAPIAuthorizationFilterSpy.dynamicCheck(apiCallContext, new HashSet<String>(), dynamicAuthorizations, apiSession);
+
+        verify(restAPIAuthorizationFilterSpy, times(2)).executeScript(apiSession, "className", apiCallContext);
+    }
+
+    private DynamicPermissionsDecisionCache getEnabledDecisionCache() {
+        doReturn(60L).when(securityProperties).getDynamicPermissionsCacheTimeToLive();
+        doReturn(100).when(securityProperties).getDynamicPermissionsCacheMaxSize();
+        final DynamicPermissionsDecisionCache decisionCache = new DynamicPermissionsDecisionCache(1L, securityProperties);
+        decisionCache.clear();
+        return decisionCache;
+    }
+
     @Test
     public void checkResourceAuthorizationsSyntax_should_return_false_if_syntax_is_invalid() throws Exception {
         final RestAPIAuthorizationFilter restAPIAuthorizationFilterSpy = spy(restAPIAuthorizationFilter);
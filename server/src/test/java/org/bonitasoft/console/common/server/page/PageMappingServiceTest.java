@@ -6,6 +6,7 @@ import static org.mockito.Matchers.anyMap;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -19,6 +20,7 @@ import java.util.Set;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpSession;
 
+import org.bonitasoft.console.common.server.preferences.properties.ConsoleProperties;
 import org.bonitasoft.console.common.server.utils.SessionUtil;
 import org.bonitasoft.engine.api.PageAPI;
 import org.bonitasoft.engine.page.AuthorizationRuleConstants;
@@ -51,6 +53,11 @@ public class PageMappingServiceTest {
     @Mock
     APISession apiSession;
 
+    @Mock
+    ConsoleProperties consoleProperties;
+
+    PageMetadataCache pageMetadataCache;
+
     @Before
     public void beforeEach() throws Exception {
         when(hsRequest.getSession()).thenReturn(httpSession);
@@ -60,6 +67,12 @@ public class PageMappingServiceTest {
         Map<String, String[]> params = new HashMap<>();
         params.put("key", new String[]{"value"});
         when(hsRequest.getParameterMap()).thenReturn(params);
+        when(consoleProperties.getPageCacheMaxSize()).thenReturn(100);
+        when(consoleProperties.getPageCacheTimeToLive()).thenReturn(60L);
+        pageMetadataCache = new PageMetadataCache(42L, consoleProperties);
+        pageMetadataCache.clear();
+        doReturn(pageMetadataCache).when(pageMappingService).getPageMetadataCache(apiSession);
+        when(httpSession.getAttribute(SessionUtil.PERMISSIONS_SESSION_PARAM_KEY)).thenReturn(new HashSet<String>());
     }
 
     @SuppressWarnings("unchecked")
@@ -87,4 +100,43 @@ public class PageMappingServiceTest {
         assertEquals("/externalURL", returnedPageReference.getURL());
     }
 
+    @Test
+    public void getPage_should_resolve_mapping_without_authorization_rules_only_once() throws Exception {
+        final PageURL pageURL = mock(PageURL.class);
+        when(pageURL.getPageId()).thenReturn(12L);
+        when(pageAPI.resolvePageOrURL(eq("apiExtension|GET|helloWorld"), anyMap(), eq(false))).thenReturn(pageURL);
+
+        pageMappingService.getPage(hsRequest, apiSession, "apiExtension|GET|helloWorld", new Locale("en"), false);
+        final PageReference returnedPageReference = pageMappingService.getPage(hsRequest, apiSession, "apiExtension|GET|helloWorld",
+                new Locale("en"), false);
+
+        verify(pageAPI, times(1)).resolvePageOrURL(eq("apiExtension|GET|helloWorld"), anyMap(), eq(false));
+        assertEquals(Long.valueOf(12L), returnedPageReference.getPageId());
+        assertEquals(null, returnedPageReference.getURL());
+    }
+
+    @Test
+    public void getPage_should_always_resolve_mapping_with_authorization_rules() throws Exception {
+        final PageURL pageURL = mock(PageURL.class);
+        when(pageURL.getPageId()).thenReturn(12L);
+        when(pageAPI.resolvePageOrURL(eq("process/processName/processVersion"), anyMap(), eq(true))).thenReturn(pageURL);
+
+        pageMappingService.getPage(hsRequest, apiSession, "process/processName/processVersion", new Locale("en"), true);
+        pageMappingService.getPage(hsRequest, apiSession, "process/processName/processVersion", new Locale("en"), true);
+
+        verify(pageAPI, times(2)).resolvePageOrURL(eq("process/processName/processVersion"), anyMap(), eq(true));
+    }
+
+    @Test
+    public void getPage_should_not_cache_mappings_resolved_to_an_url() throws Exception {
+        final PageURL pageURL = mock(PageURL.class);
+        when(pageURL.getUrl()).thenReturn("/externalURL");
+        when(pageAPI.resolvePageOrURL(eq("process/processName/processVersion"), anyMap(), eq(false))).thenReturn(pageURL);
+
+        pageMappingService.getPage(hsRequest, apiSession, "process/processName/processVersion", new Locale("en"), false);
+        pageMappingService.getPage(hsRequest, apiSession, "process/processName/processVersion", new Locale("en"), false);
+
+        verify(pageAPI, times(2)).resolvePageOrURL(eq("process/processName/processVersion"), anyMap(), eq(false));
+    }
+
 }
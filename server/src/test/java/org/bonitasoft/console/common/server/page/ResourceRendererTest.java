@@ -18,6 +18,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -100,12 +101,25 @@ public class ResourceRendererTest {
         verify(servletContext).getMimeType("file.css");
         verify(res).setContentType("text/css");
         verify(res).setContentLength((int) contentLength);
-        verify(res).setBufferSize((int) contentLength);
+        verify(res).setHeader("Accept-Ranges", "bytes");
         verify(outputStream).write(any(byte[].class), eq(0), eq((int) contentLength));
         verify(res).flushBuffer();
         verify(outputStream).close();
     }
 
+    @Test
+    public void renderFile_should_not_send_the_content_when_it_is_not_modified() throws Exception {
+        final File resourceFile = getResourceFile();
+        final String eTag = "\"" + Long.toHexString(resourceFile.lastModified()) + "-" + Long.toHexString(resourceFile.length()) + "\"";
+        when(req.getHeader("If-None-Match")).thenReturn(eTag);
+
+        resourceRenderer.renderFile(req, res, resourceFile, apiSession);
+
+        verify(res).setHeader("ETag", eTag);
+        verify(res).setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+        verify(res, never()).getOutputStream();
+    }
+
     private File getResourceFile() throws URISyntaxException {
         return new File(ResourceRendererTest.class.getResource("file.css").toURI());
     }
@@ -0,0 +1,226 @@
+/**
+ * Copyright (C) 2020 Bonitasoft S.A.
+ * Bonitasoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.console.common.server.page;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import groovy.lang.GroovyClassLoader;
+import org.bonitasoft.engine.page.Page;
+import org.bonitasoft.engine.session.APISession;
+import org.bonitasoft.web.extension.page.PageResourceProvider;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class RestApiControllerCacheTest {
+
+    private static final long TENANT_ID = 1L;
+
+    private static final String PAGE_NAME = "custompage_restApi";
+
+    @Mock
+    private Page page;
+
+    @Mock
+    private CustomPageService customPageService;
+
+    @Mock
+    private APISession apiSession;
+
+    @Mock
+    private PageResourceProvider pageResourceProvider;
+
+    private final File controllerFile = new File("Index.groovy");
+
+    private final GroovyClassLoader pageClassLoader = new GroovyClassLoader();
+
+    private RestApiControllerCache restApiControllerCache;
+
+    @Before
+    public void setUp() throws Exception {
+        restApiControllerCache = new RestApiControllerCache();
+        when(page.getId()).thenReturn(12L);
+        when(page.getLastModificationDate()).thenReturn(new Date(1000L));
+        doReturn(String.class).when(customPageService).registerRestApiPage(any(GroovyClassLoader.class), any(File.class));
+        when(apiSession.getTenantId()).thenReturn(TENANT_ID);
+        when(pageResourceProvider.getFullPageName()).thenReturn(PAGE_NAME);
+    }
+
+    @Test
+    public void should_check_page_folder_only_once_for_the_same_page_version() throws Exception {
+        restApiControllerCache.getUpToDateCachedPage(apiSession, page, pageResourceProvider, customPageService);
+        restApiControllerCache.getUpToDateCachedPage(apiSession, page, pageResourceProvider, customPageService);
+
+        verify(customPageService, times(1)).ensurePageFolderIsUpToDate(apiSession, pageResourceProvider);
+
+        when(page.getLastModificationDate()).thenReturn(new Date(2000L));
+        restApiControllerCache.getUpToDateCachedPage(apiSession, page, pageResourceProvider, customPageService);
+
+        verify(customPageService, times(2)).ensurePageFolderIsUpToDate(apiSession, pageResourceProvider);
+    }
+
+    @Test
+    public void should_not_check_page_folder_when_another_page_is_updated() throws Exception {
+        restApiControllerCache.getUpToDateCachedPage(apiSession, page, pageResourceProvider, customPageService);
+        restApiControllerCache.invalidate(TENANT_ID, "otherPage");
+
+        restApiControllerCache.getUpToDateCachedPage(apiSession, page, pageResourceProvider, customPageService);
+
+        verify(customPageService, times(1)).ensurePageFolderIsUpToDate(apiSession, pageResourceProvider);
+    }
+
+    @Test
+    public void should_update_each_page_folder_once_and_never_concurrently_under_load() throws Exception {
+        final int nbPages = 20;
+        final int nbThreads = 32;
+        final int nbCallsPerThread = 200;
+        final List<Page> pages = new ArrayList<>();
+        final List<PageResourceProvider> pageResourceProviders = new ArrayList<>();
+        for (int i = 0; i < nbPages; i++) {
+            final Page aPage = mock(Page.class);
+            when(aPage.getId()).thenReturn((long) i);
+            when(aPage.getLastModificationDate()).thenReturn(new Date(1000L));
+            pages.add(aPage);
+            final PageResourceProvider aPageResourceProvider = mock(PageResourceProvider.class);
+            when(aPageResourceProvider.getFullPageName()).thenReturn("page" + i);
+            pageResourceProviders.add(aPageResourceProvider);
+        }
+        final ConcurrentMap<String, AtomicInteger> updatesPerPage = new ConcurrentHashMap<>();
+        final ConcurrentMap<String, AtomicInteger> concurrentUpdatesPerPage = new ConcurrentHashMap<>();
+        final AtomicInteger maxConcurrentUpdatesOfAPage = new AtomicInteger();
+        doAnswer(invocation -> {
+            final String pageName = ((PageResourceProvider) invocation.getArguments()[1]).getFullPageName();
+            updatesPerPage.computeIfAbsent(pageName, key -> new AtomicInteger()).incrementAndGet();
+            final AtomicInteger concurrentUpdates = concurrentUpdatesPerPage.computeIfAbsent(pageName, key -> new AtomicInteger());
+            maxConcurrentUpdatesOfAPage.accumulateAndGet(concurrentUpdates.incrementAndGet(), Math::max);
+            Thread.sleep(20);
+            concurrentUpdates.decrementAndGet();
+            return null;
+        }).when(customPageService).ensurePageFolderIsUpToDate(any(APISession.class), any(PageResourceProvider.class));
+
+        final ExecutorService executorService = Executors.newFixedThreadPool(nbThreads);
+        final CountDownLatch startSignal = new CountDownLatch(1);
+        final List<Future<Void>> results = new ArrayList<>();
+        for (int t = 0; t < nbThreads; t++) {
+            final int threadIndex = t;
+            results.add(executorService.submit((Callable<Void>) () -> {
+                startSignal.await();
+                for (int call = 0; call < nbCallsPerThread; call++) {
+                    final int pageIndex = (threadIndex + call) % nbPages;
+                    final RestApiControllerCache.CachedRestApiPage cachedPage = restApiControllerCache.getUpToDateCachedPage(apiSession,
+                            pages.get(pageIndex), pageResourceProviders.get(pageIndex), customPageService);
+                    assertThat(cachedPage.isPageFolderUpToDate()).isTrue();
+                }
+                return null;
+            }));
+        }
+        startSignal.countDown();
+        for (final Future<Void> result : results) {
+            result.get(30, TimeUnit.SECONDS);
+        }
+        executorService.shutdown();
+
+        assertThat(updatesPerPage).hasSize(nbPages);
+        for (final AtomicInteger updates : updatesPerPage.values()) {
+            assertThat(updates.get()).isEqualTo(1);
+        }
+        assertThat(maxConcurrentUpdatesOfAPage.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void should_compile_controller_only_once_for_the_same_page_version() throws Exception {
+        final Class<?> firstCall = getControllerClass(pageClassLoader);
+        final Class<?> secondCall = getControllerClass(pageClassLoader);
+
+        assertThat(firstCall).isEqualTo(String.class);
+        assertThat(secondCall).isEqualTo(String.class);
+        verify(customPageService, times(1)).registerRestApiPage(pageClassLoader, controllerFile);
+        assertThat(restApiControllerCache.getMissCount()).isEqualTo(1L);
+        assertThat(restApiControllerCache.getHitCount()).isEqualTo(1L);
+    }
+
+    @Test
+    public void should_compile_controller_again_when_page_is_updated() throws Exception {
+        getControllerClass(pageClassLoader);
+        when(page.getLastModificationDate()).thenReturn(new Date(2000L));
+
+        getControllerClass(pageClassLoader);
+
+        verify(customPageService, times(2)).registerRestApiPage(pageClassLoader, controllerFile);
+        assertThat(restApiControllerCache.getMissCount()).isEqualTo(2L);
+    }
+
+    @Test
+    public void should_compile_controller_again_when_page_classloader_changes() throws Exception {
+        getControllerClass(pageClassLoader);
+        final GroovyClassLoader newPageClassLoader = new GroovyClassLoader();
+
+        getControllerClass(newPageClassLoader);
+
+        verify(customPageService, times(1)).registerRestApiPage(pageClassLoader, controllerFile);
+        verify(customPageService, times(1)).registerRestApiPage(newPageClassLoader, controllerFile);
+    }
+
+    @Test
+    public void should_compile_controller_again_when_page_is_invalidated() throws Exception {
+        getControllerClass(pageClassLoader);
+        restApiControllerCache.invalidate(TENANT_ID, PAGE_NAME);
+
+        getControllerClass(pageClassLoader);
+
+        verify(customPageService, times(2)).registerRestApiPage(pageClassLoader, controllerFile);
+    }
+
+    @Test
+    public void should_keep_resolved_controller_files_for_the_same_page_version() throws Exception {
+        restApiControllerCache.getCachedPage(TENANT_ID, page, PAGE_NAME).putControllerFile("apiExtension|GET|helloWorld", controllerFile);
+
+        assertThat(restApiControllerCache.getCachedPage(TENANT_ID, page, PAGE_NAME).getControllerFile("apiExtension|GET|helloWorld"))
+                .isEqualTo(controllerFile);
+        assertThat(restApiControllerCache.getCachedPage(2L, page, PAGE_NAME).getControllerFile("apiExtension|GET|helloWorld")).isNull();
+
+        when(page.getLastModificationDate()).thenReturn(new Date(2000L));
+        assertThat(restApiControllerCache.getCachedPage(TENANT_ID, page, PAGE_NAME).getControllerFile("apiExtension|GET|helloWorld")).isNull();
+    }
+
+    private Class<?> getControllerClass(final GroovyClassLoader classLoader) throws Exception {
+        final RestApiControllerCache.CachedRestApiPage cachedPage = restApiControllerCache.getCachedPage(TENANT_ID, page, PAGE_NAME);
+        return restApiControllerCache.getRestApiControllerClass(cachedPage, classLoader, controllerFile, customPageService);
+    }
+}
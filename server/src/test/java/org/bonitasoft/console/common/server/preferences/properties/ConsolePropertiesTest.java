@@ -16,6 +16,7 @@ package org.bonitasoft.console.common.server.preferences.properties;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 
 import java.io.IOException;
 import java.util.Collections;
@@ -50,6 +51,21 @@ public class ConsolePropertiesTest {
         assertEquals("Cannot retrieve a property", value, "aValue");
     }
 
+    @Test
+    public void testTypedValuesAreUpdatedWhenConfigurationIsPushed() throws IOException {
+        assertEquals(15L, properties.getMaxSize());
+
+        ConfigurationFilesManager.getInstance().setTenantConfigurations(Collections.singletonMap("console-config.properties",
+                "form.attachment.max.size=30".getBytes()), TENANT_ID);
+
+        assertEquals(30L, properties.getMaxSize());
+    }
+
+    @Test
+    public void testConsolePropertiesAreSharedForATenant() {
+        assertSame(PropertiesFactory.getConsoleProperties(TENANT_ID), PropertiesFactory.getConsoleProperties(TENANT_ID));
+    }
+
     @Test
     public void testDefaultIsRetrieveIfPropertyIsEmpty() {
         String defaultValue = properties.getProperty("notExsitingProperty", "defaultValue");
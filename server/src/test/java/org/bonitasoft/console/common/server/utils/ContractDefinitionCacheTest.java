@@ -0,0 +1,107 @@
+/**
+ * Copyright (C) 2020 Bonitasoft S.A.
+ * Bonitasoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.console.common.server.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.bonitasoft.engine.bpm.contract.impl.ContractDefinitionImpl;
+import org.bonitasoft.engine.bpm.flownode.HumanTaskInstance;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ContractDefinitionCacheTest {
+
+    private final ContractTypeConverter contractTypeConverter = new ContractTypeConverter(ContractTypeConverter.ISO_8601_DATE_PATTERNS);
+
+    private ContractDefinitionCache contractCache;
+
+    @Before
+    public void setUp() throws Exception {
+        contractCache = new ContractDefinitionCache(3L, 10);
+        contractCache.clear();
+    }
+
+    @Test
+    public void should_load_the_contract_only_once() throws Exception {
+        final CachedContract processContract = contractTypeConverter.prepareContract(new ContractDefinitionImpl());
+
+        assertThat(contractCache.getProcessContract(1L, () -> processContract)).isSameAs(processContract);
+        assertThat(contractCache.getProcessContract(1L, this::failToLoad)).isSameAs(processContract);
+    }
+
+    @Test
+    public void should_share_the_task_contract_between_the_instances_of_a_task() throws Exception {
+        final CachedContract taskContract = contractTypeConverter.prepareContract(new ContractDefinitionImpl());
+
+        contractCache.getTaskContract(11L, () -> aTask(1L, "step1"), () -> taskContract);
+
+        assertThat(contractCache.getTaskContract(12L, () -> aTask(1L, "step1"), this::failToLoad)).isSameAs(taskContract);
+    }
+
+    @Test
+    public void should_resolve_the_task_definition_of_a_task_instance_only_once() throws Exception {
+        final CachedContract taskContract = contractTypeConverter.prepareContract(new ContractDefinitionImpl());
+
+        contractCache.getTaskContract(11L, () -> aTask(1L, "step1"), () -> taskContract);
+
+        assertThat(contractCache.getTaskContract(11L, this::failToLoadTask, this::failToLoad)).isSameAs(taskContract);
+    }
+
+    @Test
+    public void should_invalidate_the_process_contract_and_its_task_contracts() throws Exception {
+        final CachedContract otherProcessContract = contractTypeConverter.prepareContract(new ContractDefinitionImpl());
+        final CachedContract otherTaskContract = contractTypeConverter.prepareContract(new ContractDefinitionImpl());
+        contractCache.getProcessContract(1L, () -> contractTypeConverter.prepareContract(new ContractDefinitionImpl()));
+        contractCache.getProcessContract(2L, () -> otherProcessContract);
+        contractCache.getTaskContract(11L, () -> aTask(1L, "step1"), () -> contractTypeConverter.prepareContract(new ContractDefinitionImpl()));
+        contractCache.getTaskContract(21L, () -> aTask(2L, "step1"), () -> otherTaskContract);
+
+        contractCache.invalidateProcess(1L);
+
+        final CachedContract reloadedContract = contractTypeConverter.prepareContract(new ContractDefinitionImpl());
+        assertThat(contractCache.getProcessContract(1L, () -> reloadedContract)).isSameAs(reloadedContract);
+        assertThat(contractCache.getTaskContract(11L, () -> aTask(1L, "step1"), () -> reloadedContract)).isSameAs(reloadedContract);
+        assertThat(contractCache.getProcessContract(2L, this::failToLoad)).isSameAs(otherProcessContract);
+        assertThat(contractCache.getTaskContract(21L, this::failToLoadTask, this::failToLoad)).isSameAs(otherTaskContract);
+    }
+
+    @Test
+    public void should_not_cache_missing_contracts() throws Exception {
+        contractCache.getProcessContract(1L, () -> contractTypeConverter.prepareContract(null));
+        contractCache.getTaskContract(11L, () -> aTask(1L, "step1"), () -> contractTypeConverter.prepareContract(null));
+
+        final CachedContract processContract = contractTypeConverter.prepareContract(new ContractDefinitionImpl());
+        assertThat(contractCache.getProcessContract(1L, () -> processContract)).isSameAs(processContract);
+        assertThat(contractCache.getTaskContract(11L, () -> aTask(1L, "step1"), () -> processContract)).isSameAs(processContract);
+    }
+
+    private CachedContract failToLoad() {
+        throw new AssertionError("the contract should be cached");
+    }
+
+    private HumanTaskInstance failToLoadTask() {
+        throw new AssertionError("the task definition should be cached");
+    }
+
+    private HumanTaskInstance aTask(final long processDefinitionId, final String name) {
+        final HumanTaskInstance task = mock(HumanTaskInstance.class);
+        when(task.getProcessDefinitionId()).thenReturn(processDefinitionId);
+        when(task.getName()).thenReturn(name);
+        return task;
+    }
+
+}
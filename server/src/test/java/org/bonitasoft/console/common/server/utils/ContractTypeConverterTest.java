@@ -132,6 +132,34 @@ public class ContractTypeConverterTest {
                 entry("inputFile", new FileInputValue(filename, "", fileContentString.getBytes("UTF-8"))));
     }
 
+    @Test
+    public void getProcessedInputFromPlan_should_convert_inputs_like_the_contract_they_were_prepared_from() throws Exception {
+        final List<InputDefinition> inputDefinition = generateSimpleInputDefinition(true);
+        when(contractDefinition.getInputs()).thenReturn(inputDefinition);
+        final String tempFilePath = "tempFile";
+        final File tempFile = generateTempFile();
+        doReturn(tempFile).when(bonitaHomeFolderAccessor).getTempFile(tempFilePath, tenantId);
+        final CachedContract cachedContract = contractTypeConverter.prepareContract(contractDefinition);
+
+        final Map<String, Serializable> processedInput = contractTypeConverter.getProcessedInputFromPlan(cachedContract, generateInputMap(tempFilePath),
+                maxSizeForTenant, tenantId);
+
+        assertThat(processedInput).isEqualTo(contractTypeConverter.getProcessedInput(contractDefinition, generateInputMap(tempFilePath),
+                maxSizeForTenant, tenantId));
+        assertThat(cachedContract.getContract()).isSameAs(contractDefinition);
+        assertThat(cachedContract.getAdaptedContract().getInputs()).hasSize(inputDefinition.size());
+    }
+
+    @Test
+    public void prepareContract_should_accept_a_missing_contract() throws Exception {
+        final CachedContract cachedContract = contractTypeConverter.prepareContract(null);
+        final Map<String, Serializable> input = new HashMap<>();
+        input.put("input1", "value1");
+
+        assertThat(cachedContract.getContract()).isNull();
+        assertThat(contractTypeConverter.getProcessedInputFromPlan(cachedContract, input, maxSizeForTenant, tenantId)).isEqualTo(input);
+    }
+
     @Test
     public void getProcessedInputs_with_complex_input_should_return_processed_input() throws Exception {
         final List<InputDefinition> inputDefinition = generateComplexInputDefinition();
@@ -250,6 +278,25 @@ public class ContractTypeConverterTest {
         verify(contractTypeConverter, times(0)).deleteFile(any(File.class));
     }
 
+    @Test
+    public void should_reserve_the_memory_of_the_file_contents_until_the_lease_is_closed() throws Exception {
+        final FileContentMemoryBudget memoryBudget = new FileContentMemoryBudget(1000L, 0L);
+        doReturn(memoryBudget).when(contractTypeConverter).getMemoryBudget(tenantId);
+        final List<InputDefinition> inputDefinition = generateSimpleInputDefinition(true);
+        when(contractDefinition.getInputs()).thenReturn(inputDefinition);
+        final String tempFilePath = "tempFile";
+        final File tempFile = generateTempFile();
+        doReturn(tempFile).when(bonitaHomeFolderAccessor).getTempFile(tempFilePath, tenantId);
+        final Map<String, Serializable> input = generateInputMap(tempFilePath);
+
+        try (FileContentMemoryBudget.Lease lease = contractTypeConverter.reserveFileContents(contractDefinition, input, tenantId)) {
+            contractTypeConverter.getProcessedInput(contractDefinition, input, maxSizeForTenant, tenantId);
+
+            assertThat(memoryBudget.getStatistics()).containsEntry("bytesInFlight", tempFile.length());
+        }
+        assertThat(memoryBudget.getStatistics()).containsEntry("bytesInFlight", 0L).containsEntry("reservations", 1L);
+    }
+
     @Test
     public void should_delete_temporary_files_of_contract_input() throws Exception {
         final List<InputDefinition> inputDefinition = generateSimpleInputDefinition(true);
@@ -0,0 +1,96 @@
+/**
+ * Copyright (C) 2020 Bonitasoft S.A.
+ * Bonitasoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.console.common.server.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.bonitasoft.web.toolkit.client.common.exception.api.APIServiceUnavailableException;
+import org.junit.Test;
+
+public class FileContentMemoryBudgetTest {
+
+    @Test
+    public void should_reserve_and_release_file_contents() throws Exception {
+        final FileContentMemoryBudget memoryBudget = new FileContentMemoryBudget(100L, 0L);
+
+        final long reserved = memoryBudget.reserve(60L);
+        memoryBudget.release(memoryBudget.reserve(40L));
+
+        assertThat(reserved).isEqualTo(60L);
+        assertThat(memoryBudget.getStatistics()).containsEntry("bytesInFlight", 60L).containsEntry("peakBytesInFlight", 100L)
+                .containsEntry("reservations", 2L).containsEntry("waits", 0L);
+    }
+
+    @Test
+    public void should_accept_a_file_larger_than_the_budget_when_nothing_else_is_in_memory() throws Exception {
+        final FileContentMemoryBudget memoryBudget = new FileContentMemoryBudget(100L, 0L);
+
+        final long reserved = memoryBudget.reserve(500L);
+
+        assertThat(reserved).isEqualTo(100L);
+        memoryBudget.release(reserved);
+        assertThat(memoryBudget.getStatistics()).containsEntry("bytesInFlight", 0L);
+    }
+
+    @Test
+    public void should_reject_a_file_when_the_budget_is_not_released_before_the_timeout() throws Exception {
+        final FileContentMemoryBudget memoryBudget = new FileContentMemoryBudget(100L, 10L);
+        memoryBudget.reserve(80L);
+
+        try {
+            memoryBudget.reserve(30L);
+            throw new AssertionError("the reservation should have been rejected");
+        } catch (final APIServiceUnavailableException e) {
+            assertThat(memoryBudget.getStatistics()).containsEntry("bytesInFlight", 80L).containsEntry("waits", 1L)
+                    .containsEntry("rejections", 1L);
+        }
+    }
+
+    @Test
+    public void should_wait_for_the_budget_to_be_released() throws Exception {
+        final FileContentMemoryBudget memoryBudget = new FileContentMemoryBudget(100L, 10000L);
+        final long firstReservation = memoryBudget.reserve(80L);
+        final CountDownLatch reserved = new CountDownLatch(1);
+        final AtomicLong secondReservation = new AtomicLong();
+        final Thread waitingSubmission = new Thread(() -> {
+            secondReservation.set(memoryBudget.reserve(30L));
+            reserved.countDown();
+        });
+        waitingSubmission.start();
+
+        assertThat(reserved.await(50, TimeUnit.MILLISECONDS)).isFalse();
+        memoryBudget.release(firstReservation);
+
+        assertThat(reserved.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(secondReservation.get()).isEqualTo(30L);
+        assertThat(memoryBudget.getStatistics()).containsEntry("bytesInFlight", 30L).containsEntry("waits", 1L)
+                .containsEntry("rejections", 0L);
+    }
+
+    @Test
+    public void should_only_record_statistics_when_no_budget_is_configured() throws Exception {
+        final FileContentMemoryBudget memoryBudget = new FileContentMemoryBudget(0L, 0L);
+
+        memoryBudget.reserve(500L);
+        memoryBudget.reserve(500L);
+
+        assertThat(memoryBudget.getStatistics()).containsEntry("bytesInFlight", 1000L).containsEntry("waits", 0L);
+    }
+
+}
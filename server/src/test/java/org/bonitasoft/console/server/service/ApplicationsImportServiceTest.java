@@ -11,6 +11,7 @@ import java.util.ArrayList;
 
 import org.bonitasoft.console.common.server.i18n.I18n;
 import org.bonitasoft.console.common.server.utils.BonitaHomeFolderAccessor;
+import org.bonitasoft.console.common.server.utils.ProfilePermissionsCache;
 import org.bonitasoft.console.common.server.utils.UnauthorizedFolderException;
 import org.bonitasoft.engine.api.ApplicationAPI;
 import org.bonitasoft.engine.api.ImportStatus;
@@ -47,6 +48,9 @@ public class ApplicationsImportServiceTest {
     @Mock
     private BonitaHomeFolderAccessor tenantFolder;
 
+    @Mock
+    private ProfilePermissionsCache profilePermissionsCache;
+
     @Spy
     private ApplicationsImportService spiedApplicationImportService;
 
@@ -61,6 +65,7 @@ public class ApplicationsImportServiceTest {
         MockitoAnnotations.initMocks(this);
         doReturn(LOCALE.en).when(spiedApplicationImportService).getLocale();
         Mockito.doReturn(applicationAPI).when(spiedApplicationImportService).getApplicationAPI();
+        Mockito.doReturn(profilePermissionsCache).when(spiedApplicationImportService).getProfilePermissionsCache();
     }
 
     @Test
@@ -69,6 +74,12 @@ public class ApplicationsImportServiceTest {
         verify(applicationAPI).importApplications(new byte[0], ApplicationImportPolicy.FAIL_ON_DUPLICATES);
     }
 
+    @Test
+    public void should_importFileContent_invalidate_the_permissions_of_the_profiles() throws Exception {
+        spiedApplicationImportService.importFileContent(new byte[0], "FAIL_ON_DUPLICATES");
+        verify(profilePermissionsCache).invalidate();
+    }
+
     @Test
     public void should_importFileContent_return_ImportStatusMessages() throws Exception {
         final ArrayList<ImportStatus> statusList = new ArrayList<ImportStatus>();
@@ -4,17 +4,24 @@ import static java.util.Arrays.asList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
 
 import java.util.Collections;
 
 import org.bonitasoft.engine.api.ApplicationAPI;
 import org.bonitasoft.engine.api.PageAPI;
 import org.bonitasoft.engine.business.application.Application;
+import org.bonitasoft.engine.business.application.ApplicationPage;
 import org.bonitasoft.engine.business.application.impl.ApplicationImpl;
 import org.bonitasoft.engine.business.application.impl.ApplicationPageImpl;
 import org.bonitasoft.engine.exception.SearchException;
+import org.bonitasoft.engine.page.ContentType;
+import org.bonitasoft.engine.page.impl.PageImpl;
 import org.bonitasoft.engine.search.SearchOptions;
 import org.bonitasoft.engine.search.impl.SearchFilter;
 import org.bonitasoft.engine.search.impl.SearchResultImpl;
@@ -67,6 +74,54 @@ public class ApplicationModelFactoryTest {
         assertThat(model.getApplicationHomePage()).isEqualTo("home/");
     }
 
+    @Test
+    public void should_cache_the_routing_table_of_the_application_found() throws Exception {
+        final ApplicationRoutingCache routingCache = mock(ApplicationRoutingCache.class);
+        final ApplicationImpl application = new ApplicationImpl("foobar", "1.0", "bazqux", 4L, 5L);
+        application.setId(3);
+        application.setHomePageId(11L);
+        final ApplicationPageImpl homePage = new ApplicationPageImpl(3, 20, "home");
+        homePage.setId(11L);
+        final ApplicationPageImpl otherPage = new ApplicationPageImpl(3, 21, "other");
+        otherPage.setId(12L);
+        given(applicationApi.searchApplications(any(SearchOptions.class))).willReturn(
+                new SearchResultImpl<Application>(1, asList((Application) application)));
+        given(applicationApi.searchApplicationPages(any(SearchOptions.class))).willReturn(
+                new SearchResultImpl<ApplicationPage>(2, asList((ApplicationPage) homePage, otherPage)));
+        given(customPageApi.getPage(4L)).willReturn(new PageImpl(4L, "layout", "", false, false, "", 0L, 0L, 0L, 0L, "", ContentType.PAGE, null));
+        given(customPageApi.getPage(5L)).willReturn(new PageImpl(5L, "theme", "", false, false, "", 0L, 0L, 0L, 0L, "", ContentType.PAGE, null));
+
+        final ApplicationModel model = new ApplicationModelFactory(applicationApi, customPageApi, null, routingCache).createApplicationModel("foobar");
+
+        final ArgumentCaptor<ApplicationRoutingTable> captor = ArgumentCaptor.forClass(ApplicationRoutingTable.class);
+        verify(routingCache).storeRoutingTable(eq("foobar"), captor.capture());
+        verify(customPageApi, never()).getPage(anyLong());
+        final ApplicationRoutingTable routingTable = captor.getValue();
+        assertThat(routingTable.getHomePageToken()).isEqualTo("home");
+        assertThat(routingTable.getPageId("other")).isEqualTo(21L);
+        assertThat(routingTable.getLayoutName(customPageApi)).isEqualTo("layout");
+        assertThat(routingTable.getThemeName(customPageApi)).isEqualTo("theme");
+        assertThat(routingTable.getThemeId()).isEqualTo(5L);
+        assertThat(model.getApplicationHomePage()).isEqualTo("home/");
+        verify(applicationApi, never()).getApplicationHomePage(anyLong());
+    }
+
+    @Test
+    public void should_not_call_the_engine_when_the_routing_table_is_cached() throws Exception {
+        final ApplicationRoutingCache routingCache = mock(ApplicationRoutingCache.class);
+        final ApplicationImpl application = new ApplicationImpl("foobar", "1.0", "bazqux", 4L, 5L);
+        application.setId(3);
+        final ApplicationRoutingTable routingTable = new ApplicationRoutingTable(application, Collections.singletonMap("home", 20L), "home",
+                "layout", "theme");
+        given(routingCache.getRoutingTable("foobar")).willReturn(routingTable);
+
+        final ApplicationModel model = new ApplicationModelFactory(applicationApi, customPageApi, null, routingCache).createApplicationModel("foobar");
+
+        assertThat(model.hasPage("home")).isTrue();
+        assertThat(model.getApplicationLayoutName()).isEqualTo("layout");
+        verifyZeroInteractions(applicationApi, customPageApi);
+    }
+
     @Test
     public void should_filter_search_using_given_name() throws Exception {
         final ArgumentCaptor<SearchOptions> captor = ArgumentCaptor.forClass(SearchOptions.class);
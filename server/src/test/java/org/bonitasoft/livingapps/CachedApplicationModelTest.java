@@ -0,0 +1,143 @@
+package org.bonitasoft.livingapps;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.bonitasoft.engine.api.ApplicationAPI;
+import org.bonitasoft.engine.api.PageAPI;
+import org.bonitasoft.engine.api.ProfileAPI;
+import org.bonitasoft.engine.business.application.ApplicationMenu;
+import org.bonitasoft.engine.business.application.impl.ApplicationImpl;
+import org.bonitasoft.engine.business.application.impl.ApplicationMenuImpl;
+import org.bonitasoft.engine.business.application.impl.ApplicationPageImpl;
+import org.bonitasoft.engine.profile.Profile;
+import org.bonitasoft.engine.profile.ProfileCriterion;
+import org.bonitasoft.engine.profile.impl.ProfileImpl;
+import org.bonitasoft.engine.search.SearchOptions;
+import org.bonitasoft.engine.search.impl.SearchResultImpl;
+import org.bonitasoft.engine.session.APISession;
+import org.bonitasoft.livingapps.menu.Menu;
+import org.bonitasoft.livingapps.menu.MenuFactory;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class CachedApplicationModelTest {
+
+    @Mock
+    ApplicationAPI applicationApi;
+
+    @Mock
+    PageAPI pageApi;
+
+    @Mock
+    ProfileAPI profileApi;
+
+    @Mock
+    ApplicationRoutingCache routingCache;
+
+    @Mock
+    MenuFactory factory;
+
+    @Mock
+    APISession session;
+
+    ApplicationImpl application = new ApplicationImpl("token", "version", "description", 1L, 2L);
+
+    @Before
+    public void beforeEach() throws Exception {
+        application.setId(1L);
+        application.setProfileId(2L);
+        given(session.getId()).willReturn(7L);
+        given(session.getUserId()).willReturn(1L);
+    }
+
+    private CachedApplicationModel createModel(final String homePageToken) {
+        final ApplicationRoutingTable routingTable = new ApplicationRoutingTable(application, Collections.singletonMap("pageToken", 10L),
+                homePageToken, "layoutPage", "themePage");
+        return new CachedApplicationModel(applicationApi, pageApi, profileApi, routingTable, routingCache, factory);
+    }
+
+    @Test
+    public void should_route_the_application_without_calling_the_engine() throws Exception {
+        final CachedApplicationModel model = createModel("home");
+
+        assertThat(model.hasPage("pageToken")).isTrue();
+        assertThat(model.hasPage("unknown")).isFalse();
+        assertThat(model.getApplicationHomePage()).isEqualTo("home/");
+        assertThat(model.getApplicationLayoutName()).isEqualTo("layoutPage");
+        assertThat(model.getApplicationThemeName()).isEqualTo("themePage");
+        assertThat(model.getApplicationThemeId()).isEqualTo(2L);
+        assertThat(model.hasProfileMapped()).isTrue();
+        verifyZeroInteractions(applicationApi, pageApi, profileApi);
+    }
+
+    @Test
+    public void should_ask_the_engine_for_the_home_page_when_the_application_has_none() throws Exception {
+        given(applicationApi.getApplicationHomePage(1L)).willReturn(new ApplicationPageImpl(1, 1, "pageToken"));
+
+        assertThat(createModel(null).getApplicationHomePage()).isEqualTo("pageToken/");
+    }
+
+    @Test
+    public void should_authorize_a_user_with_the_configured_application_profile_and_cache_the_user_profiles() throws Exception {
+        final ProfileImpl profile = new ProfileImpl("administrator");
+        profile.setId(2L);
+        given(profileApi.getProfilesForUser(1L, 0, Integer.MAX_VALUE, ProfileCriterion.ID_ASC)).willReturn(asList((Profile) profile));
+
+        assertThat(createModel("home").authorize(session)).isTrue();
+
+        verify(routingCache).storeUserProfileIds(7L, Collections.singleton(2L));
+    }
+
+    @Test
+    public void should_authorize_a_user_from_the_cached_user_profiles() throws Exception {
+        final Set<Long> profileIds = new HashSet<>(asList(1L, 3L));
+        given(routingCache.getUserProfileIds(7L)).willReturn(profileIds);
+
+        assertThat(createModel("home").authorize(session)).isFalse();
+
+        verify(profileApi, never()).getProfilesForUser(anyLong(), anyInt(), anyInt(), eq(ProfileCriterion.ID_ASC));
+    }
+
+    @Test
+    public void should_build_the_menu_tree_and_cache_it_with_the_menu_version_read_before_building_it() throws Exception {
+        final List<ApplicationMenu> applicationMenus = asList((ApplicationMenu) new ApplicationMenuImpl("name", 1L, 2L, 1));
+        final List<Menu> menuList = Collections.emptyList();
+        given(applicationApi.searchApplicationMenus(any(SearchOptions.class)))
+                .willReturn(new SearchResultImpl<ApplicationMenu>(1, applicationMenus));
+        given(routingCache.getMenuVersion()).willReturn(3L);
+        given(factory.create(applicationMenus)).willReturn(menuList);
+
+        assertThat(createModel("home").getMenuList()).isSameAs(menuList);
+
+        verify(routingCache).storeMenuList(1L, 3L, menuList);
+    }
+
+    @Test
+    public void should_get_the_menu_tree_from_the_cache() throws Exception {
+        final List<Menu> menuList = Collections.emptyList();
+        given(routingCache.getMenuList(1L)).willReturn(menuList);
+
+        assertThat(createModel("home").getMenuList()).isSameAs(menuList);
+
+        verifyZeroInteractions(applicationApi, factory);
+    }
+
+}
@@ -23,6 +23,7 @@ import static org.mockito.Mockito.verify;
 
 import java.io.File;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import javax.servlet.http.HttpServletResponse;
@@ -35,7 +36,7 @@ import org.bonitasoft.console.common.server.page.extension.PageResourceProviderI
 import org.bonitasoft.console.common.server.utils.BonitaHomeFolderAccessor;
 import org.bonitasoft.engine.api.ApplicationAPI;
 import org.bonitasoft.engine.api.PageAPI;
-import org.bonitasoft.engine.business.application.ApplicationPage;
+import org.bonitasoft.engine.business.application.impl.ApplicationImpl;
 import org.bonitasoft.engine.page.Page;
 import org.bonitasoft.engine.session.APISession;
 import org.junit.Before;
@@ -83,9 +84,6 @@ public class LivingApplicationPageServletTest {
     @Mock
     Page page;
 
-    @Mock
-    ApplicationPage applicationPage;
-
     @Mock
     PageAPI pageAPI;
 
@@ -111,8 +109,7 @@ public class LivingApplicationPageServletTest {
         given(resourceRenderer.getPathSegments("/AppToken/pageToken/content/")).willReturn(Arrays.asList("AppToken", "pageToken", "content"));
         given(customPageAuthorizationsHelper.isPageAuthorized("AppToken", "customPageName")).willReturn(false);
 
-        doReturn(applicationPage).when(applicationAPI).getApplicationPage("AppToken", "pageToken");
-        doReturn(2L).when(applicationPage).getPageId();
+        doReturn(aRoutingTable("pageToken")).when(servlet).getRoutingTable("AppToken", apiSession);
         doReturn(page).when(pageAPI).getPage(2L);
         doReturn("customPageName").when(page).getName();
 
@@ -157,8 +154,7 @@ public class LivingApplicationPageServletTest {
         given(resourceRenderer.getPathSegments(path)).willReturn(pathSegment);
         given(customPageAuthorizationsHelper.isPageAuthorized(appToken, "customPage_" + pageToken)).willReturn(true);
 
-        doReturn(applicationPage).when(applicationAPI).getApplicationPage(appToken, pageToken);
-        doReturn(2L).when(applicationPage).getPageId();
+        doReturn(aRoutingTable(pageToken)).when(servlet).getRoutingTable(appToken, apiSession);
         doReturn(page).when(pageAPI).getPage(2L);
         doReturn("customPage_" + pageToken).when(page).getName();
 
@@ -178,8 +174,7 @@ public class LivingApplicationPageServletTest {
         doReturn(pageDir).when(pageResourceProvider).getPageDirectory();
         doReturn(true).when(bonitaHomeFolderAccessor).isInFolder(any(File.class), any(File.class));
 
-        doReturn(applicationPage).when(applicationAPI).getApplicationPage("AppToken", "htmlexample");
-        doReturn(2L).when(applicationPage).getPageId();
+        doReturn(aRoutingTable("htmlexample")).when(servlet).getRoutingTable("AppToken", apiSession);
         doReturn(page).when(pageAPI).getPage(2L);
         doReturn(pageName).when(page).getName();
 
@@ -200,8 +195,7 @@ public class LivingApplicationPageServletTest {
         given(pageResourceProvider.getPageDirectory()).willReturn(pageDir);
         doReturn(false).when(bonitaHomeFolderAccessor).isInFolder(any(File.class), any(File.class));
 
-        doReturn(applicationPage).when(applicationAPI).getApplicationPage("AppToken", "htmlexample");
-        doReturn(2L).when(applicationPage).getPageId();
+        doReturn(aRoutingTable("htmlexample")).when(servlet).getRoutingTable("AppToken", apiSession);
         doReturn(page).when(pageAPI).getPage(2L);
         doReturn("customPage_" + "htmlexample").when(page).getName();
 
@@ -240,8 +234,7 @@ public class LivingApplicationPageServletTest {
         given(resourceRenderer.getPathSegments("/AppToken/htmlexample" + unauthorizedPath)).willReturn(
                 Arrays.asList("AppToken", "htmlexample", "theme", "..", "WEB-INF", "web.xml"));
         
-        doReturn(applicationPage).when(applicationAPI).getApplicationPage("AppToken", "htmlexample");
-        doReturn(2L).when(applicationPage).getPageId();
+        doReturn(aRoutingTable("htmlexample")).when(servlet).getRoutingTable("AppToken", apiSession);
         doReturn(page).when(pageAPI).getPage(2L);
         doReturn("customPage_" + "htmlexample").when(page).getName();
 
@@ -250,4 +243,20 @@ public class LivingApplicationPageServletTest {
         verify(hsResponse).sendError(HttpServletResponse.SC_FORBIDDEN, "attempt to access unauthorized path /apps/AppToken" + unauthorizedPath);
     }
 
+    @Test
+    public void should_get_not_found_status_when_the_application_has_no_such_page() throws Exception {
+        hsRequest.setPathInfo("/AppToken/unknown/content/");
+        given(resourceRenderer.getPathSegments("/AppToken/unknown/content/")).willReturn(Arrays.asList("AppToken", "unknown", "content"));
+        doReturn(aRoutingTable("pageToken")).when(servlet).getRoutingTable("AppToken", apiSession);
+
+        servlet.service(hsRequest, hsResponse);
+
+        verify(hsResponse).sendError(404, "Cannot found the pageunknownfor the applicationAppToken.");
+        verify(applicationAPI, never()).getApplicationPage(any(String.class), any(String.class));
+    }
+
+    private ApplicationRoutingTable aRoutingTable(final String pageToken) {
+        return new ApplicationRoutingTable(new ApplicationImpl("AppToken", "1.0", ""), Collections.singletonMap(pageToken, 2L), null);
+    }
+
 }
\ No newline at end of file
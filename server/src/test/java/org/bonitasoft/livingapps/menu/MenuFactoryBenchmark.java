@@ -0,0 +1,148 @@
+package org.bonitasoft.livingapps.menu;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.bonitasoft.engine.api.ApplicationAPI;
+import org.bonitasoft.engine.business.application.ApplicationMenu;
+import org.bonitasoft.engine.business.application.ApplicationPage;
+import org.bonitasoft.engine.business.application.impl.ApplicationMenuImpl;
+import org.bonitasoft.engine.business.application.impl.ApplicationPageImpl;
+import org.bonitasoft.engine.search.SearchOptions;
+import org.bonitasoft.engine.search.impl.SearchResultImpl;
+import org.bonitasoft.livingapps.menu.MenuFactory.Collector;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the construction of the menu tree of an application with large menus by {@link MenuFactory} and by the former algorithm,
+ * which scanned all the menus for the children of each container and retrieved the page of each link from the engine.
+ * The engine is mocked, so the figures do not include the remote round-trip of each engine call: one per link for the former algorithm,
+ * a single search for {@link MenuFactory}.
+ * It is not run with the unit tests, run the main method (with the test classpath) to launch it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MenuFactoryBenchmark {
+
+    private static final long APPLICATION_ID = 1L;
+
+    /**
+     * number of links in each container
+     */
+    private static final int CONTAINER_SIZE = 10;
+
+    @Param({ "100", "1000" })
+    private int numberOfMenus;
+
+    private List<ApplicationMenu> menus;
+
+    private ApplicationAPI applicationApi;
+
+    @Setup
+    public void setUp() throws Exception {
+        final List<ApplicationPage> pages = new ArrayList<ApplicationPage>(numberOfMenus);
+        final Map<Long, ApplicationPage> pagesById = new HashMap<Long, ApplicationPage>();
+        menus = new ArrayList<ApplicationMenu>(numberOfMenus);
+        Long parentId = null;
+        for (long id = 1; id <= numberOfMenus; id++) {
+            final ApplicationMenuImpl menu;
+            if (id % (CONTAINER_SIZE + 1) == 1) {
+                menu = new ApplicationMenuImpl("container" + id, APPLICATION_ID, null, (int) id);
+                parentId = id;
+            } else {
+                final ApplicationPageImpl page = new ApplicationPageImpl(APPLICATION_ID, id, "page" + id);
+                page.setId(id);
+                pages.add(page);
+                pagesById.put(id, page);
+                menu = new ApplicationMenuImpl("link" + id, APPLICATION_ID, id, (int) id);
+                menu.setParentId(parentId);
+            }
+            menu.setId(id);
+            menus.add(menu);
+        }
+        applicationApi = mock(ApplicationAPI.class);
+        when(applicationApi.searchApplicationPages(any(SearchOptions.class))).thenAnswer(new Answer<SearchResultImpl<ApplicationPage>>() {
+
+            @Override
+            public SearchResultImpl<ApplicationPage> answer(final InvocationOnMock invocation) {
+                return new SearchResultImpl<ApplicationPage>(pages.size(), pages);
+            }
+        });
+        when(applicationApi.getApplicationPage(anyLong())).thenAnswer(new Answer<ApplicationPage>() {
+
+            @Override
+            public ApplicationPage answer(final InvocationOnMock invocation) {
+                return pagesById.get(invocation.getArguments()[0]);
+            }
+        });
+    }
+
+    @Benchmark
+    public void createWithIndex(final Blackhole blackhole) throws Exception {
+        blackhole.consume(new MenuFactory(applicationApi).create(menus));
+    }
+
+    @Benchmark
+    public void createWithScans(final Blackhole blackhole) throws Exception {
+        blackhole.consume(collect(menus, new RootMenuCollector()));
+    }
+
+    private List<Menu> collect(final List<ApplicationMenu> items, final Collector collector) throws Exception {
+        final List<Menu> menuList = new ArrayList<Menu>();
+        for (final ApplicationMenu item : items) {
+            if (collector.isCollectible(item)) {
+                if (item.getApplicationPageId() == null) {
+                    menuList.add(new MenuContainer(item, collect(items, childrenOf(item.getId()))));
+                } else {
+                    menuList.add(new MenuLink(item, applicationApi.getApplicationPage(item.getApplicationPageId()).getToken()));
+                }
+            }
+        }
+        return menuList;
+    }
+
+    /**
+     * the former collector of the children of a container, which tested each menu of the application
+     */
+    private Collector childrenOf(final Long parentId) {
+        return new Collector() {
+
+            @Override
+            public boolean isCollectible(final ApplicationMenu menu) {
+                return parentId.equals(menu.getParentId());
+            }
+        };
+    }
+
+    public static void main(final String[] args) throws Exception {
+        new Runner(new OptionsBuilder().include(MenuFactoryBenchmark.class.getSimpleName()).build()).run();
+    }
+
+}
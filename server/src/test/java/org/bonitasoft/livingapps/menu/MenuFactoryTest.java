@@ -3,16 +3,28 @@ package org.bonitasoft.livingapps.menu;
 import static java.util.Arrays.asList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.List;
 
 import org.bonitasoft.engine.api.ApplicationAPI;
 import org.bonitasoft.engine.business.application.ApplicationMenu;
+import org.bonitasoft.engine.business.application.ApplicationPage;
+import org.bonitasoft.engine.business.application.ApplicationPageSearchDescriptor;
 import org.bonitasoft.engine.business.application.impl.ApplicationMenuImpl;
 import org.bonitasoft.engine.business.application.impl.ApplicationPageImpl;
+import org.bonitasoft.engine.search.SearchOptions;
+import org.bonitasoft.engine.search.impl.SearchResultImpl;
 import org.bonitasoft.livingapps.menu.MenuFactory;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Answers;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 
@@ -72,4 +84,44 @@ public class MenuFactoryTest {
                         .append("<li><a href=\"token\">nested-link</a></li>")
                         .append("</ul></li>").toString());
     }
+
+    @Test
+    public void should_retrieve_the_page_tokens_of_the_application_with_a_single_search() throws Exception {
+        final ApplicationPageImpl anApplicationPage = new ApplicationPageImpl(1L, 5L, "searched-token");
+        anApplicationPage.setId(2L);
+        given(applicationApi.searchApplicationPages(any(SearchOptions.class)))
+                .willReturn(new SearchResultImpl<ApplicationPage>(1, asList((ApplicationPage) anApplicationPage)));
+        MenuFactory factory = new MenuFactory(applicationApi);
+
+        final List<Menu> menuList = factory.create(asList((ApplicationMenu) aMenuLink, aMenuContainer, aNestedMenuLink));
+
+        assertThat(menuList.get(0).getHtml()).isEqualTo("<li><a href=\"searched-token\">link</a></li>");
+        assertThat(menuList.get(1).getHtml()).contains("<li><a href=\"searched-token\">nested-link</a></li>");
+        final ArgumentCaptor<SearchOptions> captor = ArgumentCaptor.forClass(SearchOptions.class);
+        verify(applicationApi, times(1)).searchApplicationPages(captor.capture());
+        assertThat(captor.getValue().getFilters().get(0).getField()).isEqualTo(ApplicationPageSearchDescriptor.APPLICATION_ID);
+        assertThat(captor.getValue().getFilters().get(0).getValue()).isEqualTo(1L);
+        verify(applicationApi, never()).getApplicationPage(anyLong());
+    }
+
+    @Test
+    public void should_keep_the_order_of_the_menus_at_each_level() throws Exception {
+        final ApplicationMenuImpl anotherNestedMenuLink = new ApplicationMenuImpl("another-nested-link", 1L, 2L, 1);
+        anotherNestedMenuLink.setId(4L);
+        anotherNestedMenuLink.setParentId(2L);
+        MenuFactory factory = new MenuFactory(applicationApi);
+
+        final List<Menu> menuList = factory.create(asList((ApplicationMenu) anotherNestedMenuLink, aMenuContainer, aMenuLink, aNestedMenuLink));
+
+        assertThat(menuList).hasSize(2);
+        assertThat(menuList.get(0).getHtml()).contains("<li><a href=\"token\">another-nested-link</a></li><li><a href=\"token\">nested-link</a></li>");
+        assertThat(menuList.get(1).getHtml()).isEqualTo("<li><a href=\"token\">link</a></li>");
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void should_create_an_immutable_menu_list() throws Exception {
+        MenuFactory factory = new MenuFactory(applicationApi);
+
+        factory.create(asList((ApplicationMenu) aMenuLink)).clear();
+    }
 }
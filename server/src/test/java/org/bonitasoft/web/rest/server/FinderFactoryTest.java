@@ -202,6 +202,7 @@ public class FinderFactoryTest {
     public void should_return_TaskContractResource_for_TaskContractResourceFinder() {
         final UserTaskContractResourceFinder userTaskContractResourceFinder = spy(new UserTaskContractResourceFinder());
         doReturn(processAPI).when(userTaskContractResourceFinder).getProcessAPI(any(Request.class));
+        doReturn(apiSession).when(userTaskContractResourceFinder).getAPISession(any(Request.class));
         final ServerResource serverResource = userTaskContractResourceFinder.create(request, response);
         assertThat(serverResource).isInstanceOf(UserTaskContractResource.class);
     }
@@ -219,6 +220,7 @@ public class FinderFactoryTest {
     public void should_return_ProcessDefinitionDesignResource_for_ProcessDefinitionDesignResourceFinder() {
         final ProcessDefinitionDesignResourceFinder processDefinitionDesignResourceFinder = spy(new ProcessDefinitionDesignResourceFinder());
         doReturn(processAPI).when(processDefinitionDesignResourceFinder).getProcessAPI(any(Request.class));
+        doReturn(apiSession).when(processDefinitionDesignResourceFinder).getAPISession(any(Request.class));
         final ServerResource serverResource = processDefinitionDesignResourceFinder.create(request, response);
         assertThat(serverResource).isInstanceOf(ProcessDefinitionDesignResource.class);
     }
@@ -227,6 +229,7 @@ public class FinderFactoryTest {
     public void should_return_ProcessContractResource_for_ProcessContractResourceFinder() {
         final ProcessContractResourceFinder processContractResourceFinder = spy(new ProcessContractResourceFinder());
         doReturn(processAPI).when(processContractResourceFinder).getProcessAPI(any(Request.class));
+        doReturn(apiSession).when(processContractResourceFinder).getAPISession(any(Request.class));
         final ServerResource serverResource = processContractResourceFinder.create(request, response);
         assertThat(serverResource).isInstanceOf(ProcessContractResource.class);
     }
@@ -411,4 +411,39 @@ public class APICaseTest {
         // Then
         verify(item).setAttribute(CaseItem.COUNTER_ACTIVE_FLOW_NODES, numberOfFailedFlowNodes);
     }
+
+    @Test
+    public void fillCounters_should_fill_the_counters_of_all_the_items_of_a_search_with_the_datastore_of_the_request() {
+        // Given
+        final CaseItem item1 = mock(CaseItem.class);
+        doReturn(APIID.makeAPIID(78L)).when(item1).getId();
+        final CaseItem item2 = mock(CaseItem.class);
+        doReturn(APIID.makeAPIID(79L)).when(item2).getId();
+        doReturn(1L).when(flowNodeDatastore).count(null, null, failedFlowNodesFilters(78L));
+        doReturn(3L).when(flowNodeDatastore).count(null, null, failedFlowNodesFilters(79L));
+        doReturn(4L).when(flowNodeDatastore).count(null, null, activeFlowNodesFilters(78L));
+        doReturn(6L).when(flowNodeDatastore).count(null, null, activeFlowNodesFilters(79L));
+
+        // When
+        apiCase.fillCounters(Arrays.asList(item1, item2), Arrays.asList(CaseItem.COUNTER_FAILED_FLOW_NODES, CaseItem.COUNTER_ACTIVE_FLOW_NODES));
+
+        // Then
+        verify(item1).setAttribute(CaseItem.COUNTER_FAILED_FLOW_NODES, 1L);
+        verify(item2).setAttribute(CaseItem.COUNTER_FAILED_FLOW_NODES, 3L);
+        verify(item1).setAttribute(CaseItem.COUNTER_ACTIVE_FLOW_NODES, 4L);
+        verify(item2).setAttribute(CaseItem.COUNTER_ACTIVE_FLOW_NODES, 6L);
+        verify(apiCase, times(1)).getFlowNodeDatastore();
+    }
+
+    private Map<String, String> failedFlowNodesFilters(final long caseId) {
+        final Map<String, String> filters = activeFlowNodesFilters(caseId);
+        filters.put(FlowNodeItem.ATTRIBUTE_STATE, FlowNodeItem.VALUE_STATE_FAILED);
+        return filters;
+    }
+
+    private Map<String, String> activeFlowNodesFilters(final long caseId) {
+        final Map<String, String> filters = new HashMap<String, String>();
+        filters.put(FlowNodeItem.ATTRIBUTE_PARENT_CASE_ID, String.valueOf(caseId));
+        return filters;
+    }
 }
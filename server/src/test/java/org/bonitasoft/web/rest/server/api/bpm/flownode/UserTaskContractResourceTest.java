@@ -17,14 +17,26 @@ package org.bonitasoft.web.rest.server.api.bpm.flownode;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.bonitasoft.web.rest.server.utils.ResponseAssert.assertThat;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import org.bonitasoft.console.common.server.utils.ContractDefinitionCache;
+import org.bonitasoft.console.common.server.utils.ContractDefinitionCache.ContractLoader;
+import org.bonitasoft.console.common.server.utils.ContractDefinitionCache.TaskLoader;
+import org.bonitasoft.console.common.server.utils.ContractTypeConverter;
 import org.bonitasoft.engine.api.ProcessAPI;
 import org.bonitasoft.engine.bpm.contract.Type;
 import org.bonitasoft.engine.bpm.contract.impl.ConstraintDefinitionImpl;
 import org.bonitasoft.engine.bpm.contract.impl.ContractDefinitionImpl;
 import org.bonitasoft.engine.bpm.contract.impl.InputDefinitionImpl;
+import org.bonitasoft.engine.bpm.flownode.ActivityInstanceNotFoundException;
+import org.bonitasoft.engine.bpm.flownode.HumanTaskInstance;
 import org.bonitasoft.engine.bpm.flownode.UserTaskNotFoundException;
 import org.bonitasoft.web.rest.server.utils.RestletTest;
 import org.bonitasoft.web.toolkit.client.common.exception.api.APIException;
@@ -47,16 +59,27 @@ public class UserTaskContractResourceTest extends RestletTest {
     @Mock
     private ProcessAPI processAPI;
 
+    @Mock
+    private ContractDefinitionCache contractCache;
+
     UserTaskContractResource taskContractResource;
 
     @Override
     protected ServerResource configureResource() {
-        return new UserTaskContractResource(processAPI);
+        return new UserTaskContractResource(processAPI, contractCache);
     }
 
     @Before
-    public void initializeMocks() {
-        taskContractResource = spy(new UserTaskContractResource(processAPI));
+    public void initializeMocks() throws Exception {
+        taskContractResource = spy(new UserTaskContractResource(processAPI, contractCache));
+        final HumanTaskInstance task = mock(HumanTaskInstance.class);
+        when(task.getProcessDefinitionId()).thenReturn(1L);
+        when(task.getName()).thenReturn("step1");
+        when(processAPI.getHumanTaskInstance(anyLong())).thenReturn(task);
+        when(contractCache.getTaskContract(anyLong(), any(TaskLoader.class), any(ContractLoader.class))).thenAnswer(invocation -> {
+            ((TaskLoader<?>) invocation.getArguments()[1]).load();
+            return ((ContractLoader<?>) invocation.getArguments()[2]).load();
+        });
     }
 
     @Test
@@ -80,6 +103,28 @@ public class UserTaskContractResourceTest extends RestletTest {
         assertThat(response).hasJsonEntityEqualTo(readFile("contract.json"));
     }
 
+    @Test
+    public void should_return_the_cached_contract_without_calling_the_engine() throws Exception {
+        //given
+        final ContractDefinitionImpl contract = new ContractDefinitionImpl();
+        contract.addInput(new InputDefinitionImpl("anInput", Type.TEXT, "aDescription"));
+        final InputDefinitionImpl complexInputDefinitionImpl = new InputDefinitionImpl("complexInput", "description", true, null, null);
+        complexInputDefinitionImpl.getInputs().add(new InputDefinitionImpl("anInput", Type.TEXT, "aDescription"));
+        contract.addInput(complexInputDefinitionImpl);
+        contract.addConstraint(new ConstraintDefinitionImpl("aRule", "an expression", "an explanation"));
+        doReturn(new ContractTypeConverter(ContractTypeConverter.ISO_8601_DATE_PATTERNS).prepareContract(contract)).when(contractCache)
+                .getTaskContract(eq(2L), any(TaskLoader.class), any(ContractLoader.class));
+
+        //when
+        final Response response = request("/bpm/userTask/2/contract").get();
+
+        //then
+        assertThat(response).hasStatus(Status.SUCCESS_OK);
+        assertThat(response).hasJsonEntityEqualTo(readFile("contract.json"));
+        verify(processAPI, never()).getHumanTaskInstance(anyLong());
+        verify(processAPI, never()).getUserTaskContract(anyLong());
+    }
+
     @Test
     public void should_respond_404_Not_found_when_task_is_not_found_when_getting_contract() throws Exception {
         when(processAPI.getUserTaskContract(2)).thenThrow(new UserTaskNotFoundException("task 2 not found"));
@@ -89,6 +134,15 @@ public class UserTaskContractResourceTest extends RestletTest {
         assertThat(response).hasStatus(Status.CLIENT_ERROR_NOT_FOUND);
     }
 
+    @Test
+    public void should_respond_404_Not_found_when_task_instance_is_not_found_when_getting_contract() throws Exception {
+        when(processAPI.getHumanTaskInstance(2)).thenThrow(new ActivityInstanceNotFoundException(2));
+
+        final Response response = request("/bpm/userTask/2/contract").get();
+
+        assertThat(response).hasStatus(Status.CLIENT_ERROR_NOT_FOUND);
+    }
+
     @Test
     public void should_getTaskIDParameter_throws_an_exception_when_task_id_parameter_is_null() throws Exception {
         //given
@@ -17,11 +17,15 @@ package org.bonitasoft.web.rest.server.api.bpm.flownode;
 import static java.util.Arrays.asList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.bonitasoft.web.rest.server.utils.ResponseAssert.assertThat;
+import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyLong;
 import static org.mockito.Matchers.anyMap;
 import static org.mockito.Matchers.anyMapOf;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -37,11 +41,16 @@ import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import org.bonitasoft.console.common.server.utils.ContractDefinitionCache;
+import org.bonitasoft.console.common.server.utils.ContractDefinitionCache.ContractLoader;
+import org.bonitasoft.console.common.server.utils.ContractDefinitionCache.TaskLoader;
+import org.bonitasoft.console.common.server.utils.ContractTypeConverter;
 import org.bonitasoft.engine.api.ProcessAPI;
 import org.bonitasoft.engine.bpm.contract.ContractDefinition;
 import org.bonitasoft.engine.bpm.contract.ContractViolationException;
 import org.bonitasoft.engine.bpm.contract.InputDefinition;
 import org.bonitasoft.engine.bpm.flownode.FlowNodeExecutionException;
+import org.bonitasoft.engine.bpm.flownode.HumanTaskInstance;
 import org.bonitasoft.engine.bpm.flownode.UserTaskNotFoundException;
 import org.bonitasoft.engine.bpm.process.ProcessActivationException;
 import org.bonitasoft.engine.bpm.process.ProcessDefinitionNotFoundException;
@@ -83,18 +92,29 @@ public class UserTaskExecutionResourceTest extends RestletTest {
     @Mock
     private ContractDefinition contractDefinition;
 
+    @Mock
+    private ContractDefinitionCache contractCache;
+
     @Before
-    public void initializeMocks() {
-        userTaskExecutionResource = spy(new UserTaskExecutionResource(processAPI, apiSession));
+    public void initializeMocks() throws Exception {
+        userTaskExecutionResource = spy(new UserTaskExecutionResource(processAPI, apiSession, contractCache));
         doReturn(null).when(userTaskExecutionResource).getAttribute("assign");
         // this allows us to track method calls on this internal dependency
         userTaskExecutionResource.typeConverterUtil = spy(userTaskExecutionResource.typeConverterUtil);
         when(contractDefinition.getInputs()).thenReturn(Collections.<InputDefinition> emptyList());
+        final HumanTaskInstance task = mock(HumanTaskInstance.class);
+        when(task.getProcessDefinitionId()).thenReturn(1L);
+        when(task.getName()).thenReturn("step1");
+        when(processAPI.getHumanTaskInstance(anyLong())).thenReturn(task);
+        when(contractCache.getTaskContract(anyLong(), any(TaskLoader.class), any(ContractLoader.class))).thenAnswer(invocation -> {
+            ((TaskLoader<?>) invocation.getArguments()[1]).load();
+            return ((ContractLoader<?>) invocation.getArguments()[2]).load();
+        });
     }
 
     @Override
     protected ServerResource configureResource() {
-        return new UserTaskExecutionResource(processAPI, apiSession);
+        return new UserTaskExecutionResource(processAPI, apiSession, contractCache);
     }
 
     private Map<String, Serializable> aComplexInput() {
@@ -120,6 +140,21 @@ public class UserTaskExecutionResourceTest extends RestletTest {
 
         assertThat(response).hasStatus(Status.SUCCESS_NO_CONTENT);
         verify(processAPI).executeUserTask(0, 2L, expectedComplexInput);
+        verify(contractCache).getTaskContract(eq(2L), any(TaskLoader.class), any(ContractLoader.class));
+    }
+
+    @Test
+    public void should_execute_a_task_with_the_cached_contract() throws Exception {
+        final Map<String, Serializable> expectedComplexInput = aComplexInput();
+        doReturn(new ContractTypeConverter(ContractTypeConverter.ISO_8601_DATE_PATTERNS).prepareContract(contractDefinition)).when(contractCache)
+                .getTaskContract(eq(2L), any(TaskLoader.class), any(ContractLoader.class));
+
+        final Response response = request("/bpm/userTask/2/execution").post(VALID_COMPLEX_POST_BODY);
+
+        assertThat(response).hasStatus(Status.SUCCESS_NO_CONTENT);
+        verify(processAPI).executeUserTask(0, 2L, expectedComplexInput);
+        verify(processAPI, never()).getHumanTaskInstance(anyLong());
+        verify(processAPI, never()).getUserTaskContract(anyLong());
     }
     
     @Test
@@ -3,6 +3,7 @@ package org.bonitasoft.web.rest.server.api.bpm.process;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Matchers.anyLong;
 import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.*;
 
 import java.io.IOException;
@@ -154,4 +155,30 @@ public class APIProcessTest {
         // Then
         verify(item, never()).setAttribute(anyString(), anyLong());
     }
+
+    @Test
+    public final void fillCounters_should_fill_number_of_open_cases_of_all_the_items_of_a_search() {
+        // Given
+        final ProcessItem item1 = mock(ProcessItem.class);
+        doReturn(APIID.makeAPIID(78L)).when(item1).getId();
+        final ProcessItem item2 = mock(ProcessItem.class);
+        doReturn(APIID.makeAPIID(79L)).when(item2).getId();
+        doReturn(2L).when(caseDatastore).count(null, null, openCasesFilters(78L));
+        doReturn(5L).when(caseDatastore).count(null, null, openCasesFilters(79L));
+
+        // When
+        apiProcess.fillCounters(Arrays.asList(item1, item2), Arrays.asList(ProcessItem.COUNTER_OPEN_CASES));
+
+        // Then
+        verify(item1).setAttribute(ProcessItem.COUNTER_OPEN_CASES, 2L);
+        verify(item2).setAttribute(ProcessItem.COUNTER_OPEN_CASES, 5L);
+        verify(item1, never()).setAttribute(eq(ProcessItem.COUNTER_FAILED_CASES), anyLong());
+    }
+
+    private Map<String, String> openCasesFilters(final long processId) {
+        final Map<String, String> filters = new HashMap<>();
+        filters.put(CaseItem.FILTER_CALLER, "any");
+        filters.put(CaseItem.ATTRIBUTE_PROCESS_ID, String.valueOf(processId));
+        return filters;
+    }
 }
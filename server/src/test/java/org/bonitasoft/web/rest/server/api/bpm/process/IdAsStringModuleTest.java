@@ -0,0 +1,61 @@
+/**
+ * Copyright (C) 2020 Bonitasoft S.A.
+ * Bonitasoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.web.rest.server.api.bpm.process;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class IdAsStringModuleTest {
+
+    @Test
+    public void should_write_numeric_ids_as_strings() throws Exception {
+        final String json = new ObjectMapper().registerModule(new IdAsStringModule()).writeValueAsString(new Identified(123L, "\"id\": 123", 5L));
+
+        assertThat(json).contains("\"id\":\"123\"");
+        assertThat(json).contains("\"count\":5");
+        assertThat(json).contains("\"name\":\"\\\"id\\\": 123\"");
+    }
+
+    public static class Identified {
+
+        private final long id;
+
+        private final String name;
+
+        private final long count;
+
+        Identified(final long id, final String name, final long count) {
+            this.id = id;
+            this.name = name;
+            this.count = count;
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getCount() {
+            return count;
+        }
+    }
+
+}
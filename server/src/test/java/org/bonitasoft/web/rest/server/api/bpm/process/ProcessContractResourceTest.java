@@ -15,11 +15,17 @@
 package org.bonitasoft.web.rest.server.api.bpm.process;
 
 import static org.bonitasoft.web.rest.server.utils.ResponseAssert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
 import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import org.bonitasoft.console.common.server.utils.ContractDefinitionCache;
+import org.bonitasoft.console.common.server.utils.ContractDefinitionCache.ContractLoader;
 import org.bonitasoft.engine.api.ProcessAPI;
 import org.bonitasoft.engine.bpm.contract.Type;
 import org.bonitasoft.engine.bpm.contract.impl.ConstraintDefinitionImpl;
@@ -49,14 +55,19 @@ public class ProcessContractResourceTest extends RestletTest {
     @Mock
     private ProcessAPI processAPI;
 
+    @Mock
+    private ContractDefinitionCache contractCache;
+
     @Before
-    public void initializeMocks() {
-        processContractResource = spy(new ProcessContractResource(processAPI));
+    public void initializeMocks() throws Exception {
+        processContractResource = spy(new ProcessContractResource(processAPI, contractCache));
+        when(contractCache.getProcessContract(anyLong(), any(ContractLoader.class)))
+                .thenAnswer(invocation -> ((ContractLoader<?>) invocation.getArguments()[1]).load());
     }
 
     @Override
     protected ServerResource configureResource() {
-        return new ProcessContractResource(processAPI);
+        return new ProcessContractResource(processAPI, contractCache);
     }
 
     @Test(expected = APIException.class)
@@ -87,6 +98,7 @@ public class ProcessContractResourceTest extends RestletTest {
         //then
         assertThat(response).hasStatus(Status.SUCCESS_OK);
         assertThat(response).hasJsonEntityEqualTo(readFile("contract.json"));
+        verify(contractCache).getProcessContract(eq(PROCESS_DEFINITION_ID), any(ContractLoader.class));
     }
 
     @Test
@@ -18,6 +18,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Mockito.*;
 
+import java.util.Collections;
+
 import org.bonitasoft.engine.api.ProcessAPI;
 import org.bonitasoft.engine.bpm.process.DesignProcessDefinition;
 import org.bonitasoft.engine.bpm.process.InvalidProcessDefinitionException;
@@ -32,7 +34,9 @@ import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 import org.restlet.Response;
+import org.restlet.data.Conditions;
 import org.restlet.data.Status;
+import org.restlet.data.Tag;
 import org.restlet.resource.ServerResource;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -47,14 +51,17 @@ public class ProcessDefinitionDesignResourceTest extends RestletTest {
     @Mock
     private ProcessAPI processAPI;
 
+    private final ProcessDefinitionDesignCache designCache = new ProcessDefinitionDesignCache(1L, 10);
+
     @Before
     public void initializeMocks() {
-        processDefinitionDesignResource = spy(new ProcessDefinitionDesignResource(processAPI));
+        designCache.clear();
+        processDefinitionDesignResource = spy(new ProcessDefinitionDesignResource(processAPI, designCache));
     }
 
     @Override
     protected ServerResource configureResource() {
-        return new ProcessDefinitionDesignResource(processAPI);
+        return new ProcessDefinitionDesignResource(processAPI, designCache);
     }
 
     @Test(expected = APIException.class)
@@ -74,15 +81,29 @@ public class ProcessDefinitionDesignResourceTest extends RestletTest {
     }
 
     @Test
-    public void testReplaceLongIdToString() throws Exception {
-        assertThat(processDefinitionDesignResource.replaceLongIdToString("{ \"id\": 123}")).isEqualToIgnoringCase("{ \"id\": \"123\"}");
-        assertThat(processDefinitionDesignResource.replaceLongIdToString("{ \"id\":123, \"test\": [ otherid: \"zerze\"]}")).isEqualToIgnoringCase(
-                "{ \"id\":\"123\", \"test\": [ otherid: \"zerze\"]}");
-        assertThat(processDefinitionDesignResource.replaceLongIdToString("{ \"iaed\": 123}")).isEqualToIgnoringCase("{ \"iaed\": 123}");
-        assertThat(processDefinitionDesignResource.replaceLongIdToString("{ \"name\": \"\\\"id\\\": 123\"}")).isEqualToIgnoringCase(
-                "{ \"name\": \"\\\"id\\\": 123\"}");
-        assertThat(processDefinitionDesignResource.replaceLongIdToString("{ \"name\": \"\\\"id\\\": 123\"}")).isEqualToIgnoringCase(
-                "{ \"name\": \"\\\"id\\\": 123\"}");
+    public void should_get_the_design_from_the_engine_only_once() throws Exception {
+        when(processAPI.getDesignProcessDefinition(PROCESS_DEFINITION_ID)).thenReturn(
+                new ProcessDefinitionBuilder().createNewInstance("process", "1.0").done());
+
+        final String firstDesign = request(TEST_DESIGN_API_URL).get().getEntityAsText();
+        final String secondDesign = request(TEST_DESIGN_API_URL).get().getEntityAsText();
+
+        assertThat(secondDesign).isEqualTo(firstDesign);
+        verify(processAPI, times(1)).getDesignProcessDefinition(PROCESS_DEFINITION_ID);
+    }
+
+    @Test
+    public void should_respond_304_Not_modified_when_the_design_tag_matches() throws Exception {
+        when(processAPI.getDesignProcessDefinition(PROCESS_DEFINITION_ID)).thenReturn(
+                new ProcessDefinitionBuilder().createNewInstance("process", "1.0").done());
+        final Tag tag = request(TEST_DESIGN_API_URL).get().getEntity().getTag();
+        final Conditions conditions = new Conditions();
+        conditions.setNoneMatch(Collections.singletonList(tag));
+
+        final Response response = request(TEST_DESIGN_API_URL).setConditions(conditions).get();
+
+        assertThat(tag.isWeak()).isFalse();
+        ResponseAssert.assertThat(response).hasStatus(Status.REDIRECTION_NOT_MODIFIED);
     }
 
     @Test
@@ -19,6 +19,8 @@ import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import org.bonitasoft.console.common.server.i18n.I18n;
+import org.bonitasoft.console.common.server.utils.ContractDefinitionCache;
+import org.bonitasoft.console.common.server.utils.ContractDefinitionCache.ContractLoader;
 import org.bonitasoft.console.common.server.utils.ContractTypeConverter;
 import org.bonitasoft.engine.api.ProcessAPI;
 import org.bonitasoft.engine.bpm.contract.ContractDefinition;
@@ -71,6 +73,9 @@ public class ProcessInstantiationResourceTest extends RestletTest {
     @Mock
     ContractDefinition contractDefinition;
 
+    @Mock
+    ContractDefinitionCache contractCache;
+
     @Mock
     APISession apiSession;
 
@@ -83,17 +88,19 @@ public class ProcessInstantiationResourceTest extends RestletTest {
     }
 
     @Before
-    public void initializeMocks() {
-        processInstantiationResource = spy(new ProcessInstantiationResource(processAPI, apiSession));
+    public void initializeMocks() throws Exception {
+        processInstantiationResource = spy(new ProcessInstantiationResource(processAPI, apiSession, contractCache));
         // this allows us to track method calls on this internal dependency
         processInstantiationResource.typeConverterUtil = spy(processInstantiationResource.typeConverterUtil);
         when(contractDefinition.getInputs()).thenReturn(Collections.<InputDefinition> emptyList());
         when(apiSession.getTenantId()).thenReturn(1L);
+        when(contractCache.getProcessContract(anyLong(), any(ContractLoader.class)))
+                .thenAnswer(invocation -> ((ContractLoader<?>) invocation.getArguments()[1]).load());
     }
 
     @Override
     protected ServerResource configureResource() {
-        return new ProcessInstantiationResource(processAPI, apiSession);
+        return new ProcessInstantiationResource(processAPI, apiSession, contractCache);
     }
 
     private Map<String, Serializable> aComplexInput() {
@@ -126,6 +133,19 @@ public class ProcessInstantiationResourceTest extends RestletTest {
         verify(processAPI).startProcessWithInputs(PROCESS_DEFINITION_ID, expectedComplexInput);
     }
 
+    @Test
+    public void should_instanciate_a_process_with_the_cached_contract() throws Exception {
+        final Map<String, Serializable> expectedComplexInput = aComplexInput();
+        when(processAPI.startProcessWithInputs(PROCESS_DEFINITION_ID, expectedComplexInput)).thenReturn(new ProcessInstanceImpl("complexProcessInstance"));
+        doReturn(new ContractTypeConverter(ContractTypeConverter.ISO_8601_DATE_PATTERNS).prepareContract(contractDefinition)).when(contractCache)
+                .getProcessContract(eq(PROCESS_DEFINITION_ID), any(ContractLoader.class));
+
+        final Response response = request(URL_API_PROCESS_INSTANTIATION_TEST).post(VALID_COMPLEX_POST_BODY);
+
+        assertThat(response).hasStatus(Status.SUCCESS_OK);
+        verify(processAPI, never()).getProcessContract(anyLong());
+    }
+
     @Test
     public void should_instanciate_a_process_with_given_inputs_for_a_specific_user() throws Exception {
         final Map<String, Serializable> expectedComplexInput = aComplexInput();
@@ -20,13 +20,22 @@ import static junit.framework.Assert.assertEquals;
 import static junit.framework.Assert.assertNull;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.MockitoAnnotations.initMocks;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
 import org.bonitasoft.web.rest.model.ModelFactory;
 import org.bonitasoft.web.rest.model.identity.UserItem;
 import org.bonitasoft.web.rest.model.monitoring.report.ReportItem;
 import org.bonitasoft.web.rest.server.APITestWithMock;
 import org.bonitasoft.web.rest.server.framework.api.DatastoreHasGet;
+import org.bonitasoft.web.rest.server.framework.api.DatastoreHasGetMultiple;
+import org.bonitasoft.web.toolkit.client.common.exception.api.APIException;
 import org.bonitasoft.web.toolkit.client.ItemDefinitionFactory;
 import org.bonitasoft.web.toolkit.client.data.APIID;
 import org.junit.Before;
@@ -42,6 +51,9 @@ public class UserDeployerTest extends APITestWithMock {
     @Mock
     private DatastoreHasGet<UserItem> getter;
 
+    @Mock
+    private DatastoreHasGetMultiple<UserItem> multipleGetter;
+
     @Before
     public void setUp() {
         initMocks(this);
@@ -70,6 +82,46 @@ public class UserDeployerTest extends APITestWithMock {
         assertNull(report.getInstalledBy());
     }
 
+    @Test
+    public void each_user_is_retrieved_once_when_deploying_in_several_items() throws Exception {
+        UserItem user = prepareGetterToReturnAUser();
+        List<ReportItem> reports = Arrays.asList(aReportInstalledBy(APIID.makeAPIID(6L)), aReportInstalledBy(APIID.makeAPIID(6L)),
+                aReportInstalledBy(null));
+
+        new UserDeployer(getter, ReportItem.ATTRIBUTE_INSTALLED_BY).deployIn(reports);
+
+        verify(getter, times(1)).get(APIID.makeAPIID(6L));
+        assertEquals(user, reports.get(0).getInstalledBy());
+        assertEquals(user, reports.get(1).getInstalledBy());
+        assertNull(reports.get(2).getInstalledBy());
+    }
+
+    @Test
+    public void users_are_retrieved_with_a_single_call_when_the_datastore_can_get_several_users() throws Exception {
+        UserItem user = new UserItem();
+        List<APIID> ids = Arrays.asList(APIID.makeAPIID(6L), APIID.makeAPIID(7L));
+        doReturn(Collections.singletonMap(APIID.makeAPIID(6L), user)).when(multipleGetter).get(ids);
+        List<ReportItem> reports = Arrays.asList(aReportInstalledBy(APIID.makeAPIID(6L)), aReportInstalledBy(APIID.makeAPIID(7L)));
+
+        new UserDeployer(multipleGetter, ReportItem.ATTRIBUTE_INSTALLED_BY).deployIn(reports);
+
+        assertEquals(user, reports.get(0).getInstalledBy());
+        assertNull(reports.get(1).getInstalledBy());
+    }
+
+    @Test
+    public void a_user_that_cannot_be_retrieved_does_not_prevent_deploying_the_others() throws Exception {
+        UserItem user = new UserItem();
+        doReturn(user).when(getter).get(APIID.makeAPIID(6L));
+        doThrow(new APIException("User not found")).when(getter).get(APIID.makeAPIID(7L));
+        List<ReportItem> reports = Arrays.asList(aReportInstalledBy(APIID.makeAPIID(6L)), aReportInstalledBy(APIID.makeAPIID(7L)));
+
+        new UserDeployer(getter, ReportItem.ATTRIBUTE_INSTALLED_BY).deployIn(reports);
+
+        assertEquals(user, reports.get(0).getInstalledBy());
+        assertNull(reports.get(1).getInstalledBy());
+    }
+
     private UserItem prepareGetterToReturnAUser() {
         UserItem user = new UserItem();
         doReturn(user).when(getter).get(any(APIID.class));
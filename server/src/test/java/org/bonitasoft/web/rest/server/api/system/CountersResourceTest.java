@@ -0,0 +1,63 @@
+/*******************************************************************************
+ * Copyright (C) 2020 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This library is free software; you can redistribute it and/or modify it under the terms
+ * of the GNU Lesser General Public License as published by the Free Software Foundation
+ * version 2.1 of the License.
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License along with this
+ * program; if not, write to the Free Software Foundation, Inc., 51 Franklin Street, Fifth
+ * Floor, Boston, MA 02110-1301, USA.
+ ******************************************************************************/
+
+package org.bonitasoft.web.rest.server.api.system;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+import java.util.Map;
+
+import org.bonitasoft.web.rest.server.framework.BatchCounters;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class CountersResourceTest {
+
+    @Mock
+    private BatchCounters batchCounters;
+
+    private CountersResource countersResource;
+
+    @Before
+    public void setUp() throws Exception {
+        countersResource = spy(new CountersResource());
+        doReturn(batchCounters).when(countersResource).getBatchCounters();
+    }
+
+    @Test
+    public void should_return_the_statistics_of_each_counter() throws Exception {
+        final BatchCounters.CounterStatistics openCases = mock(BatchCounters.CounterStatistics.class);
+        when(openCases.getComputations()).thenReturn(2L);
+        when(openCases.getItems()).thenReturn(20L);
+        when(openCases.getTotalTimeInMillis()).thenReturn(150L);
+        when(openCases.getMaxTimeInMillis()).thenReturn(100L);
+        when(batchCounters.getStatistics()).thenReturn(Collections.singletonMap("openCases", openCases));
+
+        final Map<String, Map<String, Long>> statistics = countersResource.getStatistics();
+
+        assertThat(statistics).containsOnlyKeys("openCases");
+        assertThat(statistics.get("openCases")).containsEntry("computations", 2L).containsEntry("items", 20L)
+                .containsEntry("totalTime", 150L).containsEntry("maxTime", 100L);
+    }
+
+}
@@ -0,0 +1,58 @@
+/*******************************************************************************
+ * Copyright (C) 2020 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This library is free software; you can redistribute it and/or modify it under the terms
+ * of the GNU Lesser General Public License as published by the Free Software Foundation
+ * version 2.1 of the License.
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License along with this
+ * program; if not, write to the Free Software Foundation, Inc., 51 Franklin Street, Fifth
+ * Floor, Boston, MA 02110-1301, USA.
+ ******************************************************************************/
+
+package org.bonitasoft.web.rest.server.api.system;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.when;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.bonitasoft.console.common.server.utils.FileContentMemoryBudget;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class FileContentMemoryResourceTest {
+
+    @Mock
+    private FileContentMemoryBudget fileContentMemoryBudget;
+
+    private FileContentMemoryResource fileContentMemoryResource;
+
+    @Before
+    public void setUp() throws Exception {
+        fileContentMemoryResource = spy(new FileContentMemoryResource());
+        doReturn(fileContentMemoryBudget).when(fileContentMemoryResource).getFileContentMemoryBudget();
+    }
+
+    @Test
+    public void should_return_file_content_memory_statistics() throws Exception {
+        final Map<String, Long> statistics = new LinkedHashMap<>();
+        statistics.put("bytesInFlight", 2048L);
+        statistics.put("rejections", 1L);
+        when(fileContentMemoryBudget.getStatistics()).thenReturn(statistics);
+
+        final Map<String, Long> returnedStatistics = fileContentMemoryResource.getStatistics();
+
+        assertThat(returnedStatistics).containsEntry("bytesInFlight", 2048L).containsEntry("rejections", 1L);
+    }
+
+}
@@ -16,15 +16,21 @@ package org.bonitasoft.web.rest.server.api.system;
 
 import static net.javacrumbs.jsonunit.JsonAssert.assertJsonEquals;
 import static org.bonitasoft.web.rest.server.utils.ResponseAssert.assertThat;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayInputStream;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.zip.GZIPInputStream;
 
 import net.javacrumbs.jsonunit.JsonAssert;
 import net.javacrumbs.jsonunit.core.Option;
 
+import org.apache.commons.io.IOUtils;
 import org.bonitasoft.console.common.server.i18n.I18n;
+import org.bonitasoft.console.common.server.i18n.TranslationPayload;
 import org.bonitasoft.web.rest.server.utils.RestletTest;
 import org.bonitasoft.web.toolkit.client.common.i18n.AbstractI18n;
 import org.junit.Test;
@@ -32,7 +38,11 @@ import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 import org.restlet.Response;
+import org.restlet.data.CacheDirective;
+import org.restlet.data.Conditions;
+import org.restlet.data.Encoding;
 import org.restlet.data.Status;
+import org.restlet.data.Tag;
 import org.restlet.resource.ServerResource;
 
 /**
@@ -57,7 +67,7 @@ public class I18nTranslationResourceTest extends RestletTest {
         parameters.put("key2", "autre méssage");
         parameters.put("key3", "~%^*µ");
 
-        when(i18n.getLocale(AbstractI18n.LOCALE.fr)).thenReturn(parameters);
+        when(i18n.getTranslationPayload(AbstractI18n.LOCALE.fr)).thenReturn(new TranslationPayload(parameters));
 
         Response response = request("/system/i18ntranslation?f=locale%3Dfr").get();
 
@@ -90,4 +100,46 @@ public class I18nTranslationResourceTest extends RestletTest {
 
     }
 
+    @Test
+    public void should_respond_304_Not_modified_when_the_translations_tag_matches() throws Exception {
+        when(i18n.getTranslationPayload(AbstractI18n.LOCALE.fr)).thenReturn(new TranslationPayload(Collections.singletonMap("key", "valeur")));
+        final Tag tag = request("/system/i18ntranslation?f=locale%3Dfr").get().getEntity().getTag();
+        final Conditions conditions = new Conditions();
+        conditions.setNoneMatch(Collections.singletonList(tag));
+
+        final Response response = request("/system/i18ntranslation?f=locale%3Dfr").setConditions(conditions).get();
+
+        assertThat(response).hasStatus(Status.REDIRECTION_NOT_MODIFIED);
+    }
+
+    @Test
+    public void should_return_gzipped_translations_when_the_client_accepts_them() throws Exception {
+        when(i18n.getTranslationPayload(AbstractI18n.LOCALE.fr)).thenReturn(new TranslationPayload(Collections.singletonMap("key", "valeur")));
+
+        final Response response = request("/system/i18ntranslation?f=locale%3Dfr").acceptEncoding(Encoding.GZIP).get();
+
+        assertThat(response.getEntity().getEncodings()).containsExactly(Encoding.GZIP);
+        assertJsonEquals("[{\"key\": \"key\", \"value\": \"valeur\"}]",
+                IOUtils.toString(new GZIPInputStream(new ByteArrayInputStream(IOUtils.toByteArray(response.getEntity().getStream()))), "UTF-8"));
+    }
+
+    @Test
+    public void should_let_clients_keep_the_translations_when_they_cannot_change_without_a_redeployment() throws Exception {
+        when(i18n.getTranslationPayload(AbstractI18n.LOCALE.fr)).thenReturn(new TranslationPayload(Collections.singletonMap("key", "valeur")));
+
+        final Response response = request("/system/i18ntranslation?f=locale%3Dfr").get();
+
+        assertThat(response.getCacheDirectives()).contains(CacheDirective.maxAge(I18nTanslationResource.MAX_AGE_SECONDS));
+    }
+
+    @Test
+    public void should_make_clients_revalidate_the_translations_when_the_custom_i18n_folder_is_watched() throws Exception {
+        when(i18n.getTranslationPayload(AbstractI18n.LOCALE.fr)).thenReturn(new TranslationPayload(Collections.singletonMap("key", "valeur")));
+        when(i18n.isWatchingCustomDirectory()).thenReturn(true);
+
+        final Response response = request("/system/i18ntranslation?f=locale%3Dfr").get();
+
+        assertThat(response.getCacheDirectives()).contains(CacheDirective.noCache());
+    }
+
 }
@@ -30,6 +30,7 @@ import org.bonitasoft.engine.search.Order;
 import org.bonitasoft.engine.search.SearchOptions;
 import org.bonitasoft.engine.search.impl.SearchResultImpl;
 import org.bonitasoft.engine.session.APISession;
+import org.bonitasoft.livingapps.ApplicationRoutingCache;
 import org.bonitasoft.web.rest.model.application.ApplicationDefinition;
 import org.bonitasoft.web.rest.model.application.ApplicationItem;
 import org.bonitasoft.web.rest.server.APITestWithMock;
@@ -62,6 +63,9 @@ public class ApplicationDataStoreTest extends APITestWithMock {
     @Mock
     private APISession session;
 
+    @Mock
+    private ApplicationRoutingCache routingCache;
+
     @InjectMocks
     private ApplicationDataStore dataStore;
 
@@ -153,6 +157,7 @@ public class ApplicationDataStoreTest extends APITestWithMock {
         verify(applicationAPI, times(1)).updateApplication(1, applicationUpdater);
         verify(converter, times(1)).toApplicationItem(application);
         assertThat(createdItem).isEqualTo(new ApplicationItem());
+        verify(routingCache).clearRoutingTables();
     }
 
     @Test(expected = APIException.class)
@@ -215,6 +220,7 @@ public class ApplicationDataStoreTest extends APITestWithMock {
         //then
         verify(applicationAPI, times(1)).deleteApplication(1);
         verify(applicationAPI, times(1)).deleteApplication(2);
+        verify(routingCache).clearRoutingTables();
     }
 
     @Test(expected = APIException.class)
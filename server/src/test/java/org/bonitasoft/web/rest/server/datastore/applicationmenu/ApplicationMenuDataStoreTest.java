@@ -25,6 +25,7 @@ import org.bonitasoft.engine.search.Order;
 import org.bonitasoft.engine.search.SearchOptions;
 import org.bonitasoft.engine.search.impl.SearchResultImpl;
 import org.bonitasoft.engine.session.APISession;
+import org.bonitasoft.livingapps.ApplicationRoutingCache;
 import org.bonitasoft.web.rest.model.applicationmenu.ApplicationMenuDefinition;
 import org.bonitasoft.web.rest.model.applicationmenu.ApplicationMenuItem;
 import org.bonitasoft.web.rest.server.APITestWithMock;
@@ -57,6 +58,9 @@ public class ApplicationMenuDataStoreTest extends APITestWithMock {
     @Mock
     private ApplicationMenuUpdater applicationMenuUpdater;
 
+    @Mock
+    private ApplicationRoutingCache routingCache;
+
     @InjectMocks
     private ApplicationMenuDataStore dataStore;
 
@@ -116,6 +120,7 @@ public class ApplicationMenuDataStoreTest extends APITestWithMock {
         //then
         verify(converter, times(1)).toApplicationMenuUpdater(attributesToUpDate);
         verify(applicationAPI, times(1)).updateApplicationMenu(1, applicationMenuUpdater);
+        verify(routingCache).invalidateMenus();
         verify(converter, times(1)).toApplicationMenuItem(applicationMenu);
         assertThat(createdItem).isEqualTo(new ApplicationMenuItem());
     }
@@ -156,6 +161,7 @@ public class ApplicationMenuDataStoreTest extends APITestWithMock {
         //then
         verify(applicationAPI, times(1)).deleteApplicationMenu(1);
         verify(applicationAPI, times(1)).deleteApplicationMenu(2);
+        verify(routingCache).invalidateMenus();
     }
 
     @Test(expected = APIException.class)
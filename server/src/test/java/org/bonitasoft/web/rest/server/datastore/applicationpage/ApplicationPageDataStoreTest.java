@@ -23,6 +23,7 @@ import org.bonitasoft.engine.search.Order;
 import org.bonitasoft.engine.search.SearchOptions;
 import org.bonitasoft.engine.search.impl.SearchResultImpl;
 import org.bonitasoft.engine.session.APISession;
+import org.bonitasoft.livingapps.ApplicationRoutingCache;
 import org.bonitasoft.web.rest.model.applicationpage.ApplicationPageDefinition;
 import org.bonitasoft.web.rest.model.applicationpage.ApplicationPageItem;
 import org.bonitasoft.web.rest.server.APITestWithMock;
@@ -56,6 +57,9 @@ public class ApplicationPageDataStoreTest extends APITestWithMock {
     @Mock
     private ApplicationPageItemConverter converter;
 
+    @Mock
+    private ApplicationRoutingCache routingCache;
+
     @Spy
     @InjectMocks
     private ApplicationPageDataStore dataStore;
@@ -87,6 +91,7 @@ public class ApplicationPageDataStoreTest extends APITestWithMock {
 
         //then
         assertThat(createdItem).isEqualTo(createdItem);
+        verify(routingCache).clearRoutingTables();
     }
 
 
@@ -138,6 +143,7 @@ public class ApplicationPageDataStoreTest extends APITestWithMock {
         //then
         verify(applicationAPI, times(1)).deleteApplicationPage(1);
         verify(applicationAPI, times(1)).deleteApplicationPage(2);
+        verify(routingCache).clearRoutingTables();
     }
 
     @Test(expected = APIException.class)
@@ -19,6 +19,7 @@ import java.util.Map;
 import org.bonitasoft.console.common.server.page.CustomPageService;
 import org.bonitasoft.console.common.server.preferences.properties.CompoundPermissionsMapping;
 import org.bonitasoft.console.common.server.utils.BonitaHomeFolderAccessor;
+import org.bonitasoft.console.common.server.utils.ContractDefinitionCache;
 import org.bonitasoft.console.common.server.utils.PlatformManagementUtils;
 import org.bonitasoft.console.common.server.utils.UnauthorizedFolderException;
 import org.bonitasoft.engine.api.PageAPI;
@@ -28,6 +29,7 @@ import org.bonitasoft.engine.search.SearchResult;
 import org.bonitasoft.engine.session.APISession;
 import org.bonitasoft.web.rest.model.bpm.process.ProcessItem;
 import org.bonitasoft.web.rest.server.APITestWithMock;
+import org.bonitasoft.web.rest.server.api.bpm.process.ProcessDefinitionDesignCache;
 import org.bonitasoft.web.rest.server.engineclient.ProcessEngineClient;
 import org.bonitasoft.web.toolkit.client.common.exception.api.APIException;
 import org.bonitasoft.web.toolkit.client.common.exception.api.APIForbiddenException;
@@ -68,6 +70,12 @@ public class ProcessDatastoreTest extends APITestWithMock {
     @Mock
     private PlatformManagementUtils platformManagementUtils;
 
+    @Mock
+    private ContractDefinitionCache contractDefinitionCache;
+
+    @Mock
+    private ProcessDefinitionDesignCache processDefinitionDesignCache;
+
     private final ProcessItem processItem = new ProcessItem();
 
     @Before
@@ -80,6 +88,8 @@ public class ProcessDatastoreTest extends APITestWithMock {
         doReturn(pageAPI).when(processDatastore).getPageAPI();
         doReturn(compoundPermissionsMapping).when(processDatastore).getCompoundPermissionsMapping();
         doReturn(searchResult).when(pageAPI).searchPages(any(SearchOptions.class));
+        doReturn(contractDefinitionCache).when(processDatastore).getContractDefinitionCache();
+        doReturn(processDefinitionDesignCache).when(processDatastore).getProcessDefinitionDesignCache();
     }
 
     @Test(expected = APIForbiddenException.class)
@@ -127,6 +137,19 @@ public class ProcessDatastoreTest extends APITestWithMock {
         verify(compoundPermissionsMapping, times(1)).removeProperty("page2");
     }
 
+    @Test
+    public void it_invalidates_the_cached_contracts_and_design_when_deleting_a_process() throws Exception {
+        doReturn(new ArrayList<Page>()).when(searchResult).getResult();
+
+        processDatastore.delete(Arrays.asList(APIID.makeAPIID(2L), APIID.makeAPIID(3L)));
+
+        verify(processEngineClient).deleteDisabledProcesses(Arrays.asList(2L, 3L));
+        verify(contractDefinitionCache).invalidateProcess(2L);
+        verify(contractDefinitionCache).invalidateProcess(3L);
+        verify(processDefinitionDesignCache).remove(2L);
+        verify(processDefinitionDesignCache).remove(3L);
+    }
+
     @Test
     public void it_removes_the_pages_when_deleting_a_process_with_pagination() throws IOException {
 
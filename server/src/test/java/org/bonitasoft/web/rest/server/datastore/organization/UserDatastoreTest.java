@@ -106,6 +106,19 @@ public class UserDatastoreTest {
         }
     }
 
+    @Test
+    public void should_get_several_users_with_a_single_engine_call() throws Exception {
+        final UserImpl john = new UserImpl(12L, "john", "bpm");
+        final UserItem johnItem = new UserItem();
+        doReturn(Collections.singletonMap(12L, john)).when(identityAPI).getUsers(Lists.newArrayList(12L, 13L));
+        doReturn(johnItem).when(userItemConverter).convert(john);
+
+        final Map<APIID, UserItem> users = datastore.get(Lists.newArrayList(APIID.makeAPIID(12L), APIID.makeAPIID(13L)));
+
+        assertThat(users).containsOnly(entry(APIID.makeAPIID(12L), johnItem));
+        verify(identityAPI, never()).getUser(anyLong());
+    }
+
     @Test
     public void should_updateUser_call_engine_api() throws Exception {
         //given
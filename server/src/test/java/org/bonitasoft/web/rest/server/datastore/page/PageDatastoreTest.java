@@ -47,6 +47,7 @@ import java.util.Map;
 import org.apache.commons.io.FileUtils;
 import org.assertj.core.groups.Tuple;
 import org.bonitasoft.console.common.server.page.CustomPageService;
+import org.bonitasoft.console.common.server.page.PageMetadataCache;
 import org.bonitasoft.console.common.server.page.extension.PageResourceProviderImpl;
 import org.bonitasoft.console.common.server.preferences.constants.WebBonitaConstantsUtils;
 import org.bonitasoft.console.common.server.preferences.properties.CompoundPermissionsMapping;
@@ -125,6 +126,9 @@ public class PageDatastoreTest extends APITestWithMock {
     @Mock
     CustomPageService customPageService;
 
+    @Mock
+    PageMetadataCache pageMetadataCache;
+
     @Mock
     private File mockedZipFile;
 
@@ -177,6 +181,7 @@ public class PageDatastoreTest extends APITestWithMock {
         pageDatastore = spy(new PageDatastore(engineSession, constantsValue, pageAPI, customPageService, compoundPermissionsMapping,
                 resourcesPermissionsMapping,
                 tenantFolder));
+        doReturn(pageMetadataCache).when(pageDatastore).getPageMetadataCache();
 
         pageToBeAdded = new PageItem();
         pageToBeAdded.setUrlToken("custompage_page1");
@@ -267,6 +272,22 @@ public class PageDatastoreTest extends APITestWithMock {
         verify(customPageService).removePage(engineSession, mockedPage.getName());
     }
 
+    @Test
+    public void should_invalidate_page_metadata_cache_when_deleting_a_page() throws Exception {
+        // Given
+        when(pageAPI.createPage(any(String.class), any(byte[].class))).thenReturn(mockedPage);
+        when(pageAPI.getPage(mockedPage.getId())).thenReturn(mockedPage);
+        final PageItem pageToRemove = pageDatastore.add(pageToBeAdded);
+        final List<APIID> ids = new ArrayList<>();
+        ids.add(pageToRemove.getId());
+
+        // When
+        pageDatastore.delete(ids);
+
+        // Validate
+        verify(pageMetadataCache, times(2)).invalidatePage(mockedPage.getId());
+    }
+
     @Test(expected = APIException.class)
     public void should_delete_a_not_existing_page_rise_exception() throws Exception {
         // Given
@@ -0,0 +1,154 @@
+/**
+ * Copyright (C) 2020 Bonitasoft S.A.
+ * Bonitasoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.web.rest.server.framework;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.bonitasoft.web.rest.model.ModelFactory;
+import org.bonitasoft.web.rest.model.bpm.process.ProcessItem;
+import org.bonitasoft.web.toolkit.client.ItemDefinitionFactory;
+import org.bonitasoft.web.toolkit.client.common.exception.api.APIException;
+import org.bonitasoft.web.toolkit.client.data.APIID;
+import org.junit.Before;
+import org.junit.Test;
+
+public class BatchCountersTest {
+
+    @Before
+    public void setUp() {
+        ItemDefinitionFactory.setDefaultFactory(new ModelFactory());
+    }
+
+    @Test
+    public void should_fill_the_counter_of_each_item_in_parallel() throws Exception {
+        final BatchCounters batchCounters = new BatchCounters(2);
+        final List<ProcessItem> items = Arrays.asList(aProcess(1L), aProcess(2L));
+        final Set<String> threads = ConcurrentHashMap.newKeySet();
+
+        batchCounters.fill(items, ProcessItem.COUNTER_OPEN_CASES, item -> {
+            threads.add(Thread.currentThread().getName());
+            return item.getId().toLong() * 10;
+        });
+
+        assertThat(items.get(0).getAttributeValue(ProcessItem.COUNTER_OPEN_CASES)).isEqualTo("10");
+        assertThat(items.get(1).getAttributeValue(ProcessItem.COUNTER_OPEN_CASES)).isEqualTo("20");
+        assertThat(threads).doesNotContain(Thread.currentThread().getName());
+    }
+
+    @Test
+    public void should_compute_the_remaining_items_in_the_calling_thread_when_all_the_threads_are_busy() throws Exception {
+        final BatchCounters batchCounters = new BatchCounters(2);
+        final List<ProcessItem> items = Arrays.asList(aProcess(1L), aProcess(2L), aProcess(3L), aProcess(4L));
+        final CountDownLatch callerStarted = new CountDownLatch(1);
+        final Set<String> threads = ConcurrentHashMap.newKeySet();
+        final String callingThread = Thread.currentThread().getName();
+
+        batchCounters.fill(items, ProcessItem.COUNTER_OPEN_CASES, item -> {
+            final String thread = Thread.currentThread().getName();
+            threads.add(thread);
+            try {
+                //the threads of the pool stay busy until the calling thread computed an item
+                if (thread.equals(callingThread)) {
+                    callerStarted.countDown();
+                } else {
+                    callerStarted.await(5, TimeUnit.SECONDS);
+                }
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return item.getId().toLong();
+        });
+
+        assertThat(threads).contains(callingThread).hasSize(3);
+        assertThat(items.get(3).getAttributeValue(ProcessItem.COUNTER_OPEN_CASES)).isEqualTo("4");
+    }
+
+    @Test
+    public void should_compute_the_counter_in_the_calling_thread_once_shut_down() throws Exception {
+        final BatchCounters batchCounters = new BatchCounters(2);
+        final List<ProcessItem> items = Arrays.asList(aProcess(1L), aProcess(2L));
+        final Set<String> threads = ConcurrentHashMap.newKeySet();
+
+        batchCounters.shutdown();
+        batchCounters.fill(items, ProcessItem.COUNTER_OPEN_CASES, item -> {
+            threads.add(Thread.currentThread().getName());
+            return 4L;
+        });
+
+        assertThat(threads).containsOnly(Thread.currentThread().getName());
+        assertThat(items.get(1).getAttributeValue(ProcessItem.COUNTER_OPEN_CASES)).isEqualTo("4");
+    }
+
+    @Test
+    public void should_compute_the_counter_in_the_calling_thread_when_there_is_no_pool() throws Exception {
+        final BatchCounters batchCounters = new BatchCounters(1);
+        final List<ProcessItem> items = Arrays.asList(aProcess(1L), aProcess(2L));
+        final Set<String> threads = ConcurrentHashMap.newKeySet();
+
+        batchCounters.fill(items, ProcessItem.COUNTER_OPEN_CASES, item -> {
+            threads.add(Thread.currentThread().getName());
+            return 4L;
+        });
+
+        assertThat(threads).containsOnly(Thread.currentThread().getName());
+        assertThat(items.get(1).getAttributeValue(ProcessItem.COUNTER_OPEN_CASES)).isEqualTo("4");
+    }
+
+    @Test
+    public void should_throw_the_failure_of_an_item_once_all_items_are_processed() throws Exception {
+        final BatchCounters batchCounters = new BatchCounters(2);
+        final List<ProcessItem> items = Arrays.asList(aProcess(1L), aProcess(2L));
+
+        try {
+            batchCounters.fill(items, ProcessItem.COUNTER_OPEN_CASES, item -> {
+                if (item.getId().toLong() == 1L) {
+                    throw new APIException("engine failure");
+                }
+                return 4L;
+            });
+            fail("the failure should be thrown");
+        } catch (final APIException e) {
+            assertThat(e.getMessage()).contains("engine failure");
+        }
+        assertThat(items.get(1).getAttributeValue(ProcessItem.COUNTER_OPEN_CASES)).isEqualTo("4");
+    }
+
+    @Test
+    public void should_record_the_statistics_of_each_counter() throws Exception {
+        final BatchCounters batchCounters = new BatchCounters(2);
+
+        batchCounters.fill(Arrays.asList(aProcess(1L), aProcess(2L)), ProcessItem.COUNTER_OPEN_CASES, item -> 1L);
+        batchCounters.fill(Arrays.asList(aProcess(3L)), ProcessItem.COUNTER_OPEN_CASES, item -> 1L);
+
+        assertThat(batchCounters.getStatistics()).hasSize(1).containsKey(ProcessItem.COUNTER_OPEN_CASES);
+        assertThat(batchCounters.getStatistics().get(ProcessItem.COUNTER_OPEN_CASES).getComputations()).isEqualTo(2L);
+        assertThat(batchCounters.getStatistics().get(ProcessItem.COUNTER_OPEN_CASES).getItems()).isEqualTo(3L);
+    }
+
+    private ProcessItem aProcess(final long id) {
+        final ProcessItem item = new ProcessItem();
+        item.setId(APIID.makeAPIID(id));
+        return item;
+    }
+
+}
@@ -12,8 +12,10 @@ import org.restlet.Client;
 import org.restlet.Request;
 import org.restlet.Response;
 import org.restlet.data.Conditions;
+import org.restlet.data.Encoding;
 import org.restlet.data.MediaType;
 import org.restlet.data.Method;
+import org.restlet.data.Preference;
 import org.restlet.data.Protocol;
 
 public class RequestBuilder {
@@ -29,6 +31,11 @@ public class RequestBuilder {
         request.setConditions(conditions);
         return this;
     }
+
+    public RequestBuilder acceptEncoding(Encoding encoding) {
+        request.getClientInfo().getAcceptedEncodings().add(new Preference<Encoding>(encoding));
+        return this;
+    }
     
     public Response get() {
         final Client client = new Client(Protocol.HTTP);
@@ -0,0 +1,59 @@
+/**
+ * Copyright (C) 2020 Bonitasoft S.A.
+ * Bonitasoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.web.toolkit.server.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.StringWriter;
+
+import org.junit.Test;
+
+public class DeferredOutputWriterTest {
+
+    private final StringWriter target = new StringWriter();
+
+    private final DeferredOutputWriter writer = new DeferredOutputWriter(target, 10);
+
+    @Test
+    public void should_not_write_into_the_target_below_the_threshold() throws Exception {
+        writer.write("{\"id\":");
+        writer.write('1');
+
+        assertThat(target.toString()).isEmpty();
+    }
+
+    @Test
+    public void should_write_into_the_target_when_flushed() throws Exception {
+        writer.write("{\"id\":");
+        writer.write('1');
+        writer.write('}');
+        writer.flush();
+
+        assertThat(target.toString()).isEqualTo("{\"id\":1}");
+    }
+
+    @Test
+    public void should_write_into_the_target_above_the_threshold() throws Exception {
+        writer.write("{\"name\":");
+        writer.write("\"a long name\"".toCharArray(), 0, 13);
+
+        assertThat(target.toString()).isEqualTo("{\"name\":\"a long name\"");
+
+        writer.write('}');
+
+        assertThat(target.toString()).isEqualTo("{\"name\":\"a long name\"}");
+    }
+
+}
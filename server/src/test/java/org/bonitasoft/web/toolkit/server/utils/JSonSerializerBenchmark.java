@@ -0,0 +1,124 @@
+/**
+ * Copyright (C) 2020 Bonitasoft S.A.
+ * Bonitasoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.web.toolkit.server.utils;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.bonitasoft.web.rest.model.ModelFactory;
+import org.bonitasoft.web.rest.model.bpm.cases.CaseItem;
+import org.bonitasoft.web.toolkit.client.ItemDefinitionFactory;
+import org.bonitasoft.web.toolkit.client.common.json.JSonSerializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the serialization of a page of search results with deploys by {@link JSonSerializer} and by {@link JSonStreamSerializer}.
+ * It is not run with the unit tests, run the main method (with the test classpath) to launch it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JSonSerializerBenchmark {
+
+    @Param({ "100", "1000" })
+    private int numberOfItems;
+
+    private List<CaseItem> items;
+
+    @Setup
+    public void setUp() {
+        ItemDefinitionFactory.setDefaultFactory(new ModelFactory());
+        items = new ArrayList<>(numberOfItems);
+        for (long i = 0; i < numberOfItems; i++) {
+            items.add(JSonStreamSerializerTest.aCase(i));
+        }
+    }
+
+    @Benchmark
+    public void serializeToString(final Blackhole blackhole) throws IOException {
+        final Writer writer = new BlackholeWriter(blackhole);
+        writer.write(JSonSerializer.serialize(items));
+        writer.flush();
+    }
+
+    @Benchmark
+    public void serializeToWriter(final Blackhole blackhole) throws IOException {
+        final Writer writer = new BufferedWriter(new BlackholeWriter(blackhole), 8192);
+        JSonStreamSerializer.serialize(items, writer);
+        writer.flush();
+    }
+
+    public static void main(final String[] args) throws Exception {
+        new Runner(new OptionsBuilder().include(JSonSerializerBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    /**
+     * Response writer consuming what is written, as a servlet container would
+     */
+    private static class BlackholeWriter extends Writer {
+
+        private final Blackhole blackhole;
+
+        BlackholeWriter(final Blackhole blackhole) {
+            this.blackhole = blackhole;
+        }
+
+        @Override
+        public void write(final char[] buffer, final int offset, final int length) {
+            blackhole.consume(buffer);
+            blackhole.consume(length);
+        }
+
+        @Override
+        public void write(final String string, final int offset, final int length) {
+            blackhole.consume(string);
+            blackhole.consume(length);
+        }
+
+        @Override
+        public void write(final int character) {
+            blackhole.consume(character);
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+}
@@ -0,0 +1,109 @@
+/**
+ * Copyright (C) 2020 Bonitasoft S.A.
+ * Bonitasoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.web.toolkit.server.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.bonitasoft.web.rest.model.ModelFactory;
+import org.bonitasoft.web.rest.model.bpm.cases.CaseItem;
+import org.bonitasoft.web.rest.model.bpm.process.ProcessItem;
+import org.bonitasoft.web.rest.model.identity.UserItem;
+import org.bonitasoft.web.toolkit.client.ItemDefinitionFactory;
+import org.bonitasoft.web.toolkit.client.common.json.JSonSerializer;
+import org.bonitasoft.web.toolkit.client.data.APIID;
+import org.junit.Before;
+import org.junit.Test;
+
+public class JSonStreamSerializerTest {
+
+    @Before
+    public void setUp() {
+        ItemDefinitionFactory.setDefaultFactory(new ModelFactory());
+    }
+
+    private String serialize(final Object object) throws Exception {
+        final StringWriter writer = new StringWriter();
+        JSonStreamSerializer.serialize(object, writer);
+        return writer.toString();
+    }
+
+    @Test
+    public void should_serialize_strings_like_the_json_serializer() throws Exception {
+        final List<String> values = Arrays.asList("", "simple", "quote \" and ' and \\", "<script></script>", "a/b</c",
+                "tab\tnew line\n\r\b\f", "control \u0001 \u001f", "latin \u0085 \u00e9", "punctuation \u2000 \u2028 \u2100", "unicode \u4e2d");
+        for (final String value : values) {
+            assertThat(serialize(value)).isEqualTo(JSonSerializer.serialize(value));
+        }
+    }
+
+    @Test
+    public void should_serialize_values_like_the_json_serializer() throws Exception {
+        final Map<String, Object> map = new LinkedHashMap<>();
+        map.put("null", null);
+        map.put("number", 12L);
+        map.put("boolean", true);
+        map.put("date", new Date(0));
+        map.put("exception", new Exception("an <exception>"));
+        map.put("list", Arrays.asList("a", 2, Arrays.asList()));
+        map.put("map", new LinkedHashMap<>());
+
+        assertThat(serialize(map)).isEqualTo(JSonSerializer.serialize(map));
+    }
+
+    @Test
+    public void should_serialize_items_with_their_deploys_like_the_json_serializer() throws Exception {
+        final List<CaseItem> cases = new ArrayList<>();
+        for (long i = 0; i < 3; i++) {
+            cases.add(aCase(i));
+        }
+
+        assertThat(serialize(cases)).isEqualTo(JSonSerializer.serialize(cases));
+    }
+
+    @Test
+    public void should_serialize_null() throws Exception {
+        assertThat(serialize(null)).isEqualTo("null");
+    }
+
+    static CaseItem aCase(final long id) {
+        final ProcessItem process = new ProcessItem();
+        process.setId(id);
+        process.setName("Process \"" + id + "\"");
+        process.setDescription("<b>description</b>\nwith a new line");
+        final UserItem user = new UserItem();
+        user.setId(id + 100);
+        user.setFirstName("Walter");
+        user.setLastName("Bates");
+
+        final CaseItem caseItem = new CaseItem();
+        caseItem.setId(id);
+        caseItem.setProcessId(APIID.makeAPIID(id));
+        caseItem.setStartedByUserId(APIID.makeAPIID(id + 100));
+        caseItem.setState("started");
+        caseItem.setDeploy(CaseItem.ATTRIBUTE_PROCESS_ID, process);
+        caseItem.setDeploy(CaseItem.ATTRIBUTE_STARTED_BY_USER_ID, user);
+        caseItem.setAttribute(CaseItem.ATTRIBUTE_STARTED_BY_SUBSTITUTE_USER_ID, (String) null);
+        return caseItem;
+    }
+
+}